@@ -21,6 +21,7 @@ import uk.ac.standrews.cs.valipop.export.ExportFormat;
 import uk.ac.standrews.cs.valipop.implementations.SerializableConfig;
 import uk.ac.standrews.cs.valipop.statistics.analysis.simulationSummaryLogging.SummaryRow;
 import uk.ac.standrews.cs.valipop.utils.InputFileReader;
+import uk.ac.standrews.cs.valipop.utils.RunLogHandler;
 import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.RecordFormat;
 
 import java.io.File;
@@ -33,6 +34,7 @@ import java.time.LocalDateTime;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -53,6 +55,7 @@ public class Config implements Serializable {
     private static final boolean DEFAULT_BINOMIAL_SAMPLING_FLAG = true;
     private static final boolean DEFAULT_DETERMINISTIC_FLAG = false;
     private static final boolean DEFAULT_OUTPUT_TABLES_FLAG = true;
+    private static final boolean DEFAULT_CACHE_DERIVED_ATTRIBUTES_FLAG = true;
 
     private static final double DEFAULT_SETUP_BR = 0.0133;
     private static final double DEFAULT_SETUP_DR = 0.0122;
@@ -67,6 +70,7 @@ public class Config implements Serializable {
 
     private static final int DEFAULT_SEED = 56854687;
     private static final int DEFAULT_CT_TREE_STEPBACK = 1;
+    private static final int DEFAULT_DEATH_THREADS = 1;
     private static final double DEFAULT_CT_TREE_PRECISION = 1E-66;
 
     private static final RecordFormat DEFAULT_OUTPUT_RECORD_FORMAT = RecordFormat.NONE;
@@ -109,7 +113,7 @@ public class Config implements Serializable {
 
     private static final Logger log = Logger.getLogger(Config.class.getName());
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss-SSS", Locale.UK);
-    private static Level logLevel = DEFAULT_LOG_LEVEL;
+    private Level logLevel = DEFAULT_LOG_LEVEL;
     public static final Path DEFAULT_RESULTS_SAVE_PATH = Paths.get("results");
     private final Path DEFAULT_GEOGRAPHY_FILE_PATH = Paths.get("geography.ser");
     private final Path DEFAULT_PROJECT_PATH = Paths.get(".");
@@ -181,6 +185,7 @@ public class Config implements Serializable {
     private boolean binomialSampling = DEFAULT_BINOMIAL_SAMPLING_FLAG;
     private boolean deterministic = DEFAULT_DETERMINISTIC_FLAG;
     private boolean outputTables = DEFAULT_OUTPUT_TABLES_FLAG;
+    private boolean cacheDerivedAttributes = DEFAULT_CACHE_DERIVED_ATTRIBUTES_FLAG;
 
     // Time steps
     private Period simulationTimeStep = DEFAULT_SIMULATION_TIME_STEP;
@@ -198,13 +203,14 @@ public class Config implements Serializable {
     private double overSizedGeographyFactor = DEFAULT_OVERSIZED_GEOGRAPHY_FACTOR;
 
     private int ctTreeStepback = DEFAULT_CT_TREE_STEPBACK;
+    private int deathThreads = DEFAULT_DEATH_THREADS;
     private double ctTreePrecision = DEFAULT_CT_TREE_PRECISION;
 
     private String runPurpose = DEFAULT_RUN_PURPOSE;
     private RecordFormat outputRecordFormat = DEFAULT_OUTPUT_RECORD_FORMAT;
     private ExportFormat outputGraphFormat = DEFAULT_OUTPUT_GRAPH_FORMAT;
 
-    private LocalDateTime startTime = LocalDateTime.now();
+    private LocalDateTime startTime = nextStartTime();
 
     // Simulation period and start size
     private LocalDate tS;
@@ -214,6 +220,23 @@ public class Config implements Serializable {
 
     private Map<String, Processor> processors;
 
+    private static LocalDateTime lastStartTime = null;
+
+    /**
+     * Run directories are named by start time to the millisecond, so configurations created in the same millisecond,
+     * such as by concurrent searches, are given successive times.
+     */
+    private static synchronized LocalDateTime nextStartTime() {
+
+        LocalDateTime startTime = LocalDateTime.now();
+
+        if (lastStartTime != null && !startTime.truncatedTo(ChronoUnit.MILLIS).isAfter(lastStartTime.truncatedTo(ChronoUnit.MILLIS)))
+            startTime = lastStartTime.truncatedTo(ChronoUnit.MILLIS).plus(1, ChronoUnit.MILLIS);
+
+        lastStartTime = startTime;
+        return startTime;
+    }
+
     public static String formatTimeStamp(final LocalDateTime startTime) {
         return startTime.format(FORMATTER);
     }
@@ -474,6 +497,16 @@ public class Config implements Serializable {
         return deterministic;
     }
 
+    public boolean cacheDerivedAttributes() {
+        return cacheDerivedAttributes;
+    }
+
+    public Config setCacheDerivedAttributes(final boolean cacheDerivedAttributes) {
+
+        this.cacheDerivedAttributes = cacheDerivedAttributes;
+        return this;
+    }
+
     public Config setDeterministic(final boolean deterministic) {
 
         this.deterministic = deterministic;
@@ -589,7 +622,11 @@ public class Config implements Serializable {
 
         if (!Files.exists(path)) {
             createParentDirectoryIfDoesNotExist(path);
-            Files.createFile(path);
+            try {
+                Files.createFile(path);
+            } catch (final FileAlreadyExistsException e) {
+                // Created concurrently.
+            }
         }
     }
 
@@ -600,7 +637,7 @@ public class Config implements Serializable {
             Files.createDirectories(parent_dir);
     }
 
-    private static void mkSummaryFile(final Path summaryFilePath) {
+    private static synchronized void mkSummaryFile(final Path summaryFilePath) {
 
         if (summaryFilePath.toFile().exists())
             return;
@@ -655,6 +692,7 @@ public class Config implements Serializable {
         processors.put("seed", value -> seed = parseInteger(value, "seed"));
         processors.put("ct_tree_stepback", value -> ctTreeStepback = parsePositiveInteger(value, "ct_tree_stepback"));
         processors.put("ct_tree_precision", value -> ctTreePrecision = parseDouble(value, "ct_tree_precision"));
+        processors.put("death_threads", value -> deathThreads = parsePositiveInteger(value, "death_threads"));
 
         processors.put("set_up_br", value -> setUpBR = parseDouble(value, "set_up_br"));
         processors.put("set_up_dr", value -> setUpDR = parseDouble(value, "set_up_dr"));
@@ -665,6 +703,7 @@ public class Config implements Serializable {
         processors.put("binomial_sampling", value -> binomialSampling = value.equalsIgnoreCase("true"));
         processors.put("output_tables", value -> outputTables = value.equalsIgnoreCase("true"));
         processors.put("deterministic", value -> deterministic = value.equalsIgnoreCase("true"));
+        processors.put("cache_derived_attributes", value -> cacheDerivedAttributes = value.equalsIgnoreCase("true"));
 
         processors.put("output_record_format", value -> {
             try {
@@ -792,6 +831,15 @@ public class Config implements Serializable {
         // This allows the simulation enough time to burn in
         if (t0.getYear() - tS.getYear() < 150)
             throw new IllegalArgumentException("`tS` must be at least 150 years before `t0`");
+
+        checkTimeStep(simulationTimeStep);
+    }
+
+    // Shorter steps run, but grow the population before t0 to about a quarter above the size reached with yearly steps
+    private static void checkTimeStep(final Period timeStep) {
+
+        if (!timeStep.normalized().equals(Period.ofYears(1)))
+            throw new IllegalArgumentException("`simulation_time_step` must currently be P1Y, not '" + timeStep + "', as other steps do not yet reproduce the population sizes of yearly steps");
     }
 
     private void setUpFileStructure() {
@@ -829,19 +877,8 @@ public class Config implements Serializable {
     private void configureLogging() {
 
         try {
-
-            final Logger globalLogger = Logger.getLogger("");
-
-            // When running sims back to back we need to first stop writing to the old log file
-            for(final Handler h : globalLogger.getHandlers()) {
-                globalLogger.removeHandler(h);
-            }
-
-            final Handler handler = new FileHandler(pathToLogDir(runPurpose, startTime, resultsSavePath).toString());
-            handler.setFormatter(new SimpleFormatter());
-
-            globalLogger.addHandler(handler);
-            globalLogger.setLevel(logLevel);
+            // Replaces the log file of any earlier run on this thread, as when running sims back to back.
+            RunLogHandler.openRunLog(pathToLogDir(runPurpose, startTime, resultsSavePath), logLevel);
 
         } catch (final IOException e) {
             throw new RuntimeException(e);
@@ -866,6 +903,7 @@ public class Config implements Serializable {
     }
 
     public void setTimestep(final Period timestep) {
+        checkTimeStep(timestep);
         this.simulationTimeStep = timestep;
     }
 
@@ -889,6 +927,16 @@ public class Config implements Serializable {
         return overSizedGeographyFactor;
     }
 
+    public int getDeathThreads() {
+        return deathThreads;
+    }
+
+    public Config setDeathThreads(final int deathThreads) {
+
+        this.deathThreads = deathThreads;
+        return this;
+    }
+
     private interface Processor {
 
         void set(String rep);
@@ -935,6 +983,7 @@ public class Config implements Serializable {
             binomialSampling,
             deterministic,
             outputTables,
+            cacheDerivedAttributes,
             simulationTimeStep,
             minBirthSpacing,
             minGestationPeriod,
@@ -947,6 +996,7 @@ public class Config implements Serializable {
             overSizedGeographyFactor,
             ctTreeStepback,
             ctTreePrecision,
+            deathThreads,
             runPurpose,
             outputRecordFormat,
             outputGraphFormat,
@@ -998,6 +1048,7 @@ public class Config implements Serializable {
         this.binomialSampling                 =config.binomialSampling;
         this.deterministic                    =config.deterministic;
         this.outputTables                     =config.outputTables;
+        this.cacheDerivedAttributes           =config.cacheDerivedAttributes;
         this.simulationTimeStep               =config.simulationTimeStep;
         this.minBirthSpacing                  =config.minBirthSpacing;
         this.minGestationPeriod               =config.minGestationPeriod;
@@ -1009,6 +1060,7 @@ public class Config implements Serializable {
         this.seed                             =config.seed;
         this.overSizedGeographyFactor         =config.overSizedGeographyFactor;
         this.ctTreeStepback                   =config.ctTreeStepback;
+        this.deathThreads                     =config.deathThreads;
         this.ctTreePrecision                  =config.ctTreePrecision;
         this.runPurpose                       =config.runPurpose;
         this.outputRecordFormat               =config.outputRecordFormat;
@@ -189,6 +189,11 @@ public class GEDCOMPartnership implements IPartnership {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void removeChild(final IPerson child) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void setPartnershipDate(final LocalDate startDate) {
         throw new UnsupportedOperationException();
@@ -25,13 +25,13 @@ import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.Address;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.Geography;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.dates.DatedHistory;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.TreeMap;
 
 /**
  * Person implementation for a population represented in a GEDCOM file.
@@ -305,6 +305,11 @@ public class GEDCOMPerson implements IPerson {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void removePartnership(final IPartnership partnership) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public Address getAddress(final LocalDate onDate) {
         throw new UnsupportedOperationException();
@@ -376,10 +381,10 @@ public class GEDCOMPerson implements IPerson {
     }
 
     @Override
-    public TreeMap<LocalDate, Address> getAddressHistory() {
-        final TreeMap<LocalDate, Address> tm = new TreeMap<>();
-        tm.put(birthDate, getAddress(birthDate));
-        return tm;
+    public DatedHistory<Address> getAddressHistory() {
+        final DatedHistory<Address> history = new DatedHistory<>();
+        history.put(birthDate, getAddress(birthDate));
+        return history;
     }
 
     @Override
@@ -348,11 +348,22 @@ public class GEDCOMPopulationWriter extends AbstractFilePopulationWriter {
 
     private void write(final String tag, final String data) {
 
-        write(tag + ' ' + data);
+        writeLevel();
+        writer.print(tag);
+        writer.print(' ');
+        writer.println(data);
     }
 
     private void write(final String data) {
 
-        writer.println(level + " " + data);
+        writeLevel();
+        writer.println(data);
+    }
+
+    // Lines are written piecewise rather than concatenated, as there are several per person.
+    private void writeLevel() {
+
+        writer.print(level);
+        writer.print(' ');
     }
 }
@@ -22,14 +22,17 @@ import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.simulationEntities.Partnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation;
+import uk.ac.standrews.cs.valipop.simulationEntities.dataStructure.PeopleCollection;
 import uk.ac.standrews.cs.valipop.simulationEntities.dataStructure.Population;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.Address;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.ForeignGeography;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.Geography;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.dates.DateUtils;
 
 import java.time.LocalDate;
+import java.time.Period;
 import java.time.Year;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -47,24 +50,51 @@ public class BalancedMigrationModel {
 
     private final PersonFactory personFactory;
     private final PopulationStatistics desired;
+    private final Period simulationTimeStep;
 
-    public BalancedMigrationModel(final Population population, final RandomGenerator randomNumberGenerator, final Geography geography, final PersonFactory personFactory, final PopulationStatistics desired) {
+    // The first date after the time step being simulated
+    private LocalDate endOfTimeStep;
+
+    // Migrations accrue over each year, so that steps too short for a whole migration still add up to those of the year.
+    // Whole households leave together, so the people who left count against the year's quota rather than the number
+    // asked for: otherwise every step overshoots by part of a household, and shorter steps migrate more people.
+    private int migrationYear;
+    private double migrationsDueInYear;
+    private int migrationsMadeInYear;
+
+    public BalancedMigrationModel(final Population population, final RandomGenerator randomNumberGenerator, final Geography geography, final PersonFactory personFactory, final PopulationStatistics desired, final Period simulationTimeStep) {
         this.population = population;
         this.randomNumberGenerator = randomNumberGenerator;
         this.geography = geography;
         this.personFactory = personFactory;
         this.desired = desired;
+        this.simulationTimeStep = simulationTimeStep;
         foreignGeography = new ForeignGeography(randomNumberGenerator);
     }
 
     public void performMigration(final LocalDate currentTime, final OBDModel model) {
 
-        final double migrationRate = model.getDesiredPopulationStatistics().getMigrationRateDistribution(Year.of(currentTime.getYear())).getRate(0);
+        endOfTimeStep = currentTime.plus(simulationTimeStep);
+
+        // The migration rate is annual, so is scaled to the length of the time step
+        final double migrationRate = model.getDesiredPopulationStatistics().getMigrationRateDistribution(Year.of(currentTime.getYear())).getRate(0) * DateUtils.divideYieldingDouble(simulationTimeStep, Period.ofYears(1));
         final int numberOfPeople = population.getLivingPeople().getNumberOfPeople();
-        final int numberToMigrate = Math.toIntExact(Math.round(numberOfPeople * migrationRate));
+
+        if (currentTime.getYear() != migrationYear) {
+            migrationYear = currentTime.getYear();
+            migrationsDueInYear = 0;
+            migrationsMadeInYear = 0;
+        }
+
+        migrationsDueInYear += numberOfPeople * migrationRate;
+
+        final int numberToMigrate = Math.toIntExact(Math.round(migrationsDueInYear)) - migrationsMadeInYear;
 
         final Collection<List<IPerson>> peopleToMigrate = new ArrayList<>();
-        final List<IPerson> livingPeople = new ArrayList<>(population.getLivingPeople().getPeople());
+
+        // People are drawn from the living collection itself rather than a copy, as only a few are drawn in each time
+        // step. Emigrants leave the collection, which has the same effect as rejecting them on being drawn again.
+        final PeopleCollection livingPeople = population.getLivingPeople();
 
         final HashSet<IPerson> theMigrated = new HashSet<>();
         // select people to move out of country
@@ -73,8 +103,8 @@ public class BalancedMigrationModel {
 
             IPerson selected;
             do {
-                final int random = randomNumberGenerator.nextInt(livingPeople.size());
-                selected = livingPeople.get(random);
+                final int random = randomNumberGenerator.nextInt(livingPeople.getNumberOfPeople());
+                selected = livingPeople.getPerson(random);
             } while(theMigrated.contains(selected));
 
             theMigrated.add(selected);
@@ -122,6 +152,8 @@ public class BalancedMigrationModel {
             }
         }
 
+        migrationsMadeInYear += theMigrated.size();
+
         // create immigrants by approximately mimicing the emigrants
         for (final List<IPerson> household : peopleToMigrate) {
 
@@ -206,16 +238,16 @@ public class BalancedMigrationModel {
 
         final LocalDate conception = lastChild.getBirthDate().minus(desired.getMinGestationPeriod());
         if (moveDate.isBefore(conception)) {
-            final int windowInDays = (int) conception.until(currentTime.plusYears(1L), ChronoUnit.DAYS) - 1;
+            final int windowInDays = (int) conception.until(endOfTimeStep, ChronoUnit.DAYS) - 1;
 
             personalMoveDate = conception.plusDays(randomNumberGenerator.nextInt(windowInDays));
         }
         return personalMoveDate;
     }
 
+    // The person is already among the living, having been added when created by mimicPerson
     private void immigratePerson(final IPerson person, final IPerson toMimic) {
 
-        population.getLivingPeople().add(person);
         final LocalDate arrivalDate = toMimic.getEmigrationDate().isBefore(person.getBirthDate()) ? person.getBirthDate() : toMimic.getEmigrationDate();
         person.setImmigrationDate(arrivalDate);
 
@@ -253,8 +285,8 @@ public class BalancedMigrationModel {
         final LocalDate moveDate;
         LocalDate lastMoveDate = person.getLastMoveDate();
 
-        if (lastMoveDate != null && lastMoveDate.isAfter(currentDate.plusYears(1))) {
-            // last move is projected significantly into future - occurs when last partner dies and no future events are in surviving partners timeline
+        if (lastMoveDate != null && lastMoveDate.isAfter(endOfTimeStep)) {
+            // last move is projected beyond the time step - occurs when last partner dies and no future events are in surviving partners timeline
             // therefore we rollback the future move and emigrate as below
             person.cancelLastMove(geography);
             lastMoveDate = person.getLastMoveDate();
@@ -263,9 +295,9 @@ public class BalancedMigrationModel {
         if (lastMoveDate != null && lastMoveDate.isAfter(currentDate)) {
             final int excludedDays = (int) ChronoUnit.DAYS.between(currentDate, lastMoveDate);
 
-            moveDate = lastMoveDate.plusDays(randomNumberGenerator.nextInt(366 - excludedDays));
+            moveDate = lastMoveDate.plusDays(randomNumberGenerator.nextInt(daysInTimeStep(currentDate) + 1 - excludedDays));
         } else {
-            moveDate = currentDate.plusDays(randomNumberGenerator.nextInt(365));
+            moveDate = currentDate.plusDays(randomNumberGenerator.nextInt(daysInTimeStep(currentDate)));
         }
         return moveDate;
     }
@@ -301,16 +333,18 @@ public class BalancedMigrationModel {
             final IPerson fatherToMimic = parentsToMimic.getMalePartner();
             final IPerson motherToMimic = parentsToMimic.getFemalePartner();
 
-            // Record newly created parents in population
+            // Record newly created parents in population; those already mimiced are in it already
 
             IPerson mimicedFather = mimicPersonLookup.get(fatherToMimic);
-            if (mimicedFather == null) {
+            final boolean newFather = mimicedFather == null;
+            if (newFather) {
                 final LocalDate birthDate = randomDateInYear(fatherToMimic.getBirthDate());
                 mimicedFather = personFactory.makePerson(birthDate, null, fatherToMimic.isAdulterousBirth(), true, SexOption.MALE, fatherSurname);
             }
 
             IPerson mimicedMother = mimicPersonLookup.get(motherToMimic);
-            if (mimicedMother == null) {
+            final boolean newMother = mimicedMother == null;
+            if (newMother) {
                 final LocalDate birthDate = randomDateInYear(motherToMimic.getBirthDate());
                 mimicedMother = personFactory.makePerson(birthDate, null, motherToMimic.isAdulterousBirth(), true, SexOption.FEMALE);
             }
@@ -323,23 +357,35 @@ public class BalancedMigrationModel {
             mimicedMother.recordPartnership(parents);
 
             population.getLivingPeople().add(parents);
-            population.getLivingPeople().add(mimicedFather);
-            population.getLivingPeople().add(mimicedMother);
+            if (newFather) population.getLivingPeople().add(mimicedFather);
+            if (newMother) population.getLivingPeople().add(mimicedMother);
         }
 
         return parents;
     }
 
+    // The number of days in the time step starting on the given date, counting at most 365 so that a yearly step
+    // never reaches the first day of the next step
+    private int daysInTimeStep(final LocalDate currentDate) {
+
+        return (int) Math.min(365, ChronoUnit.DAYS.between(currentDate, endOfTimeStep));
+    }
+
+    // A random date in the same year as the given birth date, but not after the end of the time step unless the
+    // birth date itself is, as for a child whose father arrived too late in the step to be conceived within it
     private LocalDate randomDateInYear(final LocalDate birthDate) {
 
-        final int year = birthDate.getYear();
-        final int day = randomNumberGenerator.nextInt(365);
+        final LocalDate startOfYear = LocalDate.of(birthDate.getYear(), 1, 1);
+        final LocalDate latest = birthDate.isBefore(endOfTimeStep) ? endOfTimeStep : startOfYear.plusYears(1);
+        final int day = randomNumberGenerator.nextInt((int) Math.min(365, ChronoUnit.DAYS.between(startOfYear, latest)));
 
-        return LocalDate.of(year, 1, 1).plusDays(day);
+        return startOfYear.plusDays(day);
     }
 
     private boolean migrateWithHousehold(final Address address) {
 
-        return address != null && address.getInhabitants().size() > 1 && randomNumberGenerator.nextBoolean();
+        // A person may be selected before their arrival, when their address is still the country they came from,
+        // the other inhabitants of which are earlier emigrants.
+        return address != null && !address.isCountry() && address.getInhabitants().size() > 1 && randomNumberGenerator.nextBoolean();
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations;
+
+import org.apache.commons.math3.random.RandomGenerator;
+import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
+import uk.ac.standrews.cs.valipop.simulationEntities.dataStructure.PersonCollection;
+import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.dates.DeathDateSelector;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The deaths in one birth cohort of one sex in a time step. Who dies, and the date and cause of each death, are chosen
+ * by {@link #select} without modifying the population, drawing only from the cohort's own random stream, so the
+ * cohorts of a time step may be selected concurrently. The model then applies the deaths one cohort at a time.
+ */
+class CohortDeaths {
+
+    record Death(IPerson person, LocalDate date, String cause) {}
+
+    private final LocalDate divisionDate;
+    private final int numberToKill;
+    private final RandomGenerator random;
+
+    private List<Death> deaths = Collections.emptyList();
+
+    /**
+     * @param divisionDate the first birth date of the cohort
+     * @param numberToKill the number of people in the cohort to die
+     * @param random       the random stream of the cohort
+     */
+    CohortDeaths(final LocalDate divisionDate, final int numberToKill, final RandomGenerator random) {
+
+        this.divisionDate = divisionDate;
+        this.numberToKill = numberToKill;
+        this.random = random;
+    }
+
+    /**
+     * Chooses who dies, in id order, and the date and cause of each death.
+     *
+     * @param ofSexLiving the living people of the cohort's sex
+     * @param statistics  the desired population statistics
+     * @param currentDate the start of the time step
+     * @param timeStep    the length of the time step, which is also the span of birth dates in the cohort
+     */
+    void select(final PersonCollection ofSexLiving, final PopulationStatistics statistics, final LocalDate currentDate, final Period timeStep) {
+
+        if (numberToKill == 0) return;
+
+        final DeathDateSelector deathDateSelector = new DeathDateSelector(random);
+        final List<Death> selected = new ArrayList<>(numberToKill);
+
+        for (final IPerson person : ofSexLiving.selectNPersons(numberToKill, divisionDate, timeStep, true, random)) {
+
+            final LocalDate deathDate = deathDateSelector.selectDate(person, statistics, currentDate, timeStep);
+
+            final int ageAtDeath = Period.between(person.getBirthDate(), deathDate).getYears();
+            final String deathCause = statistics.getDeathCauseRates(Year.of(deathDate.getYear()), person.getSex(), ageAtDeath).getSample(random);
+
+            selected.add(new Death(person, deathDate, deathCause));
+        }
+
+        deaths = selected;
+    }
+
+    List<Death> getDeaths() {
+        return deaths;
+    }
+}
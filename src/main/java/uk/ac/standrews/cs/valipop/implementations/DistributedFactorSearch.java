@@ -18,6 +18,7 @@
 package uk.ac.standrews.cs.valipop.implementations;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Serializable;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -26,9 +27,10 @@ import java.time.Period;
 import java.time.Year;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 import org.apache.spark.SparkConf;
-import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
 
 import uk.ac.standrews.cs.valipop.Config;
@@ -40,9 +42,21 @@ import uk.ac.standrews.cs.valipop.utils.RCaller;
 /**
  * Searches for recovery factors in parallel using Apache Spark 
  * 
+ * The summary row of each model is passed to the result sinks as soon as the model has been validated, and the
+ * progress of the search is recorded so that a search can be resumed by running it again with the same arguments.
+ * Models hold their own state, so an executor may run as many models at once as it has task slots. When no Spark
+ * master is given, as when run directly rather than through spark-submit, the search runs in local mode on all of
+ * the cores of the machine.
+ *
  * @author Daniel Brathagen (dbrathagen@gmail.com)
  */
 public class DistributedFactorSearch {
+
+    /**
+     * The Spark master used when none is given, running a model on each core of the local machine.
+     */
+    public static final String LOCAL_MASTER = "local[*]";
+
     public static void main(String[] args) throws InterruptedException {
         String[] pArgs = ProcessArgs.process(args, "FACTOR_SEARCH_PRECISION");
         if (!ProcessArgs.check(pArgs, "FACTOR_SEARCH_PRECISION")) {
@@ -68,9 +82,6 @@ public class DistributedFactorSearch {
         double[] rfs = toDoubleArray(rfsArg);
         double[] prfs = toDoubleArray(prfsArg);
 
-        SparkConf conf = new SparkConf().setAppName("valipop");
-        JavaSparkContext sc = new JavaSparkContext(conf);
-
         List<ModelInput> inputs = generateInputs(seedSize, rfs, prfs, precisions, dataFiles, numberOfRunsPerSim, runPurpose, resultsDir, summaryResultsDir, projectPath);
 
         if (!inputs.isEmpty()) {
@@ -82,21 +93,97 @@ public class DistributedFactorSearch {
 
         System.out.println("Generated " + inputs.size() + " configs");
 
-        JavaRDD<ModelInput> df = sc.parallelize(
-            inputs,
-            inputs.size()
-        );
+        SparkConf conf = new SparkConf().setAppName("valipop").setIfMissing("spark.master", LOCAL_MASTER);
+
+        try (JavaSparkContext sc = new JavaSparkContext(conf)) {
+
+            FactorSearchProgress progress = FactorSearchProgress.forRunPurpose(summaryResultsDir, runPurpose);
+            List<String> failed = search(sc, inputs, DistributedFactorSearch::runAndValidateModel, DistributedFactorSearch::outputSummary, progress);
+
+            if (!failed.isEmpty()) {
+                System.err.println(failed.size() + " models failed, and will be run again if the search is resumed: " + failed);
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Runs the models for the given inputs, skipping those recorded as completed by a previous search. As each model
+     * completes, it is recorded in the progress and its summary row is then passed to the given sink, so that a row
+     * reaches the sink at most once for each input. The failure of one model does not affect the others.
+     *
+     * @param sc the Spark context
+     * @param inputs the model inputs of the search
+     * @param task runs and validates the model for an input
+     * @param sink receives the summary row of each completed model
+     * @param progress the progress of the search
+     * @return the keys of the inputs whose models failed
+     */
+    static List<String> search(JavaSparkContext sc, List<ModelInput> inputs, ModelTask task, ResultSink sink, FactorSearchProgress progress) throws IOException {
+
+        Set<String> completed = progress.getCompletedKeys();
+        List<ModelInput> remaining = inputs.stream().filter(input -> !completed.contains(input.key())).toList();
+
+        if (remaining.size() < inputs.size()) {
+            System.out.println("Resuming search, " + (inputs.size() - remaining.size()) + " of " + inputs.size() + " models already complete");
+        }
+
+        if (remaining.isEmpty()) {
+            return List.of();
+        }
+
+        return sc.parallelize(remaining, remaining.size())
+            .map(input -> attempt(input, task, sink, progress))
+            .filter(Objects::nonNull)
+            .collect();
+    }
+
+    /**
+     * Runs the model for an input, returning null if it completed, or the key of the input if it failed. An input is
+     * also failed if the sink rejects its summary row, so that it is run again on resumption.
+     */
+    private static String attempt(ModelInput input, ModelTask task, ResultSink sink, FactorSearchProgress progress) throws IOException {
+
+        String key = input.key();
+
+        try {
+            SerializableSummaryRow row = task.run(input);
+
+            progress.accept(key, row);
+            sink.accept(key, row);
 
-        df
-            .map(DistributedFactorSearch::runModel)
-            .map(DistributedFactorSearch::validateModel)
-            .collect()
-            .forEach(DistributedFactorSearch::outputSummary);
+            return null;
 
-        sc.close();
+        } catch (Exception e) {
+            System.err.println("Model failed for " + key + ": " + e);
+            progress.recordFailure(key, e);
+
+            return key;
+        }
     }
 
-    private static class ModelInput implements Serializable {
+    /**
+     * Runs and validates the model for a single input of a search.
+     */
+    @FunctionalInterface
+    interface ModelTask extends Serializable {
+
+        SerializableSummaryRow run(ModelInput input) throws Exception;
+    }
+
+    /**
+     * Receives the summary row of each model as it completes. Sinks are called on the workers of the search, so must
+     * write to locations visible to them all.
+     */
+    @FunctionalInterface
+    public interface ResultSink extends Serializable {
+
+        void accept(String key, SerializableSummaryRow row) throws IOException;
+    }
+
+    static class ModelInput implements Serializable {
         public LocalDate tS;
         public LocalDate t0;
         public LocalDate tE;
@@ -114,6 +201,7 @@ public class DistributedFactorSearch {
         public double prf;
         public Period input_width;
         public Period minBirthSpacing;
+        public int run;
         
         public ModelInput(
             LocalDate tS,
@@ -132,7 +220,8 @@ public class DistributedFactorSearch {
             double rf,
             double prf,
             Period input_width,
-            Period minBirthSpacing
+            Period minBirthSpacing,
+            int run
         ) {
             this.tS               = tS;
             this.t0               = t0;
@@ -150,6 +239,23 @@ public class DistributedFactorSearch {
             this.prf              = prf;
             this.input_width      = input_width;
             this.minBirthSpacing   = minBirthSpacing;
+            this.run              = run;
+        }
+
+        /**
+         * @return a key identifying this input within a search, and across resumptions of the search
+         */
+        public String key() {
+            return String.join("_",
+                Paths.get(dataFiles).getFileName().toString(),
+                String.valueOf(size),
+                String.valueOf(precision),
+                String.valueOf(rf),
+                String.valueOf(prf),
+                input_width.toString(),
+                minBirthSpacing.toString(),
+                String.valueOf(run)
+            );
         }
     }
 
@@ -196,6 +302,10 @@ public class DistributedFactorSearch {
         return new ModelOutput(maxBirthingAge, summaryRow.toSerialized());
     }
 
+    private static SerializableSummaryRow runAndValidateModel(ModelInput i) throws PreEmptiveOutOfMemoryWarning, IOException, StatsException {
+        return validateModel(runModel(i));
+    }
+
     private static SerializableSummaryRow validateModel(ModelOutput result) throws PreEmptiveOutOfMemoryWarning, IOException, StatsException {
 
         Config config = new Config(result.summaryRow.config);
@@ -211,7 +321,7 @@ public class DistributedFactorSearch {
         return summaryRow.toSerialized();
     }
 
-    private static void outputSummary(SerializableSummaryRow sr) {
+    private static void outputSummary(String key, SerializableSummaryRow sr) {
         SummaryRow summaryRow = new SummaryRow(sr);
         summaryRow.outputSummaryRowToFile();
     }
@@ -230,7 +340,7 @@ public class DistributedFactorSearch {
         return ret;
     }
 
-    private static List<ModelInput> generateInputs(int size0, double[] recovery_factors, double[] proportional_recovery_factors, double[] precisions, Path dataFiles, int numberOfRunsPerSim, String runPurpose, Path resultsDir, Path summaryResultsDir, Path projectPath) throws InterruptedException {
+    static List<ModelInput> generateInputs(int size0, double[] recovery_factors, double[] proportional_recovery_factors, double[] precisions, Path dataFiles, int numberOfRunsPerSim, String runPurpose, Path resultsDir, Path summaryResultsDir, Path projectPath) throws InterruptedException {
         final LocalDate tS = LocalDate.of(1599, 1, 1);
         final LocalDate t0 = LocalDate.of(1855, 1, 1);
         final LocalDate tE = LocalDate.of(2015, 1, 1);
@@ -267,7 +377,8 @@ public class DistributedFactorSearch {
                                         recovery_factor,
                                         proportional_recovery_factor,
                                         input_width,
-                                        minBirthSpacing
+                                        minBirthSpacing,
+                                        n
                                     );
                                     inputs.add(input);
                                 }
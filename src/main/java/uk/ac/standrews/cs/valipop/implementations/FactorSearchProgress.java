@@ -0,0 +1,115 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.*;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Records the progress of a factor search as one file per model input, so that a search which is interrupted or
+ * partly fails can be resumed without repeating the models that have already completed. Each completed input is
+ * recorded by a file giving the results directory and validation score of its model, written atomically before the
+ * summary row is passed to the other result sinks. Failed inputs are recorded with the cause of their failure,
+ * replacing any record of their completion, and are run again on resumption.
+ *
+ * The directory must be visible to all the workers of a distributed search, as the summary results directory is.
+ */
+public class FactorSearchProgress implements DistributedFactorSearch.ResultSink {
+
+    private static final long serialVersionUID = 3189274610283746512L;
+
+    public static final String DIRECTORY_NAME = "factor-search-progress";
+
+    private static final String COMPLETED_SUFFIX = ".csv";
+    private static final String FAILED_SUFFIX = ".failed";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String SEPARATOR = ",";
+
+    // Held as a string, since paths are not serializable.
+    private final String directory;
+
+    public FactorSearchProgress(final Path directory) throws IOException {
+
+        Files.createDirectories(directory);
+        this.directory = directory.toString();
+    }
+
+    /**
+     * @param summaryResultsDir the summary results directory of the search
+     * @param runPurpose the run purpose of the search
+     * @return the progress of searches with the given purpose
+     */
+    public static FactorSearchProgress forRunPurpose(final Path summaryResultsDir, final String runPurpose) throws IOException {
+        return new FactorSearchProgress(summaryResultsDir.resolve(runPurpose).resolve(DIRECTORY_NAME));
+    }
+
+    public Path getDirectory() {
+        return Paths.get(directory);
+    }
+
+    /**
+     * @return the keys of the model inputs that have completed
+     */
+    public Set<String> getCompletedKeys() throws IOException {
+
+        final Set<String> keys = new HashSet<>();
+
+        try (Stream<Path> files = Files.list(getDirectory())) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(COMPLETED_SUFFIX))
+                    .forEach(name -> keys.add(name.substring(0, name.length() - COMPLETED_SUFFIX.length())));
+        }
+
+        return keys;
+    }
+
+    @Override
+    public void accept(final String key, final SerializableSummaryRow row) throws IOException {
+
+        write(key + COMPLETED_SUFFIX, List.of(row.resultsDirectory + SEPARATOR + row.v));
+        Files.deleteIfExists(getDirectory().resolve(key + FAILED_SUFFIX));
+    }
+
+    public void recordFailure(final String key, final Throwable cause) throws IOException {
+
+        final StringWriter trace = new StringWriter();
+        cause.printStackTrace(new PrintWriter(trace));
+
+        write(key + FAILED_SUFFIX, List.of(trace.toString()));
+        Files.deleteIfExists(getDirectory().resolve(key + COMPLETED_SUFFIX));
+    }
+
+    private void write(final String fileName, final List<String> lines) throws IOException {
+
+        final Path file = getDirectory().resolve(fileName);
+        final Path temp = file.resolveSibling(fileName + TEMP_SUFFIX);
+        Files.write(temp, lines);
+
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
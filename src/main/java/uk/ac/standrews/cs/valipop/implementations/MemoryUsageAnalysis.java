@@ -25,12 +25,15 @@ import java.lang.management.ManagementFactory;
  */
 public class MemoryUsageAnalysis {
 
-    private static boolean checkMemory = true;
+    private static volatile boolean checkMemory = true;
 
-    private static long maxSimUsage = 0L;
     private static long maxRunUsage = 0L;
 
-    private static double threshold = 0.975;
+    private static final double THRESHOLD = 0.975;
+
+    // Each model holds its own analysis, so that populations simulated concurrently do not reset each other's peaks.
+    // Heap usage is measured across the JVM, so a peak includes the usage of any runs simulated alongside.
+    private long maxSimUsage = 0L;
 
     public static void main(String[] args) throws IOException, StatsException {
 
@@ -38,22 +41,22 @@ public class MemoryUsageAnalysis {
 
         CL_RunNModels.runNModels(args);
 
-        // We do this to force the latest maxSimUsage to be checked against the maxRunUsage and force the value update if necessary
-        reset();
-
         System.out.println("---------------------------------\n");
-        System.out.println("Max Memory Usage : " + (maxRunUsage / 1e6) + " MB");
+        System.out.println("Max Memory Usage : " + (getMaxRunUsage() / 1e6) + " MB");
         System.out.println("We recommend to increase by 10% to give adequate headroom\n");
     }
 
-    public static void reset() {
-        if (maxSimUsage > maxRunUsage) {
-            maxRunUsage = maxSimUsage;
+    public void reset() {
+
+        synchronized (MemoryUsageAnalysis.class) {
+            if (maxSimUsage > maxRunUsage) {
+                maxRunUsage = maxSimUsage;
+            }
         }
         maxSimUsage = 0L;
     }
 
-    public static void log() throws PreEmptiveOutOfMemoryWarning {
+    public void log() throws PreEmptiveOutOfMemoryWarning {
 
         if (checkMemory) {
             long currentUsage = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
@@ -63,7 +66,7 @@ public class MemoryUsageAnalysis {
 
             long mM = Runtime.getRuntime().maxMemory();
 
-            if (mM * threshold < currentUsage) {
+            if (mM * THRESHOLD < currentUsage) {
                 throw new PreEmptiveOutOfMemoryWarning();
             }
         }
@@ -73,7 +76,15 @@ public class MemoryUsageAnalysis {
         checkMemory = b;
     }
 
-    public static long getMaxSimUsage() {
+    public static boolean isCheckingMemory() {
+        return checkMemory;
+    }
+
+    public long getMaxSimUsage() {
         return maxSimUsage;
     }
+
+    private static synchronized long getMaxRunUsage() {
+        return maxRunUsage;
+    }
 }
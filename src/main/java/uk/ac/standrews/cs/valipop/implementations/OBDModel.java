@@ -17,7 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.implementations;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.math3.random.RandomGenerator;
 import uk.ac.standrews.cs.valipop.Config;
 import uk.ac.standrews.cs.valipop.export.ExportFormat;
 import uk.ac.standrews.cs.valipop.export.IPopulationWriter;
@@ -37,19 +37,18 @@ import uk.ac.standrews.cs.valipop.statistics.populationStatistics.determinedCoun
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.determinedCounts.SingleDeterminedCount;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsKeys.*;
 import uk.ac.standrews.cs.valipop.utils.CollectionUtils;
+import uk.ac.standrews.cs.valipop.utils.LazilyShuffledQueue;
 import uk.ac.standrews.cs.valipop.utils.ProgramTimer;
+import uk.ac.standrews.cs.valipop.utils.RunLogHandler;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.Address;
-import uk.ac.standrews.cs.valipop.utils.addressLookup.Area;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.DistanceSelector;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.Geography;
 import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.RecordFormat;
 import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.RecordGenerationFactory;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.dates.DateSelector;
-import uk.ac.standrews.cs.valipop.utils.specialTypes.dates.DeathDateSelector;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.dates.MarriageDateSelector;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.*;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
@@ -58,9 +57,11 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.time.Year;
 import java.util.*;
-import java.util.logging.Handler;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
-import java.util.logging.LogManager;
 import java.util.logging.Logger;
 
 import static uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation.*;
@@ -77,13 +78,16 @@ public class OBDModel {
     private static final int EARLIEST_AGE_OF_MARRIAGE = 16;
     private static final int MAX_ATTEMPTS = 1;
 
+    // Adulterous birth and marriage rates are proportions of births rather than rates over time, so are looked up for
+    // a year whatever the length of the time step
+    private static final Period PROPORTION_OF_BIRTHS_PERIOD = Period.ofYears(1);
+
     // TODO enforce maximum age.
     public static final int MAXIMUM_AGE_AT_DEATH = 110;
 
-    public static Logger log;
+    public static final Logger log = Logger.getLogger(OBDModel.class.getName());
 
     static {
-        log = Logger.getLogger(OBDModel.class.getName());
         log.setLevel(Level.INFO);
     }
 
@@ -92,11 +96,12 @@ public class OBDModel {
     private final Config config;
     private SummaryRow summary;
     private final PopulationStatistics desiredStatistics;
+    private final RandomStreams randomStreams;
+    private final MemoryUsageAnalysis memoryUsage = new MemoryUsageAnalysis();
     private final Population population;
     private final LocalDate endOfInitPeriod;
     private final Collection<IPerson> partnersToSeparate;
 
-    private final DeathDateSelector deathDateSelector;
     private final DateSelector marriageDateSelector;
 
     private final DistanceSelector moveDistanceSelector;
@@ -108,10 +113,18 @@ public class OBDModel {
     private int birthsCount = 0;
     private int deathCount = 0;
 
+    // Shortfalls in births accrue over each year of initialisation, so that births beyond the hypothetical number in
+    // one step offset shortfalls in other steps of the same year, as they do within a yearly step
+    private int shortFallYear;
+    private int shortFallInYear;
+    private int orphansCreatedInYear;
+
     private final PersonFactory personFactory;
     private final BalancedMigrationModel migrationModel;
     private final OccupationChangeModel occupationChangeModel;
 
+    private ExecutorService deathExecutor;
+
     public OBDModel(final Config config) {
 
         try {
@@ -123,16 +136,18 @@ public class OBDModel {
             population = new Population(config);
             desiredStatistics = new PopulationStatistics(config);
 
-            geography = new Geography(readAreaList(config), Randomness.getRandomGenerator(), config.getOverSizedGeographyFactor());
+            randomStreams = desiredStatistics.getRandomStreams();
+            randomStreams.beginTimeStep(currentDate);
+
+            geography = new Geography(Geography.readAreas(config.getGeographyFilePath()), randomStreams.get(RandomStreams.Subsystem.GEOGRAPHY), config.getOverSizedGeographyFactor());
 
             currentHypotheticalPopulationSize = calculateStartingPopulationSize();
 
-            deathDateSelector = new DeathDateSelector(Randomness.getRandomGenerator());
-            marriageDateSelector = new MarriageDateSelector(Randomness.getRandomGenerator());
-            moveDistanceSelector = new DistanceSelector(Randomness.getRandomGenerator());
+            marriageDateSelector = new MarriageDateSelector(randomStreams.get(RandomStreams.Subsystem.MARRIAGE_DATES));
+            moveDistanceSelector = new DistanceSelector(randomStreams.get(RandomStreams.Subsystem.MOVE_DISTANCES));
 
-            personFactory = new PersonFactory(population, desiredStatistics, config.getSimulationTimeStep(), Randomness.getRandomGenerator());
-            migrationModel = new BalancedMigrationModel(population, Randomness.getRandomGenerator(), geography, personFactory, desiredStatistics);
+            personFactory = new PersonFactory(population, desiredStatistics, config.getSimulationTimeStep(), randomStreams.get(RandomStreams.Subsystem.BIRTH_DATES));
+            migrationModel = new BalancedMigrationModel(population, randomStreams.get(RandomStreams.Subsystem.MIGRATION), geography, personFactory, desiredStatistics, config.getSimulationTimeStep());
             occupationChangeModel = new OccupationChangeModel(population, desiredStatistics, config);
 
             log.info("Random seed: " + config.getSeed());
@@ -156,22 +171,27 @@ public class OBDModel {
         }
     }
 
-    private static List<Area> readAreaList(final Config config) throws IOException {
-
-        final ObjectMapper objectMapper = new ObjectMapper();
-        return Arrays.stream(objectMapper.readValue(new File(config.getGeographyFilePath().toString()), Area[].class)).toList();
-    }
-
     public void runSimulation() {
 
-        for (int countAttempts = 0; countAttempts < MAX_ATTEMPTS; countAttempts++) {
-            try {
-                simTimer = new ProgramTimer();
-                runSimulationAttempt();
-                break;
+        if (config.getDeathThreads() > 1)
+            deathExecutor = Executors.newFixedThreadPool(config.getDeathThreads());
+
+        try {
+            for (int countAttempts = 0; countAttempts < MAX_ATTEMPTS; countAttempts++) {
+                try {
+                    simTimer = new ProgramTimer();
+                    runSimulationAttempt();
+                    break;
+
+                } catch (final InsufficientNumberOfPeopleException e) {
+                    resetSimulation(simTimer);
+                }
+            }
 
-            } catch (final InsufficientNumberOfPeopleException e) {
-                resetSimulation(simTimer);
+        } finally {
+            if (deathExecutor != null) {
+                deathExecutor.shutdownNow();
+                deathExecutor = null;
             }
         }
 
@@ -190,6 +210,10 @@ public class OBDModel {
         return summary;
     }
 
+    public MemoryUsageAnalysis getMemoryUsage() {
+        return memoryUsage;
+    }
+
     public void analyseAndOutputPopulation(final boolean outputSummaryRow) {
 
         final ProgramTimer recordTimer = new ProgramTimer();
@@ -197,10 +221,10 @@ public class OBDModel {
         try (final PrintStream resultsOutput = new PrintStream(config.getDetailedResultsPath().toFile(), StandardCharsets.UTF_8)) {
 
             if (config.shouldGenerateContingencyTables())
-                ContingencyTableFactory.generateContingencyTables(population.getPeople(), desiredStatistics, config, summary);
+                ContingencyTableFactory.generateContingencyTables(population.getPeople(), desiredStatistics, config, summary, memoryUsage);
 
             if (config.getOutputRecordFormat() != RecordFormat.NONE)
-                RecordGenerationFactory.outputRecords(config.getOutputRecordFormat(), config.getRecordsDirPath(), population.getPeople(), config.getT0());
+                RecordGenerationFactory.outputRecords(config.getOutputRecordFormat(), config.getRecordsDirPath(), population.getPeople(), config.getT0(), randomStreams);
 
             if (config.getOutputGraphFormat() != ExportFormat.NONE)
                 outputToGraph(config.getOutputGraphFormat(), population.getPeople(), config.getGraphsDirPath());
@@ -212,9 +236,9 @@ public class OBDModel {
             throw new RuntimeException(e);
         }
 
-        MemoryUsageAnalysis.log();
-        summary.setMaxMemoryUsage(MemoryUsageAnalysis.getMaxSimUsage());
-        MemoryUsageAnalysis.reset();
+        memoryUsage.log();
+        summary.setMaxMemoryUsage(memoryUsage.getMaxSimUsage());
+        memoryUsage.reset();
 
         if (outputSummaryRow)
             summary.outputSummaryRowToFile();
@@ -257,14 +281,7 @@ public class OBDModel {
     }
 
     private static void closeLogFile() {
-
-        for (final Handler h : log.getHandlers())
-            h.close();
-
-        LogManager.getLogManager().reset();
-
-        log = Logger.getLogger(OBDModel.class.getName());
-        log.setLevel(Level.INFO);
+        RunLogHandler.closeRunLog();
     }
 
     private void finalisePartnerships() {
@@ -283,9 +300,9 @@ public class OBDModel {
 
     private void logTimeStep(final int numberBorn, final int shortFallInBirths, final int numberDying) {
 
-        MemoryUsageAnalysis.log();
+        memoryUsage.log();
 
-        final String logEntry = currentDate + "\t" + MemoryUsageAnalysis.getMaxSimUsage() / 1e6 + "MB\t" + numberBorn + "\t" +
+        final String logEntry = currentDate + "\t" + memoryUsage.getMaxSimUsage() / 1e6 + "MB\t" + numberBorn + "\t" +
             shortFallInBirths + "\t" +
             numberDying + "\t" +
             population.getLivingPeople().getNumberOfPeople() + "\t" +
@@ -385,6 +402,7 @@ public class OBDModel {
     private void advanceSimulationTime() {
 
         currentDate = currentDate.plus(config.getSimulationTimeStep());
+        randomStreams.beginTimeStep(currentDate);
     }
 
     private void resetSimulation(final ProgramTimer simTimer) {
@@ -395,6 +413,9 @@ public class OBDModel {
 
         deathCount = 0;
         birthsCount = 0;
+
+        shortFallInYear = 0;
+        orphansCreatedInYear = 0;
     }
 
     private int adjustPopulationNumbers(final int birthsInTimeStp) {
@@ -412,8 +433,20 @@ public class OBDModel {
         // update hypothetical population
         currentHypotheticalPopulationSize += hypotheticalBirths - hypotheticalDeaths;
 
-        if (shortFallInBirths >= 0)
-            createOrphanChildren(shortFallInBirths);
+        if (currentDate.getYear() != shortFallYear) {
+            shortFallYear = currentDate.getYear();
+            shortFallInYear = 0;
+            orphansCreatedInYear = 0;
+        }
+
+        shortFallInYear += shortFallInBirths;
+
+        final int orphansDue = shortFallInYear - orphansCreatedInYear;
+
+        if (orphansDue > 0) {
+            createOrphanChildren(orphansDue);
+            orphansCreatedInYear += orphansDue;
+        }
 
         return shortFallInBirths;
     }
@@ -432,26 +465,28 @@ public class OBDModel {
         final FemaleCollection femalesLiving = population.getLivingPeople().getFemales();
         final Period timeStep = config.getSimulationTimeStep();
         final Set<LocalDate> divisionDates = femalesLiving.getDivisionDates(timeStep);
+        final Set<IntegerRange> birthOrders = desiredStatistics.getOrderedBirthRates(Year.of(currentDate.getYear())).getColumnLabels();
 
         int count = 0;
 
         // For each division in the population data store up to the current date
         for (final LocalDate divisionDate : divisionDates) {
             if (divisionDate.isAfter(currentDate)) break;
-            count += getBornAtTS(femalesLiving, divisionDate);
+            count += getBornAtTS(femalesLiving, divisionDate, birthOrders);
         }
 
         return count;
     }
 
-    private int getBornAtTS(final FemaleCollection femalesLiving, final LocalDate divisionDate) {
+    private int getBornAtTS(final FemaleCollection femalesLiving, final LocalDate divisionDate, final Set<IntegerRange> birthOrders) {
 
         final Period consideredTimePeriod = config.getSimulationTimeStep();
         final int age = Period.between(divisionDate.plus(consideredTimePeriod), currentDate).getYears();
 
-        final int cohortSize = femalesLiving.getPeopleBornInTimePeriod(divisionDate, consideredTimePeriod).size();
+        final int cohortSize = femalesLiving.getNumberOfPeople(divisionDate, consideredTimePeriod);
 
-        final Set<IntegerRange> birthOrders = desiredStatistics.getOrderedBirthRates(Year.of(currentDate.getYear())).getColumnLabels();
+        // An empty cohort can have no births, so the birth rates need not be consulted
+        if (cohortSize == 0) return 0;
 
         int count = 0;
 
@@ -465,13 +500,23 @@ public class OBDModel {
 
         final Period consideredTimePeriod = config.getSimulationTimeStep();
 
-        // TODO already retrieved women for this period in calling method.
-        final List<IPerson> people = new ArrayList<>(femalesLiving.getByDatePeriodAndBirthOrder(divisionDate, consideredTimePeriod, birthOrder));
         final BirthStatsKey key = new BirthStatsKey(age, birthOrder.getValue(), cohortSize, consideredTimePeriod, currentDate);
         final SingleDeterminedCount determinedCount = (SingleDeterminedCount) desiredStatistics.getDeterminedCount(key, config);
 
         final int numberOfChildren = determinedCount.getDeterminedCount();
 
+        // With no births required, no prospective mothers need be found; this is the usual case for short time steps
+        if (numberOfChildren == 0) {
+
+            determinedCount.setFulfilledCount(0);
+            desiredStatistics.returnAchievedCount(determinedCount);
+            return 0;
+        }
+
+        // Women whose last child is too recent for another birth are excluded by the collection's index.
+        final List<IPerson> people = new ArrayList<>(femalesLiving.getByDatePeriodAndBirthOrderAbleToGiveBirth(divisionDate, consideredTimePeriod, birthOrder,
+                desiredStatistics.getMinBirthSpacing(), currentDate));
+
         // Make women into mothers
         final MothersNeedingPartners mothersNeedingPartners = selectMothers(people, numberOfChildren);
 
@@ -488,47 +533,84 @@ public class OBDModel {
 
     private int createDeaths(final SexOption sex) {
 
-        int killedAtTS = 0;
-
         final PersonCollection ofSexLiving = getLivingPeopleOfSex(sex);
         final Set<LocalDate> divisionDates = ofSexLiving.getDivisionDates(config.getSimulationTimeStep());
 
+        final List<CohortDeaths> cohorts = new ArrayList<>();
+
         // For each division in the population data store up to the current date
         for (final LocalDate divisionDate : divisionDates) {
 
             if (divisionDate.isAfter(currentDate)) break;
-            final int killedAtTS1 = getKilledAtTS(sex, ofSexLiving, divisionDate);
-
-            killedAtTS += killedAtTS1;
+            cohorts.add(getKilledAtTS(sex, ofSexLiving, divisionDate));
         }
 
+        selectDeaths(ofSexLiving, cohorts);
+
+        int killedAtTS = 0;
+
+        // Apply the deaths in cohort order, so the outcome does not depend on how the selections were scheduled
+        for (final CohortDeaths cohort : cohorts)
+            killedAtTS += killPeople(ofSexLiving, cohort.getDeaths());
+
         return killedAtTS;
     }
 
-    private int getKilledAtTS(final SexOption sex, final PersonCollection ofSexLiving, final LocalDate divisionDate) {
+    private CohortDeaths getKilledAtTS(final SexOption sex, final PersonCollection ofSexLiving, final LocalDate divisionDate) {
 
         final Period consideredTimePeriod = config.getSimulationTimeStep();
 
         final int age = Period.between(divisionDate, currentDate).getYears();
         final int peopleOfAge = ofSexLiving.getNumberOfPeople(divisionDate, consideredTimePeriod);
 
+        // An empty cohort can have no deaths, so the death rates need not be consulted
+        if (peopleOfAge == 0) return new CohortDeaths(divisionDate, 0, null);
+
         // gets death rate for people of age at the current date
         final StatsKey<Integer,Integer> key = new DeathStatsKey(age, peopleOfAge, consideredTimePeriod, currentDate, sex);
         @SuppressWarnings("unchecked")
         final DeterminedCount<Integer, Double, Integer, Integer> determinedCount = (DeterminedCount<Integer, Double, Integer, Integer>) desiredStatistics.getDeterminedCount(key, config);
 
-        // Calculate the appropriate number to kill
-        final int numberToKill = determinedCount.getDeterminedCount();
+        // Calculate the appropriate number to kill, which is limited only by the size of the cohort
+        final int numberToKill = Math.min(determinedCount.getDeterminedCount(), peopleOfAge);
 
-        final Collection<IPerson> peopleToKill = ofSexLiving.removeNPersons(numberToKill, divisionDate, consideredTimePeriod, true);
+        // Returns the number to be killed to the distribution manager
+        determinedCount.setFulfilledCount(numberToKill);
+        desiredStatistics.returnAchievedCount(determinedCount);
 
-        final int killed = killPeople(peopleToKill);
+        final RandomGenerator random = randomStreams.split(RandomStreams.Subsystem.DEATHS, sex.ordinal(), divisionDate.toEpochDay());
 
-        // Returns the number killed to the distribution manager
-        determinedCount.setFulfilledCount(killed);
-        desiredStatistics.returnAchievedCount(determinedCount);
+        return new CohortDeaths(divisionDate, numberToKill, random);
+    }
 
-        return killed;
+    private void selectDeaths(final PersonCollection ofSexLiving, final List<CohortDeaths> cohorts) {
+
+        final LocalDate date = currentDate;
+        final Period timeStep = config.getSimulationTimeStep();
+
+        if (deathExecutor == null) {
+            for (final CohortDeaths cohort : cohorts)
+                cohort.select(ofSexLiving, desiredStatistics, date, timeStep);
+            return;
+        }
+
+        final List<Future<?>> selections = new ArrayList<>();
+
+        for (final CohortDeaths cohort : cohorts)
+            selections.add(deathExecutor.submit(() -> cohort.select(ofSexLiving, desiredStatistics, date, timeStep)));
+
+        try {
+            for (final Future<?> selection : selections)
+                selection.get();
+
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new RuntimeException(e.getCause());
+        }
     }
 
     private int createPartnerships(final List<NewMother> mothersNeedingPartners) {
@@ -543,11 +625,11 @@ public class OBDModel {
 
         final MultipleDeterminedCountByIR determinedCounts = (MultipleDeterminedCountByIR) desiredStatistics.getDeterminedCount(key, config);
 
-        final OperableLabelledValueSet<IntegerRange, Integer> partnerCounts = new IntegerRangeToIntegerSet(determinedCounts.getDeterminedCount(), Randomness.getRandomGenerator());
-        final LabelledValueSet<IntegerRange, Integer> achievedPartnerCounts = new IntegerRangeToIntegerSet(partnerCounts.getLabels(), 0, Randomness.getRandomGenerator());
-        final LabelledValueSet<IntegerRange, Integer> availableMen = new IntegerRangeToIntegerSet(partnerCounts.getLabels(), 0, Randomness.getRandomGenerator());
+        final OperableLabelledValueSet<IntegerRange, Integer> partnerCounts = new IntegerRangeToIntegerSet(determinedCounts.getDeterminedCount(), randomStreams.get(RandomStreams.Subsystem.PARTNERING));
+        final LabelledValueSet<IntegerRange, Integer> achievedPartnerCounts = new IntegerRangeToIntegerSet(partnerCounts.getLabels(), 0, randomStreams.get(RandomStreams.Subsystem.PARTNERING));
+        final LabelledValueSet<IntegerRange, Integer> availableMen = new IntegerRangeToIntegerSet(partnerCounts.getLabels(), 0, randomStreams.get(RandomStreams.Subsystem.PARTNERING));
 
-        final Map<IntegerRange, List<IPerson>> menMap = getAllMen(partnerCounts, availableMen);
+        final Map<IntegerRange, Queue<IPerson>> menMap = getAllMen(partnerCounts, availableMen);
         final OperableLabelledValueSet<IntegerRange, Integer> redistributedPartnerCounts = redistributePartnerCounts(partnerCounts, availableMen);
 
         final List<ProposedPartnership> proposedPartnerships = getProposedPartnerships(mothersNeedingPartnersCopy, menMap, redistributedPartnerCounts, achievedPartnerCounts);
@@ -569,7 +651,7 @@ public class OBDModel {
 
     private Map<Integer, List<IPerson>> getPartneredFemalesByChildren(final MultipleDeterminedCountByIR determinedCounts, final List<ProposedPartnership> proposedPartnerships) {
 
-        final LabelledValueSet<IntegerRange, Integer> returnPartnerCounts = determinedCounts.getZeroedCountsTemplate(Randomness.getRandomGenerator());
+        final LabelledValueSet<IntegerRange, Integer> returnPartnerCounts = determinedCounts.getZeroedCountsTemplate(randomStreams.get(RandomStreams.Subsystem.PARTNERING));
         final Map<Integer, List<IPerson>> partneredFemalesByChildren = new HashMap<>();
 
         for (final ProposedPartnership partnership : proposedPartnerships) {
@@ -591,7 +673,7 @@ public class OBDModel {
         final int numChildrenInPartnership = partnership.numberOfChildren;
 
         // Decide on marriage
-        final MarriageStatsKey marriageKey = new MarriageStatsKey(ageOnDate(mother, currentDate), numChildrenInPartnership, config.getSimulationTimeStep(), currentDate);
+        final MarriageStatsKey marriageKey = new MarriageStatsKey(ageOnDate(mother, currentDate), numChildrenInPartnership, PROPORTION_OF_BIRTHS_PERIOD, currentDate);
         final SingleDeterminedCount marriageCounts = (SingleDeterminedCount) desiredStatistics.getDeterminedCount(marriageKey, config);
 
         final boolean isIllegitimate = !needsNewPartner(father, currentDate);
@@ -630,7 +712,7 @@ public class OBDModel {
                 newAddress = geography.getNearestEmptyAddressAtDistance(lastMaleAddress.getArea().getCentroid(), moveDistance);
             } else {
                 // both already have address, so flip coin to decide who acts as origin for move
-                if (Randomness.getRandomGenerator().nextBoolean())
+                if (randomStreams.get(RandomStreams.Subsystem.PARTNERING).nextBoolean())
                     newAddress = geography.getNearestEmptyAddressAtDistance(lastMaleAddress.getArea().getCentroid(), moveDistance);
                 else
                     newAddress = geography.getNearestEmptyAddressAtDistance(lastFemaleAddress.getArea().getCentroid(), moveDistance);
@@ -655,7 +737,7 @@ public class OBDModel {
             }
     }
 
-    private void findPartners(final List<NewMother> women, final Map<IntegerRange, List<IPerson>> menMap,
+    private void findPartners(final List<NewMother> women, final Map<IntegerRange, Queue<IPerson>> menMap,
                               final LabelledValueSet<IntegerRange, Integer> partnerCounts, final List<ProposedPartnership> proposedPartnerships) {
 
         final Iterator<NewMother> iterator = women.iterator();
@@ -680,7 +762,7 @@ public class OBDModel {
         }
     }
 
-    private List<ProposedPartnership> getProposedPartnerships(final List<NewMother> women, final Map<IntegerRange, List<IPerson>> menMap,
+    private List<ProposedPartnership> getProposedPartnerships(final List<NewMother> women, final Map<IntegerRange, Queue<IPerson>> menMap,
                                                               final LabelledValueSet<IntegerRange, Integer> partnerCounts, final LabelledValueSet<IntegerRange, Integer> achievedPartnerCounts) {
 
         final List<ProposedPartnership> proposedPartnerships = new ArrayList<>();
@@ -688,7 +770,7 @@ public class OBDModel {
         // for each age range of males
         for (final IntegerRange range : partnerCounts.getLabels()) {
 
-            final List<IPerson> men = menMap.get(range);
+            final Queue<IPerson> men = menMap.get(range);
             final Collection<NewMother> unmatchedFemales = new ArrayList<>();
 
             final int determinedCount = addPartnerships(women, men, proposedPartnerships, unmatchedFemales, partnerCounts.get(range));
@@ -702,7 +784,7 @@ public class OBDModel {
         return proposedPartnerships;
     }
 
-    private int addPartnerships(final List<NewMother> women, final List<IPerson> men, final List<ProposedPartnership> proposedPartnerships, final Collection<NewMother> unmatchedFemales, final int initialCount) {
+    private int addPartnerships(final List<NewMother> women, final Queue<IPerson> men, final List<ProposedPartnership> proposedPartnerships, final Collection<NewMother> unmatchedFemales, final int initialCount) {
 
         int determinedCount = initialCount;
 
@@ -711,7 +793,7 @@ public class OBDModel {
         // Keep going until enough females have been matched for this range
         while (determinedCount > 0 && !women.isEmpty()) {
 
-            final IPerson man = men.removeFirst();
+            final IPerson man = men.remove();
             NewMother woman = women.removeFirst();
 
             // if man is head of list - i.e. this is the second time round
@@ -737,21 +819,21 @@ public class OBDModel {
                 if (head == null) {
                     head = man;
                 }
-                men.addLast(man);
+                men.add(man);
                 women.addFirst(woman);
             }
         }
         return determinedCount;
     }
 
-    private static OperableLabelledValueSet<IntegerRange, Integer> redistributePartnerCounts(final OperableLabelledValueSet<IntegerRange, Integer> initialPartnerCounts, final LabelledValueSet<IntegerRange, Integer> availableMen) {
+    private OperableLabelledValueSet<IntegerRange, Integer> redistributePartnerCounts(final OperableLabelledValueSet<IntegerRange, Integer> initialPartnerCounts, final LabelledValueSet<IntegerRange, Integer> availableMen) {
 
         OperableLabelledValueSet<IntegerRange, Integer> partnerCounts = initialPartnerCounts;
         OperableLabelledValueSet<IntegerRange, Double> shortfallCounts;
 
         // this section redistributes the determined partner counts based on the number of available men in each age range
         do {
-            shortfallCounts = new IntegerRangeToDoubleSet(partnerCounts.valuesSubtractValues(availableMen), Randomness.getRandomGenerator());
+            shortfallCounts = new IntegerRangeToDoubleSet(partnerCounts.valuesSubtractValues(availableMen), randomStreams.get(RandomStreams.Subsystem.PARTNERING));
 
             final LabelledValueSet<IntegerRange, Double> zeroedNegShortfalls = shortfallCounts.zeroNegativeValues();
             final int numberOfRangesWithSpareMen = shortfallCounts.countNegativeValues();
@@ -759,23 +841,23 @@ public class OBDModel {
             final double shortfallToShare = totalShortfall / (double) numberOfRangesWithSpareMen;
 
             partnerCounts = new IntegerRangeToDoubleSet(partnerCounts.valuesAddNWhereCorrespondingLabelNegativeInLVS(shortfallToShare, shortfallCounts)
-                    .valuesSubtractValues(zeroedNegShortfalls), Randomness.getRandomGenerator()).controlledRoundingMaintainingSum();
+                    .valuesSubtractValues(zeroedNegShortfalls), randomStreams.get(RandomStreams.Subsystem.PARTNERING)).controlledRoundingMaintainingSum();
 
         } while (shortfallCounts.countPositiveValues() != 0);
 
         return partnerCounts;
     }
 
-    private Map<IntegerRange, List<IPerson>> getAllMen(final LabelledValueSet<IntegerRange, Integer> partnerCounts, final LabelledValueSet<IntegerRange, Integer> availableMen) {
+    private Map<IntegerRange, Queue<IPerson>> getAllMen(final LabelledValueSet<IntegerRange, Integer> partnerCounts, final LabelledValueSet<IntegerRange, Integer> availableMen) {
 
-        final Map<IntegerRange, List<IPerson>> allMen = new TreeMap<>();
+        final Map<IntegerRange, Queue<IPerson>> allMen = new TreeMap<>();
         for (final IntegerRange range : partnerCounts.getLabels()) {
 
             final Period rangeLength = getRangeLength(range);
 
-            final List<IPerson> men = new ArrayList<>(population.getLivingPeople().getMales().getPeopleBornInTimePeriod(getYearOfBirthOfOlderEndOfRange(range, currentDate), rangeLength));
-
-            CollectionUtils.shuffle(men, Randomness.getRandomGenerator());
+            // Men are neither copied nor shuffled beyond what the partner search reaches.
+            final Queue<IPerson> men = new LazilyShuffledQueue<>(population.getLivingPeople().getMales().getPeopleBornInTimePeriodView(getYearOfBirthOfOlderEndOfRange(range, currentDate), rangeLength),
+                    randomStreams.get(RandomStreams.Subsystem.PARTNERING));
 
             allMen.put(range, men);
             availableMen.update(range, men.size());
@@ -836,7 +918,7 @@ public class OBDModel {
         if (lastPartnership != null && !lastPartnership.isFinalised()) {
 
             // the getting process forces these to be set - they can only be set once the next partnership has been set up - i.e. now!
-            final LocalDate sepDate = lastPartnership.getSeparationDate(Randomness.getRandomGenerator());
+            final LocalDate sepDate = lastPartnership.getSeparationDate(randomStreams.get(RandomStreams.Subsystem.SEPARATION));
 
             if (sepDate != null) {
                 final IPerson ex = lastPartnership.getPartnerOf(rePartneringPartner);
@@ -844,10 +926,10 @@ public class OBDModel {
                 if (!ex.hasEmigrated() && !rePartneringPartner.hasEmigrated()) { // if neither has emigrated then we need to make these separtaion decisions - otherwise the house and kids stay with who is still in the country (the sim will have already handled this)
 
                     // flip coin for who gets the house
-                    final boolean keepHouse = ex.isPhantom() || ex.getDeathDate() != null || Randomness.getRandomGenerator().nextBoolean();
+                    final boolean keepHouse = ex.isPhantom() || ex.getDeathDate() != null || randomStreams.get(RandomStreams.Subsystem.SEPARATION).nextBoolean();
 
                     // flip coin for who gets the kids
-                    final boolean keepKids = ex.isPhantom() || ex.getDeathDate() != null || Randomness.getRandomGenerator().nextBoolean();
+                    final boolean keepKids = ex.isPhantom() || ex.getDeathDate() != null || randomStreams.get(RandomStreams.Subsystem.SEPARATION).nextBoolean();
 
                     final Address oldFamilyAddress = rePartneringPartner.getAddress(sepDate);
 
@@ -1028,8 +1110,8 @@ public class OBDModel {
         final int ageOfMothers = ageOnDate(females.getFirst(), currentDate);
 
         final MultipleDeterminedCountByIR requiredBirths = calcNumberOfPregnanciesOfMultipleBirth(ageOfMothers, numberOfChildren);
-        final LabelledValueSet<IntegerRange, Integer> motherCountsByMaternities = new IntegerRangeToIntegerSet(requiredBirths.getDeterminedCount().getLabels(), 0, Randomness.getRandomGenerator());
-        final OperableLabelledValueSet<IntegerRange, Integer> remainingMothersToFind = new IntegerRangeToIntegerSet(requiredBirths.getDeterminedCount().clone(), Randomness.getRandomGenerator());
+        final LabelledValueSet<IntegerRange, Integer> motherCountsByMaternities = new IntegerRangeToIntegerSet(requiredBirths.getDeterminedCount().getLabels(), 0, randomStreams.get(RandomStreams.Subsystem.BIRTHS));
+        final OperableLabelledValueSet<IntegerRange, Integer> remainingMothersToFind = new IntegerRangeToIntegerSet(requiredBirths.getDeterminedCount().clone(), randomStreams.get(RandomStreams.Subsystem.BIRTHS));
 
         try {
             return getMothersNeedingPartners(females, numberOfChildren, requiredBirths, motherCountsByMaternities, remainingMothersToFind);
@@ -1042,8 +1124,6 @@ public class OBDModel {
     private MothersNeedingPartners getMothersNeedingPartners(final List<IPerson> females, final int numberOfChildren, final MultipleDeterminedCountByIR requiredBirths,
                                                              final LabelledValueSet<IntegerRange, Integer> motherCountsByMaternities, final OperableLabelledValueSet<IntegerRange, Integer> remainingMothersToFind) {
 
-        CollectionUtils.shuffle(females, Randomness.getRandomGenerator());
-
         IntegerRange highestBirthOption = remainingMothersToFind.getLargestLabelOfNonZeroValue();
 
         int childrenMade = 0;
@@ -1051,7 +1131,12 @@ public class OBDModel {
 
         final Map<Integer, List<IPerson>> continuingPartneredFemalesByChildren = new HashMap<>();
 
-        for (final IPerson female : females) {
+        // Females are shuffled only as far as the search for mothers reaches.
+        final Iterator<IPerson> shuffledFemales = CollectionUtils.shuffledIterator(females, randomStreams.get(RandomStreams.Subsystem.BIRTHS));
+
+        while (shuffledFemales.hasNext()) {
+
+            final IPerson female = shuffledFemales.next();
 
             if (eligible(female)) {
 
@@ -1149,7 +1234,7 @@ public class OBDModel {
 
         final IPerson man = partnership.getMalePartner();
 
-        final AdulterousBirthStatsKey adulterousKey = new AdulterousBirthStatsKey(ageOnDate(man, birthDate), numberOfChildren, config.getSimulationTimeStep(), birthDate);
+        final AdulterousBirthStatsKey adulterousKey = new AdulterousBirthStatsKey(ageOnDate(man, birthDate), numberOfChildren, PROPORTION_OF_BIRTHS_PERIOD, birthDate);
         final SingleDeterminedCount adulterousCounts = (SingleDeterminedCount) desiredStatistics.getDeterminedCount(adulterousKey, config);
 
         if(isAdulterous)
@@ -1163,7 +1248,7 @@ public class OBDModel {
     private void updateMarriageCounts(final IPerson mother, final int numberOfChildren, final IPerson mostRecentPreviousChild,
                                       final IPartnership mostRecentPartnership, final LocalDate newChildBirthDate) {
 
-        final MarriageStatsKey marriageKey = new MarriageStatsKey(ageOnDate(mother, newChildBirthDate), numberOfChildren, config.getSimulationTimeStep(), newChildBirthDate);
+        final MarriageStatsKey marriageKey = new MarriageStatsKey(ageOnDate(mother, newChildBirthDate), numberOfChildren, PROPORTION_OF_BIRTHS_PERIOD, newChildBirthDate);
         final SingleDeterminedCount marriageCounts = (SingleDeterminedCount) desiredStatistics.getDeterminedCount(marriageKey, config);
 
         if (mostRecentPartnership.getMarriageDate() != null) {
@@ -1205,7 +1290,7 @@ public class OBDModel {
         if (!women.isEmpty()) {
             for (final NewMother newMother : women) {
 
-                System.out.println("removing last partnership of: " + newMother.newMother);
+                log.fine(() -> "removing last partnership of: " + newMother.newMother);
 
                 // update position in data structures
                 population.getLivingPeople().remove(newMother.newMother);
@@ -1213,7 +1298,7 @@ public class OBDModel {
                 cancelledChildren += newMother.numberOfChildrenInMaternity;
                 // cancel birth(s) as no father can be found
                 IPartnership lastPartnership = getLastPartnership(newMother.newMother);
-                newMother.newMother.getPartnerships().remove(lastPartnership);
+                newMother.newMother.removePartnership(lastPartnership);
 
                 population.getLivingPeople().add(newMother.newMother);
             }
@@ -1243,16 +1328,16 @@ public class OBDModel {
 
     private boolean maleAvailable(final IPerson man, final int childrenInPregnancy) {
 
-        // if the man has immigrated this year, was he present early enough in the year to be the father?
+        // if the man has immigrated in this time step, was he present early enough in the step to be the father?
         if (man.getImmigrationDate() != null &&
-            man.getImmigrationDate().plus(desiredStatistics.getMinGestationPeriod()).isAfter(currentDate.plusYears(1).minusDays(1)))
+            man.getImmigrationDate().plus(desiredStatistics.getMinGestationPeriod()).isAfter(currentDate.plus(config.getSimulationTimeStep()).minusDays(1)))
                 return false;
 
         // during the initialisation phase any partnering is allowed
         if (!currentDate.isAfter(endOfInitPeriod)) return true;
 
         // Get adulterous birth rates
-        final AdulterousBirthStatsKey adulterousBirthKey = new AdulterousBirthStatsKey(ageOnDate(man, currentDate), childrenInPregnancy, config.getSimulationTimeStep(), currentDate);
+        final AdulterousBirthStatsKey adulterousBirthKey = new AdulterousBirthStatsKey(ageOnDate(man, currentDate), childrenInPregnancy, PROPORTION_OF_BIRTHS_PERIOD, currentDate);
         final SingleDeterminedCount adulterousBirthCounts = (SingleDeterminedCount) desiredStatistics.getDeterminedCount(adulterousBirthKey, config);
         final int permitted = (int) Math.round(adulterousBirthCounts.getDeterminedCount() / (double) childrenInPregnancy);
 
@@ -1338,20 +1423,20 @@ public class OBDModel {
         }
     }
 
-    private int killPeople(final Collection<IPerson> people) {
+    private int killPeople(final PersonCollection ofSexLiving, final List<CohortDeaths.Death> deaths) {
 
-        int killed = 0;
+        for (final CohortDeaths.Death death : deaths)
+            ofSexLiving.remove(death.person());
 
-        for (final IPerson person : people) {
+        int killed = 0;
 
-            // choose date of death
-            final LocalDate deathDate = deathDateSelector.selectDate(person, desiredStatistics, currentDate, config.getSimulationTimeStep());
+        for (final CohortDeaths.Death death : deaths) {
 
-            final int ageAtDeath = Period.between(person.getBirthDate(), deathDate).getYears();
-            final String deathCause = desiredStatistics.getDeathCauseRates(Year.of(deathDate.getYear()), person.getSex(), ageAtDeath).getSample();
+            final IPerson person = death.person();
+            final LocalDate deathDate = death.date();
 
             person.setDeathDate(deathDate);
-            person.setDeathCause(deathCause);
+            person.setDeathCause(death.cause());
 
             for (final IPartnership partnership : person.getPartnerships())
                 handleSeparationMoves(partnership, partnership.getPartnerOf(person));
@@ -1396,8 +1481,8 @@ public class OBDModel {
         summary.setFailedEligibilityChecks(population.getPopulationCounts().getFailedEligibilityChecks());
         summary.setTotalPop(population.getPeople(config.getT0(), config.getTE(), Period.ofYears(MAXIMUM_AGE_AT_DEATH)).getNumberOfPeople());
         summary.setSimRunTime(simTimer.getRunTimeSeconds());
-        summary.setMaxMemoryUsage(MemoryUsageAnalysis.getMaxSimUsage());
-        MemoryUsageAnalysis.reset();
+        summary.setMaxMemoryUsage(memoryUsage.getMaxSimUsage());
+        memoryUsage.reset();
     }
 
     private void recordSummary() {
@@ -1411,7 +1496,7 @@ public class OBDModel {
 
     private void recordFinalSummary() {
 
-        MemoryUsageAnalysis.log();
+        memoryUsage.log();
 
         summary.setTotalPop(population.getPeople(config.getT0(), config.getTE(), Period.ofYears(MAXIMUM_AGE_AT_DEATH)).getNumberOfPeople());
         summary.setSimRunTime(simTimer.getRunTimeSeconds());
@@ -1432,7 +1517,7 @@ public class OBDModel {
 
         // this is a random dice roll to see if the fraction of a has the event or not
 
-        if (Randomness.getRandomGenerator().nextInt(100) < toHaveEvent * 100)
+        if (randomStreams.get(RandomStreams.Subsystem.STATISTICS).nextInt(100) < toHaveEvent * 100)
             flooredToHaveEvent++;
 
         return flooredToHaveEvent;
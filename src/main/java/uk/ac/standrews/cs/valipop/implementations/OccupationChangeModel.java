@@ -17,6 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.implementations;
 
+import org.apache.commons.math3.random.RandomGenerator;
 import uk.ac.standrews.cs.valipop.Config;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation;
@@ -36,6 +37,8 @@ import java.time.Year;
  */
 public class OccupationChangeModel {
 
+    private static final int YEARS_BETWEEN_CHANGES = 10;
+
     private final PopulationStatistics desired;
     private final Population population;
     private final Config config;
@@ -50,15 +53,8 @@ public class OccupationChangeModel {
 
     public void performOccupationChange(LocalDate onDate) {
 
-        if(useChangeTables) {
-            // for each sex
-            occupationChangeFor(SexOption.MALE, onDate);
-            occupationChangeFor(SexOption.FEMALE, onDate);
-        } else {
-            occupationResampleFor(SexOption.MALE, onDate);
-            occupationResampleFor(SexOption.FEMALE, onDate);
-        }
-
+        occupationChangeFor(SexOption.MALE, onDate);
+        occupationChangeFor(SexOption.FEMALE, onDate);
     }
 
     private void occupationChangeFor(SexOption sex, LocalDate onDate) {
@@ -73,66 +69,88 @@ public class OccupationChangeModel {
         // This one at a time approach is inefficent (but linear) - searching each time so as to group by occupation makes in squared
         // if we need optomisation then a faster linear way would be to store everone in the same job in a supporting data structure
 
-        // for all people of sex
-        for(IPerson person : people) {
-            // if persons age is divisible by 10
-            if(PopulationNavigation.ageOnDate(person, onDate) % 10 == 0) {
-                // then get last occupation
-                String occupation = person.getLastOccupation();
-
-                // use to get new occuption
-                OccupationChangeStatsKey key = new OccupationChangeStatsKey(occupation, 1, Period.ofYears(10), onDate, sex);
-                MultipleDeterminedCountByString mDC = (MultipleDeterminedCountByString) desired.getDeterminedCount(key, config);
-
-                // this for loop is looking for the non zero value in the set of which there is either 1 or 0 - we could optomise this by using an OrderByValueLabelledValueSet (which somebody would first need to implement...)
-                for(String label : mDC.getDeterminedCount().getLabels()) {
-                    if(mDC.getDeterminedCount().get(label) != 0) {
-                        // if not same as last then update occupation history
-                        if(!label.equals(occupation)) {
-                            person.setOccupation(onDate, label);
-                        }
-                        // else do nothing - it's the same job, it doesn't need multiple entries in the occupation history
-                        break;
-                    }
-                    // if we get to here without ever breaking then it inidcates the previous occupation isn't in the occupation change data
-                    // current sim behaviour is that the person sticks with this occuption - this may change next time round if the next data input for occupation change features the previous occupation
-                }
+        Period timeStep = config.getSimulationTimeStep();
+
+        // only divisions containing someone whose age is divisible by 10 are searched, in the same order as a search of all people
+        for(LocalDate divisionDate : people.getDivisionDates()) {
+
+            int oldestAge = PopulationNavigation.ageOnDate(divisionDate, onDate);
+            int youngestAge = PopulationNavigation.ageOnDate(divisionDate.plus(timeStep).minusDays(1), onDate);
+
+            if(oldestAge / YEARS_BETWEEN_CHANGES == youngestAge / YEARS_BETWEEN_CHANGES && youngestAge % YEARS_BETWEEN_CHANGES != 0) continue;
 
-                mDC.setFulfilledCount(mDC.getDeterminedCount());
-                desired.returnAchievedCount(mDC);
+            for(IPerson person : people.getPeopleBornInTimePeriod(divisionDate, timeStep)) {
+                int age = PopulationNavigation.ageOnDate(person, onDate);
+                if(isDueForChange(person.getBirthDate(), age, onDate, timeStep)) {
+                    changeOccupation(person, age, onDate);
+                }
             }
         }
     }
 
-    private void occupationResampleFor(SexOption sex, LocalDate onDate) {
+    /**
+     * Decides whether a person is due an occupation change in the time step starting on the given date: their age
+     * must be divisible by 10, and the birthday on which they reached it must fall within the preceding time step.
+     * With yearly steps this is the same as the age being divisible by 10; with shorter steps it stops a person being
+     * changed at every step of the year in which they have that age.
+     *
+     * @param birthDate the person's date of birth
+     * @param age the person's age on the date
+     * @param onDate the start of the time step
+     * @param timeStep the length of the time step
+     * @return true if the person's occupation should be changed
+     */
+    static boolean isDueForChange(LocalDate birthDate, int age, LocalDate onDate, Period timeStep) {
+
+        return age % YEARS_BETWEEN_CHANGES == 0 && birthDate.plusYears(age).isAfter(onDate.minus(timeStep));
+    }
 
-        PersonCollection people;
+    private void changeOccupation(IPerson person, int age, LocalDate onDate) {
 
-        if(sex == SexOption.MALE)
-            people = population.getLivingPeople().getMales();
+        if(useChangeTables)
+            changeOccupationFromChangeTables(person, onDate);
         else
-            people = population.getLivingPeople().getFemales();
-
-        // This one at a time approach is inefficent (but linear) - searching each time so as to group by occupation makes in squared
-        // if we need optomisation then a faster linear way would be to store everone in the same job in a supporting data structure
-
-        // for all people of sex
-        for(IPerson person : people) {
-            // if persons age is divisible by 10
-            int age = PopulationNavigation.ageOnDate(person, onDate);
-            if(age % 10 == 0) {
-                // then get last occupation
-                String occupation = person.getLastOccupation();
+            resampleOccupation(person, age, onDate);
+    }
 
-                // use to get new occuption
-                String newOccupation = desired.getOccupation(Year.of(onDate.getYear()), sex).getDistributionForAge(age).getSample();
+    private void changeOccupationFromChangeTables(IPerson person, LocalDate onDate) {
 
+        // then get last occupation
+        String occupation = person.getLastOccupation();
 
-                if(!newOccupation.equals(occupation)) {
-                    person.setOccupation(onDate, newOccupation);
-                } // else do nothing - it's the same job, it doesn't need multiple entries in the occupation history
+        // use to get new occuption
+        OccupationChangeStatsKey key = new OccupationChangeStatsKey(occupation, 1, Period.ofYears(YEARS_BETWEEN_CHANGES), onDate, person.getSex());
+        MultipleDeterminedCountByString mDC = (MultipleDeterminedCountByString) desired.getDeterminedCount(key, config);
 
+        // this for loop is looking for the non zero value in the set of which there is either 1 or 0 - we could optomise this by using an OrderByValueLabelledValueSet (which somebody would first need to implement...)
+        for(String label : mDC.getDeterminedCount().getLabels()) {
+            if(mDC.getDeterminedCount().get(label) != 0) {
+                // if not same as last then update occupation history
+                if(!label.equals(occupation)) {
+                    person.setOccupation(onDate, label);
+                }
+                // else do nothing - it's the same job, it doesn't need multiple entries in the occupation history
+                break;
             }
+            // if we get to here without ever breaking then it inidcates the previous occupation isn't in the occupation change data
+            // current sim behaviour is that the person sticks with this occuption - this may change next time round if the next data input for occupation change features the previous occupation
         }
+
+        mDC.setFulfilledCount(mDC.getDeterminedCount());
+        desired.returnAchievedCount(mDC);
+    }
+
+    private void resampleOccupation(IPerson person, int age, LocalDate onDate) {
+
+        // then get last occupation
+        String occupation = person.getLastOccupation();
+
+        // use to get new occuption, from the person's own stream so that the outcome does not depend on the order in which people are visited
+        RandomGenerator random = desired.getRandomStreams().split(RandomStreams.Subsystem.OCCUPATIONS, person.getId());
+        String newOccupation = desired.getOccupation(Year.of(onDate.getYear()), person.getSex()).getDistributionForAge(age).getSample(random);
+
+        if(!newOccupation.equals(occupation)) {
+            person.setOccupation(onDate, newOccupation);
+        } // else do nothing - it's the same job, it doesn't need multiple entries in the occupation history
     }
 }
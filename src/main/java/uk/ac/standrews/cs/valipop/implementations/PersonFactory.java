@@ -93,7 +93,7 @@ public class PersonFactory {
                 return makePerson(
                         birthDateSelector.selectRandomDate(
                             immigrationDateFather.plus(desired.getMinGestationPeriod()),
-                            currentDate.plus(1, ChronoUnit.YEARS)).minus(1, ChronoUnit.DAYS),
+                            currentDate.plus(simulationTimeStep)).minus(1, ChronoUnit.DAYS),
                         parents, adulterous);
         }
 
@@ -0,0 +1,215 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations;
+
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * A hierarchy of independent random streams derived from the seed of a simulation run. Each subsystem of the
+ * simulation has its own stream, which is restarted at the beginning of every time step from the seed, the subsystem
+ * and the date of the step. Work within a step that may be reordered or run concurrently, such as the processing of
+ * one birth cohort, can split off a stream of its own identified by further keys.
+ *
+ * Changing how many numbers one subsystem draws in one time step therefore leaves the numbers drawn by every other
+ * subsystem, and by the same subsystem in later steps, unchanged.
+ *
+ * Streams are not synchronized. The stream of a subsystem is drawn from only by the thread simulating the run, and
+ * work on any other thread splits off its own stream rather than sharing one.
+ *
+ * Streams are generated by the LXM generator L64X128MixRandom from {@link java.util.random}, adapted to the
+ * Commons Math {@link RandomGenerator} interface used throughout the simulation.
+ */
+public class RandomStreams {
+
+    public enum Subsystem {
+
+        STATISTICS(1),
+        NAMES(2),
+        OCCUPATIONS(3),
+        BIRTH_DATES(4),
+        BIRTHS(5),
+        DEATHS(6),
+        PARTNERING(7),
+        MARRIAGE_DATES(8),
+        SEPARATION(9),
+        MIGRATION(10),
+        MOVE_DISTANCES(11),
+        GEOGRAPHY(12),
+        RECORDS(13);
+
+        // Fixed keys, so that adding or reordering subsystems does not change existing streams.
+        private final long key;
+
+        Subsystem(final long key) {
+            this.key = key;
+        }
+    }
+
+    private static final String ALGORITHM = "L64X128MixRandom";
+    private static final RandomGeneratorFactory<java.util.random.RandomGenerator> FACTORY = RandomGeneratorFactory.of(ALGORITHM);
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long root;
+    private final Map<Subsystem, Stream> streams = new EnumMap<>(Subsystem.class);
+
+    private long step;
+
+    /**
+     * @param seed the seed of the simulation run
+     */
+    public RandomStreams(final long seed) {
+
+        root = mix(seed);
+        step = root;
+    }
+
+    /**
+     * Restarts the stream of every subsystem for the time step beginning on the given date.
+     *
+     * @param date the first date of the time step
+     */
+    public void beginTimeStep(final LocalDate date) {
+
+        step = derive(root, date.toEpochDay());
+
+        for (final Map.Entry<Subsystem, Stream> entry : streams.entrySet())
+            entry.getValue().restart(derive(step, entry.getKey().key));
+    }
+
+    /**
+     * Returns the stream of the given subsystem. The same generator is returned for the lifetime of this hierarchy,
+     * and is restarted at the beginning of each time step.
+     *
+     * @param subsystem the subsystem
+     * @return the subsystem's stream
+     */
+    public RandomGenerator get(final Subsystem subsystem) {
+
+        return streams.computeIfAbsent(subsystem, s -> new Stream(derive(step, s.key)));
+    }
+
+    /**
+     * Returns a new stream for work identified by the given keys within the given subsystem and the current time step.
+     * The numbers it produces do not depend on any other use of the hierarchy.
+     *
+     * @param subsystem the subsystem
+     * @param keys      values identifying the work, such as a cohort's sex and birth date
+     * @return a new stream
+     */
+    public RandomGenerator split(final Subsystem subsystem, final long... keys) {
+
+        long state = derive(step, subsystem.key);
+
+        for (final long key : keys)
+            state = derive(state, key);
+
+        return new Stream(state);
+    }
+
+    private static long derive(final long parent, final long key) {
+
+        return mix(parent ^ mix(key + GOLDEN_GAMMA));
+    }
+
+    // SplitMix64 finaliser.
+    private static long mix(long z) {
+
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Stream implements RandomGenerator {
+
+        private java.util.random.RandomGenerator generator;
+
+        Stream(final long seed) {
+            restart(seed);
+        }
+
+        void restart(final long seed) {
+            generator = FACTORY.create(seed);
+        }
+
+        @Override
+        public void setSeed(final int seed) {
+            restart(mix(seed));
+        }
+
+        @Override
+        public void setSeed(final int[] seed) {
+
+            long state = 0;
+            for (final int value : seed)
+                state = derive(state, value);
+
+            restart(state);
+        }
+
+        @Override
+        public void setSeed(final long seed) {
+            restart(mix(seed));
+        }
+
+        @Override
+        public void nextBytes(final byte[] bytes) {
+            generator.nextBytes(bytes);
+        }
+
+        @Override
+        public int nextInt() {
+            return generator.nextInt();
+        }
+
+        @Override
+        public int nextInt(final int n) {
+            return generator.nextInt(n);
+        }
+
+        @Override
+        public long nextLong() {
+            return generator.nextLong();
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            return generator.nextBoolean();
+        }
+
+        @Override
+        public float nextFloat() {
+            return generator.nextFloat();
+        }
+
+        @Override
+        public double nextDouble() {
+            return generator.nextDouble();
+        }
+
+        @Override
+        public double nextGaussian() {
+            return generator.nextGaussian();
+        }
+    }
+}
@@ -31,4 +31,18 @@ public class Randomness {
 
         return randomGenerator;
     }
+
+    /**
+     * Seeds the shared generator, and creates a hierarchy of random streams derived from the seed. The streams are
+     * held by the run, which passes them to whatever draws from them.
+     *
+     * @param seed the seed of the simulation run
+     * @return the new hierarchy of random streams
+     */
+    public synchronized static RandomStreams setSeed(final int seed) {
+
+        getRandomGenerator().setSeed(seed);
+
+        return new RandomStreams(seed);
+    }
 }
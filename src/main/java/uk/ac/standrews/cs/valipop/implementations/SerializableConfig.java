@@ -65,6 +65,7 @@ public class SerializableConfig implements Serializable {
     public boolean binomialSampling;
     public boolean deterministic;
     public boolean outputTables;
+    public boolean cacheDerivedAttributes;
     public Period simulationTimeStep;
     public Period minBirthSpacing;
     public Period minGestationPeriod;
@@ -77,6 +78,7 @@ public class SerializableConfig implements Serializable {
     public double overSizedGeographyFactor;
     public int ctTreeStepback;
     public double ctTreePrecision;
+    public int deathThreads;
     public String runPurpose;
     public RecordFormat outputRecordFormat;
     public ExportFormat outputGraphFormat;
@@ -126,6 +128,7 @@ public class SerializableConfig implements Serializable {
         boolean binomialSampling,
         boolean deterministic,
         boolean outputTables,
+        boolean cacheDerivedAttributes,
         Period simulationTimeStep,
         Period minBirthSpacing,
         Period minGestationPeriod,
@@ -138,6 +141,7 @@ public class SerializableConfig implements Serializable {
         double overSizedGeographyFactor,
         int ctTreeStepback,
         double ctTreePrecision,
+        int deathThreads,
         String runPurpose,
         RecordFormat outputRecordFormat,
         ExportFormat outputGraphFormat,
@@ -186,6 +190,7 @@ public class SerializableConfig implements Serializable {
         this.binomialSampling                 =binomialSampling;
         this.deterministic                    =deterministic;
         this.outputTables                     =outputTables;
+        this.cacheDerivedAttributes           =cacheDerivedAttributes;
         this.simulationTimeStep               =simulationTimeStep;
         this.minBirthSpacing                  =minBirthSpacing;
         this.minGestationPeriod               =minGestationPeriod;
@@ -198,6 +203,7 @@ public class SerializableConfig implements Serializable {
         this.overSizedGeographyFactor         =overSizedGeographyFactor;
         this.ctTreeStepback                   =ctTreeStepback;
         this.ctTreePrecision                  =ctTreePrecision;
+        this.deathThreads                     =deathThreads;
         this.runPurpose                       =runPurpose;
         this.outputRecordFormat               =outputRecordFormat;
         this.outputGraphFormat                =outputGraphFormat;
@@ -0,0 +1,81 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations.jobQueue;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static uk.ac.standrews.cs.valipop.implementations.jobQueue.DirectorySchedulerServer.*;
+
+/**
+ * Client of a {@link DirectorySchedulerServer}. Waits for each reply through a {@link WatchService}, checking
+ * again if no notification arrives for a while.
+ */
+public class DirectorySchedulerClient extends SchedulerClient {
+
+    private final Path requests;
+    private final Path replies;
+    private final String id;
+    private final WatchService watcher;
+
+    private long sequence = 0;
+
+    public DirectorySchedulerClient(final String node, final Path directory) throws IOException {
+
+        super(node);
+
+        requests = Files.createDirectories(directory.resolve(REQUESTS));
+        replies = Files.createDirectories(directory.resolve(REPLIES));
+        id = node + "-" + UUID.randomUUID();
+
+        watcher = replies.getFileSystem().newWatchService();
+        replies.register(watcher, ENTRY_CREATE);
+    }
+
+    @Override
+    protected synchronized List<String> exchange(final List<String> request) throws IOException, InterruptedException {
+
+        final String name = id + "-" + sequence++;
+        final Path reply = replies.resolve(name + REPLY_SUFFIX);
+
+        writeAtomically(requests.resolve(name + REQUEST_SUFFIX), request);
+
+        while (!Files.exists(reply)) {
+
+            final WatchKey key = watcher.poll(RESCAN_SECONDS, TimeUnit.SECONDS);
+            if (key != null) {
+                key.pollEvents();
+                key.reset();
+            }
+        }
+
+        final List<String> lines = Files.readAllLines(reply);
+        Files.delete(reply);
+
+        return lines;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watcher.close();
+    }
+}
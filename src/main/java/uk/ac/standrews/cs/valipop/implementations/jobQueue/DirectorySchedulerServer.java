@@ -0,0 +1,140 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations.jobQueue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+
+/**
+ * Serves a {@link JobScheduler} through a directory shared with its clients. A client places each request in a file
+ * in the {@code requests} subdirectory, and the reply is placed in a file of the same name in the {@code replies}
+ * subdirectory. Files are written under a temporary name and then moved into place, so are only seen once complete.
+ *
+ * New requests are noticed through a {@link WatchService}. As change notification is not reliable on all network
+ * file systems, the directory is also rescanned if no notification arrives for a while.
+ */
+public class DirectorySchedulerServer implements Closeable {
+
+    static final String REQUESTS = "requests";
+    static final String REPLIES = "replies";
+    static final String REQUEST_SUFFIX = ".req";
+    static final String REPLY_SUFFIX = ".rep";
+    static final String TEMP_SUFFIX = ".tmp";
+
+    static final long RESCAN_SECONDS = 30;
+
+    private final JobScheduler scheduler;
+    private final Path requests;
+    private final Path replies;
+    private final WatchService watcher;
+    private final Set<Path> inProgress = ConcurrentHashMap.newKeySet();
+
+    public DirectorySchedulerServer(final JobScheduler scheduler, final Path directory) throws IOException {
+
+        this.scheduler = scheduler;
+
+        requests = Files.createDirectories(directory.resolve(REQUESTS));
+        replies = Files.createDirectories(directory.resolve(REPLIES));
+
+        watcher = requests.getFileSystem().newWatchService();
+        requests.register(watcher, ENTRY_CREATE);
+
+        Thread.ofPlatform().name("scheduler-directory").daemon().start(this::watch);
+    }
+
+    @Override
+    public void close() throws IOException {
+        watcher.close();
+    }
+
+    private void watch() {
+
+        try {
+            while (true) {
+                scan();
+
+                final WatchKey key = watcher.poll(RESCAN_SECONDS, TimeUnit.SECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+
+        } catch (final ClosedWatchServiceException e) {
+            // Server closed.
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void scan() {
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(requests, "*" + REQUEST_SUFFIX)) {
+
+            for (final Path file : files)
+                if (inProgress.add(file))
+                    Thread.ofVirtual().name("scheduler-request").start(() -> serve(file));
+
+        } catch (final IOException e) {
+            JobScheduler.log.log(Level.WARNING, "Failed to scan scheduler requests", e);
+        }
+    }
+
+    private void serve(final Path requestFile) {
+
+        try {
+            final List<String> request = Files.readAllLines(requestFile);
+            Files.deleteIfExists(requestFile);
+
+            if (request.isEmpty()) return;
+
+            final String name = requestFile.getFileName().toString();
+            final String replyName = name.substring(0, name.length() - REQUEST_SUFFIX.length()) + REPLY_SUFFIX;
+
+            final List<String> reply = SchedulerProtocol.respond(scheduler, request, lease -> {});
+            writeAtomically(replies.resolve(replyName), reply);
+
+        } catch (final IOException e) {
+            JobScheduler.log.log(Level.WARNING, "Failed to serve scheduler request " + requestFile, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inProgress.remove(requestFile);
+        }
+    }
+
+    static void writeAtomically(final Path file, final List<String> lines) throws IOException {
+
+        final Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        Files.write(temp, lines);
+
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations.jobQueue;
+
+import uk.ac.standrews.cs.valipop.utils.DataRow;
+import uk.ac.standrews.cs.valipop.utils.InputFileReader;
+import uk.ac.standrews.cs.valipop.utils.InvalidInputFileException;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.DecimalFormat;
+import java.util.*;
+
+/**
+ * The queue of simulation jobs held by a {@link JobScheduler}, as read from and written back to a job CSV file.
+ * Jobs whose {@code rf} or {@code prf} columns give a range of the form {@code a->b@step} are expanded into one job
+ * per combination of values when added.
+ *
+ * Instances are not thread-safe; the scheduler serialises access.
+ */
+public class JobQueue {
+
+    public static final String PRIORITY = "priority";
+    public static final String COUNT = "n";
+    public static final String REQUIRED_MEMORY = "required memory";
+
+    /** Priority given to jobs that cannot be run, which are kept in the queue but never chosen. */
+    public static final int HELD_PRIORITY = 99;
+
+    /** Jobs with lower priority than this are raised to it once they have been started. */
+    private static final int STARTED_PRIORITY_LIMIT = 3;
+
+    /** Jobs that use more than this proportion of the available memory are preferred, to reduce wasted heap. */
+    private static final double APPROPRIATE_USAGE_THRESHOLD = 0.65;
+
+    public static final List<String> COLUMNS = List.of("priority", "code version", "reason", "n", "seed size", "rf", "prf", "iw", "input dir", "results dir", "summary results dir", "required memory", "output record format", "deterministic", "seed", "setup br", "setup dr", "tS", "t0", "tE", "timestep", "binomial sampling", "min birth spacing", "min ges period", "ct tree stepback", "oversized geography factor");
+
+    static final String MULTIPLE_JOBS = "-*[0-4]\\.[0-9]+->[0-4]\\.[0-9]+@[0-4]\\.[0-9]+";
+
+    private final List<String> labels;
+    private final List<DataRow> jobs = new ArrayList<>();
+
+    public JobQueue(final List<String> labels) {
+        this.labels = List.copyOf(labels);
+    }
+
+    /**
+     * Reads a job file. The first line gives the column labels and each further non-blank line a job.
+     *
+     * @param jobFile the job CSV file
+     * @return the queue of jobs in the file, with any regex jobs expanded
+     */
+    public static JobQueue read(final Path jobFile) throws IOException, InvalidInputFileException {
+
+        final List<String> lines = InputFileReader.getAllLines(jobFile);
+        if (lines.isEmpty()) throw new InvalidInputFileException("Job file has no header: " + jobFile);
+
+        final JobQueue queue = new JobQueue(splitLabels(lines.get(0)));
+        queue.addAll(lines.get(0), lines.subList(1, lines.size()));
+
+        return queue;
+    }
+
+    /**
+     * Writes the queue to a job file, replacing it atomically where the file system allows.
+     *
+     * @param jobFile the job CSV file
+     */
+    public void write(final Path jobFile) throws IOException {
+
+        final Path temp = jobFile.resolveSibling(jobFile.getFileName() + ".tmp");
+        Files.writeString(temp, toString());
+
+        try {
+            Files.move(temp, jobFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(temp, jobFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    public String getHeader() {
+        return String.join(",", labels);
+    }
+
+    public List<DataRow> getJobs() {
+        return Collections.unmodifiableList(jobs);
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    /**
+     * Adds jobs given as CSV lines, expanding regex jobs. Blank lines are ignored.
+     *
+     * @param header the column labels of the lines
+     * @param lines the jobs
+     * @return the number of jobs added after expansion
+     */
+    public int addAll(final String header, final Collection<String> lines) throws InvalidInputFileException {
+
+        final int before = jobs.size();
+
+        for (final String line : lines)
+            if (!line.isBlank())
+                add(new DataRow(header, line));
+
+        return jobs.size() - before;
+    }
+
+    public void add(final DataRow job) throws InvalidInputFileException {
+
+        for (final String label : labels)
+            if (job.getValue(label) == null) throw new InvalidInputFileException("Job has no value for: " + label);
+
+        jobs.addAll(explode(job));
+    }
+
+    /**
+     * Chooses the job to run in the given amount of memory. Among the jobs that fit, those that make appropriate use
+     * of the memory (or have priority 1) are preferred, then those of highest priority, then those requiring the most
+     * memory. Jobs are otherwise taken in queue order.
+     *
+     * @param availableMemory the memory available to the job, in GB
+     * @return the chosen job, or empty if no job fits
+     */
+    public Optional<DataRow> select(final int availableMemory) {
+
+        DataRow chosen = null;
+        boolean chosenAppropriate = false;
+        int chosenPriority = HELD_PRIORITY;
+        int chosenMemory = 0;
+
+        for (final DataRow job : jobs) {
+
+            final int priority = priorityOf(job);
+            final int memory = requiredMemoryOf(job);
+
+            if (priority >= HELD_PRIORITY || memory <= 0 || memory > availableMemory) continue;
+
+            final boolean appropriate = priority == 1 || memory > availableMemory * APPROPRIATE_USAGE_THRESHOLD;
+
+            if (chosen == null
+                    || appropriate && !chosenAppropriate
+                    || appropriate == chosenAppropriate && (priority < chosenPriority || priority == chosenPriority && memory > chosenMemory)) {
+
+                chosen = job;
+                chosenAppropriate = appropriate;
+                chosenPriority = priority;
+                chosenMemory = memory;
+            }
+        }
+
+        return Optional.ofNullable(chosen);
+    }
+
+    /**
+     * Takes one run of a job from the queue, decrementing its count and removing it once no runs remain.
+     *
+     * @param job a job in this queue
+     * @return a copy of the job describing the run taken
+     */
+    public DataRow take(final DataRow job) {
+
+        if (priorityOf(job) > STARTED_PRIORITY_LIMIT)
+            job.setValue(PRIORITY, String.valueOf(STARTED_PRIORITY_LIMIT));
+
+        final DataRow run = job.clone();
+        final int n = Integer.parseInt(job.getValue(COUNT)) - 1;
+
+        if (n <= 0) {
+            jobs.remove(job);
+        } else {
+            job.setValue(COUNT, String.valueOf(n));
+        }
+
+        run.setValue(COUNT, "1");
+        return run;
+    }
+
+    /**
+     * Returns a run of a job to the queue, merging it with a matching queued job where there is one.
+     *
+     * @param run the run being returned
+     * @param requiredMemory the memory to require for the job, in GB; only ever increases a queued requirement
+     * @param priority the priority to give the job
+     */
+    public void giveBack(final DataRow run, final int requiredMemory, final int priority) {
+
+        for (final DataRow job : jobs) {
+            if (sameJob(job, run)) {
+                job.setValue(COUNT, String.valueOf(Integer.parseInt(job.getValue(COUNT)) + 1));
+                if (requiredMemoryOf(job) < requiredMemory)
+                    job.setValue(REQUIRED_MEMORY, String.valueOf(requiredMemory));
+                job.setValue(PRIORITY, String.valueOf(priority));
+                return;
+            }
+        }
+
+        final DataRow job = run.clone();
+        job.setValue(COUNT, "1");
+        job.setValue(REQUIRED_MEMORY, String.valueOf(requiredMemory));
+        job.setValue(PRIORITY, String.valueOf(priority));
+        jobs.add(job);
+    }
+
+    /**
+     * @param job a job
+     * @return the values of the job in the column order of this queue, as a CSV line
+     */
+    public String toLine(final DataRow job) {
+        return toLine(labels, job);
+    }
+
+    /**
+     * @param labels the columns to be given
+     * @param job a job
+     * @return the values of the job in the given column order, as a CSV line
+     */
+    public static String toLine(final List<String> labels, final DataRow job) {
+
+        final StringJoiner line = new StringJoiner(",");
+        for (final String label : labels)
+            line.add(job.getValue(label));
+
+        return line.toString();
+    }
+
+    @Override
+    public String toString() {
+
+        final StringBuilder sb = new StringBuilder(getHeader()).append('\n');
+        for (final DataRow job : jobs)
+            sb.append(toLine(job)).append('\n');
+
+        return sb.toString();
+    }
+
+    public static int priorityOf(final DataRow job) {
+        try {
+            return job.getInt(PRIORITY);
+        } catch (final InvalidInputFileException e) {
+            return HELD_PRIORITY;
+        }
+    }
+
+    public static int requiredMemoryOf(final DataRow job) {
+        try {
+            return job.getInt(REQUIRED_MEMORY);
+        } catch (final InvalidInputFileException e) {
+            return 0;
+        }
+    }
+
+    private static List<String> splitLabels(final String header) {
+
+        final List<String> labels = new ArrayList<>();
+        for (final String label : header.split(","))
+            labels.add(label.trim());
+
+        return labels;
+    }
+
+    private static List<DataRow> explode(final DataRow job) {
+
+        if (priorityOf(job) == HELD_PRIORITY || !(job.getValue("prf").matches(MULTIPLE_JOBS) || job.getValue("rf").matches(MULTIPLE_JOBS)))
+            return List.of(job);
+
+        final List<DataRow> exploded = new ArrayList<>();
+
+        try {
+            for (final double prf : toValueSet(job.getValue("prf"))) {
+                for (final double rf : toValueSet(job.getValue("rf"))) {
+                    final DataRow copy = job.clone();
+                    copy.setValue("rf", String.valueOf(rf));
+                    copy.setValue("prf", String.valueOf(prf));
+                    exploded.add(copy);
+                }
+            }
+        } catch (final InvalidInputFileException | NumberFormatException e) {
+            job.setValue(PRIORITY, String.valueOf(HELD_PRIORITY));
+            return List.of(job);
+        }
+
+        return exploded;
+    }
+
+    static Set<Double> toValueSet(final String rfExpression) throws InvalidInputFileException {
+
+        if (rfExpression.matches(MULTIPLE_JOBS)) {
+            final Set<Double> set = new TreeSet<>();
+
+            final String[] splitA = rfExpression.split("->");
+            if (splitA.length != 2) throw new InvalidInputFileException("Multi job expresion incorrect");
+
+            final String[] splitB = splitA[1].split("@");
+            if (splitB.length != 2) throw new InvalidInputFileException("Multi job expresion incorrect");
+
+            double a = Double.parseDouble(splitA[0]);
+            double b = Double.parseDouble(splitB[0]);
+            final double inc = Double.parseDouble(splitB[1]);
+
+            if (inc <= 0) throw new InvalidInputFileException("Multi job expresion incorrect");
+
+            if (a > b) {
+                final double temp = a;
+                a = b;
+                b = temp;
+            }
+
+            for (double d = a; clean(d, a, inc) <= b; d += inc) {
+                set.add(clean(d, a, inc));
+            }
+
+            return set;
+
+        } else {
+            return Collections.singleton(Double.valueOf(rfExpression));
+        }
+    }
+
+    private static double clean(final double d, final double a, final double inc) {
+        final int roundTo = Math.max(postPointDigits(a), postPointDigits(inc));
+        final DecimalFormat df = new DecimalFormat(generatePattern(roundTo));
+        df.setRoundingMode(RoundingMode.HALF_UP);
+        return Double.parseDouble(df.format(d));
+    }
+
+    private static String generatePattern(final int roundTo) {
+        return "#." + "#".repeat(roundTo);
+    }
+
+    private static int postPointDigits(final double d) {
+        final String[] split = String.valueOf(d).split("\\.");
+        return split.length == 1 ? 1 : split[1].length();
+    }
+
+    private static boolean sameJob(final DataRow a, final DataRow b) {
+
+        for (final String label : a.getLabels())
+            if (!label.equals(REQUIRED_MEMORY) && !label.equals(COUNT))
+                if (!Objects.equals(a.getValue(label), b.getValue(label)))
+                    return false;
+
+        return true;
+    }
+}
@@ -0,0 +1,482 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations.jobQueue;
+
+import uk.ac.standrews.cs.valipop.utils.DataRow;
+import uk.ac.standrews.cs.valipop.utils.InvalidInputFileException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Allocates the jobs in a {@link JobQueue} to workers, tracking the memory required by running jobs against the
+ * capacity of the nodes the workers run on. A worker claiming a job is given the best fitting job for the lesser of
+ * its own heap and the memory left unallocated on its node, and otherwise waits until a job is returned, completed
+ * or submitted, or the status changes.
+ *
+ * Where a {@link MemoryModel} is given, jobs are sized by the peak heap usage it predicts, both when they are added
+ * and when they are returned for lack of memory, and the observed peaks of completed jobs are logged against their
+ * predictions and added to the model. A job is never sized below the memory its workers have asked for on returning
+ * it.
+ *
+ * A lease must be renewed within the lease duration of being made or last renewed. Otherwise its worker is taken to
+ * have stopped, and the job is returned to the queue, as it is when a worker returns it.
+ *
+ * Changes to the queue are written back to the job file, if one is given.
+ */
+public class JobScheduler {
+
+    public static Logger log = Logger.getLogger(JobScheduler.class.getName());
+
+    /**
+     * The time within which a lease must be renewed by default, several times the interval at which workers renew.
+     */
+    public static final Duration DEFAULT_LEASE_DURATION = Duration.ofMinutes(10);
+
+    public enum Status {
+        RUN, PAUSE, TERMINATE;
+
+        /**
+         * @param text the content of a status file, or a status command
+         * @return the status named, defaulting to run
+         */
+        public static Status parse(final String text) {
+
+            for (final Status status : values())
+                if (status.name().equalsIgnoreCase(text.trim())) return status;
+
+            return RUN;
+        }
+    }
+
+    /**
+     * A run of a job allocated to a worker.
+     *
+     * @param id the identifier of the lease
+     * @param node the node on which the job is running
+     * @param memory the memory allocated to the job on the node, in GB
+     * @param job the job
+     */
+    public record Lease(long id, String node, int memory, DataRow job) {}
+
+    private static final class Node {
+        private int capacity;
+        private int allocated;
+    }
+
+    private final JobQueue queue;
+    private final Path jobFile;
+    private final MemoryModel memoryModel;
+    private final Duration leaseDuration;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Map<Long, Lease> leases = new LinkedHashMap<>();
+    private final Map<Long, Double> predictedPeaks = new HashMap<>();
+    private final Map<Long, Instant> renewed = new HashMap<>();
+    private final Map<String, Integer> requestedMemory = new HashMap<>();
+
+    private long nextLeaseId = 1;
+    private Status status = Status.RUN;
+
+    /**
+     * @param queue the jobs to be scheduled
+     * @param jobFile the file to which changes to the queue are written, or null
+     */
+    public JobScheduler(final JobQueue queue, final Path jobFile) {
+        this(queue, jobFile, null);
+    }
+
+    /**
+     * @param queue the jobs to be scheduled
+     * @param jobFile the file to which changes to the queue are written, or null
+     * @param memoryModel the model used to size jobs, or null to use the memory given in the job file
+     */
+    public JobScheduler(final JobQueue queue, final Path jobFile, final MemoryModel memoryModel) {
+        this(queue, jobFile, memoryModel, DEFAULT_LEASE_DURATION, Clock.systemUTC());
+    }
+
+    /**
+     * @param queue the jobs to be scheduled
+     * @param jobFile the file to which changes to the queue are written, or null
+     * @param memoryModel the model used to size jobs, or null to use the memory given in the job file
+     * @param leaseDuration the time within which a lease must be renewed
+     * @param clock the clock against which leases are renewed
+     */
+    public JobScheduler(final JobQueue queue, final Path jobFile, final MemoryModel memoryModel, final Duration leaseDuration, final Clock clock) {
+
+        this.queue = queue;
+        this.jobFile = jobFile;
+        this.memoryModel = memoryModel;
+        this.leaseDuration = leaseDuration;
+        this.clock = clock;
+
+        sizeJobs();
+    }
+
+    /**
+     * Claims a job, waiting until one fits.
+     *
+     * @param node the name of the node on which the worker runs
+     * @param heap the heap available to the worker, in GB
+     * @param nodeCapacity the memory that may be allocated to all workers on the node, in GB, or 0 if unbounded
+     * @return the lease of the claimed job, or empty if the scheduler is terminating
+     */
+    public Optional<Lease> claim(final String node, final int heap, final int nodeCapacity) throws InterruptedException {
+
+        lock.lockInterruptibly();
+        try {
+            final Node n = nodes.computeIfAbsent(node, k -> new Node());
+            if (nodeCapacity > 0) n.capacity = nodeCapacity;
+
+            while (status != Status.TERMINATE) {
+
+                if (status == Status.RUN) {
+
+                    final int available = n.capacity > 0 ? Math.min(heap, n.capacity - n.allocated) : heap;
+                    final Optional<DataRow> job = queue.select(available);
+
+                    if (job.isPresent()) {
+
+                        final DataRow run = queue.take(job.get());
+                        final Lease lease = new Lease(nextLeaseId++, node, JobQueue.requiredMemoryOf(run), run);
+
+                        leases.put(lease.id(), lease);
+                        renewed.put(lease.id(), clock.instant());
+                        n.allocated += lease.memory();
+                        if (memoryModel != null) memoryModel.predictPeakMB(run).ifPresent(peak -> predictedPeaks.put(lease.id(), peak));
+                        save();
+
+                        log.info("Lease " + lease.id() + " of " + lease.memory() + "GB to " + node + " (" + n.allocated + "GB allocated)");
+                        return Optional.of(lease);
+                    }
+                }
+
+                changed.await();
+            }
+
+            return Optional.empty();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Renews a lease, so that it is not taken to be abandoned for another lease duration.
+     *
+     * @param leaseId the identifier of the lease
+     * @return false if there is no such lease, as when it has expired
+     */
+    public boolean renew(final long leaseId) {
+
+        lock.lock();
+        try {
+            if (!leases.containsKey(leaseId)) return false;
+
+            renewed.put(leaseId, clock.instant());
+            return true;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the jobs of leases that have not been renewed within the lease duration to the queue.
+     *
+     * @return the number of leases that expired
+     */
+    public int expireLeases() {
+
+        lock.lock();
+        try {
+            final Instant cutOff = clock.instant().minus(leaseDuration);
+            final List<Lease> expired = new ArrayList<>();
+
+            for (final Lease lease : leases.values())
+                if (renewed.get(lease.id()).isBefore(cutOff)) expired.add(lease);
+
+            for (final Lease lease : expired) {
+                log.warning("Lease " + lease.id() + " on " + lease.node() + " not renewed since " + renewed.get(lease.id()) + " - returning job to queue");
+                giveBack(lease.id(), lease.memory(), JobQueue.priorityOf(lease.job()));
+            }
+
+            return expired.size();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that the job of a lease has completed, releasing its memory.
+     *
+     * @param leaseId the identifier of the lease
+     * @return false if there is no such lease
+     */
+    public boolean complete(final long leaseId) {
+        return complete(leaseId, Double.NaN);
+    }
+
+    /**
+     * Records that the job of a lease has completed, releasing its memory.
+     *
+     * @param leaseId the identifier of the lease
+     * @param observedPeakMB the peak heap usage of the job in MB, or NaN if not known
+     * @return false if there is no such lease
+     */
+    public boolean complete(final long leaseId, final double observedPeakMB) {
+
+        lock.lock();
+        try {
+            final Double predictedPeakMB = predictedPeaks.get(leaseId);
+            final Lease lease = release(leaseId);
+            if (lease == null) return false;
+
+            log.info("Lease " + leaseId + " completed on " + lease.node() + peaks(predictedPeakMB, observedPeakMB));
+
+            if (memoryModel != null && observedPeakMB > 0) {
+                memoryModel.recordCompleted(lease.job(), observedPeakMB);
+                sizeJobs();
+                save();
+            }
+
+            return true;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the job of a lease to the queue, releasing its memory.
+     *
+     * @param leaseId the identifier of the lease
+     * @param requiredMemory the memory to require for the job from now on, in GB
+     * @param priority the priority to give the job
+     * @return false if there is no such lease
+     */
+    public boolean giveBack(final long leaseId, final int requiredMemory, final int priority) {
+        return giveBack(leaseId, requiredMemory, priority, Double.NaN);
+    }
+
+    /**
+     * Returns the job of a lease to the queue, releasing its memory. If a peak heap usage is given, the job is taken
+     * to have run out of memory, and is given the larger of the required memory and that predicted by the memory
+     * model for a retry.
+     *
+     * @param leaseId the identifier of the lease
+     * @param requiredMemory the memory to require for the job from now on, in GB
+     * @param priority the priority to give the job
+     * @param observedPeakMB the peak heap usage reached by the job in MB, or NaN if not known
+     * @return false if there is no such lease
+     */
+    public boolean giveBack(final long leaseId, final int requiredMemory, final int priority, final double observedPeakMB) {
+
+        lock.lock();
+        try {
+            final Double predictedPeakMB = predictedPeaks.get(leaseId);
+            final Lease lease = release(leaseId);
+            if (lease == null) return false;
+
+            int retryMemory = Math.max(requiredMemory, lease.memory());
+
+            if (requiredMemory > lease.memory()) {
+                requestedMemory.merge(requestKey(lease.job()), requiredMemory, Math::max);
+            }
+
+            if (memoryModel != null && observedPeakMB > 0) {
+                memoryModel.recordOutOfMemory(lease.job(), observedPeakMB);
+                retryMemory = Math.max(retryMemory, memoryModel.requiredMemoryGB(lease.job()).orElse(0));
+            }
+
+            queue.giveBack(lease.job(), retryMemory, priority);
+            save();
+
+            log.info("Lease " + leaseId + " returned from " + lease.node() + " requiring " + retryMemory + "GB at priority " + priority + peaks(predictedPeakMB, observedPeakMB));
+            return true;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds jobs to the queue.
+     *
+     * @param header the column labels of the jobs
+     * @param lines the jobs, as CSV lines
+     * @return the number of jobs added, after regex jobs have been expanded
+     */
+    public int submit(final String header, final List<String> lines) throws InvalidInputFileException {
+
+        lock.lock();
+        try {
+            final int added = queue.addAll(header, lines);
+            sizeJobs();
+            save();
+            changed.signalAll();
+
+            return added;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Status getStatus() {
+
+        lock.lock();
+        try {
+            return status;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void setStatus(final Status status) {
+
+        lock.lock();
+        try {
+            if (this.status != status) log.info("Status " + status);
+
+            this.status = status;
+            changed.signalAll();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the leases currently held, in the order they were made
+     */
+    public List<Lease> getLeases() {
+
+        lock.lock();
+        try {
+            return List.copyOf(leases.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the scheduler is terminating and all leased jobs have been completed or returned, meanwhile
+     * expiring leases that are not renewed.
+     */
+    public void awaitTermination() throws InterruptedException {
+
+        lock.lockInterruptibly();
+        try {
+            while (status != Status.TERMINATE || !leases.isEmpty()) {
+                changed.await(leaseDuration.toMillis() / 4 + 1, TimeUnit.MILLISECONDS);
+                expireLeases();
+            }
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lease release(final long leaseId) {
+
+        predictedPeaks.remove(leaseId);
+        renewed.remove(leaseId);
+        final Lease lease = leases.remove(leaseId);
+
+        if (lease != null) {
+            nodes.get(lease.node()).allocated -= lease.memory();
+            changed.signalAll();
+        }
+
+        return lease;
+    }
+
+    /**
+     * Sets the required memory of queued jobs to that given by the memory model, where it makes a prediction, or to
+     * that asked for by a worker returning the job, if more.
+     */
+    private void sizeJobs() {
+
+        if (memoryModel == null) return;
+
+        for (final DataRow job : queue.getJobs()) {
+
+            if (JobQueue.priorityOf(job) >= JobQueue.HELD_PRIORITY) continue;
+
+            final int current = JobQueue.requiredMemoryOf(job);
+            final OptionalInt predicted = memoryModel.requiredMemoryGB(job);
+
+            if (predicted.isEmpty()) continue;
+
+            final int required = Math.max(predicted.getAsInt(), requestedMemory.getOrDefault(requestKey(job), 0));
+
+            if (required != current) {
+                job.setValue(JobQueue.REQUIRED_MEMORY, String.valueOf(required));
+                log.info("Sized job " + job.getValue("reason") + " (seed size " + job.getValue("seed size") + ", " + job.getValue("input dir") + ") from " + current + "GB to " + required + "GB");
+            }
+        }
+    }
+
+    /**
+     * Identifies a job by the values that define its runs, excluding those the queue changes as it is scheduled.
+     */
+    private static String requestKey(final DataRow job) {
+
+        final StringJoiner key = new StringJoiner(",");
+        for (final String label : new TreeSet<>(job.getLabels()))
+            if (!label.equals(JobQueue.PRIORITY) && !label.equals(JobQueue.COUNT) && !label.equals(JobQueue.REQUIRED_MEMORY))
+                key.add(label + "=" + job.getValue(label));
+
+        return key.toString();
+    }
+
+    private static String peaks(final Double predictedPeakMB, final double observedPeakMB) {
+
+        if (predictedPeakMB == null && Double.isNaN(observedPeakMB)) return "";
+
+        return String.format(" - predicted peak %s, observed peak %s",
+                predictedPeakMB == null ? "unknown" : String.format("%.0fMB", predictedPeakMB),
+                Double.isNaN(observedPeakMB) ? "unknown" : String.format("%.0fMB", observedPeakMB));
+    }
+
+    private void save() {
+
+        if (jobFile == null) return;
+
+        try {
+            queue.write(jobFile);
+        } catch (final IOException e) {
+            log.log(Level.WARNING, "Could not write job file " + jobFile, e);
+        }
+    }
+}
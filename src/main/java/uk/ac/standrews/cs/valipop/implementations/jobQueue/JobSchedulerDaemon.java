@@ -0,0 +1,149 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations.jobQueue;
+
+import uk.ac.standrews.cs.valipop.utils.DataRow;
+import uk.ac.standrews.cs.valipop.utils.InputFileReader;
+import uk.ac.standrews.cs.valipop.utils.InvalidInputFileException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Runs a {@link JobScheduler} over a job file, for workers started with
+ * {@link uk.ac.standrews.cs.valipop.implementations.JobQueueRunner}.
+ *
+ * Takes three arguments: the path of the job file, the path of a status file and the address to serve on, which is
+ * either a port on the loopback address or a directory shared with the workers. The first line of the status file
+ * may be {@code run}, {@code pause} (no further jobs are given out) or {@code terminate} (workers are told to stop
+ * once their current job is done); the file is watched for changes. The daemon exits once terminated and all running
+ * jobs have been completed or returned.
+ *
+ * Jobs are sized using a {@link MemoryModel} of the runs recorded in the summary results directories of the queued
+ * jobs.
+ */
+public class JobSchedulerDaemon {
+
+    public static void main(final String[] args) throws IOException, InvalidInputFileException, InterruptedException {
+
+        if (args.length != 3) {
+            System.err.println("Usage: JobSchedulerDaemon <job file> <status file> <port | directory>");
+            System.exit(1);
+        }
+
+        final Path jobFile = Paths.get(args[0]);
+        final Path statusFile = Paths.get(args[1]);
+        final String address = args[2];
+
+        final JobQueue queue = JobQueue.read(jobFile);
+
+        final JobScheduler scheduler = new JobScheduler(queue, jobFile, readMemoryModel(queue));
+        queue.write(jobFile);
+        watchStatus(scheduler, statusFile);
+
+        final Closeable server = address.matches("[0-9]+")
+                ? new SocketSchedulerServer(scheduler, Integer.parseInt(address))
+                : new DirectorySchedulerServer(scheduler, Paths.get(address));
+
+        try {
+            System.out.println("Scheduling " + queue.size() + " jobs from " + jobFile + " on " + address);
+            scheduler.awaitTermination();
+
+        } finally {
+            server.close();
+        }
+
+        System.out.println("Closing due to status");
+    }
+
+    /**
+     * Builds a memory model from the runs recorded in the summary results directories of the queued jobs.
+     */
+    static MemoryModel readMemoryModel(final JobQueue queue) throws IOException {
+
+        final MemoryModel model = new MemoryModel();
+        final Set<String> summaryDirectories = new TreeSet<>();
+
+        for (final DataRow job : queue.getJobs()) {
+            final String directory = job.getValue("summary results dir");
+            if (directory != null) summaryDirectories.add(directory);
+        }
+
+        for (final String directory : summaryDirectories)
+            System.out.println("Read " + model.readSummaries(Paths.get(directory)) + " recorded runs from " + directory);
+
+        return model;
+    }
+
+    /**
+     * Applies the status given in a status file to the scheduler, now and whenever the file changes. As change
+     * notification is not reliable on all network file systems, the file is also read again if no notification
+     * arrives for a while.
+     */
+    static void watchStatus(final JobScheduler scheduler, final Path statusFile) throws IOException {
+
+        final Path file = statusFile.toAbsolutePath();
+        readStatus(scheduler, file);
+
+        final WatchService watcher = file.getFileSystem().newWatchService();
+        file.getParent().register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+
+        Thread.ofPlatform().name("scheduler-status").daemon().start(() -> {
+            try {
+                while (true) {
+                    final WatchKey key = watcher.poll(DirectorySchedulerServer.RESCAN_SECONDS, TimeUnit.SECONDS);
+
+                    if (key == null) {
+                        readStatus(scheduler, file);
+                        continue;
+                    }
+
+                    for (final WatchEvent<?> event : key.pollEvents())
+                        if (file.getFileName().equals(event.context()))
+                            readStatus(scheduler, file);
+
+                    key.reset();
+                }
+            } catch (final InterruptedException | ClosedWatchServiceException e) {
+                // Stopped watching.
+            }
+        });
+    }
+
+    private static void readStatus(final JobScheduler scheduler, final Path statusFile) {
+
+        try {
+            if (!Files.exists(statusFile)) return;
+
+            final List<String> lines = InputFileReader.getAllLines(statusFile);
+            if (!lines.isEmpty()) scheduler.setStatus(JobScheduler.Status.parse(lines.get(0)));
+
+        } catch (final IOException e) {
+            JobScheduler.log.log(Level.WARNING, "Could not read status file " + statusFile, e);
+        }
+    }
+}
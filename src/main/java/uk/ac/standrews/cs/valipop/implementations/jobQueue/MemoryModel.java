@@ -0,0 +1,271 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations.jobQueue;
+
+import uk.ac.standrews.cs.valipop.utils.DataRow;
+import uk.ac.standrews.cs.valipop.utils.InputFileReader;
+import uk.ac.standrews.cs.valipop.utils.InvalidInputFileException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.*;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+/**
+ * Predicts the peak heap usage of simulation jobs from the recorded peaks of earlier runs, as logged in summary
+ * files. Peak usage is modelled, for each set of input distributions, as a linear function of the seed population
+ * size multiplied by the length of the simulation in years. Predictions are only made for an input set once enough
+ * completed runs have been recorded for it.
+ *
+ * Runs that ran out of memory give a lower bound on the peak of a job, which is taken into account when sizing the
+ * job for a retry.
+ */
+public class MemoryModel {
+
+    /** The number of completed runs of an input set needed before predictions are made for it. */
+    public static final int MIN_OBSERVATIONS = 3;
+
+    /** The proportion of the heap that may be used before a run is stopped; see MemoryUsageAnalysis. */
+    private static final double USABLE_HEAP_PROPORTION = 0.975;
+
+    private static final double MIN_MARGIN = 0.1;
+    private static final double MAX_MARGIN = 0.5;
+
+    /** Applied to the peak reached by a run that ran out of memory, where the model does not predict more. */
+    private static final double INCREASE_ON_MEMORY_EXCEPTION = 1.2;
+
+    private static final double BYTES_PER_MB = 1e6;
+    private static final double BYTES_PER_GB = 1024 * 1024 * 1024;
+    private static final double DAYS_PER_YEAR = 365.25;
+
+    private static final String SUMMARY_FILE_NAME = "global-results-summary.csv";
+
+    private record Observation(double size, double peakMB) {}
+
+    private record Fit(double intercept, double slope, double margin) {
+
+        double predict(final double size) {
+            return intercept + slope * size;
+        }
+    }
+
+    private record Key(String inputs, double size) {}
+
+    private final Map<String, List<Observation>> observations = new HashMap<>();
+    private final Map<String, Fit> fits = new HashMap<>();
+    private final Map<Key, Double> lowerBounds = new HashMap<>();
+
+    /**
+     * Reads the recorded runs in the global summary file of a summary results directory, if there is one.
+     *
+     * @param summaryResultsDirectory the summary results directory
+     * @return the number of runs read
+     */
+    public int readSummaries(final Path summaryResultsDirectory) throws IOException {
+
+        final Path summaryFile = summaryResultsDirectory.resolve(SUMMARY_FILE_NAME);
+        if (!Files.exists(summaryFile)) return 0;
+
+        final List<String> lines = InputFileReader.getAllLines(summaryFile);
+        if (lines.isEmpty()) return 0;
+
+        int read = 0;
+        for (final String line : lines.subList(1, lines.size())) {
+            try {
+                final DataRow row = new DataRow(lines.get(0), line);
+
+                final double peakMB = row.getDouble("Peak Memory Usage (MB)");
+                final double years = row.getInt("Sim Length") / DAYS_PER_YEAR;
+                final String inputs = inputSet(row.getValue("Inputs Directory"));
+                final int seedPopulation = row.getInt("Seed Pop Size");
+
+                if (row.getBoolean("Completed")) {
+                    record(inputs, seedPopulation, years, peakMB);
+                } else {
+                    recordShortfall(inputs, seedPopulation, years, peakMB);
+                }
+                read++;
+
+            } catch (final InvalidInputFileException e) {
+                // Rows from older versions may lack columns; they are not used.
+            }
+        }
+
+        return read;
+    }
+
+    /**
+     * Predicts the peak heap usage of a job.
+     *
+     * @param job a job, with input dir, seed size, t0 and tE columns
+     * @return the predicted peak in MB, or empty if too few runs of the job's input set have been recorded
+     */
+    public OptionalDouble predictPeakMB(final DataRow job) {
+
+        try {
+            final String inputs = inputSet(job.getValue("input dir"));
+            final double size = size(job.getInt("seed size"), years(job));
+
+            final Fit fit = fits.get(inputs);
+            return fit == null ? OptionalDouble.empty() : OptionalDouble.of(Math.max(fit.predict(size), 0));
+
+        } catch (final InvalidInputFileException e) {
+            return OptionalDouble.empty();
+        }
+    }
+
+    /**
+     * Gives the heap to request for a job: the predicted peak plus a margin reflecting how far earlier runs exceeded
+     * their predictions, and at least the peak reached by any run of the same job that ran out of memory, increased
+     * to allow it to complete.
+     *
+     * @param job a job
+     * @return the heap to request in GB, or empty if no prediction can be made
+     */
+    public OptionalInt requiredMemoryGB(final DataRow job) {
+
+        try {
+            final String inputs = inputSet(job.getValue("input dir"));
+            final Key key = new Key(inputs, size(job.getInt("seed size"), years(job)));
+
+            double peakMB = 0;
+
+            final Fit fit = fits.get(inputs);
+            if (fit != null) peakMB = Math.max(fit.predict(key.size()), 0) * (1 + fit.margin());
+
+            final Double lowerBound = lowerBounds.get(key);
+            if (lowerBound != null) peakMB = Math.max(peakMB, lowerBound * INCREASE_ON_MEMORY_EXCEPTION);
+
+            if (peakMB <= 0) return OptionalInt.empty();
+
+            return OptionalInt.of((int) Math.ceil(peakMB * BYTES_PER_MB / USABLE_HEAP_PROPORTION / BYTES_PER_GB));
+
+        } catch (final InvalidInputFileException e) {
+            return OptionalInt.empty();
+        }
+    }
+
+    /**
+     * Records the peak heap usage of a completed run of a job.
+     */
+    public void recordCompleted(final DataRow job, final double peakMB) {
+
+        try {
+            record(inputSet(job.getValue("input dir")), job.getInt("seed size"), years(job), peakMB);
+        } catch (final InvalidInputFileException e) {
+            // Not a well formed job.
+        }
+    }
+
+    /**
+     * Records the peak heap usage reached by a run of a job that ran out of memory.
+     */
+    public void recordOutOfMemory(final DataRow job, final double peakMB) {
+
+        try {
+            recordShortfall(inputSet(job.getValue("input dir")), job.getInt("seed size"), years(job), peakMB);
+        } catch (final InvalidInputFileException e) {
+            // Not a well formed job.
+        }
+    }
+
+    private void record(final String inputs, final int seedPopulation, final double years, final double peakMB) {
+
+        if (peakMB <= 0 || years <= 0) return;
+
+        final List<Observation> list = observations.computeIfAbsent(inputs, k -> new ArrayList<>());
+        list.add(new Observation(size(seedPopulation, years), peakMB));
+
+        if (list.size() >= MIN_OBSERVATIONS) fits.put(inputs, fit(list));
+    }
+
+    private void recordShortfall(final String inputs, final int seedPopulation, final double years, final double peakMB) {
+
+        if (peakMB <= 0 || years <= 0) return;
+        lowerBounds.merge(new Key(inputs, size(seedPopulation, years)), peakMB, Math::max);
+    }
+
+    /**
+     * Least squares fit of peak against size. Where all runs are of one size, or the fitted slope is negative, the
+     * peak is taken to be proportional to size.
+     */
+    private static Fit fit(final List<Observation> list) {
+
+        double meanSize = 0;
+        double meanPeak = 0;
+        for (final Observation o : list) {
+            meanSize += o.size();
+            meanPeak += o.peakMB();
+        }
+        meanSize /= list.size();
+        meanPeak /= list.size();
+
+        double covariance = 0;
+        double variance = 0;
+        for (final Observation o : list) {
+            covariance += (o.size() - meanSize) * (o.peakMB() - meanPeak);
+            variance += (o.size() - meanSize) * (o.size() - meanSize);
+        }
+
+        final Fit line = variance > 0 && covariance > 0
+                ? new Fit(meanPeak - covariance / variance * meanSize, covariance / variance, 0)
+                : new Fit(0, meanPeak / meanSize, 0);
+
+        double margin = MIN_MARGIN;
+        for (final Observation o : list) {
+            final double predicted = line.predict(o.size());
+            if (predicted > 0) margin = Math.max(margin, o.peakMB() / predicted - 1);
+        }
+
+        return new Fit(line.intercept(), line.slope(), Math.min(margin, MAX_MARGIN));
+    }
+
+    private static double size(final int seedPopulation, final double years) {
+        return (double) seedPopulation * years;
+    }
+
+    private static double years(final DataRow job) throws InvalidInputFileException {
+
+        final LocalDate t0 = job.getLocalDate("t0");
+        final LocalDate tE = job.getLocalDate("tE");
+
+        return DAYS.between(t0, tE) / DAYS_PER_YEAR;
+    }
+
+    /**
+     * Input sets are identified by the name of their directory, since jobs and summaries may give the path
+     * differently.
+     */
+    private static String inputSet(final String inputsDirectory) throws InvalidInputFileException {
+
+        if (inputsDirectory == null) throw new InvalidInputFileException("No inputs directory");
+
+        try {
+            final Path fileName = Paths.get(inputsDirectory).normalize().getFileName();
+            return fileName == null ? inputsDirectory : fileName.toString();
+
+        } catch (final InvalidPathException e) {
+            throw new InvalidInputFileException("Invalid inputs directory: " + inputsDirectory);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations.jobQueue;
+
+import uk.ac.standrews.cs.valipop.utils.InvalidInputFileException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Connection from a worker to a {@link JobScheduler}, either over a socket or through a shared directory.
+ */
+public abstract class SchedulerClient implements Closeable {
+
+    /**
+     * The interval at which a lease is renewed while its job runs, well within {@link JobScheduler#DEFAULT_LEASE_DURATION}.
+     */
+    public static final long RENEW_SECONDS = 60;
+
+    /**
+     * Renews a lease at regular intervals until stopped.
+     */
+    public static final class Renewal {
+
+        private final CountDownLatch stopped = new CountDownLatch(1);
+
+        public void stop() {
+            stopped.countDown();
+        }
+    }
+
+    private final String node;
+
+    protected SchedulerClient(final String node) {
+        this.node = node;
+    }
+
+    /**
+     * Connects to a scheduler. The address is either a port on the loopback address, a host and port separated by
+     * a colon, or the path of a directory served by a {@link DirectorySchedulerServer}.
+     *
+     * @param address the address of the scheduler
+     * @return a client of the scheduler, identified by the name of the local host
+     */
+    public static SchedulerClient connect(final String address) throws IOException {
+
+        final String node = InetAddress.getLocalHost().getHostName();
+
+        if (address.matches("[0-9]+"))
+            return new SocketSchedulerClient(node, InetAddress.getLoopbackAddress(), Integer.parseInt(address));
+
+        if (address.matches("[^/\\\\:]+:[0-9]+")) {
+            final String[] split = address.split(":");
+            return new SocketSchedulerClient(node, InetAddress.getByName(split[0]), Integer.parseInt(split[1]));
+        }
+
+        final Path directory = Paths.get(address);
+        return new DirectorySchedulerClient(node, directory);
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    /**
+     * Claims a job, waiting until one fits.
+     *
+     * @param heap the heap available to this worker, in GB
+     * @param nodeCapacity the memory that may be allocated to all workers on this node, in GB, or 0 if unbounded
+     * @return the lease of the claimed job, or empty if the scheduler is terminating
+     */
+    public Optional<JobScheduler.Lease> claim(final int heap, final int nodeCapacity) throws IOException, InterruptedException, InvalidInputFileException {
+
+        final List<String> reply = exchange(List.of(SchedulerProtocol.CLAIM + " " + node + " " + heap + " " + nodeCapacity));
+        return SchedulerProtocol.parseLease(reply, node);
+    }
+
+    /**
+     * Renews a lease.
+     *
+     * @param lease the lease
+     * @return false if the scheduler no longer holds the lease, as when it has expired
+     */
+    public boolean renew(final JobScheduler.Lease lease) throws IOException, InterruptedException {
+        return !exchange(List.of(SchedulerProtocol.RENEW + " " + lease.id())).get(0).startsWith(SchedulerProtocol.ERROR);
+    }
+
+    /**
+     * Renews a lease every {@link #RENEW_SECONDS} from a background thread, until the renewal is stopped or the lease
+     * is found to have expired.
+     *
+     * @param lease the lease
+     * @return the renewal, to be stopped once the job of the lease has been completed or returned
+     */
+    public Renewal keepRenewing(final JobScheduler.Lease lease) {
+
+        final Renewal renewal = new Renewal();
+
+        Thread.ofPlatform().name("lease-renewal").daemon().start(() -> {
+            try {
+                while (!renewal.stopped.await(RENEW_SECONDS, TimeUnit.SECONDS)) {
+                    if (!renew(lease)) {
+                        JobScheduler.log.warning("Lease " + lease.id() + " has expired");
+                        return;
+                    }
+                }
+            } catch (final IOException e) {
+                JobScheduler.log.log(Level.WARNING, "Could not renew lease " + lease.id(), e);
+            } catch (final InterruptedException e) {
+                // Stopped renewing.
+            }
+        });
+
+        return renewal;
+    }
+
+    public void complete(final JobScheduler.Lease lease) throws IOException, InterruptedException, InvalidInputFileException {
+        SchedulerProtocol.check(exchange(List.of(SchedulerProtocol.DONE + " " + lease.id())));
+    }
+
+    /**
+     * Records that the job of a lease has completed.
+     *
+     * @param lease the lease
+     * @param observedPeakMB the peak heap usage of the job, in MB
+     */
+    public void complete(final JobScheduler.Lease lease, final double observedPeakMB) throws IOException, InterruptedException, InvalidInputFileException {
+        SchedulerProtocol.check(exchange(List.of(SchedulerProtocol.DONE + " " + lease.id() + " " + observedPeakMB)));
+    }
+
+    /**
+     * Returns the job of a lease to the queue.
+     *
+     * @param lease the lease
+     * @param requiredMemory the memory to require for the job from now on, in GB
+     * @param priority the priority to give the job
+     */
+    public void giveBack(final JobScheduler.Lease lease, final int requiredMemory, final int priority) throws IOException, InterruptedException, InvalidInputFileException {
+        SchedulerProtocol.check(exchange(List.of(SchedulerProtocol.RETURN + " " + lease.id() + " " + requiredMemory + " " + priority)));
+    }
+
+    /**
+     * Returns the job of a lease that ran out of memory to the queue.
+     *
+     * @param lease the lease
+     * @param requiredMemory the least memory to require for the job from now on, in GB
+     * @param priority the priority to give the job
+     * @param observedPeakMB the peak heap usage reached by the job, in MB
+     */
+    public void giveBack(final JobScheduler.Lease lease, final int requiredMemory, final int priority, final double observedPeakMB) throws IOException, InterruptedException, InvalidInputFileException {
+        SchedulerProtocol.check(exchange(List.of(SchedulerProtocol.RETURN + " " + lease.id() + " " + requiredMemory + " " + priority + " " + observedPeakMB)));
+    }
+
+    /**
+     * Adds jobs to the queue.
+     *
+     * @param header the column labels of the jobs
+     * @param lines the jobs, as CSV lines
+     * @return the number of jobs added, after regex jobs have been expanded
+     */
+    public int submit(final String header, final List<String> lines) throws IOException, InterruptedException, InvalidInputFileException {
+
+        final List<String> request = new ArrayList<>();
+        request.add(SchedulerProtocol.SUBMIT + " " + lines.size());
+        request.add(header);
+        request.addAll(lines);
+
+        final String[] reply = SchedulerProtocol.check(exchange(request)).split(" ");
+        return Integer.parseInt(reply[1]);
+    }
+
+    public void setStatus(final JobScheduler.Status status) throws IOException, InterruptedException, InvalidInputFileException {
+        SchedulerProtocol.check(exchange(List.of(SchedulerProtocol.STATUS + " " + status.name().toLowerCase())));
+    }
+
+    /**
+     * Sends a request and waits for the reply.
+     *
+     * @param request the command line and body of the request
+     * @return the reply
+     */
+    protected abstract List<String> exchange(List<String> request) throws IOException, InterruptedException;
+}
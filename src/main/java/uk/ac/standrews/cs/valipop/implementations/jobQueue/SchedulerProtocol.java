@@ -0,0 +1,167 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations.jobQueue;
+
+import uk.ac.standrews.cs.valipop.utils.DataRow;
+import uk.ac.standrews.cs.valipop.utils.InvalidInputFileException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * The line-based messages exchanged between scheduler clients and servers. Each message is a command line,
+ * followed by the body lines that command carries:
+ *
+ * <pre>
+ * CLAIM node heap nodeCapacity   replied to by JOB or TERMINATE
+ * RENEW leaseId                  replied to by OK
+ * DONE leaseId [peakMB]                   replied to by OK
+ * RETURN leaseId memory priority [peakMB]  replied to by OK
+ * SUBMIT k, header, k job lines  replied to by OK added
+ * STATUS run|pause|terminate     replied to by OK
+ * JOB leaseId memory, header, job line
+ * </pre>
+ *
+ * Failures are replied to by ERROR and a message.
+ */
+final class SchedulerProtocol {
+
+    static final String CLAIM = "CLAIM";
+    static final String RENEW = "RENEW";
+    static final String DONE = "DONE";
+    static final String RETURN = "RETURN";
+    static final String SUBMIT = "SUBMIT";
+    static final String STATUS = "STATUS";
+
+    static final String JOB = "JOB";
+    static final String TERMINATE = "TERMINATE";
+    static final String OK = "OK";
+    static final String ERROR = "ERROR";
+
+    private SchedulerProtocol() {
+    }
+
+    /**
+     * @param commandLine the first line of a message
+     * @return the number of body lines that follow it
+     */
+    static int bodyLines(final String commandLine) {
+
+        final String[] parts = commandLine.split(" ");
+
+        return switch (parts[0]) {
+            case JOB -> 2;
+            case SUBMIT -> parts.length > 1 ? Integer.parseInt(parts[1]) + 1 : 0;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Handles a request on behalf of a client.
+     *
+     * @param scheduler the scheduler
+     * @param request the command line and body of the request
+     * @param onLease notified of any lease made, before the reply is sent
+     * @return the reply
+     */
+    static List<String> respond(final JobScheduler scheduler, final List<String> request, final Consumer<JobScheduler.Lease> onLease) throws InterruptedException {
+
+        final String[] parts = request.get(0).split(" ");
+
+        try {
+            switch (parts[0]) {
+
+                case CLAIM: {
+                    final Optional<JobScheduler.Lease> lease = scheduler.claim(parts[1], Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+                    if (lease.isEmpty()) return List.of(TERMINATE);
+
+                    onLease.accept(lease.get());
+                    return leaseMessage(lease.get());
+                }
+                case RENEW:
+                    return acknowledge(scheduler.renew(Long.parseLong(parts[1])), parts[1]);
+
+                case DONE:
+                    return acknowledge(scheduler.complete(Long.parseLong(parts[1]), optionalPeak(parts, 2)), parts[1]);
+
+                case RETURN:
+                    return acknowledge(scheduler.giveBack(Long.parseLong(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3]), optionalPeak(parts, 4)), parts[1]);
+
+                case SUBMIT:
+                    return List.of(OK + " " + scheduler.submit(request.get(1), request.subList(2, request.size())));
+
+                case STATUS:
+                    scheduler.setStatus(JobScheduler.Status.parse(parts[1]));
+                    return List.of(OK);
+
+                default:
+                    return List.of(ERROR + " unknown command " + parts[0]);
+            }
+
+        } catch (final IndexOutOfBoundsException | NumberFormatException e) {
+            return List.of(ERROR + " malformed request " + request.get(0));
+        } catch (final InvalidInputFileException e) {
+            return List.of(ERROR + " " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param reply the reply to a claim
+     * @param node the node that made the claim
+     * @return the lease given, or empty if the scheduler is terminating
+     */
+    static Optional<JobScheduler.Lease> parseLease(final List<String> reply, final String node) throws InvalidInputFileException {
+
+        final String[] parts = check(reply).split(" ");
+        if (parts[0].equals(TERMINATE)) return Optional.empty();
+
+        if (!parts[0].equals(JOB) || parts.length != 3 || reply.size() != 3)
+            throw new InvalidInputFileException("Unexpected reply to claim: " + reply.get(0));
+
+        final DataRow job = new DataRow(reply.get(1), reply.get(2));
+        return Optional.of(new JobScheduler.Lease(Long.parseLong(parts[1]), node, Integer.parseInt(parts[2]), job));
+    }
+
+    /**
+     * @param reply a reply
+     * @return the command line of the reply, if it is not an error
+     */
+    static String check(final List<String> reply) throws InvalidInputFileException {
+
+        if (reply.isEmpty()) throw new InvalidInputFileException("Empty reply from scheduler");
+        if (reply.get(0).startsWith(ERROR)) throw new InvalidInputFileException("Scheduler error: " + reply.get(0).substring(ERROR.length()).trim());
+
+        return reply.get(0);
+    }
+
+    private static List<String> leaseMessage(final JobScheduler.Lease lease) {
+
+        final List<String> labels = new ArrayList<>(lease.job().getLabels());
+        return List.of(JOB + " " + lease.id() + " " + lease.memory(), String.join(",", labels), JobQueue.toLine(labels, lease.job()));
+    }
+
+    private static double optionalPeak(final String[] parts, final int position) {
+        return parts.length > position ? Double.parseDouble(parts[position]) : Double.NaN;
+    }
+
+    private static List<String> acknowledge(final boolean known, final String leaseId) {
+        return List.of(known ? OK : ERROR + " unknown lease " + leaseId);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations.jobQueue;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.logging.Level;
+
+/**
+ * Serves a {@link JobScheduler} over a socket, bound to the loopback address unless another is given. Each
+ * connection is handled on its own thread, which blocks while a claim waits for a job. Jobs leased over a
+ * connection that closes before they are completed are returned to the queue.
+ */
+public class SocketSchedulerServer implements Closeable {
+
+    private final JobScheduler scheduler;
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+
+    public SocketSchedulerServer(final JobScheduler scheduler, final int port) throws IOException {
+        this(scheduler, new ServerSocket(port, 50, InetAddress.getLoopbackAddress()));
+    }
+
+    public SocketSchedulerServer(final JobScheduler scheduler, final ServerSocket serverSocket) {
+
+        this.scheduler = scheduler;
+        this.serverSocket = serverSocket;
+
+        acceptor = Thread.ofPlatform().name("scheduler-acceptor").daemon().start(this::accept);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void accept() {
+
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                Thread.ofVirtual().name("scheduler-connection").start(() -> serve(socket));
+
+            } catch (final SocketException e) {
+                // Server closed.
+            } catch (final IOException e) {
+                JobScheduler.log.log(Level.WARNING, "Failed to accept scheduler connection", e);
+            }
+        }
+    }
+
+    private void serve(final Socket socket) {
+
+        final Set<JobScheduler.Lease> held = new LinkedHashSet<>();
+
+        try (socket;
+             final BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             final PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+
+            List<String> request;
+            while ((request = readMessage(in)) != null) {
+
+                for (final String line : SchedulerProtocol.respond(scheduler, request, held::add))
+                    out.println(line);
+                out.flush();
+
+                if (out.checkError()) break;
+
+                forgetResolved(request, held);
+            }
+
+        } catch (final IOException e) {
+            JobScheduler.log.log(Level.FINE, "Scheduler connection lost", e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (final JobScheduler.Lease lease : held) {
+                JobScheduler.log.warning("Connection closed while holding lease " + lease.id() + " - returning job to queue");
+                scheduler.giveBack(lease.id(), lease.memory(), JobQueue.priorityOf(lease.job()));
+            }
+        }
+    }
+
+    private static void forgetResolved(final List<String> request, final Set<JobScheduler.Lease> held) {
+
+        final String[] parts = request.get(0).split(" ");
+
+        if ((parts[0].equals(SchedulerProtocol.DONE) || parts[0].equals(SchedulerProtocol.RETURN)) && parts.length > 1)
+            held.removeIf(lease -> String.valueOf(lease.id()).equals(parts[1]));
+    }
+
+    /**
+     * @return the next message, or null at the end of the stream
+     */
+    static List<String> readMessage(final BufferedReader in) throws IOException {
+
+        final String commandLine = in.readLine();
+        if (commandLine == null) return null;
+
+        final List<String> message = new ArrayList<>();
+        message.add(commandLine);
+
+        final int bodyLines;
+        try {
+            bodyLines = SchedulerProtocol.bodyLines(commandLine);
+        } catch (final NumberFormatException e) {
+            return message;
+        }
+
+        for (int i = 0; i < bodyLines; i++) {
+            final String line = in.readLine();
+            if (line == null) throw new EOFException("Message truncated: " + commandLine);
+            message.add(line);
+        }
+
+        return message;
+    }
+}
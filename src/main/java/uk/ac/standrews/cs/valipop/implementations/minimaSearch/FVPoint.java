@@ -30,4 +30,12 @@ public class FVPoint {
         this.y_v = y_v;
     }
 
+    public double getFactor() {
+        return x_f;
+    }
+
+    public double getV() {
+        return y_v;
+    }
+
 }
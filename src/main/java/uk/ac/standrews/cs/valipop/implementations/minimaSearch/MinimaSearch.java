@@ -19,8 +19,6 @@ package uk.ac.standrews.cs.valipop.implementations.minimaSearch;
 
 import uk.ac.standrews.cs.valipop.Config;
 import uk.ac.standrews.cs.valipop.implementations.*;
-import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
-import uk.ac.standrews.cs.valipop.utils.DoubleComparer;
 import uk.ac.standrews.cs.valipop.utils.ProcessArgs;
 import uk.ac.standrews.cs.valipop.utils.RCaller;
 
@@ -29,518 +27,386 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.Year;
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Objects;
-import org.apache.commons.math3.random.JDKRandomGenerator;
-import org.apache.commons.math3.random.RandomGenerator;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
+ * Searches for the value of a controlling factor that minimises the validation statistic v.
+ *
+ * The search proceeds in rounds. Until the best point found is bracketed by worse points on either side, each round
+ * steps outwards from it on a grid of the initial step size. Once bracketed, each round places candidates evenly
+ * within the bracket (golden-section placement when only one candidate is evaluated per round) and narrows the
+ * bracket around the best point, until it is narrower than the smallest meaningful step. The candidates of a round,
+ * and the repeat runs of each candidate, are evaluated concurrently on a pool of bounded size. Running out of memory
+ * narrows the search, so when run from the command line each run is simulated in its own JVM by
+ * {@link MinimaSearchRun}, rather than sharing a heap with the others.
+ *
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
  */
 public class MinimaSearch {
 
-    public static double startFactor;
-    public static double step;
-
-    public static double initStep;
-
-    private static double maxAbsFactor = 4;
-
-    private static double topSearchBoundFactor = maxAbsFactor;
-    private static double bottomSearchBoundFactor = -1 * maxAbsFactor;
-
-    private static double hardLimitBottomBoundFactor = -1 * Double.MAX_VALUE;
-
-    private static int pointsInMinima = 3;
-
-    private static double minimumMeaningfulStep = 0.04;
-    private static double minimaSize = 5;
-    private static double intervalBoundV = 0.02;
-
-    private static LocalDate tS = LocalDate.of(1691,1,1);
-    private static LocalDate t0 = LocalDate.of(1855,1,1);
-    private static LocalDate tE = LocalDate.of(2015,1,1);
-
-    private static double recoveryFactor = 0.0;
-    private static double proportionalRecoveryFactor = 0.0;
+    /**
+     * Evaluates one repeat run of the search at a factor value.
+     */
+    @FunctionalInterface
+    public interface Evaluator {
+
+        /**
+         * @param factor the value of the controlling factor
+         * @param repeat the index of the repeat run
+         * @return v for the run
+         */
+        double evaluate(double factor, int repeat) throws IOException, StatsException;
+    }
 
-    private static double nanAsemtote = 1E6;
+    private static final double MAX_ABS_FACTOR = 4;
+    private static final double MINIMUM_MEANINGFUL_STEP = 0.04;
+    private static final double OUT_OF_MEMORY_MARGIN = 0.1;
+    private static final double GOLDEN_SECTION = 0.381966;
+    private static final double NAN_ASYMPTOTE = 1E6;
+
+    private static final LocalDate T_S = LocalDate.of(1691, 1, 1);
+    private static final LocalDate T_0 = LocalDate.of(1855, 1, 1);
+    private static final LocalDate T_E = LocalDate.of(2015, 1, 1);
+
+    private static final int SEED = 123;
+
+    private final double startFactor;
+    private final double step;
+    private final int repeatRuns;
+    private final int parallelism;
+    private final Evaluator evaluator;
+
+    private final TreeMap<Double, FVPoint> points = new TreeMap<>();
+
+    private double bottomSearchBoundFactor = -MAX_ABS_FACTOR;
+    private double topSearchBoundFactor = MAX_ABS_FACTOR;
+
+    /**
+     * @param startFactor the factor value at which to start
+     * @param step the initial step between factor values
+     * @param repeatRuns the number of runs to average v over at each factor value
+     * @param parallelism the maximum number of runs to evaluate at once
+     * @param evaluator evaluates a run
+     */
+    public MinimaSearch(final double startFactor, final double step, final int repeatRuns, final int parallelism, final Evaluator evaluator) {
+
+        this.startFactor = startFactor;
+        this.step = step;
+        this.repeatRuns = repeatRuns;
+        this.parallelism = parallelism;
+        this.evaluator = evaluator;
+    }
 
-    public static void main(String[] args) throws StatsException, IOException {
+    public static void main(final String[] args) throws StatsException, IOException, InterruptedException {
 
-        String[] pArgs = ProcessArgs.process(args, "MINIMA_SEARCH");
+        final String[] pArgs = ProcessArgs.process(args, "MINIMA_SEARCH");
         if (!ProcessArgs.check(pArgs, "MINIMA_SEARCH")) {
             System.err.println("Incorrect arguments given");
             throw new Error("Incorrect arguments given");
         }
 
-        Path dataFiles = Paths.get(pArgs[0]);
-        int seedSize = Integer.valueOf(pArgs[1]);
-        String runPurpose = pArgs[2];
-        Minimise minimise = Minimise.resolve(pArgs[3]);
-        Control control = Control.resolve(pArgs[4]);
-        double startFactor = Double.valueOf(pArgs[5]);
-        double step = Double.valueOf(pArgs[6]);
-        int repeats = Integer.valueOf(pArgs[7]);
+        final Path dataFiles = Paths.get(pArgs[0]);
+        final int seedSize = Integer.parseInt(pArgs[1]);
+        final String runPurpose = pArgs[2];
+        final Minimise minimise = Minimise.resolve(pArgs[3]);
+        final Control control = Control.resolve(pArgs[4]);
+        final double startFactor = Double.parseDouble(pArgs[5]);
+        final double step = Double.parseDouble(pArgs[6]);
+        final int repeats = Integer.parseInt(pArgs[7]);
+        final int parallelism = pArgs.length > 8 ? Integer.parseInt(pArgs[8]) : Runtime.getRuntime().availableProcessors();
+
+        final MinimaSearch search = new MinimaSearch(startFactor, step, repeats, parallelism, MinimaSearchRun.processEvaluator(seedSize, dataFiles, runPurpose, minimise, control));
 
         try {
-            runSearch(seedSize, dataFiles, startFactor, step, runPurpose, repeats, minimise, control);
+            final FVPoint minimum = search.run();
+            System.out.println("Minimum found at: " + minimum.getFactor() + " --- v/M: " + minimum.getV());
 
-        } catch (SpaceExploredException e) {
+        } catch (final SpaceExploredException e) {
             System.out.println("Space explored - check the results logs!");
-        } catch (PreEmptiveOutOfMemoryWarning | OutOfMemoryError e) {
-            System.out.println("Ran out of memory - not enough memory for 0 factor - increase JVM heap size using -Xmx argument");
+        } catch (final IOException e) {
+            final String message = "Model failed due to Input/Output exception, check that this program has " +
+                    "permission to read or write on disk. Also, check supporting input files are present at location " +
+                    "specified in config setup code : " + e.getMessage();
+            throw new IOException(message, e);
+        } catch (final StatsException e) {
+            throw new StatsException("Stats failure - could not execute RScript command - do you have R installed?");
         }
     }
 
-    private static void runSearch(int populationSize, Path dataFiles, double startFactor, double step, String runPurpose, int repeatRuns, Minimise minimiseFor, Control controlBy) throws IOException, StatsException, SpaceExploredException, PreEmptiveOutOfMemoryWarning {
-
-        MinimaSearch.startFactor = startFactor;
-        MinimaSearch.step = step;
-        MinimaSearch.initStep = step;
-
-        setControllingFactor(controlBy, startFactor);
-
-        nanAsemtote = nanAsemtote * repeatRuns;
-
-        try {
-
-            while (true) {
-
-                setControllingFactor(controlBy, getNextFactorValue());
-
-                int n = 0;
-                double totalV = 0.0;
-
-                for (; n < repeatRuns; n++) {
-
-                    Config config = new Config(tS, t0, tE, populationSize, dataFiles, Config.DEFAULT_RESULTS_SAVE_PATH, runPurpose, Config.DEFAULT_RESULTS_SAVE_PATH);
-                    config.setDeterministic(true);
-                    config.setSeed(123);
+    /**
+     * Creates an evaluator that runs a simulation with the given factor value and computes v for the resulting
+     * population, per million people created. Each repeat run uses a different seed. Simulations run in this JVM, so
+     * the evaluator must not be used for more than one run at a time.
+     */
+    public static Evaluator simulationEvaluator(final int populationSize, final Path dataFiles, final String runPurpose, final Minimise minimiseFor, final Control controlBy) {
 
-                    config.setRecoveryFactor(recoveryFactor);
-                    config.setProportionalRecoveryFactor(proportionalRecoveryFactor);
+        return (factor, repeat) -> {
 
-                    OBDModel model = new OBDModel(config);
+            final Config config = new Config(T_S, T_0, T_E, populationSize, dataFiles, Config.DEFAULT_RESULTS_SAVE_PATH, runPurpose, Config.DEFAULT_RESULTS_SAVE_PATH);
+            config.setDeterministic(true);
+            config.setSeed(SEED + repeat);
+            setControllingFactor(config, controlBy, factor);
 
-                    try {
-                        model.runSimulation();
-                        model.analyseAndOutputPopulation(false);
+            final OBDModel model = new OBDModel(config);
 
-                        int maxBirthingAge = model.getDesiredPopulationStatistics().getOrderedBirthRates(Year.of(0)).getLargestLabel().getValue();
-                        double v = getV(minimiseFor, maxBirthingAge, controlBy, config);
+            try {
+                model.runSimulation();
+                model.analyseAndOutputPopulation(false);
 
-                        // Failed population run may get a NaN from the V calc
-                        if (Double.isNaN(v)) {
-                            v = nanAsemtote;
-                        }
+            } catch (final PreEmptiveOutOfMemoryWarning | OutOfMemoryError e) {
 
-                        // convert to v per million people (to standardise due to varying population sizes)
-                        v = v / model.getPopulation().getPopulationCounts().getCreatedPeople() * 1E6;
+                System.out.println("Out of memory at factor " + factor + " - memory usage: " + model.getMemoryUsage().getMaxSimUsage());
 
-                        model.getSummaryRow().setV(v);
-                        model.getSummaryRow().outputSummaryRowToFile();
-
-                        totalV += v;
+                model.getSummaryRow().setCompleted(false);
+                model.getSummaryRow().setMaxMemoryUsage(model.getMemoryUsage().getMaxSimUsage());
+                model.getMemoryUsage().reset();
+                model.getSummaryRow().outputSummaryRowToFile();
+                throw e;
+            }
 
-                    } catch (PreEmptiveOutOfMemoryWarning | OutOfMemoryError e) {
+            final int maxBirthingAge = model.getDesiredPopulationStatistics().getOrderedBirthRates(Year.of(0)).getLargestLabel().getValue();
+            double v = getV(minimiseFor, maxBirthingAge, controlBy, config);
 
-                        handleRecoveryFromOutOfMemory(getControllingFactor(controlBy), model);
-                        break;
-                    }
-                }
+            // Failed population run may get a NaN from the V calc
+            if (Double.isNaN(v)) {
+                v = NAN_ASYMPTOTE;
+            }
 
-                Double avgV = totalV / n;
+            // convert to v per million people (to standardise due to varying population sizes)
+            v = v / model.getPopulation().getPopulationCounts().getCreatedPeople() * 1E6;
 
-                if (!avgV.isNaN()) {
-                    logFactortoV(getControllingFactor(controlBy), avgV);
-                    inMinima(getControllingFactor(controlBy));
+            model.getSummaryRow().setV(v);
+            model.getSummaryRow().outputSummaryRowToFile();
 
-                } else {
-                    logFactortoV(getControllingFactor(controlBy), nanAsemtote);
-                }
-            }
-        } catch (IOException e) {
-            String message = "Model failed due to Input/Output exception, check that this program has " +
-                    "permission to read or write on disk. Also, check supporting input files are present at location " +
-                    "specified in config setup code : " + e.getMessage();
-            throw new IOException(message, e);
-        } catch (StatsException e) {
-            String message = "Stats failure - could not execute RScript command - do you have R installed?";
-            throw new StatsException(message);
-        }
+            return v;
+        };
     }
 
-    public static double getV(Minimise minimiseFor, int maxBirthingAge, Control controlBy, Config config) throws IOException, StatsException {
+    public static double getV(final Minimise minimiseFor, final int maxBirthingAge, final Control controlBy, final Config config) throws IOException, StatsException {
         if (Objects.requireNonNull(minimiseFor) == Minimise.GEEGLM) {
             return RCaller.getGeeglmV(config.getRunPath(), maxBirthingAge);
         }
         throw new StatsException(minimiseFor + " - minimisation for this test is not implemented");
     }
 
-    public static double getControllingFactor(Control controlBy) {
+    public static double getControllingFactor(final Config config, final Control controlBy) {
 
         return switch (controlBy) {
-            case RF -> recoveryFactor;
-            case PRF -> proportionalRecoveryFactor;
+            case RF -> config.getRecoveryFactor();
+            case PRF -> config.getProportionalRecoveryFactor();
         };
     }
 
-    public static void setControllingFactor(Control controlBy, double startFactor) {
-
-        switch (controlBy) {
+    /**
+     * Sets the controlling factor of a configuration, and sets the other factor to zero.
+     */
+    public static void setControllingFactor(final Config config, final Control controlBy, final double factor) {
 
-            case RF:
-                recoveryFactor = startFactor;
-                break;
-            case PRF:
-                proportionalRecoveryFactor = startFactor;
-                break;
-        }
+        config.setRecoveryFactor(controlBy == Control.RF ? factor : 0.0);
+        config.setProportionalRecoveryFactor(controlBy == Control.PRF ? factor : 0.0);
     }
 
-    private static void handleRecoveryFromOutOfMemory(double factor, OBDModel model) {
-
-        hardLimitBottomBoundFactor = factor + 0.1;
-        bottomSearchBoundFactor = hardLimitBottomBoundFactor;
-
-        System.out.println("Out of memory - setting jumpingPhase = true - memory usage: " + MemoryUsageAnalysis.getMaxSimUsage());
-        jumpingPhase = true;
+    /**
+     * Runs the search to completion.
+     *
+     * @return the point with the lowest v found
+     * @throws SpaceExploredException if there are no factor values left to evaluate within the search bounds
+     */
+    public FVPoint run() throws IOException, StatsException, SpaceExploredException, InterruptedException {
 
-        model.getSummaryRow().setCompleted(false);
-        model.getSummaryRow().setMaxMemoryUsage(MemoryUsageAnalysis.getMaxSimUsage());
-        MemoryUsageAnalysis.reset();
-        model.getSummaryRow().outputSummaryRowToFile();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(parallelism, 1));
 
-        if (bottomSearchBoundFactor > topSearchBoundFactor) {
-            throw new Error("Bottom bound larger then top bound - resulting from adaptions made due to memory limitations - try to increase JVm heap size (-Xmx) or reduce population size");
-        }
-    }
-
-    private static boolean jumpingPhase = false;
-    private static RandomGenerator randomGenerator = new JDKRandomGenerator(35255);
-
-    private static double jumpOut() throws SpaceExploredException {
-        // called when minima found
-
-        step = initStep;
-
-        int options = Double.valueOf((topSearchBoundFactor - bottomSearchBoundFactor) / (initStep / 2.0)).intValue();
-
-        double chosenFactor;
-
-        int counter = 0;
-
-        do {
-            if (counter >= options) {
-                throw new SpaceExploredException();
-            }
-
-            System.out.println("Selecting new starting point");
-            System.out.println(topSearchBoundFactor);
-            System.out.println(bottomSearchBoundFactor);
-            System.out.println(initStep);
-            System.out.println(options);
-            int chosen = randomGenerator.nextInt(options);
-
-            chosenFactor = chosen * (initStep / 2) + bottomSearchBoundFactor;
-
-            counter++;
+        try {
+            final int candidatesPerRound = Math.max(1, (parallelism + repeatRuns - 1) / repeatRuns);
 
-        } while (containsValue(points, chosenFactor) != null);
+            List<Double> candidates;
+            while (!(candidates = proposeCandidates(candidatesPerRound)).isEmpty())
+                evaluateRound(candidates, executor);
 
-        jumpingPhase = false;
+            if (points.isEmpty()) throw new SpaceExploredException();
 
-        FVPoint nearestFactor = getNearestPoint(chosenFactor);
-        points.remove(nearestFactor);
-        points.addLast(nearestFactor);
+            return getMinimum();
 
-        return chosenFactor;
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
-    private static FVPoint getNearestPoint(double chosenFactor) {
+    /**
+     * Proposes the factor values to be evaluated in the next round.
+     *
+     * @param count the number of values wanted
+     * @return up to that many values, or none if the search has converged
+     */
+    public List<Double> proposeCandidates(final int count) {
 
-        double minDistance = Double.MAX_VALUE;
-        FVPoint nearest = null;
+        final List<Double> candidates = new ArrayList<>();
 
-        for (FVPoint p : points) {
-            double distance = Math.abs(p.x_f - chosenFactor);
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearest = p;
+        if (points.isEmpty()) {
+            for (int i = 0; candidates.size() < count && i <= gridPointsInBounds(); i++) {
+                addIfNew(candidates, startFactor + gridOffset(i) * step);
             }
+            return candidates;
         }
 
-        return nearest;
-    }
-
-    private static Double inMinima(double currentFactor) {
+        final double best = getMinimum().getFactor();
+        final Double below = points.lowerKey(best);
+        final Double above = points.higherKey(best);
 
-        if (points.size() >= pointsInMinima) {
-            // get two nearest neighbours on either side
-            ArrayList<FVPoint> consideredPoints = getNearestFactorNeigbours(pointsInMinima - 1, currentFactor);
-            ArrayList<FVPoint> returns = new ArrayList<>();
+        final boolean openBelow = below == null && best - step >= bottomSearchBoundFactor;
+        final boolean openAbove = above == null && best + step <= topSearchBoundFactor;
 
-            for (int i = 0; i < pointsInMinima; i++) {
+        if (openBelow || openAbove) {
 
-                List<FVPoint> l;
-                if (i + pointsInMinima - 1 < consideredPoints.size()) {
-                    l = consideredPoints.subList(i, i + pointsInMinima);
-                } else {
-                    break;
-                }
-
-                FVPoint ret = constitutesMinima(l);
-
-                if (ret != null) {
-                    returns.add(ret);
-                }
-            }
-
-            if (returns.size() == 0) {
-                return null;
-            } else {
-                FVPoint minima = orderByV(returns).get(0);
-                System.out.println("Minima found at: " + minima.x_f + " --- v/M: " + minima.y_v);
-                return minima.x_f;
+            // Step outwards until the best point is bracketed.
+            for (int i = 1; candidates.size() < count && i <= gridPointsInBounds(); i++) {
+                if (openAbove) addIfNew(candidates, best + i * step);
+                if (openBelow && candidates.size() < count) addIfNew(candidates, best - i * step);
             }
+            return candidates;
         }
 
-        return null;
-    }
+        final double lower = below == null ? best : below;
+        final double upper = above == null ? best : above;
 
-    // returns factor of minima
-    private static FVPoint constitutesMinima(List<FVPoint> potentialMinimaSet) {
+        if (upper - lower <= 2 * MINIMUM_MEANINGFUL_STEP) return candidates;
 
-        if (potentialMinimaSet.size() != pointsInMinima) {
-            return null;
+        if (count == 1) {
+            // Golden-section placement in the larger side of the bracket.
+            addIfNew(candidates, best - lower > upper - best
+                    ? best - GOLDEN_SECTION * (best - lower)
+                    : best + GOLDEN_SECTION * (upper - best));
+            return candidates;
         }
 
-        double factorWidth = Math.abs(potentialMinimaSet.get(0).x_f - potentialMinimaSet.get(pointsInMinima - 1).x_f);
+        final int belowCount = (int) Math.round(count * (best - lower) / (upper - lower));
+        addEvenly(candidates, lower, best, Math.max(belowCount, best > lower ? 1 : 0));
+        addEvenly(candidates, best, upper, count - candidates.size());
 
-        if (factorWidth < minimumMeaningfulStep * minimaSize) {
-
-            ArrayList<FVPoint> orderedByV = orderByV(potentialMinimaSet);
-
-            double avg = averageV(orderedByV);
-
-            double lowerBound = avg * (1 - intervalBoundV);
-            double upperBound = avg * (1 + intervalBoundV);
+        return candidates;
+    }
 
-            if (lowerBound < orderedByV.get(0).y_v && orderedByV.get(pointsInMinima - 1).y_v < upperBound) {
-                System.out.println("Minima identified - setting jumpingPhase = true");
-                jumpingPhase = true;
-                return orderedByV.get(0);
-            }
-        }
+    /**
+     * Records the value of v found at a factor value.
+     */
+    public void logFactorToV(final double factor, final double v) {
 
-        return null;
+        points.put(factor, new FVPoint(factor, v));
     }
 
-    private static double averageV(List<FVPoint> in) {
+    /**
+     * @return the point with the lowest v found so far
+     */
+    public FVPoint getMinimum() {
 
-        double sum = 0.0;
+        FVPoint minimum = null;
+        for (final FVPoint point : points.values())
+            if (minimum == null || point.getV() < minimum.getV()) minimum = point;
 
-        for (FVPoint p : in) {
-            sum += p.y_v;
-        }
+        return minimum;
+    }
 
-        return sum / in.size();
+    /**
+     * @return the points evaluated so far, in order of factor value
+     */
+    public List<FVPoint> getPoints() {
+        return new ArrayList<>(points.values());
     }
 
-    private static ArrayList<FVPoint> orderByFactor(List<FVPoint> in) {
-        ArrayList<FVPoint> ordering = new ArrayList<>(in.size());
+    private void evaluateRound(final List<Double> candidates, final ExecutorService executor) throws IOException, StatsException, InterruptedException {
 
-        for (FVPoint p : in) {
+        final Map<Double, List<Future<Double>>> runs = new LinkedHashMap<>();
 
-            if (ordering.size() == 0) {
-                ordering.add(p);
-            } else {
-                int i = 0;
-                for (FVPoint o : ordering) {
-                    if (p.x_f < o.x_f) {
-                        ordering.add(i, p);
-                        break;
-                    }
-                    i++;
-                }
-                if (i == ordering.size()) {
-                    ordering.add(p);
-                }
+        for (final double factor : candidates) {
+            final List<Future<Double>> futures = new ArrayList<>();
+            for (int repeat = 0; repeat < repeatRuns; repeat++) {
+                final int r = repeat;
+                futures.add(executor.submit(() -> evaluator.evaluate(factor, r)));
             }
+            runs.put(factor, futures);
         }
-        return ordering;
-    }
 
-    private static ArrayList<FVPoint> orderByV(List<FVPoint> in) {
-        ArrayList<FVPoint> ordering = new ArrayList<>(in.size());
+        for (final Map.Entry<Double, List<Future<Double>>> entry : runs.entrySet()) {
 
-        for (FVPoint p : in) {
+            final double factor = entry.getKey();
+            final Double meanV = meanOf(entry.getValue());
 
-            if (ordering.size() == 0) {
-                ordering.add(p);
+            if (meanV == null) {
+                handleRecoveryFromOutOfMemory(factor);
             } else {
-                int i = 0;
-                for (FVPoint o : ordering) {
-                    if (p.y_v < o.y_v) {
-                        ordering.add(i, p);
-                        break;
-                    }
-                    i++;
-                }
-                if (i == ordering.size()) {
-                    ordering.add(p);
-                }
-
+                logFactorToV(factor, meanV);
+                System.out.println("Factor " + factor + " --- v/M: " + meanV);
             }
         }
-        return ordering;
     }
 
-    private static ArrayList<FVPoint> getNearestFactorNeigbours(int width, double factor) {
-        ArrayList<FVPoint> selected = new ArrayList<>(width * 2 + 1);
-
-        ArrayList<FVPoint> ordering = orderByFactor(points);
+    /**
+     * @return the mean v of the given runs, or null if any ran out of memory
+     */
+    private Double meanOf(final List<Future<Double>> futures) throws IOException, StatsException, InterruptedException {
 
-        int c = 0;
-        for (FVPoint p : ordering) {
+        double totalV = 0.0;
+        boolean outOfMemory = false;
 
-            if (p.x_f == factor) {
+        for (final Future<Double> future : futures) {
+            try {
+                totalV += future.get();
 
-                if (c < width) {
-                    for (int i = 0; i < c; i++) {
-                        selected.add(ordering.get(i));
-                    }
-                } else {
-                    for (int i = 0; i < width; i++) {
-                        selected.add(ordering.get(c - width + i));
-                    }
-                }
-
-                selected.add(p);
-
-                if (c >= points.size() - width) {
-                    for (int i = 0; i < points.size() - c; i++) {
-                        selected.add(ordering.get(i + c));
-                    }
-                } else {
-                    for (int i = 0; i < width; i++) {
-                        selected.add(ordering.get(c + i + 1));
-                    }
-                }
+            } catch (final ExecutionException e) {
 
+                final Throwable cause = e.getCause();
+                if (cause instanceof PreEmptiveOutOfMemoryWarning || cause instanceof OutOfMemoryError) outOfMemory = true;
+                else if (cause instanceof IOException ioException) throw ioException;
+                else if (cause instanceof StatsException statsException) throw statsException;
+                else if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+                else throw new RuntimeException(cause);
             }
-            c++;
         }
 
-
-        return selected;
+        return outOfMemory ? null : totalV / futures.size();
     }
 
-    public static double getNextFactorValue() throws SpaceExploredException {
-
-        if (jumpingPhase) {
-            double nextFactor = jumpOut();
-            return nextFactor;
-        }
-
-        if (points.size() == 0) {
-            return startFactor;
-        } else if (points.size() == 1) {
-            return startFactor + step;
-        } else {
-
-            FVPoint penultimatePoint = points.get(points.size() - 2);
-            FVPoint lastPoint = points.get(points.size() - 1);
+    private void handleRecoveryFromOutOfMemory(final double factor) {
 
-            double dyOverdx = (lastPoint.y_v - penultimatePoint.y_v) / (lastPoint.x_f - penultimatePoint.x_f);
+        bottomSearchBoundFactor = Math.max(bottomSearchBoundFactor, factor + OUT_OF_MEMORY_MARGIN);
+        System.out.println("Out of memory - raising bottom search bound to " + bottomSearchBoundFactor);
 
-            double newFactor;
-
-            double direction = dyOverdx / Math.abs(dyOverdx);
-
-            if (!DoubleComparer.equal(0, dyOverdx, 0.0000001)) {
-                // if sloped
-
-                newFactor = lastPoint.x_f - (step * direction);
-
-            } else {
-                // if flat line
+        if (bottomSearchBoundFactor > topSearchBoundFactor) {
+            throw new Error("Bottom bound larger then top bound - resulting from adaptions made due to memory limitations - try to increase JVm heap size (-Xmx) or reduce population size");
+        }
+    }
 
-                // Narrow the search to between the points and reduce step
-                newFactor = penultimatePoint.x_f - (penultimatePoint.x_f - lastPoint.x_f) / 2;
-                step = step / 2;
-            }
+    private int gridPointsInBounds() {
+        return (int) Math.ceil((topSearchBoundFactor - bottomSearchBoundFactor) / step);
+    }
 
-            FVPoint match = containsValue(points, newFactor);
-
-            if (match != null) {
-
-                if (match.y_v > lastPoint.y_v) {
-                    // up slope to match point - thus split
-                    step = step / 2;
-                    newFactor = lastPoint.x_f + step;
-                } else if (match.y_v < lastPoint.y_v) {
-                    // down slope to match point - thus jump
-                    points.remove(match);
-                    points.addLast(match);
-                    newFactor = match.x_f - (step * direction);
-
-                    FVPoint match2 = containsValue(points, newFactor);
-
-                    while (match2 != null) {
-                        // if newFactor has already been used, then split in gap
-                        step = step / 2;
-                        newFactor = match.x_f - (step * direction);
-                        match2 = containsValue(points, newFactor);
-                    }
-
-                } else {
-                    // if equal v
-                    step = step / 2;
-                    newFactor = lastPoint.x_f + step;
-                }
-            }
+    /**
+     * @return 0, 1, -1, 2, -2...
+     */
+    private static int gridOffset(final int i) {
+        return i % 2 == 1 ? (i + 1) / 2 : -(i / 2);
+    }
 
-            if (newFactor < bottomSearchBoundFactor || newFactor > topSearchBoundFactor) {
-                // we're out of bounds
-                // the fact we're here means there may be a lower minima out width the specified search area.
-                // if we can extend them and we havn't seen something to suggest we won't overrun the heap then we'll extend the bounds
-
-                // otherwise lets continue the minima search at a random location - but jumping out
-
-                if (newFactor < 0) {
-                    if (DoubleComparer.equal(bottomSearchBoundFactor, hardLimitBottomBoundFactor, 0.0000001)) {
-                        bottomSearchBoundFactor -= step * 2;
-                    } else {
-                        return jumpOut();
-                    }
-                } else {
-                    topSearchBoundFactor += step * 2;
-                }
-            }
+    private void addEvenly(final List<Double> candidates, final double from, final double to, final int count) {
 
-            return newFactor;
-        }
+        for (int i = 1; i <= count; i++)
+            addIfNew(candidates, from + (to - from) * i / (count + 1));
     }
 
-    private static FVPoint containsValue(LinkedList<FVPoint> points, double newFactor) {
+    private void addIfNew(final List<Double> candidates, final double factor) {
 
-        for (FVPoint point : points) {
-            if (DoubleComparer.equal(point.x_f, newFactor, 0.000000001)) {
-                return point;
-            }
-        }
+        if (factor < bottomSearchBoundFactor || factor > topSearchBoundFactor) return;
 
-        return null;
-    }
+        final Double floor = points.floorKey(factor);
+        final Double ceiling = points.ceilingKey(factor);
 
-    private static LinkedList<FVPoint> points = new LinkedList<>();
+        if (floor != null && factor - floor < MINIMUM_MEANINGFUL_STEP / 2) return;
+        if (ceiling != null && ceiling - factor < MINIMUM_MEANINGFUL_STEP / 2) return;
 
-    public static void logFactortoV(double factor, double v) {
+        for (final double candidate : candidates)
+            if (Math.abs(candidate - factor) < MINIMUM_MEANINGFUL_STEP / 2) return;
 
-        points.addLast(new FVPoint(factor, v));
+        candidates.add(factor);
     }
 }
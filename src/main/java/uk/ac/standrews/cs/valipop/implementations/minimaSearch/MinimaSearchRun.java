@@ -0,0 +1,128 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations.minimaSearch;
+
+import uk.ac.standrews.cs.valipop.implementations.PreEmptiveOutOfMemoryWarning;
+import uk.ac.standrews.cs.valipop.implementations.StatsException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a single repeat run of a {@link MinimaSearch} in its own JVM, so that runs evaluated at the same time do not
+ * share the heap, and a run that runs out of memory does so because of its own population rather than the others.
+ *
+ * Usage: MinimaSearchRun populationSize dataFiles runPurpose minimise control factor repeat
+ */
+public final class MinimaSearchRun {
+
+    private static final String RESULT_PREFIX = "MINIMA_SEARCH_RUN_V ";
+    private static final int OUT_OF_MEMORY_EXIT_CODE = 3;
+
+    private MinimaSearchRun() {
+    }
+
+    public static void main(final String[] args) throws IOException, StatsException {
+
+        final int populationSize = Integer.parseInt(args[0]);
+        final Path dataFiles = Paths.get(args[1]);
+        final String runPurpose = args[2];
+        final Minimise minimise = Minimise.resolve(args[3]);
+        final Control control = Control.resolve(args[4]);
+        final double factor = Double.parseDouble(args[5]);
+        final int repeat = Integer.parseInt(args[6]);
+
+        try {
+            final double v = MinimaSearch.simulationEvaluator(populationSize, dataFiles, runPurpose, minimise, control).evaluate(factor, repeat);
+            System.out.println(RESULT_PREFIX + v);
+
+        } catch (final PreEmptiveOutOfMemoryWarning | OutOfMemoryError e) {
+            System.exit(OUT_OF_MEMORY_EXIT_CODE);
+
+        } catch (final RuntimeException e) {
+
+            // The analysis of the population wraps the exceptions it meets
+            if (e.getCause() instanceof PreEmptiveOutOfMemoryWarning) System.exit(OUT_OF_MEMORY_EXIT_CODE);
+            throw e;
+        }
+
+        System.exit(0);
+    }
+
+    /**
+     * Creates an evaluator that runs each repeat run in a new JVM, with the class path and heap options of this one.
+     * The output of each run is passed on to the standard output and error of this JVM.
+     */
+    static MinimaSearch.Evaluator processEvaluator(final int populationSize, final Path dataFiles, final String runPurpose, final Minimise minimiseFor, final Control controlBy) {
+
+        return (factor, repeat) -> {
+
+            final List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+
+            for (final String argument : ManagementFactory.getRuntimeMXBean().getInputArguments())
+                if (argument.startsWith("-X")) command.add(argument);
+
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(MinimaSearchRun.class.getName());
+
+            command.add(String.valueOf(populationSize));
+            command.add(dataFiles.toString());
+            command.add(runPurpose);
+            command.add(minimiseFor.name());
+            command.add(controlBy.name());
+            command.add(String.valueOf(factor));
+            command.add(String.valueOf(repeat));
+
+            final Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+
+            Double v = null;
+
+            try (final BufferedReader stdout = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+
+                String line;
+                while ((line = stdout.readLine()) != null) {
+                    if (line.startsWith(RESULT_PREFIX)) v = Double.parseDouble(line.substring(RESULT_PREFIX.length()));
+                    else System.out.println(line);
+                }
+            }
+
+            final int exitCode;
+            try {
+                exitCode = process.waitFor();
+
+            } catch (final InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for run at factor " + factor, e);
+            }
+
+            if (exitCode == OUT_OF_MEMORY_EXIT_CODE) throw new PreEmptiveOutOfMemoryWarning();
+            if (exitCode != 0 || v == null) throw new IOException("Run " + repeat + " at factor " + factor + " failed with exit code " + exitCode);
+
+            return v;
+        };
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.simulationEntities;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Attributes of a person that are derived from their partnerships and the children of those partnerships.
+ * Instances are immutable, computed on first use by {@link PopulationNavigation} and discarded by {@link Person}
+ * whenever one of its partnerships, or the children or date of one of those partnerships, changes.
+ *
+ * The results of each query are identical to those obtained by walking the partnerships directly.
+ */
+final class DerivedAttributes {
+
+    private final IPerson lastChild;
+    private final IPartnership lastPartnership;
+    private final int numberOfChildren;
+
+    // Birth dates of all children as epoch days, in ascending order.
+    private final long[] childBirthDays;
+
+    // Partnerships started, or producing a child, in each year, in partnership order.
+    private final Map<Integer, List<IPartnership>> partnershipsActiveByYear;
+
+    DerivedAttributes(final IPerson person) {
+
+        LocalDate latestChildBirthDate = LocalDate.MIN;
+        IPerson child = null;
+
+        LocalDate latestPartnershipDate = LocalDate.MIN;
+        IPartnership partnership = null;
+
+        int count = 0;
+        for (final IPartnership p : person.getPartnerships())
+            count += p.getChildren().size();
+
+        childBirthDays = new long[count];
+        partnershipsActiveByYear = new HashMap<>();
+
+        int i = 0;
+
+        for (final IPartnership p : person.getPartnerships()) {
+
+            if (latestPartnershipDate.isBefore(p.getPartnershipDate())) {
+                latestPartnershipDate = p.getPartnershipDate();
+                partnership = p;
+            }
+
+            recordActiveYear(p.getPartnershipDate().getYear(), p);
+
+            for (final IPerson c : p.getChildren()) {
+
+                final LocalDate birthDate = c.getBirthDate();
+
+                if (!latestChildBirthDate.isAfter(birthDate)) {
+                    latestChildBirthDate = birthDate;
+                    child = c;
+                }
+
+                childBirthDays[i++] = birthDate.toEpochDay();
+                recordActiveYear(birthDate.getYear(), p);
+            }
+        }
+
+        Arrays.sort(childBirthDays);
+
+        lastChild = child;
+        lastPartnership = partnership;
+        numberOfChildren = count;
+    }
+
+    IPerson getLastChild() {
+        return lastChild;
+    }
+
+    IPartnership getLastPartnership() {
+        return lastPartnership;
+    }
+
+    int getNumberOfChildren() {
+        return numberOfChildren;
+    }
+
+    int numberOfChildrenBirthedBefore(final LocalDate date) {
+
+        final long day = date.toEpochDay();
+
+        // Index of the first birth on or after the given day.
+        int low = 0;
+        int high = childBirthDays.length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (childBirthDays[mid] < day) low = mid + 1;
+            else high = mid;
+        }
+
+        return low;
+    }
+
+    List<IPartnership> getPartnershipsActiveInYear(final int year) {
+
+        final List<IPartnership> partnerships = partnershipsActiveByYear.get(year);
+        return partnerships == null ? Collections.emptyList() : Collections.unmodifiableList(partnerships);
+    }
+
+    private void recordActiveYear(final int year, final IPartnership partnership) {
+
+        final List<IPartnership> partnerships = partnershipsActiveByYear.computeIfAbsent(year, y -> new ArrayList<>(1));
+
+        // Partnerships are visited in turn, so any earlier entry for this partnership is the last one.
+        if (partnerships.isEmpty() || partnerships.getLast() != partnership)
+            partnerships.add(partnership);
+    }
+}
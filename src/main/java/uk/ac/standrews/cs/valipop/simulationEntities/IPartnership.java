@@ -53,6 +53,13 @@ public interface IPartnership extends Comparable<IPartnership> {
 
     void addChildren(Collection<IPerson> children);
 
+    /**
+     * Removes a child previously added to the partnership.
+     *
+     * @param child the child to be removed
+     */
+    void removeChild(IPerson child);
+
     /**
      * Gets the identifiers of the partnership's child_ids, or null if none are recorded.
      *
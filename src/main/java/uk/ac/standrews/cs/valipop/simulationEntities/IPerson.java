@@ -20,11 +20,11 @@ package uk.ac.standrews.cs.valipop.simulationEntities;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.Address;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.Geography;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.dates.DatedHistory;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
-import java.util.TreeMap;
 
 /**
  * Interface for person objects.
@@ -120,6 +120,13 @@ public interface IPerson extends Comparable<IPerson> {
 
     void recordPartnership(IPartnership partnership);
 
+    /**
+     * Removes a partnership previously recorded for the person.
+     *
+     * @param partnership the partnership to be removed
+     */
+    void removePartnership(IPartnership partnership);
+
     Address getAddress(LocalDate onDate);
 
     void setAddress(LocalDate onDate, Address address);
@@ -148,7 +155,7 @@ public interface IPerson extends Comparable<IPerson> {
 
     void setOccupation(LocalDate onDate, String occupation);
 
-    TreeMap<LocalDate, Address> getAddressHistory();
+    DatedHistory<Address> getAddressHistory();
 
     void setAdulterousBirth(boolean adulterousBirth);
 
@@ -25,6 +25,7 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import static uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation.getDateOfNextPostSeparationEvent;
@@ -36,11 +37,13 @@ import static uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation
  */
 public class Partnership implements IPartnership {
 
-    private static int nextId = 0;
+    // Allocated per thread, as for Person.
+    private static final ThreadLocal<int[]> nextId = ThreadLocal.withInitial(() -> new int[1]);
     private final int id;
     private final IPerson male;
     private final IPerson female;
     private final List<IPerson> children = new ArrayList<>();
+    private final List<IPerson> childrenView = Collections.unmodifiableList(children);
 
     private LocalDate partnershipDate;
     private LocalDate marriageDate = null;
@@ -61,7 +64,10 @@ public class Partnership implements IPartnership {
 
     public String toString() {
 
-        final StringBuilder s = new StringBuilder();
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    private StringBuilder appendTo(final StringBuilder s) {
 
         s.append("--Partnership: ");
         s.append(id).append("--\n");
@@ -78,7 +84,7 @@ public class Partnership implements IPartnership {
         s.append("--End Partnership: ");
         s.append(id).append("--\n");
 
-        return s.toString();
+        return s;
     }
 
     private static void appendPerson(final StringBuilder s, final IPerson person) {
@@ -86,15 +92,20 @@ public class Partnership implements IPartnership {
         s.append(person.getSurname()).append(" | ");
         s.append(person.getSex()).append(" | ");
         s.append(person.getBirthDate()).append(" | ");
-        s.append(person.getDeathDate() != null ? person.getDeathDate() + "\n" : "no DOD\n");
+        if (person.getDeathDate() != null) {
+            s.append(person.getDeathDate()).append('\n');
+        } else {
+            s.append("no DOD\n");
+        }
     }
 
     public void setPartnershipDate(final LocalDate startDate) {
         partnershipDate = startDate;
+        invalidatePartnersDerivedAttributes();
     }
 
-    private static synchronized int getNewId() {
-        return nextId++;
+    private static int getNewId() {
+        return nextId.get()[0]++;
     }
 
     @Override
@@ -117,8 +128,8 @@ public class Partnership implements IPartnership {
         marriageLocation = place;
     }
 
-    public static synchronized void resetIds() {
-        nextId = 0;
+    public static void resetIds() {
+        nextId.get()[0] = 0;
     }
 
     public void setMarriageDate(final LocalDate marriageDate) {
@@ -153,7 +164,7 @@ public class Partnership implements IPartnership {
 
     @Override
     public List<IPerson> getChildren() {
-        return children;
+        return childrenView;
     }
 
     @Override
@@ -217,5 +228,18 @@ public class Partnership implements IPartnership {
     @Override
     public void addChildren(final Collection<IPerson> children) {
         this.children.addAll(children);
+        invalidatePartnersDerivedAttributes();
+    }
+
+    @Override
+    public void removeChild(final IPerson child) {
+        if (children.remove(child))
+            invalidatePartnersDerivedAttributes();
+    }
+
+    private void invalidatePartnersDerivedAttributes() {
+
+        if (male instanceof Person person) person.invalidateDerivedAttributes();
+        if (female instanceof Person person) person.invalidateDerivedAttributes();
     }
 }
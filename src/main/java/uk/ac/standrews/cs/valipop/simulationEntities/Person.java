@@ -17,11 +17,13 @@
  */
 package uk.ac.standrews.cs.valipop.simulationEntities;
 
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.implementations.Randomness;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.Address;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.Geography;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.dates.DatedHistory;
 
 import java.time.LocalDate;
 import java.time.Year;
@@ -34,24 +36,34 @@ import java.util.*;
  */
 public class Person implements IPerson {
 
-    private static int nextId = 0;
+    // Identifiers are allocated per thread, so that populations simulated concurrently are numbered independently.
+    private static final ThreadLocal<int[]> nextId = ThreadLocal.withInitial(() -> new int[1]);
 
     private final int id;
     private final SexOption sex;
     private final LocalDate birthDate;
     private LocalDate deathDate = null;
     private final List<IPartnership> partnerships = new ArrayList<>();
+    private final List<IPartnership> partnershipsView = Collections.unmodifiableList(partnerships);
     private IPartnership parents;
 
+    // Discarded whenever partnerships, or the children or dates of those partnerships, change.
+    private DerivedAttributes derivedAttributes = null;
+    private final boolean cacheDerivedAttributes;
+
     private final String firstName;
     private String surname;
-    private final String representation;
+
+    // Rendered on first use, since most people are never printed; discarded if the surname changes.
+    private String representation = null;
+
     private boolean adulterousBirth;
 
     private String deathCause = "";
 
-    private final TreeMap<LocalDate, Address> addressHistory = new TreeMap<>();
-    private final TreeMap<LocalDate, String> occupationHistory = new TreeMap<>();
+    // Most people never move or change occupation, so these are held compactly rather than as sorted maps.
+    private final DatedHistory<Address> addressHistory = new DatedHistory<>();
+    private final DatedHistory<String> occupationHistory = new DatedHistory<>();
 
     private LocalDate emigrationDate;
     private LocalDate immigrationDate;
@@ -71,6 +83,8 @@ public class Person implements IPerson {
         this.parents = parents;
         this.adulterousBirth = adulterousBirth;
 
+        cacheDerivedAttributes = statistics.cacheDerivedAttributes();
+
         firstName = getForename(statistics, immigrant);
         surname = getSurname(statistics, immigrant);
 
@@ -78,17 +92,25 @@ public class Person implements IPerson {
 //            System.out.println(id + ", " + firstName);
 //        }
 
-        representation = firstName + " " + surname + " (" + id + ") " + birthDate;
-
-        setOccupation(birthDate, statistics.getOccupation(Year.of(birthDate.getYear()), sex).getDistributionForAge(0).getSample());
+        setOccupation(birthDate, statistics.getOccupation(Year.of(birthDate.getYear()), sex).getDistributionForAge(0).getSample(statistics.getRandomStreams().get(RandomStreams.Subsystem.OCCUPATIONS)));
     }
 
     public String toString() {
+
+        if (representation == null) {
+            representation = appendTo(new StringBuilder()).toString();
+        }
         return representation;
     }
 
+    private StringBuilder appendTo(final StringBuilder builder) {
+
+        return builder.append(firstName).append(' ').append(surname).append(" (").append(id).append(") ").append(birthDate);
+    }
+
     public void setSurname(final String surname) {
         this.surname = surname;
+        representation = null;
     }
 
     @Override
@@ -118,7 +140,7 @@ public class Person implements IPerson {
 
     @Override
     public List<IPartnership> getPartnerships() {
-        return partnerships;
+        return partnershipsView;
     }
 
     @Override
@@ -161,7 +183,7 @@ public class Person implements IPerson {
 
     @Override
     public String getOccupation(final LocalDate onDate) {
-        return occupationHistory.floorEntry(onDate).getValue();
+        return occupationHistory.floor(onDate);
     }
 
     @Override
@@ -171,7 +193,7 @@ public class Person implements IPerson {
     }
 
     @Override
-    public TreeMap<LocalDate, Address> getAddressHistory() {
+    public DatedHistory<Address> getAddressHistory() {
         return addressHistory;
     }
 
@@ -223,6 +245,34 @@ public class Person implements IPerson {
     @Override
     public void recordPartnership(final IPartnership partnership) {
         partnerships.add(partnership);
+        invalidateDerivedAttributes();
+    }
+
+    @Override
+    public void removePartnership(final IPartnership partnership) {
+        if (partnerships.remove(partnership))
+            invalidateDerivedAttributes();
+    }
+
+    /**
+     * @return the attributes derived from this person's partnerships and children, or null if the run
+     * does not cache them
+     */
+    DerivedAttributes getDerivedAttributes() {
+
+        if (!cacheDerivedAttributes) return null;
+
+        DerivedAttributes attributes = derivedAttributes;
+
+        if (attributes == null) {
+            attributes = new DerivedAttributes(this);
+            derivedAttributes = attributes;
+        }
+        return attributes;
+    }
+
+    void invalidateDerivedAttributes() {
+        derivedAttributes = null;
     }
 
     @Override
@@ -230,11 +280,7 @@ public class Person implements IPerson {
         if (onDate == null)
             return null;
 
-        final Map.Entry<LocalDate, Address> entry = addressHistory.floorEntry(onDate);
-        if (entry != null)
-            return entry.getValue();
-
-        return null;
+        return addressHistory.floor(onDate);
     }
 
     @Override
@@ -254,9 +300,9 @@ public class Person implements IPerson {
                 }
 
                 if (!removed) {
-                    while (addressHistory.ceilingEntry(onDate) != null) { // if theres a future move - from a forced adulterousBirth move - we scratch that move
-                        addressHistory.ceilingEntry(onDate).getValue().removeInhabitant(this);
-                        addressHistory.remove(addressHistory.ceilingKey(onDate));
+                    while (addressHistory.ceilingDate(onDate) != null) { // if theres a future move - from a forced adulterousBirth move - we scratch that move
+                        addressHistory.ceiling(onDate).removeInhabitant(this);
+                        addressHistory.remove(addressHistory.ceilingDate(onDate));
                     }
                 }
             }
@@ -288,11 +334,7 @@ public class Person implements IPerson {
 
     @Override
     public LocalDate getLastMoveDate() {
-        try {
-            return addressHistory.lastKey();
-        } catch(final NoSuchElementException e) {
-            return null;
-        }
+        return addressHistory.lastDate();
     }
 
     @Override
@@ -303,7 +345,7 @@ public class Person implements IPerson {
     @Override
     public void rollbackLastMove(final Geography geography) {
 
-        final Address cancelledAddress = addressHistory.lastEntry().getValue();
+        final Address cancelledAddress = addressHistory.lastValue();
         final Set<IPerson> family = getChildrenOfAtAddress(this, cancelledAddress);
         family.add(this);
 
@@ -313,7 +355,7 @@ public class Person implements IPerson {
 
         if (!addressHistory.isEmpty()) {
             // check previous abode
-            final Address previousAddress = addressHistory.lastEntry().getValue();
+            final Address previousAddress = addressHistory.lastValue();
 
             if (!previousAddress.isCountry() && previousAddress.isInhabited()) {
                 // if by family
@@ -338,14 +380,7 @@ public class Person implements IPerson {
 
     private void returnFamilyToHouse(final Collection<IPerson> family, final Address previousAddress) {
 
-        LocalDate parentsMoveInDate = null;
-
-        for (final Map.Entry<LocalDate, Address> entry : addressHistory.entrySet()) {
-            if (entry.getValue().equals(previousAddress)) {
-                parentsMoveInDate = entry.getKey();
-                break;
-            }
-        }
+        final LocalDate parentsMoveInDate = addressHistory.firstDateOf(previousAddress);
 
         if (parentsMoveInDate == null)
             throw new Error("Address unexpectedly not found");
@@ -357,7 +392,7 @@ public class Person implements IPerson {
                 // work out move in date
                 final LocalDate moveDate = parentsMoveInDate.isBefore(p.getBirthDate()) ? p.getBirthDate() : parentsMoveInDate;
 
-                if (p.getAddressHistory().ceilingEntry(moveDate) != null)
+                if (p.getAddressHistory().ceilingDate(moveDate) != null)
                     throw new Error("Unexpected addresss ordering");
 
                 p.getAddressHistory().put(moveDate, previousAddress);
@@ -382,11 +417,9 @@ public class Person implements IPerson {
     @Override
     public LocalDate cancelLastMove(final Geography geography) {
 
-        final Map.Entry<LocalDate, Address> lastMove = addressHistory.lastEntry();
-        final LocalDate moveDate = lastMove.getKey();
+        final LocalDate moveDate = addressHistory.lastDate();
 
-        lastMove.getValue().removeInhabitant(this);
-        addressHistory.remove(addressHistory.lastKey());
+        addressHistory.removeLast().removeInhabitant(this);
 
         return moveDate;
     }
@@ -420,20 +453,20 @@ public class Person implements IPerson {
         return false;
     }
 
-    private synchronized static int getNewId() {
-        return nextId++;
+    private static int getNewId() {
+        return nextId.get()[0]++;
     }
 
-    public synchronized static void resetIds() {
-        nextId = 0;
+    public static void resetIds() {
+        nextId.get()[0] = 0;
     }
 
     private String getForename(final PopulationStatistics statistics, final boolean immigrant) {
 
         if (immigrant) {
-            return statistics.getMigrantForenameDistribution(Year.of(birthDate.getYear()), getSex()).getSample();
+            return statistics.getMigrantForenameDistribution(Year.of(birthDate.getYear()), getSex()).getSample(statistics.getRandomStreams().get(RandomStreams.Subsystem.NAMES));
         } else {
-            return statistics.getForenameDistribution(Year.of(birthDate.getYear()), getSex()).getSample();
+            return statistics.getForenameDistribution(Year.of(birthDate.getYear()), getSex()).getSample(statistics.getRandomStreams().get(RandomStreams.Subsystem.NAMES));
         }
     }
 
@@ -444,9 +477,9 @@ public class Person implements IPerson {
         }
         else {
             if (immigrant) {
-                return statistics.getMigrantSurnameDistribution(Year.of(birthDate.getYear())).getSample();
+                return statistics.getMigrantSurnameDistribution(Year.of(birthDate.getYear())).getSample(statistics.getRandomStreams().get(RandomStreams.Subsystem.NAMES));
             } else {
-                return statistics.getSurnameDistribution(Year.of(birthDate.getYear())).getSample();
+                return statistics.getSurnameDistribution(Year.of(birthDate.getYear())).getSample(statistics.getRandomStreams().get(RandomStreams.Subsystem.NAMES));
             }
         }
     }
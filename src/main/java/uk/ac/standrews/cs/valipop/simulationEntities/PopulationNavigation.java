@@ -20,7 +20,6 @@ package uk.ac.standrews.cs.valipop.simulationEntities;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
 
 import java.time.LocalDate;
-import java.time.Period;
 import java.time.Year;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -34,6 +33,15 @@ public class PopulationNavigation {
 
     private static final int NUMBER_OF_GENERATIONS_TO_EXCLUDE = 3;
 
+    private static DerivedAttributes derivedAttributesOf(final IPerson person) {
+
+        // Whether attributes are cached is set per run, through the statistics each person is created with.
+        if (person instanceof Person p)
+            return p.getDerivedAttributes();
+
+        return null;
+    }
+
     public static Collection<IPerson> siblingsOf(final IPerson person) {
 
         // Include half-siblings.
@@ -230,6 +238,9 @@ public class PopulationNavigation {
 
     public static IPerson getLastChild(final IPerson person) {
 
+        final DerivedAttributes attributes = derivedAttributesOf(person);
+        if (attributes != null) return attributes.getLastChild();
+
         LocalDate latestChildBirthDate = LocalDate.MIN;
         IPerson child = null;
 
@@ -248,13 +259,11 @@ public class PopulationNavigation {
 
     public static boolean lastPartnerDied(final IPerson person, final LocalDate currentDate) {
 
-        try {
-            final IPerson lastPartner = getLastChild(person).getParents().getPartnerOf(person);
-            return !aliveOnDate(lastPartner, currentDate);
+        final IPerson lastChild = getLastChild(person);
+        if (lastChild == null || lastChild.getParents() == null) return true;
 
-        } catch (final NullPointerException e) {
-            return true;
-        }
+        final IPerson lastPartner = lastChild.getParents().getPartnerOf(person);
+        return lastPartner == null || !aliveOnDate(lastPartner, currentDate);
     }
 
     public static int ageOnDate(final IPerson person, final LocalDate queryDate) {
@@ -264,12 +273,26 @@ public class PopulationNavigation {
 
     public static int ageOnDate(final LocalDate birthDate, final LocalDate queryDate) {
 
-//        if (birthDate.getDayOfMonth() == 1 && birthDate.getMonthValue() == 1 && queryDate.getDayOfMonth() == 1 && queryDate.getMonthValue() == 1) {
-//            final int age = Period.between(birthDate, queryDate).getYears() - 1;
-//            return age == -1 ? 0 : age;
-//        } else {
-            return Math.max(0, Period.between(birthDate, queryDate).getYears());
-//        }
+        // Equivalent to Math.max(0, Period.between(birthDate, queryDate).getYears()) without allocating a Period.
+        if (!queryDate.isAfter(birthDate)) return 0;
+
+        int months = (queryDate.getYear() - birthDate.getYear()) * 12 + queryDate.getMonthValue() - birthDate.getMonthValue();
+        if (queryDate.getDayOfMonth() < birthDate.getDayOfMonth()) months--;
+
+        return months / 12;
+    }
+
+    public static int numberOfChildren(final IPerson person) {
+
+        final DerivedAttributes attributes = derivedAttributesOf(person);
+        if (attributes != null) return attributes.getNumberOfChildren();
+
+        int count = 0;
+
+        for (final IPartnership partnership : person.getPartnerships())
+            count += partnership.getChildren().size();
+
+        return count;
     }
 
     public static int numberOfChildrenInLatestPartnership(final IPerson person) {
@@ -297,6 +320,9 @@ public class PopulationNavigation {
 
     public static Collection<IPartnership> getPartnershipsActiveInYear(final IPerson person, final Year year) {
 
+        final DerivedAttributes attributes = derivedAttributesOf(person);
+        if (attributes != null) return attributes.getPartnershipsActiveInYear(year.getValue());
+
         final Collection<IPartnership> activePartnerships = new ArrayList<>();
 
         for (final IPartnership partnership : person.getPartnerships()) {
@@ -320,6 +346,9 @@ public class PopulationNavigation {
 
     public static IPartnership getLastPartnership(final IPerson person) {
 
+        final DerivedAttributes attributes = derivedAttributesOf(person);
+        if (attributes != null) return attributes.getLastPartnership();
+
         LocalDate latestPartnershipDate = LocalDate.MIN;
         IPartnership partnership = null;
 
@@ -348,6 +377,9 @@ public class PopulationNavigation {
 
     public static int numberOfChildrenBirthedBeforeDate(final IPerson person, final LocalDate y) {
 
+        final DerivedAttributes attributes = derivedAttributesOf(person);
+        if (attributes != null) return attributes.numberOfChildrenBirthedBefore(y);
+
         int count = 0;
 
         for (final IPartnership p : person.getPartnerships()) {
@@ -17,8 +17,8 @@
  */
 package uk.ac.standrews.cs.valipop.simulationEntities.dataStructure;
 
-import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
+import uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation;
 import uk.ac.standrews.cs.valipop.utils.MapUtils;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.dates.DateUtils;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.dates.MisalignedTimeDivisionException;
@@ -31,13 +31,15 @@ import java.util.*;
 /**
  * The FemaleCollection is a specialised concrete implementation of a PersonCollection. The implementation offers an
  * additional layer of division below the year of birth level which divides females out into separate collections based
- * on how many children they have had.
+ * on how many children they have had. Within each of these, women who have had children are also indexed by the birth
+ * date of their last child, from which the earliest date of their next birth follows.
  *
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
  */
 public class FemaleCollection extends PersonCollection {
 
-    private final Map<LocalDate, Map<Integer, Set<IPerson>>> byBirthYearAndNumberOfChildren = new TreeMap<>();
+    private final Map<LocalDate, Map<Integer, IndexedPersonSet>> byBirthYearAndNumberOfChildren = new TreeMap<>();
+    private final Map<LocalDate, Map<Integer, NavigableMap<LocalDate, IndexedPersonSet>>> byLastChildBirthDate = new HashMap<>();
 
     /**
      * Instantiates a new FemaleCollection. The dates specify the earliest and latest expected birth dates of
@@ -62,7 +64,7 @@ public class FemaleCollection extends PersonCollection {
 
         final Collection<IPerson> people = new ArrayList<>();
 
-        for (Map<Integer, Set<IPerson>> map : byBirthYearAndNumberOfChildren.values()) {
+        for (Map<Integer, IndexedPersonSet> map : byBirthYearAndNumberOfChildren.values()) {
             for (Collection<IPerson> collection : map.values()) {
                 people.addAll(collection);
             }
@@ -87,12 +89,15 @@ public class FemaleCollection extends PersonCollection {
         final LocalDate divisionDate = resolveDateToCorrectDivisionDate(person.getBirthDate());
         final int numberOfChildren = countChildren(person);
 
-        final TreeSet<IPerson> newList = new TreeSet<>();
+        if (contains(person))
+            throw new IllegalArgumentException("Specified person already present in data structure");
+
+        final IndexedPersonSet newList = new IndexedPersonSet();
         newList.add(person);
 
         if (byBirthYearAndNumberOfChildren.containsKey(divisionDate)) {
 
-            final Map<Integer, Set<IPerson>> map = byBirthYearAndNumberOfChildren.get(divisionDate);
+            final Map<Integer, IndexedPersonSet> map = byBirthYearAndNumberOfChildren.get(divisionDate);
 
             if (map.containsKey(numberOfChildren)) {
                 map.get(numberOfChildren).add(person);
@@ -102,11 +107,18 @@ public class FemaleCollection extends PersonCollection {
             }
         } else {
 
-            Map<Integer, Set<IPerson>> newMap = new TreeMap<>();
+            Map<Integer, IndexedPersonSet> newMap = new TreeMap<>();
             newMap.put(numberOfChildren, newList);
             byBirthYearAndNumberOfChildren.put(divisionDate, newMap);
         }
 
+        if (numberOfChildren > 0) {
+            byLastChildBirthDate.computeIfAbsent(divisionDate, date -> new HashMap<>())
+                    .computeIfAbsent(numberOfChildren, n -> new TreeMap<>())
+                    .computeIfAbsent(getLastChildBirthDate(person), date -> new IndexedPersonSet())
+                    .add(person);
+        }
+
         size++;
     }
 
@@ -114,20 +126,57 @@ public class FemaleCollection extends PersonCollection {
     public void remove(final IPerson person) {
 
         final LocalDate divisionDate = resolveDateToCorrectDivisionDate(person.getBirthDate());
-        final Map<Integer, Set<IPerson>> familySizeMap = byBirthYearAndNumberOfChildren.get(divisionDate);
+        final Map<Integer, IndexedPersonSet> familySizeMap = byBirthYearAndNumberOfChildren.get(divisionDate);
         final int numberOfChildren = countChildren(person);
         final Collection<IPerson> people = familySizeMap.get(numberOfChildren);
 
         if (people == null || !people.remove(person))
             throw new PersonNotFoundException("Specified person not found in data structure");
 
+        if (numberOfChildren > 0)
+            removeFromLastChildIndex(person, divisionDate, numberOfChildren);
+
         size--;
     }
 
     @Override
-    public int getNumberOfPeople(final LocalDate firstDate, final Period timePeriod) {
+    public boolean contains(final IPerson person) {
+
+        final Map<Integer, IndexedPersonSet> familySizeMap = byBirthYearAndNumberOfChildren.get(resolveDateToCorrectDivisionDate(person.getBirthDate()));
+
+        if (familySizeMap == null) return false;
+
+        final Collection<IPerson> people = familySizeMap.get(countChildren(person));
+
+        return people != null && people.contains(person);
+    }
+
+    @Override
+    int getNumberOfPeopleInDivision(final LocalDate divisionDate) {
+
+        int count = 0;
+
+        for (final Collection<IPerson> collection : getAllPeopleFromDivision(divisionDate).values()) {
+            count += collection.size();
+        }
 
-        return getPeopleBornInTimePeriod(firstDate, timePeriod).size();
+        return count;
+    }
+
+    @Override
+    IPerson getPersonInDivision(final LocalDate divisionDate, int index) {
+
+        // Birth orders are visited in the same order as when adding the division's people to a collection.
+        for (final IndexedPersonSet people : getAllPeopleFromDivision(divisionDate).values()) {
+
+            if (index < people.size()) {
+                return people.get(index);
+            }
+
+            index -= people.size();
+        }
+
+        throw new IndexOutOfBoundsException(index);
     }
 
     @Override
@@ -171,7 +220,7 @@ public class FemaleCollection extends PersonCollection {
 
         for (int i = 0; i < divisionsInPeriod; i++) {
 
-            final Map<Integer, Set<IPerson>> temp = byBirthYearAndNumberOfChildren.get(divisionDate);
+            final Map<Integer, IndexedPersonSet> temp = byBirthYearAndNumberOfChildren.get(divisionDate);
 
             if (temp != null && MapUtils.getMax(temp.keySet()) > highestBirthOrder) {
                 highestBirthOrder = MapUtils.getMax(temp.keySet());
@@ -216,7 +265,72 @@ public class FemaleCollection extends PersonCollection {
         return people;
     }
 
-    private Map<Integer, Set<IPerson>> getAllPeopleFromDivision(final LocalDate divisionDate) {
+    /**
+     * Gets the mothers born in the given period with birth orders in the given range who are able to give birth on the
+     * given date, i.e. who have no children or whose last child was born more than the minimum birth spacing before
+     * it. Only those women are visited, rather than every woman of the birth order.
+     *
+     * @param date            the date
+     * @param period          the period following the date to find people from
+     * @param birthOrder      the range of numbers of children
+     * @param minBirthSpacing the minimum period between births to the same mother
+     * @param onDate          the date on which the next births would occur
+     * @return the women able to give birth
+     */
+    public Collection<IPerson> getByDatePeriodAndBirthOrderAbleToGiveBirth(final LocalDate date, final Period period, final IntegerRange birthOrder,
+                                                                          final Period minBirthSpacing, final LocalDate onDate) {
+
+        int highestBirthOrder = getHighestBirthOrder(date, period);
+
+        if (!birthOrder.isPlus())
+            highestBirthOrder = birthOrder.getMax();
+
+        final Collection<IPerson> people = new ArrayList<>();
+
+        for (int i = birthOrder.getMin(); i <= highestBirthOrder; i++) {
+
+            if (i == 0) {
+                people.addAll(getByDatePeriodAndBirthOrder(date, period, 0));
+                continue;
+            }
+
+            final int divisionsInPeriod = DateUtils.divideYieldingInt(period, getDivisionSize());
+            LocalDate divisionDate = date;
+
+            for (int j = 0; j < divisionsInPeriod; j++) {
+
+                final NavigableMap<LocalDate, IndexedPersonSet> byLastChild = byLastChildBirthDate.getOrDefault(divisionDate, Collections.emptyMap()).get(i);
+
+                if (byLastChild != null) {
+                    for (final Map.Entry<LocalDate, IndexedPersonSet> entry : byLastChild.entrySet()) {
+
+                        // Women are visited in order of last child's birth, so the remainder are all too recent.
+                        if (!entry.getKey().plus(minBirthSpacing).isBefore(onDate)) break;
+                        people.addAll(entry.getValue());
+                    }
+                }
+
+                divisionDate = divisionDate.plus(getDivisionSize());
+            }
+        }
+
+        return people;
+    }
+
+    private void removeFromLastChildIndex(final IPerson person, final LocalDate divisionDate, final int numberOfChildren) {
+
+        final NavigableMap<LocalDate, IndexedPersonSet> byLastChild = byLastChildBirthDate.getOrDefault(divisionDate, Collections.emptyMap()).get(numberOfChildren);
+        final LocalDate lastChildBirthDate = getLastChildBirthDate(person);
+        final IndexedPersonSet people = byLastChild == null ? null : byLastChild.get(lastChildBirthDate);
+
+        if (people == null || !people.remove(person))
+            throw new PersonNotFoundException("Specified person not found in data structure");
+
+        if (people.isEmpty())
+            byLastChild.remove(lastChildBirthDate);
+    }
+
+    private Map<Integer, IndexedPersonSet> getAllPeopleFromDivision(final LocalDate divisionDate) {
 
         if (byBirthYearAndNumberOfChildren.containsKey(divisionDate)) {
             return byBirthYearAndNumberOfChildren.get(divisionDate);
@@ -233,12 +347,11 @@ public class FemaleCollection extends PersonCollection {
 
     private int countChildren(final IPerson person) {
 
-        int count = 0;
+        return PopulationNavigation.numberOfChildren(person);
+    }
 
-        for (IPartnership partnership : person.getPartnerships()) {
-            count += partnership.getChildren().size();
-        }
+    private LocalDate getLastChildBirthDate(final IPerson person) {
 
-        return count;
+        return PopulationNavigation.getLastChild(person).getBirthDate();
     }
 }
\ No newline at end of file
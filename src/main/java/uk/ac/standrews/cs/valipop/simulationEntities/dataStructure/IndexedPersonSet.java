@@ -0,0 +1,281 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.simulationEntities.dataStructure;
+
+import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of people ordered by id, as a {@link java.util.TreeSet} of people would be, that can also return the person
+ * at a given position. Membership, addition, removal and access by position all take logarithmic time, so people
+ * can be drawn uniformly at random without copying the set.
+ *
+ * Implemented as a treap with subtree sizes. Node priorities are derived from person ids, so the shape of the tree
+ * depends only on its contents.
+ */
+class IndexedPersonSet extends AbstractSet<IPerson> {
+
+    private static final class Node {
+
+        final IPerson person;
+        final int id;
+        final int priority;
+
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(final IPerson person) {
+
+            this.person = person;
+            id = person.getId();
+            priority = mix(id);
+        }
+    }
+
+    private Node root;
+    private int modifications;
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+
+        if (!(o instanceof IPerson person)) return false;
+
+        final int id = person.getId();
+        Node node = root;
+
+        while (node != null) {
+            if (id == node.id) return true;
+            node = id < node.id ? node.left : node.right;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean add(final IPerson person) {
+
+        if (contains(person)) return false;
+
+        root = insert(root, new Node(person));
+        modifications++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+
+        if (!contains(o)) return false;
+
+        root = delete(root, ((IPerson) o).getId());
+        modifications++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+
+        root = null;
+        modifications++;
+    }
+
+    /**
+     * @param index the position of the person in id order, from zero
+     * @return the person at that position
+     */
+    public IPerson get(int index) {
+
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException(index);
+
+        Node node = root;
+
+        while (true) {
+
+            final int leftSize = size(node.left);
+
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.person;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public Iterator<IPerson> iterator() {
+        return new InOrderIterator();
+    }
+
+    private static int size(final Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(final Node node) {
+
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static Node insert(final Node node, final Node inserted) {
+
+        if (node == null) return inserted;
+
+        if (inserted.id < node.id) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) return rotateRight(node);
+
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) return rotateLeft(node);
+        }
+
+        return update(node);
+    }
+
+    private static Node rotateRight(final Node node) {
+
+        final Node left = node.left;
+        node.left = left.right;
+        left.right = update(node);
+        return update(left);
+    }
+
+    private static Node rotateLeft(final Node node) {
+
+        final Node right = node.right;
+        node.right = right.left;
+        right.left = update(node);
+        return update(right);
+    }
+
+    private static Node delete(final Node node, final int id) {
+
+        if (id == node.id) return merge(node.left, node.right);
+
+        if (id < node.id) {
+            node.left = delete(node.left, id);
+        } else {
+            node.right = delete(node.right, id);
+        }
+
+        return update(node);
+    }
+
+    private static Node merge(final Node left, final Node right) {
+
+        if (left == null) return right;
+        if (right == null) return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static int mix(final int id) {
+
+        // Murmur3 finaliser, spreading consecutive ids over the range of priorities.
+        int h = id;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private class InOrderIterator implements Iterator<IPerson> {
+
+        private final Deque<Node> path = new ArrayDeque<>();
+        private IPerson last;
+        private int expectedModifications = modifications;
+
+        InOrderIterator() {
+            descendLeft(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public IPerson next() {
+
+            if (expectedModifications != modifications) throw new ConcurrentModificationException();
+            if (path.isEmpty()) throw new NoSuchElementException();
+
+            final Node node = path.pop();
+            descendLeft(node.right);
+
+            last = node.person;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+
+            if (last == null) throw new IllegalStateException();
+            if (expectedModifications != modifications) throw new ConcurrentModificationException();
+
+            IndexedPersonSet.this.remove(last);
+            expectedModifications = modifications;
+
+            // Rebuild the path to the successor of the removed person in the reshaped tree.
+            path.clear();
+            final int id = last.getId();
+            Node node = root;
+
+            while (node != null) {
+                if (node.id > id) {
+                    path.push(node);
+                    node = node.left;
+                } else {
+                    node = node.right;
+                }
+            }
+
+            last = null;
+        }
+
+        private void descendLeft(Node node) {
+
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+        }
+    }
+}
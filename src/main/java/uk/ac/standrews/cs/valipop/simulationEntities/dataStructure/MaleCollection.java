@@ -30,7 +30,7 @@ import java.util.*;
  */
 public class MaleCollection extends PersonCollection {
 
-    private final TreeMap<LocalDate, TreeSet<IPerson>> byYear = new TreeMap<>();
+    private final TreeMap<LocalDate, IndexedPersonSet> byYear = new TreeMap<>();
 
     /**
      * Instantiates a new MaleCollection. The dates specify the earliest and latest expected birth dates of
@@ -46,7 +46,7 @@ public class MaleCollection extends PersonCollection {
         super(start, end, divisionSize, description);
 
         for (LocalDate date = start; !date.isAfter(end); date = date.plus(divisionSize)) {
-            byYear.put(date, new TreeSet<>());
+            byYear.put(date, new IndexedPersonSet());
         }
     }
 
@@ -77,11 +77,13 @@ public class MaleCollection extends PersonCollection {
         final LocalDate divisionDate = resolveDateToCorrectDivisionDate(person.getBirthDate());
 
         if (byYear.containsKey(divisionDate)) {
-            byYear.get(divisionDate).add(person);
+            if (!byYear.get(divisionDate).add(person)) {
+                throw new IllegalArgumentException("Specified person already present in data structure");
+            }
 
         } else {
 
-            final TreeSet<IPerson> newList = new TreeSet<>();
+            final IndexedPersonSet newList = new IndexedPersonSet();
             newList.add(person);
             byYear.put(divisionDate, newList);
         }
@@ -92,7 +94,7 @@ public class MaleCollection extends PersonCollection {
     @Override
     public void remove(IPerson person) {
 
-        TreeSet<IPerson> people = byYear.get(resolveDateToCorrectDivisionDate(person.getBirthDate()));
+        IndexedPersonSet people = byYear.get(resolveDateToCorrectDivisionDate(person.getBirthDate()));
 
         if (people == null || !people.remove(person)) {
             throw new PersonNotFoundException("Specified person not found in data structure");
@@ -101,15 +103,30 @@ public class MaleCollection extends PersonCollection {
         size--;
     }
 
+    @Override
+    public boolean contains(final IPerson person) {
+
+        final IndexedPersonSet people = byYear.get(resolveDateToCorrectDivisionDate(person.getBirthDate()));
+
+        return people != null && people.contains(person);
+    }
+
     @Override
     public int getNumberOfPeople() {
         return size;
     }
 
     @Override
-    public int getNumberOfPeople(LocalDate firstDate, Period timePeriod) {
+    int getNumberOfPeopleInDivision(final LocalDate divisionDate) {
+
+        final IndexedPersonSet people = byYear.get(divisionDate);
+        return people == null ? 0 : people.size();
+    }
+
+    @Override
+    IPerson getPersonInDivision(final LocalDate divisionDate, final int index) {
 
-        return getPeopleBornInTimePeriod(firstDate, timePeriod).size();
+        return byYear.get(divisionDate).get(index);
     }
 
     @Override
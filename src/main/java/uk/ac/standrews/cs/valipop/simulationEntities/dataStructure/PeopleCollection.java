@@ -17,6 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.simulationEntities.dataStructure;
 
+import org.apache.commons.math3.random.RandomGenerator;
 import uk.ac.standrews.cs.valipop.Config;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
@@ -93,14 +94,14 @@ public class PeopleCollection extends PersonCollection implements Cloneable, IPe
         partnershipIndex.put(partnership.getId(), partnership);
     }
 
-    public void removeMales(final int numberToRemove, final LocalDate firstDate, final Period timePeriod, final boolean bestAttempt, final Geography geography, final DistanceSelector moveDistanceSelector, final Config config) throws InsufficientNumberOfPeopleException {
+    public void removeMales(final int numberToRemove, final LocalDate firstDate, final Period timePeriod, final boolean bestAttempt, final Geography geography, final DistanceSelector moveDistanceSelector, final Config config, final RandomGenerator random) throws InsufficientNumberOfPeopleException {
 
-        removePeople(males, numberToRemove, firstDate, timePeriod, bestAttempt, geography, moveDistanceSelector, config);
+        removePeople(males, numberToRemove, firstDate, timePeriod, bestAttempt, geography, moveDistanceSelector, config, random);
     }
 
-    public void removeFemales(final int numberToRemove, final LocalDate firstDate, final Period timePeriod, final boolean bestAttempt, final Geography geography, final DistanceSelector moveDistanceSelector, final Config config) throws InsufficientNumberOfPeopleException {
+    public void removeFemales(final int numberToRemove, final LocalDate firstDate, final Period timePeriod, final boolean bestAttempt, final Geography geography, final DistanceSelector moveDistanceSelector, final Config config, final RandomGenerator random) throws InsufficientNumberOfPeopleException {
 
-        removePeople(females, numberToRemove, firstDate, timePeriod, bestAttempt, geography, moveDistanceSelector, config);
+        removePeople(females, numberToRemove, firstDate, timePeriod, bestAttempt, geography, moveDistanceSelector, config, random);
     }
 
     @Override
@@ -153,6 +154,12 @@ public class PeopleCollection extends PersonCollection implements Cloneable, IPe
         }
     }
 
+    @Override
+    public boolean contains(final IPerson person) {
+
+        return person.getSex() == SexOption.MALE ? males.contains(person) : females.contains(person);
+    }
+
     @Override
     public int getNumberOfPeople() {
 
@@ -165,6 +172,30 @@ public class PeopleCollection extends PersonCollection implements Cloneable, IPe
         return females.getNumberOfPeople(firstDate, timePeriod) + males.getNumberOfPeople(firstDate, timePeriod);
     }
 
+    @Override
+    int getNumberOfPeopleInDivision(final LocalDate divisionDate) {
+
+        return females.getNumberOfPeopleInDivision(divisionDate) + males.getNumberOfPeopleInDivision(divisionDate);
+    }
+
+    @Override
+    IPerson getPersonInDivision(final LocalDate divisionDate, final int index) {
+
+        final int numberOfFemales = females.getNumberOfPeopleInDivision(divisionDate);
+
+        return index < numberOfFemales ?
+                females.getPersonInDivision(divisionDate, index) :
+                males.getPersonInDivision(divisionDate, index - numberOfFemales);
+    }
+
+    @Override
+    public IPerson getPerson(final int index) {
+
+        final int numberOfFemales = females.getNumberOfPeople();
+
+        return index < numberOfFemales ? females.getPerson(index) : males.getPerson(index - numberOfFemales);
+    }
+
     @Override
     public Set<LocalDate> getDivisionDates() {
         return females.getDivisionDates();
@@ -209,9 +240,9 @@ public class PeopleCollection extends PersonCollection implements Cloneable, IPe
         return description;
     }
 
-    private void removePeople(final PersonCollection collection, final int numberToRemove, final LocalDate firstDate, final Period timePeriod, final boolean bestAttempt, final Geography geography, final DistanceSelector moveDistanceSelector, final Config config) throws InsufficientNumberOfPeopleException {
+    private void removePeople(final PersonCollection collection, final int numberToRemove, final LocalDate firstDate, final Period timePeriod, final boolean bestAttempt, final Geography geography, final DistanceSelector moveDistanceSelector, final Config config, final RandomGenerator random) throws InsufficientNumberOfPeopleException {
 
-        final TreeSet<IPerson> removed = collection.removeNPersons(numberToRemove, firstDate, timePeriod, true);
+        final TreeSet<IPerson> removed = collection.removeNPersons(numberToRemove, firstDate, timePeriod, true, random);
 
         for (final IPerson person : removed) {
             removeChildFromParentsPartnership(person, geography, moveDistanceSelector, config);
@@ -231,7 +262,7 @@ public class PeopleCollection extends PersonCollection implements Cloneable, IPe
             if (!nonImmigratingMotherOfImmigrantPerson(mother, person))
                 remove(mother);
 
-            parents.getChildren().remove(person);
+            parents.removeChild(person);
 
             person.cancelLastMove(geography);
 
@@ -265,7 +296,7 @@ public class PeopleCollection extends PersonCollection implements Cloneable, IPe
                                 // as the origin address for choosing the address for the adulterousBirth child and mother - we will do that again in this case
                                 newAddress = geography.getNearestEmptyAddressAtDistance(
                                         adulterousBirth.getParents().getMalePartner().getAddressHistory()
-                                                .ceilingEntry(adulterousBirth.getBirthDate().minus(config.getMinGestationPeriod())).getValue()
+                                                .ceiling(adulterousBirth.getBirthDate().minus(config.getMinGestationPeriod()))
                                                 .getArea().getCentroid()
                                         , moveDistanceSelector.selectRandomDistance());
                             } else {
@@ -316,8 +347,8 @@ public class PeopleCollection extends PersonCollection implements Cloneable, IPe
     private void cancelPartnership(final IPartnership partnership) {
 
         // remove from parents partnership history
-        partnership.getMalePartner().getPartnerships().remove(partnership);
-        partnership.getFemalePartner().getPartnerships().remove(partnership);
+        partnership.getMalePartner().removePartnership(partnership);
+        partnership.getFemalePartner().removePartnership(partnership);
 
         // remove partnership from index
         partnershipIndex.remove(partnership.getId());
@@ -17,6 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.simulationEntities.dataStructure;
 
+import org.apache.commons.math3.random.RandomGenerator;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.dates.DateUtils;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.dates.MisalignedTimeDivisionException;
@@ -82,16 +83,84 @@ public abstract class PersonCollection implements Iterable<IPerson> {
      * @param person the person to be removed
      * @throws PersonNotFoundException If the specified person is not found then an exception is thrown
      */
-    abstract void remove(final IPerson person) throws PersonNotFoundException;
+    public abstract void remove(final IPerson person) throws PersonNotFoundException;
 
     /**
-     * Counts and returns the number of people born in the given year in the PersonCollection. This may be very
-     * expensive as it may involve combining the counts of many under-lying Collection objects. If the instance contains
-     * an index it will likely be more efficient to take the size of the index as the count.
+     * Checks whether the specified person is in this PersonCollection, looking only in the division they would be
+     * stored in.
+     *
+     * @param person the person to look for
+     * @return true if the person is in the PersonCollection
+     */
+    public abstract boolean contains(final IPerson person);
+
+    /**
+     * Counts and returns the number of people born in the given time period in the PersonCollection, by combining the
+     * sizes of the divisions in the period.
      *
      * @return the number of persons in the PersonCollection
      */
-    public abstract int getNumberOfPeople(final LocalDate firstDate, final Period timePeriod);
+    public int getNumberOfPeople(final LocalDate firstDate, final Period timePeriod) {
+
+        final int divisionsInPeriod = DateUtils.divideYieldingInt(timePeriod, getDivisionSize());
+
+        if (divisionsInPeriod <= 0) {
+            throw new MisalignedTimeDivisionException();
+        }
+
+        int count = 0;
+        LocalDate divisionDate = firstDate;
+
+        for (int i = 0; i < divisionsInPeriod; i++) {
+
+            count += getNumberOfPeopleInDivision(divisionDate);
+            divisionDate = divisionDate.plus(getDivisionSize());
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the number of people in the given division, in constant or logarithmic time.
+     *
+     * @param divisionDate the date of the division
+     * @return the number of people in the division
+     */
+    abstract int getNumberOfPeopleInDivision(final LocalDate divisionDate);
+
+    /**
+     * Returns the person at the given position in the given division, in logarithmic time. Positions follow the
+     * order in which the division's people are iterated.
+     *
+     * @param divisionDate the date of the division
+     * @param index        the position of the person, less than the number of people in the division
+     * @return the person at that position
+     */
+    abstract IPerson getPersonInDivision(final LocalDate divisionDate, final int index);
+
+    /**
+     * Returns the person at the given position in the PersonCollection without copying its people, in time linear in
+     * the number of divisions. Positions follow the order of the divisions, and remain valid only until the
+     * PersonCollection is modified.
+     *
+     * @param index the position of the person, less than the number of people in the PersonCollection
+     * @return the person at that position
+     */
+    public IPerson getPerson(int index) {
+
+        for (final LocalDate divisionDate : getDivisionDates()) {
+
+            final int numberOfPeople = getNumberOfPeopleInDivision(divisionDate);
+
+            if (index < numberOfPeople) {
+                return getPersonInDivision(divisionDate, index);
+            }
+
+            index -= numberOfPeople;
+        }
+
+        throw new IndexOutOfBoundsException(index);
+    }
 
     public abstract Set<LocalDate> getDivisionDates();
 
@@ -123,22 +192,57 @@ public abstract class PersonCollection implements Iterable<IPerson> {
 
     /**
      * Removes n people with the specified year of birth from the PersonCollection. If there are not enough people then
-     * an exception is thrown.
+     * an exception is thrown. The people removed are those chosen by {@link #selectNPersons}.
      *
      * @param numberToRemove the number of people to remove
      * @param firstDate      the year of birth of those to remove
      * @param bestAttempt    returns the people that do exist even if there is not enough to meet numberToRemove
+     * @param random         the source of randomness used to select people
      * @return the random Collection of people who have been removed
      * @throws InsufficientNumberOfPeopleException If there are less people alive for the given year of birth than
      */
-    public TreeSet<IPerson> removeNPersons(final int numberToRemove, final LocalDate firstDate, final Period timePeriod, final boolean bestAttempt) throws InsufficientNumberOfPeopleException {
+    public TreeSet<IPerson> removeNPersons(final int numberToRemove, final LocalDate firstDate, final Period timePeriod, final boolean bestAttempt, final RandomGenerator random) throws InsufficientNumberOfPeopleException {
+
+        final TreeSet<IPerson> people = selectNPersons(numberToRemove, firstDate, timePeriod, bestAttempt, random);
+
+        for (final IPerson person : people)
+            remove(person);
+
+        return people;
+    }
+
+    /**
+     * Selects n people with the specified year of birth from the PersonCollection, without removing them. The quota is
+     * spread over the divisions in the time period, and within each division people are selected uniformly at random,
+     * so the cost grows with the number selected rather than the size of the cohort. The collection is not modified,
+     * so selections may be made concurrently as long as nothing else modifies it meanwhile.
+     *
+     * @param numberToSelect the number of people to select
+     * @param firstDate      the year of birth of those to select
+     * @param bestAttempt    returns the people that do exist even if there is not enough to meet numberToSelect
+     * @param random         the source of randomness used to select people
+     * @return the random Collection of people who have been selected
+     * @throws InsufficientNumberOfPeopleException If there are less people alive for the given year of birth than
+     */
+    public TreeSet<IPerson> selectNPersons(final int numberToSelect, final LocalDate firstDate, final Period timePeriod, final boolean bestAttempt, final RandomGenerator random) throws InsufficientNumberOfPeopleException {
+
+        final TreeSet<IPerson> people = new TreeSet<>();
+
+        for (final Map.Entry<LocalDate, Integer> quota : allocateToDivisions(numberToSelect, firstDate, timePeriod, bestAttempt).entrySet())
+            selectNPersonsFromDivision(quota.getValue(), quota.getKey(), random, people);
+
+        return people;
+    }
+
+    private Map<LocalDate, Integer> allocateToDivisions(final int numberToSelect, final LocalDate firstDate, final Period timePeriod, final boolean bestAttempt) throws InsufficientNumberOfPeopleException {
 
         final int divisionsInPeriod = DateUtils.divideYieldingInt(timePeriod, divisionSize);
 
         if (divisionsInPeriod <= 0)
             throw new MisalignedTimeDivisionException();
 
-        final TreeSet<IPerson> people = new TreeSet<>();
+        final Map<LocalDate, Integer> quotas = new LinkedHashMap<>();
+        final Map<LocalDate, Integer> available = new HashMap<>();
         LocalDate divisionDate = firstDate;
 
         final LinkedList<LocalDate> reusableDivisions = new LinkedList<>();
@@ -146,24 +250,27 @@ public abstract class PersonCollection implements Iterable<IPerson> {
         // find all the division dates
         for (int i = 0; i < divisionsInPeriod; i++) {
             reusableDivisions.add(divisionDate);
+            quotas.put(divisionDate, 0);
+            available.put(divisionDate, getNumberOfPeopleInDivision(divisionDate));
             divisionDate = divisionDate.plus(getDivisionSize());
         }
 
         // this by design rounds down
-        int numberToRemoveFromDivision = numberToRemove / reusableDivisions.size();
+        int numberToSelectFromDivision = numberToSelect / reusableDivisions.size();
 
-        // check variables to decide when to recalculate number to remove from each division at the current iteration
+        // check variables to decide when to recalculate number to select from each division at the current iteration
         int numberOfReusableDivisions = reusableDivisions.size();
         int divisionsUsed = 0;
+        int allocated = 0;
 
-        while (people.size() < numberToRemove) {
+        while (allocated < numberToSelect) {
 
             if (reusableDivisions.isEmpty()) {
                 if (bestAttempt) {
-                    return people;
+                    return quotas;
                 } else {
                     throw new InsufficientNumberOfPeopleException("Not enough people in time period to meet request of " +
-                            numberToRemove + " females from " + firstDate + " and following time period " + timePeriod);
+                            numberToSelect + " females from " + firstDate + " and following time period " + timePeriod);
                 }
             }
 
@@ -174,14 +281,14 @@ public abstract class PersonCollection implements Iterable<IPerson> {
                 numberOfReusableDivisions = reusableDivisions.size();
                 divisionsUsed = 0;
 
-                final double tempNumberToRemoveFromDivisions = (numberToRemove - people.size()) / (double) reusableDivisions.size();
-                if (tempNumberToRemoveFromDivisions < 1) {
+                final double tempNumberToSelectFromDivisions = (numberToSelect - allocated) / (double) reusableDivisions.size();
+                if (tempNumberToSelectFromDivisions < 1) {
                     // in the case where we are down to the last couple of people (defined by the current number of
-                    // reusable divisions minus 1) we proceed to remove 1 person from each interval in turn until we
-                    // reach the required number of people to be removed.
-                    numberToRemoveFromDivision = (int) Math.ceil(tempNumberToRemoveFromDivisions);
+                    // reusable divisions minus 1) we proceed to take 1 person from each interval in turn until we
+                    // reach the required number of people to be selected.
+                    numberToSelectFromDivision = (int) Math.ceil(tempNumberToSelectFromDivisions);
                 } else {
-                    numberToRemoveFromDivision = (int) tempNumberToRemoveFromDivisions;
+                    numberToSelectFromDivision = (int) tempNumberToSelectFromDivisions;
                 }
             }
 
@@ -189,17 +296,19 @@ public abstract class PersonCollection implements Iterable<IPerson> {
             final LocalDate consideredDivision = reusableDivisions.removeFirst();
             divisionsUsed++;
 
-            final Collection<IPerson> selectedPeople = removeNPersonsFromDivision(numberToRemoveFromDivision, consideredDivision);
-            people.addAll(selectedPeople);
+            final int taken = Math.min(numberToSelectFromDivision, available.get(consideredDivision));
+            available.put(consideredDivision, available.get(consideredDivision) - taken);
+            quotas.put(consideredDivision, quotas.get(consideredDivision) + taken);
+            allocated += taken;
 
             // if more people in division keep note in case of shortfall in other divisions
-            if (selectedPeople.size() >= numberToRemoveFromDivision) {
+            if (taken >= numberToSelectFromDivision) {
                 // enqueue division is still containing people
                 reusableDivisions.addLast(consideredDivision);
             }
         }
 
-        return people;
+        return quotas;
     }
 
     /**
@@ -231,36 +340,104 @@ public abstract class PersonCollection implements Iterable<IPerson> {
         return people;
     }
 
-    @Override
-    public Iterator<IPerson> iterator() {
-        return getPeople().iterator();
+    /**
+     * Gets all the people in the PersonCollection who were born in the given years, as a list backed by the
+     * PersonCollection rather than a copy. The people are in the same order as in {@link #getPeopleBornInTimePeriod},
+     * and each is found in logarithmic time. The list must not be used after people born in the given period are added
+     * to or removed from the PersonCollection.
+     *
+     * @param firstDate the year of birth of the desired cohort
+     * @return the desired cohort
+     */
+    public List<IPerson> getPeopleBornInTimePeriodView(final LocalDate firstDate, final Period timePeriod) {
+
+        final int divisionsInPeriod = DateUtils.divideYieldingInt(timePeriod, getDivisionSize());
+
+        if (divisionsInPeriod <= 0) {
+            throw new MisalignedTimeDivisionException();
+        }
+
+        final LocalDate[] divisionDates = new LocalDate[divisionsInPeriod];
+        final int[] divisionEnds = new int[divisionsInPeriod];
+
+        LocalDate divisionDate = firstDate;
+        int count = 0;
+
+        for (int i = 0; i < divisionsInPeriod; i++) {
+
+            count += getNumberOfPeopleInDivision(divisionDate);
+
+            divisionDates[i] = divisionDate;
+            divisionEnds[i] = count;
+
+            divisionDate = divisionDate.plus(getDivisionSize());
+        }
+
+        return new DivisionsView(divisionDates, divisionEnds);
     }
 
-    void addPeople(final Collection<IPerson> people, final LocalDate divisionDate) {}
+    private class DivisionsView extends AbstractList<IPerson> implements RandomAccess {
+
+        private final LocalDate[] divisionDates;
 
-    private TreeSet<IPerson> removeNPersonsFromDivision(final int numberToRemove, final LocalDate divisionDate) {
+        // The position after the last person in each division, counting from the first division
+        private final int[] divisionEnds;
 
-        final TreeSet<IPerson> selectedPeople = new TreeSet<>();
+        DivisionsView(final LocalDate[] divisionDates, final int[] divisionEnds) {
 
-        if (numberToRemove == 0) {
-            return selectedPeople;
+            this.divisionDates = divisionDates;
+            this.divisionEnds = divisionEnds;
         }
 
-        final LinkedList<IPerson> cohort = new LinkedList<>(getPeopleBornInTimePeriod(divisionDate, divisionSize));
+        @Override
+        public IPerson get(final int index) {
 
-        while (selectedPeople.size() < numberToRemove) {
+            if (index < 0 || index >= size()) throw new IndexOutOfBoundsException(index);
 
-            if (cohort.isEmpty()) {
-                return selectedPeople;
+            // find the first division ending after the index
+            int low = 0;
+            int high = divisionEnds.length - 1;
+
+            while (low < high) {
+
+                final int middle = (low + high) >>> 1;
+
+                if (divisionEnds[middle] > index) high = middle;
+                else low = middle + 1;
             }
 
-            final IPerson person = cohort.removeFirst();
+            final int divisionStart = low == 0 ? 0 : divisionEnds[low - 1];
 
-            remove(person);
-            selectedPeople.add(person);
+            return getPersonInDivision(divisionDates[low], index - divisionStart);
+        }
+
+        @Override
+        public int size() {
+            return divisionEnds[divisionEnds.length - 1];
+        }
+    }
+
+    @Override
+    public Iterator<IPerson> iterator() {
+        return getPeople().iterator();
+    }
+
+    void addPeople(final Collection<IPerson> people, final LocalDate divisionDate) {}
+
+    private void selectNPersonsFromDivision(final int numberToSelect, final LocalDate divisionDate, final RandomGenerator random, final Collection<IPerson> selectedPeople) {
+
+        final int numberOfPeople = getNumberOfPeopleInDivision(divisionDate);
+        final Set<Integer> positions = new HashSet<>();
+
+        // Floyd's algorithm, giving each subset of positions the same chance of selection
+        for (int j = numberOfPeople - numberToSelect; j < numberOfPeople; j++) {
+
+            final int position = random.nextInt(j + 1);
+            positions.add(positions.contains(position) ? j : position);
         }
 
-        return selectedPeople;
+        for (final int position : positions)
+            selectedPeople.add(getPersonInDivision(divisionDate, position));
     }
 
     public LocalDate getStartDate() {
@@ -159,6 +159,10 @@ public class SummaryRow {
         this.maxMemoryUsage = maxUsage;
     }
 
+    public long getMaxMemoryUsage() {
+        return maxMemoryUsage;
+    }
+
     public void setEligibilityChecks(int eligibilityChecks) {
         this.eligibilityChecks = eligibilityChecks;
     }
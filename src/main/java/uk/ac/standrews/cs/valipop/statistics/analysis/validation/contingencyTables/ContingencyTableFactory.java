@@ -42,32 +42,32 @@ public class ContingencyTableFactory {
     public static final Logger log = Logger.getLogger(ContingencyTableFactory.class.getName());
 
     public static void generateContingencyTables(final Iterable<IPerson> population, final PopulationStatistics desired,
-                                                 final Config config, final SummaryRow summary)  {
+                                                 final Config config, final SummaryRow summary, final MemoryUsageAnalysis memoryUsage)  {
 
         final ProgramTimer tableTimer = new ProgramTimer();
 
         // TODO revert back to T0?
         final CTtree fullTree = new CTtree(population, desired, config.getTS(), config.getT0(), config.getTE(), config.getCtTreeStepback(), config.getCtTreePrecision());
 
-        MemoryUsageAnalysis.log();
+        memoryUsage.log();
 
         try {
             log.info("OBDModel --- Extracting and Outputting CTtables to files");
 
             final CTtableOB obTable = new CTtableOB(fullTree);
-            outputToFile(obTable, "ob-CT.csv", config);
+            outputToFile(obTable, "ob-CT.csv", config, memoryUsage);
 
             final CTtableMB mbTable = new CTtableMB(fullTree);
-            outputToFile(mbTable, "mb-CT.csv", config);
+            outputToFile(mbTable, "mb-CT.csv", config, memoryUsage);
 
             final CTtablePart partTable = new CTtablePart(fullTree);
-            outputToFile(partTable, "part-CT.csv", config);
+            outputToFile(partTable, "part-CT.csv", config, memoryUsage);
 
             final CTtableSep sepTable = new CTtableSep(fullTree);
-            outputToFile(sepTable, "sep-CT.csv", config);
+            outputToFile(sepTable, "sep-CT.csv", config, memoryUsage);
 
             final CTtableDeath deathTable = new CTtableDeath(fullTree);
-            outputToFile(deathTable, "death-CT.csv", config);
+            outputToFile(deathTable, "death-CT.csv", config, memoryUsage);
 
         } catch (final IOException | NoTableRowsException e) {
             throw new RuntimeException(e);
@@ -76,13 +76,13 @@ public class ContingencyTableFactory {
         summary.setCTRunTime(tableTimer.getRunTimeSeconds());
     }
 
-    private static void outputToFile(final CTtable table, final String fileName, final Config config) throws IOException, NoTableRowsException {
+    private static void outputToFile(final CTtable table, final String fileName, final Config config, final MemoryUsageAnalysis memoryUsage) throws IOException, NoTableRowsException {
 
-        MemoryUsageAnalysis.log();
+        memoryUsage.log();
         final Path path = config.getContingencyTablesPath().resolve( fileName);
         Config.mkBlankFile(path);
         final PrintStream ps = new PrintStream(path.toFile(), StandardCharsets.UTF_8);
         table.outputToFile(ps);
-        MemoryUsageAnalysis.log();
+        memoryUsage.log();
     }
 }
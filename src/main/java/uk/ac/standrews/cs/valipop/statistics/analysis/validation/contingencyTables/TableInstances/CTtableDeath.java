@@ -17,48 +17,31 @@
  */
 package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableInstances;
 
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.CTRow;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.CTtable;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.CTtree;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 
 /**
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
  */
-public class CTtableDeath extends CTtable {
+public final class CTtableDeath extends CTtable {
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     public CTtableDeath(CTtree tree) {
 
-        for (Node n : tree.getLeafNodes()) {
-            CTRow leaf = n.toCTRow();
+        addLeafRows(tree, leaf -> {
 
-            if (leaf != null && leaf.getCount() != null) {
+            if (leaf.getCount() == null) return null;
 
-                try {
-                    leaf.addDateVariable();
+            leaf.addDateVariable();
 
-                    leaf.deleteVariable("PNCIP");
-                    leaf.deleteVariable("NCIY");
-                    leaf.deleteVariable("CIY");
-                    leaf.deleteVariable("NPCIAP");
-                    leaf.deleteVariable("NCIP");
-                    leaf.deleteVariable("Separated");
-                    leaf.deleteVariable("NPA");
+            leaf.deleteVariable("PNCIP");
+            leaf.deleteVariable("NCIY");
+            leaf.deleteVariable("CIY");
+            leaf.deleteVariable("NPCIAP");
+            leaf.deleteVariable("NCIP");
+            leaf.deleteVariable("Separated");
+            leaf.deleteVariable("NPA");
 
-                    CTRow h = table.get(leaf.hash());
-
-                    if (h == null) {
-                        table.put(leaf.hash(), leaf);
-                    } else {
-                        h.setCount(h.combineCount(h.getCount(), leaf.getCount()));
-                    }
-
-                } catch (RuntimeException e) {
-                    // Unfilled row - thus pass
-                }
-            }
-        }
+            return leaf;
+        });
     }
-
 }
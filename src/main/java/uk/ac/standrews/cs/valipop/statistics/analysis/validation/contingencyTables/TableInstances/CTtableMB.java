@@ -17,57 +17,37 @@
  */
 package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableInstances;
 
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.CTRow;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.CTtable;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.CTtree;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 
 import java.util.Objects;
 
 /**
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
  */
-public class CTtableMB extends CTtable {
+public final class CTtableMB extends CTtable {
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     public CTtableMB(CTtree tree) {
 
-        for (Node n : tree.getLeafNodes()) {
+        addLeafRows(tree, leaf -> {
 
-            CTRow leaf = n.toCTRow();
+            if (leaf.getVariable("Source").getValue().equals("SIM"))
+                leaf.addDateVariable();
+            else
+                leaf.addDateVariable(-1);
 
-            if (leaf != null) {
+            if (!Objects.equals(leaf.getVariable("Sex").getValue(), "F")) return null;
 
-                try {
-                    if(leaf.getVariable("Source").getValue().equals("SIM"))
-                        leaf.addDateVariable();
-                    else
-                        leaf.addDateVariable(-1);
+            leaf.deleteVariable("Sex");
+            leaf.deleteVariable("Died");
+            leaf.deleteVariable("PNCIP");
+            leaf.deleteVariable("NPCIAP");
+            leaf.deleteVariable("CIY");
+            leaf.deleteVariable("NCIP");
+            leaf.deleteVariable("Separated");
+            leaf.deleteVariable("NPA");
 
-                    if (Objects.equals(leaf.getVariable("Sex").getValue(), "F")) {
-                        leaf.deleteVariable("Sex");
-
-                        leaf.deleteVariable("Died");
-                        leaf.deleteVariable("PNCIP");
-                        leaf.deleteVariable("NPCIAP");
-                        leaf.deleteVariable("CIY");
-                        leaf.deleteVariable("NCIP");
-                        leaf.deleteVariable("Separated");
-                        leaf.deleteVariable("NPA");
-
-                        CTRow h = table.get(leaf.hash());
-
-                        if (h == null) {
-                            table.put(leaf.hash(), leaf);
-                        } else {
-                            h.setCount(h.combineCount(h.getCount(), leaf.getCount()));
-                        }
-                    }
-
-                } catch (RuntimeException e) {
-                    // Unfilled row - thus pass
-                }
-            }
-        }
+            return leaf;
+        });
     }
 }
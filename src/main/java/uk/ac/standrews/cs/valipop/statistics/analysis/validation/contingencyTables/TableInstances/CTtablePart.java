@@ -17,53 +17,36 @@
  */
 package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableInstances;
 
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.CTRow;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.CTtable;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.CTtree;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 
 import java.util.Objects;
 
 /**
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
  */
-public class CTtablePart extends CTtable {
+public final class CTtablePart extends CTtable {
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     public CTtablePart(CTtree tree) {
 
-        for (Node n : tree.getLeafNodes()) {
-            CTRow leaf = n.toCTRow();
+        addLeafRows(tree, leaf -> {
 
-            if (leaf != null && leaf.getCount() != null) {
-                try {
-                    leaf.addDateVariable();
+            if (leaf.getCount() == null) return null;
 
-                    if (Objects.equals(leaf.getVariable("Sex").getValue(), "F")) {
-                        leaf.deleteVariable("Sex");
+            leaf.addDateVariable();
 
-                        leaf.deleteVariable("Died");
-                        leaf.deleteVariable("PNCIP");
-                        leaf.deleteVariable("NPCIAP");
-                        leaf.deleteVariable("CIY");
-                        leaf.deleteVariable("NCIP");
-                        leaf.deleteVariable("Separated");
-                        leaf.deleteVariable("NCIY");
+            if (!Objects.equals(leaf.getVariable("Sex").getValue(), "F")) return null;
 
+            leaf.deleteVariable("Sex");
+            leaf.deleteVariable("Died");
+            leaf.deleteVariable("PNCIP");
+            leaf.deleteVariable("NPCIAP");
+            leaf.deleteVariable("CIY");
+            leaf.deleteVariable("NCIP");
+            leaf.deleteVariable("Separated");
+            leaf.deleteVariable("NCIY");
 
-                        CTRow h = table.get(leaf.hash());
-
-                        if (h == null) {
-                            table.put(leaf.hash(), leaf);
-                        } else {
-                            h.setCount(h.combineCount(h.getCount(), leaf.getCount()));
-                        }
-                    }
-
-                } catch (RuntimeException e) {
-                    // Unfilled row - thus pass
-                }
-            }
-        }
+            return leaf;
+        });
     }
 }
@@ -17,51 +17,35 @@
  */
 package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableInstances;
 
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.CTRow;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.CTtable;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.CTtree;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 
 import java.util.Objects;
 
 /**
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
  */
-public class CTtableSep extends CTtable {
+public final class CTtableSep extends CTtable {
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     public CTtableSep(CTtree tree) {
 
-        for (Node n : tree.getLeafNodes()) {
-            CTRow leaf = n.toCTRow();
+        addLeafRows(tree, leaf -> {
 
-            if (leaf != null && leaf.getCount() != null) {
-                try {
-                    leaf.addDateVariable();
+            if (leaf.getCount() == null) return null;
 
-                    if (Objects.equals(leaf.getVariable("Sex").getValue(), "F")) {
-                        leaf.deleteVariable("Sex");
+            leaf.addDateVariable();
 
-                        leaf.deleteVariable("Died");
-                        leaf.deleteVariable("PNCIP");
-                        leaf.deleteVariable("NPCIAP");
-                        leaf.deleteVariable("NCIY");
-                        leaf.deleteVariable("NPA");
-                        leaf.deleteVariable("Age");
+            if (!Objects.equals(leaf.getVariable("Sex").getValue(), "F")) return null;
 
-                        CTRow h = table.get(leaf.hash());
+            leaf.deleteVariable("Sex");
+            leaf.deleteVariable("Died");
+            leaf.deleteVariable("PNCIP");
+            leaf.deleteVariable("NPCIAP");
+            leaf.deleteVariable("NCIY");
+            leaf.deleteVariable("NPA");
+            leaf.deleteVariable("Age");
 
-                        if (h == null) {
-                            table.put(leaf.hash(), leaf);
-                        } else {
-                            h.setCount(h.combineCount(h.getCount(), leaf.getCount()));
-                        }
-                    }
-
-                } catch (RuntimeException e) {
-                    // Unfilled row - thus pass
-                }
-            }
-        }
+            return leaf;
+        });
     }
 }
@@ -60,6 +60,13 @@ public abstract class CTRow<count extends Number> {
 
     public CTCell getVariable(String variable) {
 
+        // Variable names are almost always the same string constants, so look for the same instance first.
+        for (CTCell cell : cells) {
+            if (cell.getVariable() == variable) {
+                return cell;
+            }
+        }
+
         for (CTCell cell : cells) {
             if (Objects.equals(variable, cell.getVariable())) {
                 return cell;
@@ -0,0 +1,123 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Encodes the variables of table rows as compact keys, so that rows can be merged without building a string for
+ * each. The values of each variable are dictionary coded, and the codes for a row are packed into a single long
+ * when they fit, and otherwise held as an array. Two rows have equal keys exactly when they hold the same values
+ * for the same variables in the same order, as for {@link CTRow#hash()}.
+ *
+ * Keys may be computed concurrently, and are only comparable with other keys from the same encoder.
+ */
+final class CTRowKeyEncoder {
+
+    private final Map<String, ValueCodes> codes = new ConcurrentHashMap<>();
+
+    // The variables of the first row encoded; rows with other variables fall back to their hash strings.
+    private final AtomicReference<String[]> layout = new AtomicReference<>();
+
+    Object keyOf(final CTRow<?> row) {
+
+        final Collection<CTCell> cells = row.getCells();
+
+        if (!hasLayout(cells)) return row.hash();
+
+        final int bitsPerCell = Long.SIZE / cells.size();
+
+        long packed = 0;
+        boolean fits = true;
+
+        for (final CTCell cell : cells) {
+
+            final int code = codeOf(cell);
+            if (bitsPerCell < Integer.SIZE && code >>> bitsPerCell != 0) fits = false;
+
+            packed = packed << bitsPerCell | code;
+        }
+
+        if (fits) return packed;
+
+        final int[] rowCodes = new int[cells.size()];
+        int i = 0;
+        for (final CTCell cell : cells)
+            rowCodes[i++] = codeOf(cell);
+
+        return new Codes(rowCodes);
+    }
+
+    private boolean hasLayout(final Collection<CTCell> cells) {
+
+        if (cells.isEmpty()) return false;
+
+        String[] variables = layout.get();
+
+        if (variables == null) {
+            layout.compareAndSet(null, cells.stream().map(CTCell::getVariable).toArray(String[]::new));
+            variables = layout.get();
+        }
+
+        if (variables.length != cells.size()) return false;
+
+        int i = 0;
+        for (final CTCell cell : cells) {
+            final String variable = variables[i++];
+            if (variable != cell.getVariable() && !variable.equals(cell.getVariable())) return false;
+        }
+
+        return true;
+    }
+
+    private int codeOf(final CTCell cell) {
+
+        // Null values are coded as for the string "null", matching CTRow.hash().
+        return codes.computeIfAbsent(cell.getVariable(), v -> new ValueCodes()).codeOf(String.valueOf(cell.getValue()));
+    }
+
+    private static final class ValueCodes {
+
+        private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+        private final AtomicInteger next = new AtomicInteger();
+
+        int codeOf(final String value) {
+
+            final Integer code = codes.get(value);
+            return code != null ? code : codes.computeIfAbsent(value, v -> next.getAndIncrement());
+        }
+    }
+
+    private record Codes(int[] codes) {
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Codes other && Arrays.equals(codes, other.codes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(codes);
+        }
+    }
+}
@@ -17,70 +17,117 @@
  */
 package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure;
 
+import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.CTtree;
+import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
+
 import java.io.PrintStream;
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 /**
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
  */
 public abstract class CTtable {
 
+    // Rows keyed by CTRowKeyEncoder, in the order in which they were first found.
     @SuppressWarnings("rawtypes")
-    protected Map<String, CTRow> table = new HashMap<>();
+    protected Map<Object, CTRow> table = new LinkedHashMap<>();
 
-    @SuppressWarnings({ "unchecked", "rawtypes" })
-    public void outputToFile(PrintStream ps) throws NoTableRowsException {
+    private static final int LEAVES_PER_BATCH = 1 << 14;
 
-        @SuppressWarnings("unused")
-        int simZeroFreqs = 0;
-        @SuppressWarnings("unused")
-        int statZeroFreqs = 0;
-        ps.print(getVarNames());
+    private final CTRowKeyEncoder keyEncoder = new CTRowKeyEncoder();
 
-        for (CTRow row : table.values()) {
+    /**
+     * Adds the row for each leaf of the tree to the table, combining the counts of rows with the same variables.
+     * Rows are derived from batches of leaves in parallel, then merged in leaf order so that counts are summed in
+     * the same order as by a sequential traversal.
+     *
+     * @param tree the tree
+     * @param toTableRow converts the row of a leaf to a row of this table, or returns null if the leaf does not
+     *                   contribute to the table; a leaf whose conversion throws a runtime exception is skipped
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    protected void addLeafRows(final CTtree tree, final UnaryOperator<CTRow> toTableRow) {
 
-            // TODO paramaterise this?
-            if (row.countGreaterThan(0.0001)) {
+        final List<Node> leaves = tree.getLeafNodes();
 
-                ps.print(row.toString(","));
+        // Batches bound the number of rows held at once, most of which are merged into others.
+        for (int start = 0; start < leaves.size(); start += LEAVES_PER_BATCH) {
 
-                Collection<CTCell> cells = row.getCells();
+            final List<KeyedRow> rows = leaves.subList(start, Math.min(start + LEAVES_PER_BATCH, leaves.size())).parallelStream().map(n -> {
 
-                CTRowInt twin = new CTRowInt(cells);
+                final CTRow leaf = n.toCTRow();
+                if (leaf == null) return null;
 
-                if (Objects.equals(row.getVariable("Source").getValue(), "STAT")) {
+                try {
+                    final CTRow row = toTableRow.apply(leaf);
+                    return row == null ? null : new KeyedRow(keyEncoder.keyOf(row), row);
 
-                    twin.setVariable("Source", "SIM");
-                    CTRow t = table.get(twin.hash());
+                } catch (final RuntimeException e) {
+                    // Unfilled row - thus pass
+                    return null;
+                }
+            }).toList();
 
-                    if (t == null) {
-                        simZeroFreqs++;
-                    }
+            for (final KeyedRow keyed : rows) {
 
-                } else {
+                if (keyed == null) continue;
 
-                    twin.setVariable("Source", "STAT");
-                    CTRow t = table.get(twin.hash());
+                final CTRow h = table.get(keyed.key());
 
-                    if (t == null) {
-                        statZeroFreqs++;
+                if (h == null) {
+                    table.put(keyed.key(), keyed.row());
+                } else {
+                    try {
+                        h.setCount(h.combineCount(h.getCount(), keyed.row().getCount()));
+                    } catch (final RuntimeException e) {
+                        // Row without a count - thus pass
                     }
                 }
             }
         }
+    }
+
+    @SuppressWarnings("rawtypes")
+    public void outputToFile(PrintStream ps) throws NoTableRowsException {
+
+        final Collection<CTRow> rows = rowsInOutputOrder();
+
+        ps.print(getVarNames(rows));
+
+        for (CTRow row : rows) {
+
+            // TODO paramaterise this?
+            if (row.countGreaterThan(0.0001)) {
+                ps.print(row.toString(","));
+            }
+        }
 
         ps.close();
     }
 
     @SuppressWarnings("rawtypes")
-    private String getVarNames() throws NoTableRowsException {
+    private Collection<CTRow> rowsInOutputOrder() {
+
+        // Rows are written in the order given by a hash map keyed by CTRow.hash(), as they were when the table was
+        // held in that form, so that the files produced are unchanged.
+        final Map<String, CTRow> byHash = new HashMap<>();
 
-        ArrayList<String> keys = new ArrayList<>(table.keySet());
-        if (keys.size() == 0) {
+        for (CTRow row : table.values()) {
+            byHash.put(row.hash(), row);
+        }
+
+        return byHash.values();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private String getVarNames(Collection<CTRow> rows) throws NoTableRowsException {
+
+        if (rows.isEmpty()) {
             throw new NoTableRowsException();
         }
 
-        CTRow row = table.get(keys.get(0));
+        CTRow row = rows.iterator().next();
 
         StringBuilder s = new StringBuilder();
 
@@ -93,4 +140,8 @@ public abstract class CTtable {
 
         return s.toString();
     }
+
+    @SuppressWarnings("rawtypes")
+    private record KeyedRow(Object key, CTRow row) {
+    }
 }
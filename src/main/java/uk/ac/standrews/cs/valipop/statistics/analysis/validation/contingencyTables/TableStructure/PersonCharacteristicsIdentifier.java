@@ -17,7 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure;
 
-import uk.ac.standrews.cs.valipop.implementations.Randomness;
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SeparationOption;
@@ -105,7 +105,7 @@ public class PersonCharacteristicsIdentifier {
         return count;
     }
 
-    public static SeparationOption toSeparate(final IPartnership activePartnership, final Year year) {
+    public static SeparationOption toSeparate(final IPartnership activePartnership, final Year year, final RandomStreams randomStreams) {
 
         if (activePartnership == null) {
             return SeparationOption.NA;
@@ -116,7 +116,7 @@ public class PersonCharacteristicsIdentifier {
 
         if (!bornInYear(lastChild, year)) {
             return SeparationOption.NO;
-        } else if (activePartnership.getSeparationDate(Randomness.getRandomGenerator()) != null) { // TODO Would this be better to use earliest possible sep date?
+        } else if (activePartnership.getSeparationDate(randomStreams.split(RandomStreams.Subsystem.SEPARATION, activePartnership.getId())) != null) { // TODO Would this be better to use earliest possible sep date?
             return SeparationOption.YES;
         } else {
             return SeparationOption.NO;
@@ -24,9 +24,12 @@ import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTabl
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
 
 import java.time.LocalDate;
+import java.time.Year;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
 import java.util.logging.Logger;
 
 /**
@@ -42,7 +45,7 @@ public class CTtree extends Node<String, SourceType, Number, Number> {
     private final LinkedList<RunnableNode> nciapTasks = new LinkedList<>();
     private final LinkedList<RunnableNode> sepTasks = new LinkedList<>();
 
-    public static double NODE_MIN_COUNT = 1E-66;
+    private double nodeMinCount = 1E-66;
 
     private PopulationStatistics expected;
 
@@ -52,9 +55,12 @@ public class CTtree extends Node<String, SourceType, Number, Number> {
     private SourceNodeInt simNode;
     private SourceNodeDouble statNode = null;
 
+    @SuppressWarnings("rawtypes")
+    private List<Node> leafNodes = null;
+
     public CTtree(final Iterable<IPerson> population, final PopulationStatistics expected, final LocalDate startDate, final LocalDate zeroDate, final LocalDate endDate, final int startStepBack, final double precision) {
 
-        CTtree.NODE_MIN_COUNT = precision;
+        nodeMinCount = precision;
 
         this.expected = expected;
         this.startDate = startDate;
@@ -89,14 +95,20 @@ public class CTtree extends Node<String, SourceType, Number, Number> {
     }
 
     @SuppressWarnings("rawtypes")
-    public Collection<Node> getLeafNodes() {
+    public List<Node> getLeafNodes() {
+
+        // Each table is extracted from the same leaves, so they are collected once.
+        if (leafNodes == null) {
+
+            final List<Node> leaves = new ArrayList<>();
 
-        final Collection<Node> childNodes = new ArrayList<>();
+            simNode.addLeafNodes(leaves);
+            statNode.addLeafNodes(leaves);
 
-        childNodes.addAll(simNode.getLeafNodes());
-        childNodes.addAll(statNode.getLeafNodes());
+            leafNodes = Collections.unmodifiableList(leaves);
+        }
 
-        return childNodes;
+        return leafNodes;
     }
 
     @Override
@@ -116,8 +128,11 @@ public class CTtree extends Node<String, SourceType, Number, Number> {
         return expected;
     }
 
-    @SuppressWarnings("rawtypes")
-    private Node addChildA(final SourceType childOption) {
+    public double getNodeMinCount() {
+        return nodeMinCount;
+    }
+
+    private Node<SourceType, Year, ?, ?> addChildA(final SourceType childOption) {
 
         if (childOption == SourceType.SIM) {
             simNode = new SourceNodeInt(childOption, this);
@@ -128,16 +143,16 @@ public class CTtree extends Node<String, SourceType, Number, Number> {
         }
     }
 
+    // The source nodes count people in different types, so are held apart from the children of the tree.
+    private Optional<Node<SourceType, Year, ?, ?>> findSourceNode(final SourceType option) {
+
+        return Optional.ofNullable(option == SourceType.SIM ? simNode : statNode);
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public Node getChild(final SourceType option) throws ChildNotFoundException {
 
-        if (option == SourceType.SIM)
-            if (simNode != null) return simNode;
-            else throw new ChildNotFoundException();
-
-        else
-            if (statNode != null) return statNode;
-            else throw new ChildNotFoundException();
+        return findSourceNode(option).orElseThrow(ChildNotFoundException::new);
     }
 
     @Override
@@ -188,7 +203,7 @@ public class CTtree extends Node<String, SourceType, Number, Number> {
 
                 final RunnableNode n = ageTasks.removeFirst();
                 final AgeNodeDouble a = (AgeNodeDouble) n;
-                final YOBNodeDouble y = (YOBNodeDouble) a.getAncestor(new YOBNodeDouble());
+                final YOBNodeDouble y = a.getAncestor(YOBNodeDouble.class);
                 log.info("CTree --- Creating nodes for year: " + y.getOption().toString());
                 n.run();
             }
@@ -197,12 +212,9 @@ public class CTtree extends Node<String, SourceType, Number, Number> {
 
     public void processPerson(final IPerson person, final LocalDate currentDate, final SourceType source) {
 
-        try {
-            getChild(source).processPerson(person, currentDate);
-        }
-        catch (final ChildNotFoundException e) {
-            addChildA(source).processPerson(person, currentDate);
-        }
+        leafNodes = null;
+
+        findSourceNode(source).orElseGet(() -> addChildA(source)).processPerson(person, currentDate);
     }
 
     @Override
@@ -65,12 +65,11 @@ public abstract class DoubleNode<Op extends Comparable<Op>, cOp extends Comparab
     @Override
     public Node<cOp, ?, Double, ?> addChild(final cOp childOption, final Double initCount) {
 
-        Node<cOp, ?, Double, ?> child;
+        Node<cOp, ?, Double, ?> child = findChild(childOption).orElse(null);
 
-        try {
-            child = getChild(childOption);
+        if (child != null) {
             child.incCount(initCount);
-        } catch (ChildNotFoundException e) {
+        } else {
             child = makeChildInstance(childOption, initCount);
             super.addChild(child);
         }
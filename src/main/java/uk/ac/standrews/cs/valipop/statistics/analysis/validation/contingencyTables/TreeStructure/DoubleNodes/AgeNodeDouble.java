@@ -24,6 +24,7 @@ import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRan
 
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.Optional;
 
 import static uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation.diedInYear;
 
@@ -38,7 +39,7 @@ public class AgeNodeDouble extends DoubleNode<IntegerRange, Boolean> implements
 
         super(age, parentNode, initCount);
 
-        Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
+        Year yob = getAncestor(YOBNodeDouble.class).getOption();
 
         if (yob.getValue() + age.getValue() < getStartDate().getYear()) {
             initNode = true;
@@ -79,10 +80,11 @@ public class AgeNodeDouble extends DoubleNode<IntegerRange, Boolean> implements
 
         Boolean option = diedInYear(person, Year.of(currentDate.getYear()));
 
-        try {
-            getChild(option).processPerson(person, currentDate);
+        Optional<Node<Boolean, ?, Double, ?>> child = findChild(option);
 
-        } catch (ChildNotFoundException e) {
+        if (child.isPresent()) {
+            child.get().processPerson(person, currentDate);
+        } else {
             DiedNodeDouble n = (DiedNodeDouble) addChild(new DiedNodeDouble(option, this, true));
             n.processPerson(person, currentDate);
             addDelayedTask(n);
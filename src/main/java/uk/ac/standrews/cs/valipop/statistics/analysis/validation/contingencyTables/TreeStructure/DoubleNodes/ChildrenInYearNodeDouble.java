@@ -20,7 +20,6 @@ package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTab
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.PersonCharacteristicsIdentifier;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ChildNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ControlChildrenNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ControlSelfNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.DoubleNode;
@@ -74,12 +73,7 @@ public class ChildrenInYearNodeDouble extends DoubleNode<Boolean, Integer> imple
             option = PersonCharacteristicsIdentifier.getChildrenBirthedInYear(activePartnership, Year.of(currentDate.getYear()));
         }
 
-        try {
-            getChild(option).processPerson(person, currentDate);
-        } catch (ChildNotFoundException e) {
-            NumberOfChildrenInYearNodeDouble n = (NumberOfChildrenInYearNodeDouble) addChild(new NumberOfChildrenInYearNodeDouble(option, this, 0.0, true));
-            n.processPerson(person, currentDate);
-        }
+        findChild(option).orElseGet(() -> addChild(new NumberOfChildrenInYearNodeDouble(option, this, 0.0, true))).processPerson(person, currentDate);
     }
 
     @Override
@@ -95,14 +89,14 @@ public class ChildrenInYearNodeDouble extends DoubleNode<Boolean, Integer> imple
     @Override
     public void calcCount() {
 
-        Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-        AgeNodeDouble aN = ((AgeNodeDouble) getAncestor(new AgeNodeDouble()));
+        Year yob = getAncestor(YOBNodeDouble.class).getOption();
+        AgeNodeDouble aN = getAncestor(AgeNodeDouble.class);
         int age = aN.getOption().getValue();
 
-        Integer order = ((PreviousNumberOfChildrenInPartnershipNodeDouble) getAncestor(new PreviousNumberOfChildrenInPartnershipNodeDouble())).getOption().getValue();
+        Integer order = getAncestor(PreviousNumberOfChildrenInPartnershipNodeDouble.class).getOption().getValue();
         LocalDate currentDate = LocalDate.of(yob.getValue(), 1, 1).plus(age - 1, ChronoUnit.YEARS);
 
-        double forNPeople = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getCount();
+        double forNPeople = getAncestor(AgeNodeDouble.class).getCount();
 
         Period timePeriod = Period.ofYears(1);
 
@@ -155,8 +149,8 @@ public class ChildrenInYearNodeDouble extends DoubleNode<Boolean, Integer> imple
             addChild(0);
         } else {
 
-            Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-            int age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+            Year yob = getAncestor(YOBNodeDouble.class).getOption();
+            int age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
             LocalDate currentDate = getDateAtAge(yob, age);
 
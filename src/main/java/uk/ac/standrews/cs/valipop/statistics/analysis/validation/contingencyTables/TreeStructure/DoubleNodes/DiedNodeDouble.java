@@ -32,6 +32,7 @@ import java.time.Year;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import static uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation.getPartnershipsActiveInYear;
 
@@ -46,7 +47,7 @@ public class DiedNodeDouble extends DoubleNode<Boolean, IntegerRange> implements
         if (!init) {
             calcCount();
 
-            Integer age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+            Integer age = getAncestor(AgeNodeDouble.class).getOption().getValue();
             if (age == 0) {
                 makeChildren();
             }
@@ -60,19 +61,21 @@ public class DiedNodeDouble extends DoubleNode<Boolean, IntegerRange> implements
     @Override
     public void advanceCount() {
 
-        Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-        int age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+        Year yob = getAncestor(YOBNodeDouble.class).getOption();
+        int age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
         Year currentDate = getYearAtAge(yob, age);
 
-        if (!getOption() && currentDate.isBefore(Year.of(getEndDate().getYear())) && getCount() > CTtree.NODE_MIN_COUNT) {
+        if (!getOption() && currentDate.isBefore(Year.of(getEndDate().getYear())) && getCount() > getNodeMinCount()) {
 
-            SexNodeDouble sN = (SexNodeDouble) getAncestor(new SexNodeDouble());
+            SexNodeDouble sN = getAncestor(SexNodeDouble.class);
             IntegerRange ageR = new IntegerRange(age + 1);
 
-            try {
-                sN.getChild(ageR).incCount(getCount());
-            } catch (ChildNotFoundException e) {
+            Optional<Node<IntegerRange, ?, Double, ?>> ageN = sN.findChild(ageR);
+
+            if (ageN.isPresent()) {
+                ageN.get().incCount(getCount());
+            } else {
                 sN.addChild(ageR, getCount());
             }
         }
@@ -81,15 +84,15 @@ public class DiedNodeDouble extends DoubleNode<Boolean, IntegerRange> implements
     @Override
     public void calcCount() {
 
-        Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-        int age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+        Year yob = getAncestor(YOBNodeDouble.class).getOption();
+        int age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
         LocalDate currentDate = getDateAtAge(yob, age);
 
         double forNPeople = getParent().getCount();
         Period timePeriod = Period.ofYears(1);
 
-        SexOption sexOption = (SexOption) getAncestor(new SexNodeDouble()).getOption();
+        SexOption sexOption = getAncestor(SexNodeDouble.class).getOption();
 
         SingleDeterminedCount rDC = (SingleDeterminedCount) getInputStats().getDeterminedCount(new DeathStatsKey(age, forNPeople, timePeriod, currentDate, sexOption), null);
 
@@ -112,22 +115,14 @@ public class DiedNodeDouble extends DoubleNode<Boolean, IntegerRange> implements
 
             if (partnershipsInYear.size() == 0) {
                 IntegerRange range = resolveToChildRange(0);
-                try {
-                    getChild(range).processPerson(person, currentDate);
-                } catch (ChildNotFoundException e) {
-                    addChild(range).processPerson(person, currentDate);
-                }
+                findChild(range).orElseGet(() -> addChild(range)).processPerson(person, currentDate);
             } else if (partnershipsInYear.size() == 1) {
 
                 IPartnership partnership = partnershipsInYear.remove(0);
                 int numberOfChildren = partnership.getChildren().size();
                 IntegerRange range = resolveToChildRange(numberOfChildren);
 
-                try {
-                    getChild(range).processPerson(person, currentDate);
-                } catch (ChildNotFoundException e) {
-                    addChild(range).processPerson(person, currentDate);
-                }
+                findChild(range).orElseGet(() -> addChild(range)).processPerson(person, currentDate);
             } else {
                 throw new RuntimeException("Woman in too many partnerships in year");
             }
@@ -147,11 +142,11 @@ public class DiedNodeDouble extends DoubleNode<Boolean, IntegerRange> implements
     @Override
     public void makeChildren() {
 
-        SexOption sex = ((SexNodeDouble) getAncestor(new SexNodeDouble())).getOption();
+        SexOption sex = getAncestor(SexNodeDouble.class).getOption();
 
         if (sex == SexOption.FEMALE) {
 
-            Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
+            Year yob = getAncestor(YOBNodeDouble.class).getOption();
 
             Collection<IntegerRange> ranges = getInputStats().getOrderedBirthRates(yob).getColumnLabels();
 
@@ -181,8 +176,8 @@ public class DiedNodeDouble extends DoubleNode<Boolean, IntegerRange> implements
             }
         }
 
-        Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-        int age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+        Year yob = getAncestor(YOBNodeDouble.class).getOption();
+        int age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
         Year currentDate = getYearAtAge(yob, age);
 
@@ -66,8 +66,8 @@ public class NewPartnerAgeNodeDouble extends DoubleNode<IntegerRange, String> im
             setCount(getParent().getCount());
         } else {
             
-            Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-            int age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+            Year yob = getAncestor(YOBNodeDouble.class).getOption();
+            int age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
             LocalDate currentDate = getDateAtAge(yob, age);
 
@@ -20,7 +20,6 @@ package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTab
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.PersonCharacteristicsIdentifier;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ChildNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ControlChildrenNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.DoubleNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
@@ -29,6 +28,7 @@ import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRan
 
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.Optional;
 
 /**
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
@@ -59,11 +59,13 @@ public class NumberOfChildrenInPartnershipNodeDouble extends DoubleNode<IntegerR
 
         IPartnership activePartnership = PersonCharacteristicsIdentifier.getActivePartnership(person, currentDate);
 
-        SeparationOption option = PersonCharacteristicsIdentifier.toSeparate(activePartnership, Year.of(currentDate.getYear()));
+        SeparationOption option = PersonCharacteristicsIdentifier.toSeparate(activePartnership, Year.of(currentDate.getYear()), getInputStats().getRandomStreams());
 
-        try {
-            getChild(option).processPerson(person, currentDate);
-        } catch (ChildNotFoundException e) {
+        Optional<Node<SeparationOption, ?, Double, ?>> child = findChild(option);
+
+        if (child.isPresent()) {
+            child.get().processPerson(person, currentDate);
+        } else {
 
             SeparationNodeDouble n = (SeparationNodeDouble) addChild(new SeparationNodeDouble(option, this, 0.0, true));
             n.processPerson(person, currentDate);
@@ -79,7 +81,7 @@ public class NumberOfChildrenInPartnershipNodeDouble extends DoubleNode<IntegerR
     @Override
     public void makeChildren() {
 
-        boolean childrenInYear = ((ChildrenInYearNodeDouble) getAncestor(new ChildrenInYearNodeDouble())).getOption();
+        boolean childrenInYear = getAncestor(ChildrenInYearNodeDouble.class).getOption();
 
         if (getOption().getValue() == 0 || !childrenInYear) {
             addChild(SeparationOption.NA, getCount());
@@ -30,6 +30,7 @@ import java.time.Period;
 import java.time.Year;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Optional;
 
 /**
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
@@ -63,18 +64,13 @@ public class NumberOfChildrenInYearNodeDouble extends DoubleNode<Integer, Intege
 
         incCountByOne();
 
-        int prevChildren = ((PreviousNumberOfChildrenInPartnershipNodeDouble) getAncestor(new PreviousNumberOfChildrenInPartnershipNodeDouble())).getOption().getValue();
+        int prevChildren = getAncestor(PreviousNumberOfChildrenInPartnershipNodeDouble.class).getOption().getValue();
 
-        int childrenThisYear = ((NumberOfChildrenInYearNodeDouble) getAncestor(new NumberOfChildrenInYearNodeDouble())).getOption();
+        int childrenThisYear = getAncestor(NumberOfChildrenInYearNodeDouble.class).getOption();
         int ncip = prevChildren + childrenThisYear;
         IntegerRange range = resolveToChildRange(ncip);
 
-        try {
-            getChild(range).processPerson(person, currentDate);
-        } catch (ChildNotFoundException e) {
-
-            addChild(new NumberOfChildrenInPartnershipNodeDouble(range, this, 0.0, true)).processPerson(person, currentDate);
-        }
+        findChild(range).orElseGet(() -> addChild(new NumberOfChildrenInPartnershipNodeDouble(range, this, 0.0, true))).processPerson(person, currentDate);
     }
 
     @Override
@@ -86,21 +82,16 @@ public class NumberOfChildrenInYearNodeDouble extends DoubleNode<Integer, Intege
     public void advanceCount() {
 
         // Should we be restricting this so much?
-        if (getCount() > CTtree.NODE_MIN_COUNT && getOption() != 0) {
+        if (getCount() > getNodeMinCount() && getOption() != 0) {
 
-            Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-            int age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+            Year yob = getAncestor(YOBNodeDouble.class).getOption();
+            int age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
             Year currentDate = getYearAtAge(yob, age);
 
-            SourceNodeDouble sN = (SourceNodeDouble) getAncestor(new SourceNodeDouble());
+            SourceNodeDouble sN = getAncestor(SourceNodeDouble.class);
 
-            YOBNodeDouble yobN;
-            try {
-                yobN = (YOBNodeDouble) sN.getChild(currentDate);
-            } catch (ChildNotFoundException e) {
-                yobN = (YOBNodeDouble) sN.addChild(currentDate);
-            }
+            YOBNodeDouble yobN = (YOBNodeDouble) sN.findChild(currentDate).orElseGet(() -> sN.addChild(currentDate));
 
             double sexRatio = getInputStats().getMaleProportionOfBirths(currentDate);
 
@@ -117,9 +108,11 @@ public class NumberOfChildrenInYearNodeDouble extends DoubleNode<Integer, Intege
                     adjCount = childrenFromThisNode * (1 - sexRatio);
                 }
 
-                try {
-                    sexN.getChild(new IntegerRange(0)).incCount(adjCount);
-                } catch (ChildNotFoundException e) {
+                Optional<Node<IntegerRange, ?, Double, ?>> ageN = sexN.findChild(new IntegerRange(0));
+
+                if (ageN.isPresent()) {
+                    ageN.get().incCount(adjCount);
+                } else {
                     AgeNodeDouble aN = new AgeNodeDouble(new IntegerRange(0), sexN, adjCount, true);
                     sexN.addChild(aN);
                     addDelayedTask(aN);
@@ -135,8 +128,8 @@ public class NumberOfChildrenInYearNodeDouble extends DoubleNode<Integer, Intege
             setCount(getParent().getCount());
         } else {
 
-            Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-            int age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+            Year yob = getAncestor(YOBNodeDouble.class).getOption();
+            int age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
             LocalDate currentDate = getDateAtAge(yob, age);
 
@@ -158,7 +151,7 @@ public class NumberOfChildrenInYearNodeDouble extends DoubleNode<Integer, Intege
     @Override
     public void makeChildren() {
 
-        int numberOfPrevChildInPartnership = ((PreviousNumberOfChildrenInPartnershipNodeDouble) getAncestor(new PreviousNumberOfChildrenInPartnershipNodeDouble())).getOption().getValue();
+        int numberOfPrevChildInPartnership = getAncestor(PreviousNumberOfChildrenInPartnershipNodeDouble.class).getOption().getValue();
         int childrenInYear = getOption();
 
         int numberOfChildInPartnership = numberOfPrevChildInPartnership + childrenInYear;
@@ -181,8 +174,8 @@ public class NumberOfChildrenInYearNodeDouble extends DoubleNode<Integer, Intege
             }
         }
 
-        Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-        int age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+        Year yob = getAncestor(YOBNodeDouble.class).getOption();
+        int age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
         Year currentDate = getYearAtAge(yob, age);
 
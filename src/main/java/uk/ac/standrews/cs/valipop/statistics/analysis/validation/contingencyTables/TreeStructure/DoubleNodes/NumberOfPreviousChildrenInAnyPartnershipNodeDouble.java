@@ -60,12 +60,7 @@ public class NumberOfPreviousChildrenInAnyPartnershipNodeDouble extends DoubleNo
             option = PersonCharacteristicsIdentifier.getChildrenBirthedInYear(activePartnership, Year.of(currentDate.getYear())) != 0;
         }
 
-        try {
-            getChild(option).processPerson(person, currentDate);
-
-        } catch (ChildNotFoundException e) {
-            addChild(new ChildrenInYearNodeDouble(option, this, 0.0, true)).processPerson(person, currentDate);
-        }
+        findChild(option).orElseGet(() -> addChild(new ChildrenInYearNodeDouble(option, this, 0.0, true))).processPerson(person, currentDate);
     }
 
     @Override
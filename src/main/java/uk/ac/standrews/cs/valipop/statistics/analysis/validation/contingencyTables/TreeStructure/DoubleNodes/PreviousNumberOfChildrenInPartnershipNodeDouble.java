@@ -18,7 +18,6 @@
 package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.DoubleNodes;
 
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ChildNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.DoubleNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsTables.dataDistributions.selfCorrecting.SelfCorrectingTwoDimensionDataDistribution;
@@ -51,21 +50,16 @@ public class PreviousNumberOfChildrenInPartnershipNodeDouble extends DoubleNode<
         Integer numberOfPrevChildrenInAnyPartnership = numberOfChildrenBirthedBeforeDate(person, currentDate);
         IntegerRange range = resolveToChildRange(numberOfPrevChildrenInAnyPartnership);
 
-        try {
-            getChild(range).processPerson(person, currentDate);
-        } catch (ChildNotFoundException e) {
-            addChild(range).processPerson(person, currentDate);
-        }
+        findChild(range).orElseGet(() -> addChild(range)).processPerson(person, currentDate);
     }
 
     public Node<IntegerRange, ?, Double, ?> addChild(IntegerRange childOption, Double initCount) {
 
-        Node<IntegerRange, ?, Double, ?> child;
+        Node<IntegerRange, ?, Double, ?> child = findChild(childOption).orElse(null);
 
-        try {
-            child = getChild(childOption);
+        if (child != null) {
             child.incCount(initCount);
-        } catch (ChildNotFoundException e) {
+        } else {
             child = makeChildInstance(childOption, initCount);
             super.addChild(child);
         }
@@ -92,8 +86,8 @@ public class PreviousNumberOfChildrenInPartnershipNodeDouble extends DoubleNode<
             }
         }
 
-        Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-        int age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+        Year yob = getAncestor(YOBNodeDouble.class).getOption();
+        int age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
         Year currentDate = getYearAtAge(yob, age);
 
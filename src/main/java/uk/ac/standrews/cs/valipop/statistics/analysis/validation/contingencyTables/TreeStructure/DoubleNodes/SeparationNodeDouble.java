@@ -33,6 +33,7 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.time.Year;
 import java.util.Set;
+import java.util.Optional;
 
 import static uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation.ageOnDate;
 
@@ -105,7 +106,7 @@ public class SeparationNodeDouble extends DoubleNode<SeparationOption, IntegerRa
 
             // this accessing of the statistical code isn't to calculate new values - we just use it to get the age
             // ranges from the stats tables
-            Integer age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+            Integer age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
             double numberOfFemales = getCount();
             Period timePeriod = Period.ofYears(1);
@@ -135,24 +136,19 @@ public class SeparationNodeDouble extends DoubleNode<SeparationOption, IntegerRa
     @Override
     public void advanceCount() {
 
-        DiedNodeDouble diedN = (DiedNodeDouble) getAncestor(new DiedNodeDouble());
+        DiedNodeDouble diedN = getAncestor(DiedNodeDouble.class);
         boolean died = diedN.getOption();
 
-        Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-        int age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+        Year yob = getAncestor(YOBNodeDouble.class).getOption();
+        int age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
         Year currentDate = getYearAtAge(yob, age);
 
-        if (!died && currentDate.isBefore( Year.of(getEndDate().getYear())) && diedN.getCount() > CTtree.NODE_MIN_COUNT) {
+        if (!died && currentDate.isBefore( Year.of(getEndDate().getYear())) && diedN.getCount() > getNodeMinCount()) {
 
-            SexNodeDouble s = (SexNodeDouble) getAncestor(new SexNodeDouble());
+            SexNodeDouble s = getAncestor(SexNodeDouble.class);
 
-            AgeNodeDouble a;
-            try {
-                a = (AgeNodeDouble) s.resolveChildNodeForAge(age + 1);
-            } catch (ChildNotFoundException e) {
-                throw new Error("Age Node should have already been created");
-            }
+            AgeNodeDouble a = (AgeNodeDouble) s.resolveChildNodeForAge(age + 1).orElseThrow(() -> new Error("Age Node should have already been created"));
 
             // Split count between branches
 
@@ -162,24 +158,19 @@ public class SeparationNodeDouble extends DoubleNode<SeparationOption, IntegerRa
 
                 double partOfCount = getCount() * d.getCount() / a.getCount();
 
-                IntegerRange prevNumberOfChildrenInPartnership = ((NumberOfChildrenInPartnershipNodeDouble) getAncestor(new NumberOfChildrenInPartnershipNodeDouble())).getOption();
+                IntegerRange ncip = getAncestor(NumberOfChildrenInPartnershipNodeDouble.class).getOption();
 
                 // Move over to correct IntegerRange object with the same value at age + 1
-                prevNumberOfChildrenInPartnership = d.resolveToChildRange(prevNumberOfChildrenInPartnership.getValue());
-
-                PreviousNumberOfChildrenInPartnershipNodeDouble pncip;
+                IntegerRange prevNumberOfChildrenInPartnership = d.resolveToChildRange(ncip.getValue());
 
-                try {
-                    pncip = (PreviousNumberOfChildrenInPartnershipNodeDouble) d.getChild(prevNumberOfChildrenInPartnership);
-                } catch (ChildNotFoundException e) {
-                    pncip = (PreviousNumberOfChildrenInPartnershipNodeDouble) d.addChild(prevNumberOfChildrenInPartnership);
-                }
+                PreviousNumberOfChildrenInPartnershipNodeDouble pncip = (PreviousNumberOfChildrenInPartnershipNodeDouble)
+                        d.findChild(prevNumberOfChildrenInPartnership).orElseGet(() -> d.addChild(prevNumberOfChildrenInPartnership));
 
                 pncip.incCount(partOfCount);
 
-                IntegerRange numberOfPrevChildrenInAnyPartnership = ((NumberOfPreviousChildrenInAnyPartnershipNodeDouble) getAncestor(new NumberOfPreviousChildrenInAnyPartnershipNodeDouble())).getOption();
+                IntegerRange numberOfPrevChildrenInAnyPartnership = getAncestor(NumberOfPreviousChildrenInAnyPartnershipNodeDouble.class).getOption();
 
-                int childrenInYear = ((NumberOfChildrenInYearNodeDouble) getAncestor(new NumberOfChildrenInYearNodeDouble())).getOption();
+                int childrenInYear = getAncestor(NumberOfChildrenInYearNodeDouble.class).getOption();
 
                 int numberOfChildrenInAnyPartnership = numberOfPrevChildrenInAnyPartnership.getValue() + childrenInYear;
 
@@ -187,9 +178,11 @@ public class SeparationNodeDouble extends DoubleNode<SeparationOption, IntegerRa
 
                 IntegerRange rangeNCIAP = pncip.resolveToChildRange(numberOfChildrenInAnyPartnership);
 
-                try {
-                    nciap = (NumberOfPreviousChildrenInAnyPartnershipNodeDouble) pncip.getChild(rangeNCIAP);
-                } catch (ChildNotFoundException e) {
+                Optional<Node<IntegerRange, ?, Double, ?>> existing = pncip.findChild(rangeNCIAP);
+
+                if (existing.isPresent()) {
+                    nciap = (NumberOfPreviousChildrenInAnyPartnershipNodeDouble) existing.get();
+                } else {
                     nciap = (NumberOfPreviousChildrenInAnyPartnershipNodeDouble) pncip.addChild(rangeNCIAP);
                     addDelayedTask(nciap);
                 }
@@ -206,7 +199,7 @@ public class SeparationNodeDouble extends DoubleNode<SeparationOption, IntegerRa
             setCount(getParent().getCount());
         } else {
 
-            IntegerRange numberOfChildrenInPartnership = ((NumberOfChildrenInPartnershipNodeDouble) getAncestor(new NumberOfChildrenInPartnershipNodeDouble())).getOption();
+            IntegerRange numberOfChildrenInPartnership = getAncestor(NumberOfChildrenInPartnershipNodeDouble.class).getOption();
 
             if (numberOfChildrenInPartnership.getValue() == 0) {
                 setCount(getParent().getCount());
@@ -216,8 +209,8 @@ public class SeparationNodeDouble extends DoubleNode<SeparationOption, IntegerRa
                 double forNPeople = getParent().getCount();
                 Period timePeriod = Period.ofYears(1);
 
-                Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-                int age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+                Year yob = getAncestor(YOBNodeDouble.class).getOption();
+                int age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
                 LocalDate currentDate = getDateAtAge(yob, age);
 
@@ -248,20 +241,20 @@ public class SeparationNodeDouble extends DoubleNode<SeparationOption, IntegerRa
         // has a new partner (thus NPA will be set) but who also separates from the partner in the same year
         // (Separation = YES).
 
-        IntegerRange ncip = ((NumberOfChildrenInPartnershipNodeDouble) getAncestor(new NumberOfChildrenInPartnershipNodeDouble())).getOption();
+        IntegerRange ncip = getAncestor(NumberOfChildrenInPartnershipNodeDouble.class).getOption();
 
         if (ncip.getValue() == 0) { // i.e. no current partner and no children in year, therefore no NPA as no NP
             addChild(new IntegerRange("na"));
 
         } else {
-            boolean ciy = ((ChildrenInYearNodeDouble) getAncestor(new ChildrenInYearNodeDouble())).getOption();
+            boolean ciy = getAncestor(ChildrenInYearNodeDouble.class).getOption();
 
             if (!ciy) { // if no children in year then by definition no new partner can exit - thus no NPA
                 addChild(new IntegerRange("na"));
 
             } else {
 
-                IntegerRange pncip = ((PreviousNumberOfChildrenInPartnershipNodeDouble) getAncestor(new PreviousNumberOfChildrenInPartnershipNodeDouble())).getOption();
+                IntegerRange pncip = getAncestor(PreviousNumberOfChildrenInPartnershipNodeDouble.class).getOption();
 
                 // at this point we know this partnership has borne children, paired with the knowledge of if there has
                 // been any previous children in this partnership we can decide
@@ -271,8 +264,8 @@ public class SeparationNodeDouble extends DoubleNode<SeparationOption, IntegerRa
                 } else {
                     // or is a new partnership - thus record NPA
 
-                    Year yob = ((YOBNodeDouble) getAncestor(new YOBNodeDouble())).getOption();
-                    int age = ((AgeNodeDouble) getAncestor(new AgeNodeDouble())).getOption().getValue();
+                    Year yob = getAncestor(YOBNodeDouble.class).getOption();
+                    int age = getAncestor(AgeNodeDouble.class).getOption().getValue();
 
                     LocalDate currentDate = getDateAtAge(yob, age);
 
@@ -18,13 +18,13 @@
 package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.DoubleNodes;
 
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ChildNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.DoubleNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRange;
 
 import java.time.LocalDate;
+import java.util.Optional;
 
 import static uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation.ageOnDate;
 
@@ -43,11 +43,7 @@ public class SexNodeDouble extends DoubleNode<SexOption, IntegerRange> {
 
     @Override
     public Node<IntegerRange, ?, Double, ?> makeChildInstance(IntegerRange childOption, Double initCount) {
-        try {
-            return resolveChildNodeForAge(childOption.getValue());
-        } catch (ChildNotFoundException e) {
-            return new AgeNodeDouble(childOption, this, initCount, false);
-        }
+        return resolveChildNodeForAge(childOption.getValue()).orElseGet(() -> new AgeNodeDouble(childOption, this, initCount, false));
     }
 
     @Override
@@ -55,11 +51,7 @@ public class SexNodeDouble extends DoubleNode<SexOption, IntegerRange> {
 
         int age = ageOnDate(person, currentDate);
 
-        try {
-            resolveChildNodeForAge(age).processPerson(person, currentDate);
-        } catch (ChildNotFoundException e) {
-            addChild(new AgeNodeDouble(new IntegerRange(age), this, 0, true)).processPerson(person, currentDate);
-        }
+        resolveChildNodeForAge(age).orElseGet(() -> addChild(new AgeNodeDouble(new IntegerRange(age), this, 0, true))).processPerson(person, currentDate);
     }
 
     @Override
@@ -67,19 +59,20 @@ public class SexNodeDouble extends DoubleNode<SexOption, IntegerRange> {
         return "Sex";
     }
 
-    Node<IntegerRange, ?, Double, ?> resolveChildNodeForAge(Integer age) throws ChildNotFoundException {
+    Optional<Node<IntegerRange, ?, Double, ?>> resolveChildNodeForAge(Integer age) {
 
         if(age != null) {
             for (Node<IntegerRange, ?, Double, ?> aN : getChildren()) {
                 if (aN.getOption().contains(age)) {
-                    return aN;
+                    return Optional.of(aN);
                 }
             }
         }
-        throw new ChildNotFoundException();
+        return Optional.empty();
     }
 
-    public Node<IntegerRange, ?, Double, ?> getChild(IntegerRange childOption) throws ChildNotFoundException {
+    @Override
+    public Optional<Node<IntegerRange, ?, Double, ?>> findChild(IntegerRange childOption) {
 
         return resolveChildNodeForAge(childOption.getValue());
     }
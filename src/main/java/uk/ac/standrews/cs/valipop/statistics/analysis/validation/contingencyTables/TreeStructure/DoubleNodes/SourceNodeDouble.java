@@ -50,12 +50,12 @@ public class SourceNodeDouble extends DoubleNode<SourceType, Year> {
     }
 
     @SuppressWarnings("rawtypes")
-    public Node getAncestor(Node nodeType) {
+    public <T extends Node> T getAncestor(final Class<T> nodeType) {
 
-        if(nodeType.getClass().isInstance(this)) {
-            return this;
-        } else if(nodeType.getClass().isInstance(parent)) {
-            return parent;
+        if(nodeType.isInstance(this)) {
+            return nodeType.cast(this);
+        } else if(nodeType.isInstance(parent)) {
+            return nodeType.cast(parent);
         } else {
             throw new UnsupportedOperationException();
         }
@@ -73,11 +73,7 @@ public class SourceNodeDouble extends DoubleNode<SourceType, Year> {
         // pass person to appropriate child node
         Year yob = Year.of(person.getBirthDate().getYear());
 
-        try {
-            getChild(yob).processPerson(person, currentDate);
-        } catch (ChildNotFoundException e) {
-            addChild(yob).processPerson(person, currentDate);
-        }
+        findChild(yob).orElseGet(() -> addChild(yob)).processPerson(person, currentDate);
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
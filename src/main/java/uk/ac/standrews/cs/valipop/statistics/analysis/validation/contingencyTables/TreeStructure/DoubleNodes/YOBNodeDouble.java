@@ -19,7 +19,6 @@ package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTab
 
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.CTRow;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ChildNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ControlChildrenNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.DoubleNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
@@ -45,11 +44,7 @@ public class YOBNodeDouble extends DoubleNode<Year, SexOption> implements Contro
     @Override
     public void processPerson(IPerson person, LocalDate currentDate) {
 
-        try {
-            getChild(person.getSex()).processPerson(person, currentDate);
-        } catch (ChildNotFoundException e) {
-            addChild(person.getSex()).processPerson(person, currentDate);
-        }
+        findChild(person.getSex()).orElseGet(() -> addChild(person.getSex())).processPerson(person, currentDate);
     }
 
     @Override
@@ -51,13 +51,11 @@ public abstract class IntNode<Op extends Comparable<Op>, cOp extends Comparable<
     @Override
     public Node<cOp, ?, Integer, ?> addChild(final cOp childOption, final Integer initCount) {
 
-        Node<cOp, ?, Integer, ?> child;
+        Node<cOp, ?, Integer, ?> child = findChild(childOption).orElse(null);
 
-        try {
-            child = getChild(childOption);
+        if (child != null) {
             child.incCount(initCount);
-        }
-        catch (final ChildNotFoundException e)  {
+        } else {
             child = makeChildInstance(childOption, initCount);
             super.addChild(child);
         }
@@ -18,7 +18,6 @@
 package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.IntNodes;
 
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ChildNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.IntNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRange;
@@ -48,12 +47,7 @@ public class AgeNodeInt extends IntNode<IntegerRange, Boolean> {
 
         final boolean died = diedInYear(person, Year.of(currentDate.getYear()));
 
-        try {
-            getChild(died).processPerson(person, currentDate);
-
-        } catch (final ChildNotFoundException e) {
-            addChild(died).processPerson(person, currentDate);
-        }
+        findChild(died).orElseGet(() -> addChild(died)).processPerson(person, currentDate);
     }
 
     @Override
@@ -20,7 +20,6 @@ package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTab
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.PersonCharacteristicsIdentifier;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ChildNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.IntNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 
@@ -45,11 +44,7 @@ public class ChildrenInYearNodeInt extends IntNode<Boolean, Integer> {
 
         final int option = activePartnership == null ? 0 : PersonCharacteristicsIdentifier.getChildrenBirthedInYear(activePartnership, Year.of(currentDate.getYear()));
 
-        try {
-            getChild(option).processPerson(person, currentDate);
-        } catch (ChildNotFoundException e) {
-            addChild(option).processPerson(person, currentDate);
-        }
+        findChild(option).orElseGet(() -> addChild(option)).processPerson(person, currentDate);
     }
 
     @Override
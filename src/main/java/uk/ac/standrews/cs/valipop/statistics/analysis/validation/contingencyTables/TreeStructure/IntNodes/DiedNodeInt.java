@@ -21,7 +21,6 @@ import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.CTRow;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.PersonCharacteristicsIdentifier;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ChildNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.IntNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
@@ -54,11 +53,7 @@ public class DiedNodeInt extends IntNode<Boolean, IntegerRange> {
 
             final IntegerRange range = resolveToChildRange(numberOfChildren);
 
-            try {
-                getChild(range).processPerson(person, currentDate);
-            } catch (final ChildNotFoundException e) {
-                addChild(range).processPerson(person, currentDate);
-            }
+            findChild(range).orElseGet(() -> addChild(range)).processPerson(person, currentDate);
         }
     }
 
@@ -74,8 +69,8 @@ public class DiedNodeInt extends IntNode<Boolean, IntegerRange> {
             if (node.getOption().contains(numberOfChildren))
                 return node.getOption();
 
-        final Year yob = ((YOBNodeInt) getAncestor(new YOBNodeInt())).getOption();
-        final int age = ((AgeNodeInt) getAncestor(new AgeNodeInt())).getOption().getValue();
+        final Year yob = getAncestor(YOBNodeInt.class).getOption();
+        final int age = getAncestor(AgeNodeInt.class).getOption().getValue();
 
         final Year currentDate = Year.of(yob.getValue() + age);
 
@@ -18,7 +18,6 @@
 package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.IntNodes;
 
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ChildNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.IntNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRange;
@@ -46,19 +45,14 @@ public class NumberOfChildrenInYearNodeInt extends IntNode<Integer, IntegerRange
 
         incCountByOne();
 
-        int prevChildren = ((PreviousNumberOfChildrenInPartnershipNodeInt) getAncestor(new PreviousNumberOfChildrenInPartnershipNodeInt())).getOption().getValue();
+        int prevChildren = getAncestor(PreviousNumberOfChildrenInPartnershipNodeInt.class).getOption().getValue();
 
-        int childrenThisYear = ((NumberOfChildrenInYearNodeInt) getAncestor(new NumberOfChildrenInYearNodeInt())).getOption();
+        int childrenThisYear = getAncestor(NumberOfChildrenInYearNodeInt.class).getOption();
 
         int ncip = prevChildren + childrenThisYear;
         IntegerRange range = resolveToChildRange(ncip);
 
-        try {
-            getChild(range).processPerson(person, currentDate);
-
-        } catch (ChildNotFoundException e) {
-            addChild(range).processPerson(person, currentDate);
-        }
+        findChild(range).orElseGet(() -> addChild(range)).processPerson(person, currentDate);
     }
 
     @Override
@@ -80,8 +74,8 @@ public class NumberOfChildrenInYearNodeInt extends IntNode<Integer, IntegerRange
             }
         }
 
-        Year yob = ((YOBNodeInt) getAncestor(new YOBNodeInt())).getOption();
-        int age = ((AgeNodeInt) getAncestor(new AgeNodeInt())).getOption().getValue();
+        Year yob = getAncestor(YOBNodeInt.class).getOption();
+        int age = getAncestor(AgeNodeInt.class).getOption().getValue();
 
         Year currentDate = Year.of(yob.getValue() + age);
 
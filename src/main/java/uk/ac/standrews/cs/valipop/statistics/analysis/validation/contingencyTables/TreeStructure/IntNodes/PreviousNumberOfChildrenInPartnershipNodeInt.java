@@ -18,7 +18,6 @@
 package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.IntNodes;
 
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ChildNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.IntNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsTables.dataDistributions.selfCorrecting.SelfCorrectingTwoDimensionDataDistribution;
@@ -51,11 +50,7 @@ public class PreviousNumberOfChildrenInPartnershipNodeInt extends IntNode<Intege
 
         final IntegerRange range = resolveToChildRange(numberOfChildrenBirthedBeforeDate(person, currentDate));
 
-        try {
-            getChild(range).processPerson(person, currentDate);
-        } catch (final ChildNotFoundException e) {
-            addChild(range).processPerson(person, currentDate);
-        }
+        findChild(range).orElseGet(() -> addChild(range)).processPerson(person, currentDate);
     }
 
     @Override
@@ -74,8 +69,8 @@ public class PreviousNumberOfChildrenInPartnershipNodeInt extends IntNode<Intege
             if (node.getOption().contains(numberOfChildren))
                 return node.getOption();
 
-        final int age = ((AgeNodeInt) getAncestor(new AgeNodeInt())).getOption().getValue();
-        final Year yearOfBirth = ((YOBNodeInt) getAncestor(new YOBNodeInt())).getOption();
+        final int age = getAncestor(AgeNodeInt.class).getOption().getValue();
+        final Year yearOfBirth = getAncestor(YOBNodeInt.class).getOption();
         final Year currentDate = getYearAtAge(yearOfBirth, age);
 
         Collection<IntegerRange> birthOrders;
@@ -95,7 +95,7 @@ public class SeparationNodeInt extends IntNode<SeparationOption, IntegerRange> {
 
             // this accessing of the statistical code isn't to calculate new values - we just use it to get the age
             // ranges from the stats tables
-            final int age = ((AgeNodeInt) getAncestor(new AgeNodeInt())).getOption().getValue();
+            final int age = getAncestor(AgeNodeInt.class).getOption().getValue();
 
             final double numberOfFemales = getCount();
             final Period timePeriod = Period.ofYears(1);
@@ -18,13 +18,13 @@
 package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.IntNodes;
 
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ChildNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.IntNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRange;
 
 import java.time.LocalDate;
+import java.util.Optional;
 
 import static uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation.ageOnDate;
 
@@ -50,12 +50,7 @@ public class SexNodeInt extends IntNode<SexOption, IntegerRange> {
 
         final int age = ageOnDate(person, currentDate);
 
-        try {
-            resolveChildNodeForAge(age).processPerson(person, currentDate);
-        }
-        catch (final ChildNotFoundException e) {
-            addChild(new IntegerRange(age)).processPerson(person, currentDate);
-        }
+        resolveChildNodeForAge(age).orElseGet(() -> addChild(new IntegerRange(age))).processPerson(person, currentDate);
     }
 
     @Override
@@ -63,12 +58,12 @@ public class SexNodeInt extends IntNode<SexOption, IntegerRange> {
         return "Sex";
     }
 
-    private Node<IntegerRange, ?, ?, ?> resolveChildNodeForAge(final int age) throws ChildNotFoundException {
+    private Optional<Node<IntegerRange, ?, ?, ?>> resolveChildNodeForAge(final int age) {
 
         for (final Node<IntegerRange, ?, ?, ?> node : getChildren())
             if (node.getOption().contains(age))
-                return node;
+                return Optional.of(node);
 
-        throw new ChildNotFoundException();
+        return Optional.empty();
     }
 }
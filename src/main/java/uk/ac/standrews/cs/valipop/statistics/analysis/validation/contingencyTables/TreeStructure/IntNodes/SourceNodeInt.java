@@ -40,12 +40,12 @@ public class SourceNodeInt extends IntNode<SourceType, Year> {
     }
 
     @SuppressWarnings("rawtypes")
-    public Node getAncestor(final Node nodeType) {
+    public <T extends Node> T getAncestor(final Class<T> nodeType) {
 
-        if (nodeType.getClass().isInstance(this)) {
-            return this;
-        } else if (nodeType.getClass().isInstance(parent)) {
-            return parent;
+        if (nodeType.isInstance(this)) {
+            return nodeType.cast(this);
+        } else if (nodeType.isInstance(parent)) {
+            return nodeType.cast(parent);
         } else {
             throw new UnsupportedOperationException();
         }
@@ -68,12 +68,7 @@ public class SourceNodeInt extends IntNode<SourceType, Year> {
         // pass person to appropriate child node
         final Year yearAfterBirth = Year.of(person.getBirthDate().getYear() + 1);
 
-        try {
-            getChild(yearAfterBirth).processPerson(person, currentDate);
-        }
-        catch (final ChildNotFoundException e) {
-            addChild(yearAfterBirth).processPerson(person, currentDate);
-        }
+        findChild(yearAfterBirth).orElseGet(() -> addChild(yearAfterBirth)).processPerson(person, currentDate);
     }
 
     public ArrayList<String> toStringAL() {
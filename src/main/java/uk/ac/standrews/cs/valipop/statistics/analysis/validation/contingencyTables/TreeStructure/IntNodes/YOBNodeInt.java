@@ -19,7 +19,6 @@ package uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTab
 
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.CTRow;
-import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.ChildNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.IntNode;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.Node;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
@@ -50,12 +49,7 @@ public class YOBNodeInt extends IntNode<Year, SexOption> {
 
         incCountByOne();
 
-        try {
-            getChild(person.getSex()).processPerson(person, currentDate);
-        }
-        catch (final ChildNotFoundException e) {
-            addChild(person.getSex()).processPerson(person, currentDate);
-        }
+        findChild(person.getSex()).orElseGet(() -> addChild(person.getSex())).processPerson(person, currentDate);
     }
 
     @Override
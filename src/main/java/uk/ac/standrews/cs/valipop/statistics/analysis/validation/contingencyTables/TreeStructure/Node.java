@@ -62,20 +62,24 @@ public abstract class Node<Op extends Comparable<Op>, cOp extends Comparable<cOp
     }
 
     @SuppressWarnings("rawtypes")
-    public Collection<Node> getLeafNodes() {
+    public List<Node> getLeafNodes() {
 
-        Collection<Node> childNodes = new ArrayList<>();
+        final List<Node> leafNodes = new ArrayList<>();
+        addLeafNodes(leafNodes);
+        return leafNodes;
+    }
+
+    @SuppressWarnings("rawtypes")
+    protected void addLeafNodes(final Collection<Node> leafNodes) {
 
-        if (getChildren().size() == 0) {
-            return Collections.singleton(this);
+        if (children.isEmpty()) {
+            leafNodes.add(this);
         } else {
 
             for (Node<cOp, ?, ChildCount, ?> n : getChildren()) {
-                childNodes.addAll(n.getLeafNodes());
+                n.addLeafNodes(leafNodes);
             }
         }
-
-        return childNodes;
     }
 
     public List<String> toStringAL() {
@@ -111,15 +115,18 @@ public abstract class Node<Op extends Comparable<Op>, cOp extends Comparable<cOp
         return children.values();
     }
 
-    public Node<cOp, ?, ChildCount, ?> getChild(final cOp childOption) throws ChildNotFoundException {
-
-        Node<cOp, ?, ChildCount, ?> n = children.get(childOption);
-
-        if (n == null) {
-            throw new ChildNotFoundException();
-        }
+    /**
+     * Looks up the child for the given option, without the cost of raising an exception when there is none.
+     *
+     * @param childOption the option of the child
+     * @return the child, or empty if this node has no child for the option
+     */
+    public Optional<Node<cOp, ?, ChildCount, ?>> findChild(final cOp childOption) {
+        return Optional.ofNullable(children.get(childOption));
+    }
 
-        return n;
+    public Node<cOp, ?, ChildCount, ?> getChild(final cOp childOption) throws ChildNotFoundException {
+        return findChild(childOption).orElseThrow(ChildNotFoundException::new);
     }
 
     public Node<?, Op, ?, Count> getParent() {
@@ -130,26 +137,39 @@ public abstract class Node<Op extends Comparable<Op>, cOp extends Comparable<cOp
         getParent().addDelayedTask(node);
     }
 
+    /**
+     * Finds the nearest node of the given type on the path from this node to the root, including this node.
+     *
+     * @param nodeType the class of the node to be found
+     * @return the nearest node of that type
+     */
     @SuppressWarnings("rawtypes")
-    public Node getAncestor(final Node nodeType) {
+    public <T extends Node> T getAncestor(final Class<T> nodeType) {
 
-        if (nodeType.getClass().isInstance(this)) {
-            return this;
+        if (nodeType.isInstance(this)) {
+            return nodeType.cast(this);
         } else {
             return getParent().getAncestor(nodeType);
         }
     }
 
     public PopulationStatistics getInputStats() {
-        return getAncestor(new CTtree()).getInputStats();
+        return getAncestor(CTtree.class).getInputStats();
     }
 
     public LocalDate getStartDate() {
-        return getAncestor(new CTtree()).getStartDate();
+        return getAncestor(CTtree.class).getStartDate();
     }
 
     public LocalDate getEndDate() {
-        return getAncestor(new CTtree()).getEndDate();
+        return getAncestor(CTtree.class).getEndDate();
+    }
+
+    /**
+     * @return the count above which the statistical nodes of the tree are extended, set by the precision of the tree
+     */
+    public double getNodeMinCount() {
+        return getAncestor(CTtree.class).getNodeMinCount();
     }
 
     @SuppressWarnings({ "unused", "rawtypes" })
@@ -19,8 +19,8 @@ package uk.ac.standrews.cs.valipop.statistics.distributions;
 
 import org.apache.commons.math3.random.RandomGenerator;
 
-import java.io.Serializable;
-import java.util.*;
+import java.util.Arrays;
+import java.util.Map;
 
 /**
  * A distribution of strings controlled by specified probabilities.
@@ -31,10 +31,12 @@ import java.util.*;
 public class EnumeratedDistribution implements Distribution<String> {
 
     private static final Double ALLOWABLE_TOTAL_WEIGHT_DISCREPANCY = 0.001;
-    private static final Comparator<? super StringWithCumulativeProbability> ITEM_COMPARATOR = new ItemComparator();
 
     private final RandomGenerator random;
-    protected StringWithCumulativeProbability[] items = null;
+
+    // The items are held alongside their cumulative probabilities, so that sampling searches a primitive array.
+    protected double[] cumulativeProbabilities = null;
+    protected String[] items = null;
 
     private EnumeratedDistribution(final RandomGenerator random) {
         this.random = random;
@@ -55,14 +57,19 @@ public class EnumeratedDistribution implements Distribution<String> {
 
     private void configureProbabilities(final Map<String, Double> item_probabilities) throws InconsistentWeightException {
 
-        List<StringWithCumulativeProbability> items_temp = new ArrayList<>();
-        Double cumulative_probability = 0.0;
+        cumulativeProbabilities = new double[item_probabilities.size()];
+        items = new String[item_probabilities.size()];
+
+        int count = 0;
+        double cumulative_probability = 0.0;
 
         for (final Map.Entry<String, Double> entry : item_probabilities.entrySet()) {
 
             if (entry.getValue() != 0) {
                 cumulative_probability += entry.getValue();
-                items_temp.add(new StringWithCumulativeProbability(entry.getKey(), cumulative_probability));
+                cumulativeProbabilities[count] = cumulative_probability;
+                items[count] = entry.getKey();
+                count++;
             }
         }
 
@@ -70,15 +77,27 @@ public class EnumeratedDistribution implements Distribution<String> {
             throw new InconsistentWeightException();
         }
 
-        items = items_temp.toArray(new StringWithCumulativeProbability[0]);
+        cumulativeProbabilities = Arrays.copyOf(cumulativeProbabilities, count);
+        items = Arrays.copyOf(items, count);
     }
 
     @Override
     public String getSample() {
 
-        final Double dice_throw = random.nextDouble();
+        return getSample(random);
+    }
+
+    /**
+     * Samples the distribution using the given generator rather than the one it was created with.
+     *
+     * @param random the generator to draw from
+     * @return the sampled string
+     */
+    public String getSample(final RandomGenerator random) {
+
+        final double dice_throw = random.nextDouble();
 
-        int sample_index = Arrays.binarySearch(items, new StringWithCumulativeProbability("", dice_throw), ITEM_COMPARATOR);
+        int sample_index = Arrays.binarySearch(cumulativeProbabilities, dice_throw);
 
         // If the exact cumulative probability isn't matched - and it's very unlikely to be - the result of binarySearch() is (-(insertion point) - 1).
         if (sample_index < 0) {
@@ -88,14 +107,6 @@ public class EnumeratedDistribution implements Distribution<String> {
             sample_index = items.length - 1;
         }
 
-        return items[sample_index].getItem();
-    }
-
-    private static class ItemComparator implements Comparator<StringWithCumulativeProbability>, Serializable {
-
-        @Override
-        public int compare(final StringWithCumulativeProbability o1, final StringWithCumulativeProbability o2) {
-            return o1.getCumulativeProbability().compareTo(o2.getCumulativeProbability());
-        }
+        return items[sample_index];
     }
 }
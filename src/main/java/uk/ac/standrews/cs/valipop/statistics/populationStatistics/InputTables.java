@@ -0,0 +1,341 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.statistics.populationStatistics;
+
+import uk.ac.standrews.cs.valipop.Config;
+import uk.ac.standrews.cs.valipop.implementations.Randomness;
+import uk.ac.standrews.cs.valipop.statistics.distributions.InconsistentWeightException;
+import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsTables.dataDistributions.*;
+import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsTables.dataDistributions.selfCorrecting.SelfCorrecting2DIntegerRangeProportionalDistribution;
+import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsTables.dataDistributions.selfCorrecting.SelfCorrectingOneDimensionDataDistribution;
+import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsTables.dataDistributions.selfCorrecting.SelfCorrectingTwoDimensionDataDistribution;
+import uk.ac.standrews.cs.valipop.utils.InputFileReader;
+import uk.ac.standrews.cs.valipop.utils.InvalidInputFileException;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRange;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.Year;
+import java.util.*;
+
+/**
+ * The input distributions of a simulation, as read from the input files. The tables are not modified once read, so
+ * may be shared by any number of runs using the same inputs: each run takes its own copy of the self-correction
+ * state of the tables, in {@link PopulationStatistics}, and shares everything else.
+ *
+ * Recently read tables are cached, so that a sweep of runs differing only in parameters such as the recovery
+ * factors or the seed reads its inputs once.
+ */
+public final class InputTables {
+
+    private static final int CACHE_SIZE = 4;
+
+    private static final Map<Key, InputTables> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, InputTables> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    // The self-correcting distributions held here are never used directly, but are copied for each run.
+    final NavigableMap<Year, SelfCorrectingOneDimensionDataDistribution> maleDeath;
+    final NavigableMap<Year, SelfCorrectingOneDimensionDataDistribution> femaleDeath;
+    final NavigableMap<Year, SelfCorrecting2DIntegerRangeProportionalDistribution> partnering;
+    final NavigableMap<Year, SelfCorrectingTwoDimensionDataDistribution> orderedBirth;
+    final NavigableMap<Year, SelfCorrectingProportionalDistribution<IntegerRange, Integer, Integer>> multipleBirth;
+    final NavigableMap<Year, SelfCorrectingOneDimensionDataDistribution> adulterousBirth;
+    final NavigableMap<Year, SelfCorrectingOneDimensionDataDistribution> marriage;
+    final NavigableMap<Year, SelfCorrectingTwoDimensionDataDistribution> separation;
+    final NavigableMap<Year, SelfCorrectingOneDimensionDataDistribution> migrationRate;
+    final NavigableMap<Year, SelfCorrecting2DEnumeratedProportionalDistribution> maleOccupationChange;
+    final NavigableMap<Year, SelfCorrecting2DEnumeratedProportionalDistribution> femaleOccupationChange;
+
+    final NavigableMap<Year, Double> sexRatioBirth;
+
+    final NavigableMap<Year, ValiPopEnumeratedDistribution> maleForenames;
+    final NavigableMap<Year, ValiPopEnumeratedDistribution> femaleForenames;
+    final NavigableMap<Year, ValiPopEnumeratedDistribution> surnames;
+
+    final NavigableMap<Year, ValiPopEnumeratedDistribution> migrantMaleForenames;
+    final NavigableMap<Year, ValiPopEnumeratedDistribution> migrantFemaleForenames;
+    final NavigableMap<Year, ValiPopEnumeratedDistribution> migrantSurnames;
+
+    final NavigableMap<Year, AgeDependantEnumeratedDistribution> maleDeathCauses;
+    final NavigableMap<Year, AgeDependantEnumeratedDistribution> femaleDeathCauses;
+
+    final NavigableMap<Year, AgeDependantEnumeratedDistribution> maleOccupation;
+    final NavigableMap<Year, AgeDependantEnumeratedDistribution> femaleOccupation;
+
+    /**
+     * Reads the input tables given by a configuration.
+     *
+     * @param config the configuration
+     */
+    public InputTables(final Config config) {
+
+        try {
+            maleDeath = readInSC1DDataFiles(config.getVarMaleLifetablePaths(), config);
+            maleDeathCauses = readInAgeDependantEnumeratedDistributionDataFiles(config.getVarMaleDeathCausesPaths(), config);
+            femaleDeath = readInSC1DDataFiles(config.getVarFemaleLifetablePaths(), config);
+            femaleDeathCauses = readInAgeDependantEnumeratedDistributionDataFiles(config.getVarFemaleDeathCausesPaths(), config);
+            partnering = readInAgeAndProportionalStatsInputFiles(config.getVarPartneringPaths(), config);
+            orderedBirth = readInSC2DDataFiles(config.getVarOrderedBirthPaths(), config);
+            multipleBirth = readInAndAdaptAgeAndProportionalStatsInputFiles(config.getVarMultipleBirthPaths(), config);
+            adulterousBirth = readInSC1DDataFiles(config.getVarAdulterousBirthPaths(), config);
+            marriage = readInSC1DDataFiles(config.getVarMarriagePaths(), config);
+            separation = readInSC2DDataFiles(config.getVarSeparationPaths(), config);
+            sexRatioBirth = readInSingleInputDataFile(config.getVarBirthRatioPath());
+            maleForenames = readInNamesDataFiles(config.getVarMaleForenamePath(), config);
+            femaleForenames = readInNamesDataFiles(config.getVarFemaleForenamePath(), config);
+            surnames = readInNamesDataFiles(config.getVarSurnamePath(), config);
+            migrantMaleForenames = readInNamesDataFiles(config.getVarMigrantMaleForenamePath(), config);
+            migrantFemaleForenames = readInNamesDataFiles(config.getVarMigrantFemaleForenamePath(), config);
+            migrantSurnames = readInNamesDataFiles(config.getVarMigrantSurnamePath(), config);
+            migrationRate = readInSC1DDataFiles(config.getVarMigrationRatePath(), config);
+
+            maleOccupation = readInAgeDependantEnumeratedDistributionDataFiles(config.getVarMaleOccupationPaths(), config);
+            maleOccupationChange = readInStringAndProportionalStatsInputFiles(config.getVarMaleOccupationChangePaths(), config);
+
+            femaleOccupation = readInAgeDependantEnumeratedDistributionDataFiles(config.getVarFemaleOccupationPaths(), config);
+            femaleOccupationChange = readInStringAndProportionalStatsInputFiles(config.getVarFemaleOccupationChangePaths(), config);
+
+        } catch (final IOException | InvalidInputFileException | InconsistentWeightException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the input tables given by a configuration, reading them only if they are not already cached. Tables
+     * are shared between configurations with the same input directory, input width, simulation dates and sampling.
+     *
+     * @param config the configuration
+     * @return the input tables
+     */
+    public static InputTables forConfig(final Config config) {
+
+        final Key key = new Key(config.getVarPath().toAbsolutePath().normalize(), config.getInputWidth(),
+                config.getTS(), config.getT0(), config.getTE(), config.getBinomialSampling());
+
+        synchronized (cache) {
+            return cache.computeIfAbsent(key, k -> new InputTables(config));
+        }
+    }
+
+    /**
+     * Discards any cached input tables, for example if the input files have changed.
+     */
+    public static void clearCache() {
+
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private record Key(Path varPath, Period inputWidth, LocalDate tS, LocalDate t0, LocalDate tE, boolean binomialSampling) {}
+
+    private static NavigableMap<Year, Double> readInSingleInputDataFile(final DirectoryStream<Path> paths) throws IOException, InvalidInputFileException {
+
+        int c = 0;
+
+        TreeMap<Year, Double> data = new TreeMap<>();
+
+        for (final Path p : paths) {
+            if (c == 1) {
+                throw new RuntimeException("Too many sex ratio files - there should only be one - remove any additional files from the ratio_birth directory");
+            }
+
+            data = InputFileReader.readInSingleInputFile(p);
+            c++;
+        }
+
+        // TODO shouldn't be hard-wired
+
+        if (data.isEmpty()) {
+            data.put(Year.of(1600), 0.5);
+        }
+
+        paths.close();
+        return Collections.unmodifiableNavigableMap(data);
+    }
+
+    private static NavigableMap<Year, SelfCorrectingOneDimensionDataDistribution> readInSC1DDataFiles(final DirectoryStream<Path> paths, final Config config) throws IOException, InvalidInputFileException {
+
+        final TreeMap<Year, SelfCorrectingOneDimensionDataDistribution> data = new WriteOnceTreeMap<>();
+
+        for (final Path path : paths) {
+            final SelfCorrectingOneDimensionDataDistribution tempData = InputFileReader.readInSC1DDataFile(path, config);
+            data.put(tempData.getYear(), tempData);
+        }
+
+        paths.close();
+        return insertDistributionsToMeetInputWidth(config, data);
+    }
+
+    private static NavigableMap<Year, ValiPopEnumeratedDistribution> readInNamesDataFiles(final DirectoryStream<Path> paths, final Config config) throws IOException, InvalidInputFileException, InconsistentWeightException {
+
+        final TreeMap<Year, ValiPopEnumeratedDistribution> data = new WriteOnceTreeMap<>();
+
+        for (final Path path : paths) {
+            final ValiPopEnumeratedDistribution tempData = InputFileReader.readInNameDataFile(path, Randomness.getRandomGenerator());
+            data.put(tempData.getYear(), tempData);
+        }
+
+        paths.close();
+        return insertDistributionsToMeetInputWidth(config, data);
+    }
+
+    private static NavigableMap<Year, AgeDependantEnumeratedDistribution> readInAgeDependantEnumeratedDistributionDataFiles(final DirectoryStream<Path> paths, final Config config) throws IOException, InvalidInputFileException, InconsistentWeightException {
+
+        final TreeMap<Year, AgeDependantEnumeratedDistribution> data = new WriteOnceTreeMap<>();
+
+        for (final Path path : paths) {
+            final AgeDependantEnumeratedDistribution tempData = InputFileReader.readInDeathCauseDataFile(path, Randomness.getRandomGenerator());
+            data.put(tempData.getYear(), tempData);
+        }
+
+        paths.close();
+        return insertDistributionsToMeetInputWidth(config, data);
+    }
+
+    private static NavigableMap<Year, SelfCorrectingTwoDimensionDataDistribution> readInSC2DDataFiles(final DirectoryStream<Path> paths, final Config config) throws IOException, InvalidInputFileException {
+
+        final TreeMap<Year, SelfCorrectingTwoDimensionDataDistribution> data = new WriteOnceTreeMap<>();
+
+        for (final Path path : paths) {
+
+            final SelfCorrectingTwoDimensionDataDistribution tempData = InputFileReader.readInSC2DDataFile(path, config);
+            data.put(tempData.getYear(), tempData);
+        }
+
+        paths.close();
+        return insertDistributionsToMeetInputWidth(config, data);
+    }
+
+    private static NavigableMap<Year, SelfCorrecting2DIntegerRangeProportionalDistribution> readInAgeAndProportionalStatsInputFiles(final DirectoryStream<Path> paths, final Config config) throws IOException, InvalidInputFileException {
+
+        final TreeMap<Year, SelfCorrecting2DIntegerRangeProportionalDistribution> data = new WriteOnceTreeMap<>();
+
+        for (final Path path : paths) {
+            final SelfCorrecting2DIntegerRangeProportionalDistribution tempData = InputFileReader.readInAgeAndProportionalStatsInput(path, Randomness.getRandomGenerator());
+            data.put(tempData.getYear(), tempData);
+        }
+
+        paths.close();
+        return insertDistributionsToMeetInputWidth(config, data);
+    }
+
+    private static NavigableMap<Year, SelfCorrecting2DEnumeratedProportionalDistribution> readInStringAndProportionalStatsInputFiles(final DirectoryStream<Path> paths, final Config config) throws IOException, InvalidInputFileException {
+
+        final TreeMap<Year, SelfCorrecting2DEnumeratedProportionalDistribution> data = new WriteOnceTreeMap<>();
+
+        for (final Path path : paths) {
+            final SelfCorrecting2DEnumeratedProportionalDistribution tempData = InputFileReader.readInStringAndProportionalStatsInput(path, Randomness.getRandomGenerator());
+            data.put(tempData.getYear(), tempData);
+        }
+
+        paths.close();
+        return insertDistributionsToMeetInputWidth(config, data);
+    }
+
+    private static NavigableMap<Year, SelfCorrectingProportionalDistribution<IntegerRange, Integer, Integer>> readInAndAdaptAgeAndProportionalStatsInputFiles(final DirectoryStream<Path> paths, final Config config) throws IOException, InvalidInputFileException {
+
+        final TreeMap<Year, SelfCorrectingProportionalDistribution<IntegerRange, Integer, Integer>> data = new WriteOnceTreeMap<>();
+
+        for (final Path path : paths) {
+            final SelfCorrectingProportionalDistribution<IntegerRange, Integer, Integer> tempData = InputFileReader.readInAndAdaptAgeAndProportionalStatsInput(path, Randomness.getRandomGenerator());
+            data.put(tempData.getYear(), tempData);
+        }
+
+        paths.close();
+        return insertDistributionsToMeetInputWidth(config, data);
+    }
+
+    private static <T extends InputMetaData<?>> NavigableMap<Year, T> insertDistributionsToMeetInputWidth(final Config config, final TreeMap<Year, T> inputs) {
+
+        final Period inputWidth = config.getInputWidth();
+
+        final int diff = config.getT0().getYear() - config.getTS().getYear();
+        final int stepBack = (int) (inputWidth.getYears() * Math.ceil(diff / (double) inputWidth.getYears()));
+
+        Year prevInputDate = Year.of(config.getT0().minus(Period.ofYears(stepBack)).getYear());
+
+        int c = 1;
+
+        final Year[] years = inputs.keySet().toArray(new Year[0]);
+        Arrays.sort(years);
+
+        if (years.length == 0) {
+            return Collections.unmodifiableNavigableMap(inputs);
+        }
+
+        Year curDate;
+        while (true) {
+
+            curDate = prevInputDate.plus(Period.ofYears(inputWidth.getYears() * c));
+            if (!curDate.isBefore(years[0])) break;
+            inputs.put(curDate, inputs.get(years[0]));
+            c++;
+        }
+
+        prevInputDate = years[0];
+
+        for (final Year curInputDate : years) {
+
+            while (true) {
+                curDate = prevInputDate.plus(Period.ofYears(inputWidth.getYears() * c));
+                if (curDate.isAfter(curInputDate)) break;
+                final Year duplicateFrom = getNearestDate(curDate, prevInputDate, curInputDate);
+                inputs.put(curDate, inputs.get(duplicateFrom));
+                c++;
+            }
+
+            c = 1;
+            prevInputDate = curInputDate;
+        }
+
+        while (true) {
+            curDate = prevInputDate.plus(Period.ofYears(inputWidth.getYears() * c));
+            if (curDate.isAfter(Year.of(config.getTE().getYear()))) break;
+            c++;
+        }
+
+        return Collections.unmodifiableNavigableMap(inputs);
+    }
+
+    private static Year getNearestDate(final Year referenceDate, final Year option1, final Year option2) {
+
+        final int refTo1 = Math.abs(referenceDate.getValue() - option1.getValue());
+        final int refTo2 = Math.abs(referenceDate.getValue() - option2.getValue());
+
+        return (refTo1 < refTo2) ? option1 : option2;
+    }
+
+    private static class WriteOnceTreeMap<K, V> extends TreeMap<K, V> {
+
+        private static final long serialVersionUID = 4920318472615390286L;
+
+        public V put(final K key, final V value) {
+            if (containsKey(key)) throw new RuntimeException("Key " + key + " already exists");
+            return super.put(key, value);
+        }
+    }
+}
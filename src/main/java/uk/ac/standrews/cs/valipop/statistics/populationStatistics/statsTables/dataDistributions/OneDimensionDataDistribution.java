@@ -23,6 +23,7 @@ import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.InvalidRan
 import java.io.PrintStream;
 import java.time.Year;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -47,6 +48,9 @@ public class OneDimensionDataDistribution implements InputMetaData<IntegerRange>
 
     protected final Map<IntegerRange, Double> targetRates;
 
+    // Rows already found for given values, since the same few values are resolved at every time step
+    private final Map<Integer, IntegerRange> resolvedRows = new HashMap<>();
+
     public OneDimensionDataDistribution(Year year,
                                         String sourcePopulation,
                                         String sourceOrganisation,
@@ -110,8 +114,14 @@ public class OneDimensionDataDistribution implements InputMetaData<IntegerRange>
 
     protected IntegerRange resolveRowValue(Integer rowValue) {
 
+        IntegerRange resolved = resolvedRows.get(rowValue);
+        if (resolved != null) {
+            return resolved;
+        }
+
         for (IntegerRange iR : targetRates.keySet()) {
             if (iR.contains(rowValue)) {
+                resolvedRows.put(rowValue, iR);
                 return iR;
             }
         }
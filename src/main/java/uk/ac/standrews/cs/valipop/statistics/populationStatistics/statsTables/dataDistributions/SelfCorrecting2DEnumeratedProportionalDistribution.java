@@ -40,12 +40,15 @@ public class SelfCorrecting2DEnumeratedProportionalDistribution implements SelfC
     private String sourcePopulation;
     private String sourceOrganisation;
 
+    private RandomGenerator random;
+
     public SelfCorrecting2DEnumeratedProportionalDistribution(Year year, String sourcePopulation, String sourceOrganisation, Map<String, LabelledValueSet<String, Double>> targetProportions, RandomGenerator random) {
 
         this.year = year;
         this.sourceOrganisation = sourceOrganisation;
         this.sourcePopulation = sourcePopulation;
         this.targetProportions = targetProportions;
+        this.random = random;
 
         this.achievedCounts = new TreeMap<>();
 
@@ -54,6 +57,11 @@ public class SelfCorrecting2DEnumeratedProportionalDistribution implements SelfC
         }
     }
 
+    @Override
+    public SelfCorrecting2DEnumeratedProportionalDistribution copyState() {
+        return new SelfCorrecting2DEnumeratedProportionalDistribution(year, sourcePopulation, sourceOrganisation, targetProportions, random);
+    }
+
     public MultipleDeterminedCountByString determineCount(StatsKey<String, String> key, Config config, RandomGenerator random) {
 
         String occupationA = key.getYLabel();
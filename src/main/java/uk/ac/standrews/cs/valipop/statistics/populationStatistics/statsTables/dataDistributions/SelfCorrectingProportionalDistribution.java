@@ -26,4 +26,7 @@ import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.LabelledVa
 public interface SelfCorrectingProportionalDistribution<Type, X, Y> extends
                         InputMetaData<Type>,
                         SelfCorrection<LabelledValueSet<Type, Integer>, LabelledValueSet<Type, Double>, X, Y> {
+
+    @Override
+    SelfCorrectingProportionalDistribution<Type, X, Y> copyState();
 }
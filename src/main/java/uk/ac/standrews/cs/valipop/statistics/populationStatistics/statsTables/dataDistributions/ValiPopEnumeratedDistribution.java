@@ -18,7 +18,6 @@
 package uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsTables.dataDistributions;
 
 import org.apache.commons.math3.random.RandomGenerator;
-import uk.ac.standrews.cs.valipop.statistics.distributions.StringWithCumulativeProbability;
 import uk.ac.standrews.cs.valipop.statistics.distributions.EnumeratedDistribution;
 import uk.ac.standrews.cs.valipop.statistics.distributions.InconsistentWeightException;
 
@@ -61,12 +60,12 @@ public class ValiPopEnumeratedDistribution extends EnumeratedDistribution implem
 
     @Override
     public String getSmallestLabel() {
-        return items[0].getItem();
+        return items[0];
     }
 
     @Override
     public String getLargestLabel() {
-        return items[items.length - 1].getItem();
+        return items[items.length - 1];
     }
 
     @Override
@@ -74,8 +73,8 @@ public class ValiPopEnumeratedDistribution extends EnumeratedDistribution implem
 
         Collection<String> col = new ArrayList<>(items.length);
 
-        for(StringWithCumulativeProbability i : items) {
-            col.add(i.getItem());
+        for(String i : items) {
+            col.add(i);
         }
 
         return col;
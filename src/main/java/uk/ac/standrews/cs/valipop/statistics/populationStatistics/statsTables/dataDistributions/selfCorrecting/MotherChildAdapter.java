@@ -57,6 +57,15 @@ public class MotherChildAdapter implements SelfCorrectingProportionalDistributio
         distribution = new SelfCorrecting2DIntegerRangeProportionalDistribution(year, sourcePopulation, sourceOrganisation, transformedProportions, random);
     }
 
+    private MotherChildAdapter(SelfCorrecting2DIntegerRangeProportionalDistribution distribution) {
+        this.distribution = distribution;
+    }
+
+    @Override
+    public MotherChildAdapter copyState() {
+        return new MotherChildAdapter(distribution.copyState());
+    }
+
     @Override
     public Year getYear() {
         return distribution.getYear();
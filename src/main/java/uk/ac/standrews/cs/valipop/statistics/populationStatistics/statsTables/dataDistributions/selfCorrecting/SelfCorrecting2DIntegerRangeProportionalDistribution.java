@@ -24,10 +24,13 @@ import uk.ac.standrews.cs.valipop.statistics.populationStatistics.determinedCoun
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.determinedCounts.MultipleDeterminedCountByIR;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsKeys.StatsKey;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsTables.dataDistributions.SelfCorrectingProportionalDistribution;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IndexedDoubleSet;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IndexedIntegerSet;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRange;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.InvalidRangeException;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRangeToDoubleSet;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRangeToIntegerSet;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.LabelIndex;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.LabelledValueSet;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.ValuesDoNotSumToWholeNumberException;
 
@@ -45,8 +48,9 @@ public class SelfCorrecting2DIntegerRangeProportionalDistribution implements Sel
 
     // The integer range here represents the row labels (i.e. the age ranges on the ordered birth table)
     // Map<FemaleAge, LVS<MaleAge, Proportion>>
-    private Map<IntegerRange, LabelledValueSet<IntegerRange, Double>> targetProportions;
-    private Map<IntegerRange, LabelledValueSet<IntegerRange, Integer>> achievedCounts;
+    // Each row's proportions and achieved counts share a label index, as do rows with the same labels.
+    private Map<IntegerRange, IndexedDoubleSet<IntegerRange>> targetProportions;
+    private Map<IntegerRange, IndexedIntegerSet<IntegerRange>> achievedCounts;
 
     private Year year;
     private String sourcePopulation;
@@ -57,22 +61,51 @@ public class SelfCorrecting2DIntegerRangeProportionalDistribution implements Sel
         this.year = year;
         this.sourceOrganisation = sourceOrganisation;
         this.sourcePopulation = sourcePopulation;
-        this.targetProportions = targetProportions;
 
+        this.targetProportions = new TreeMap<>();
         this.achievedCounts = new TreeMap<>();
 
+        LabelIndex<IntegerRange> previousIndex = null;
+
         for (Map.Entry<IntegerRange, LabelledValueSet<IntegerRange, Double>> iR : targetProportions.entrySet()) {
-            achievedCounts.put(iR.getKey(), new IntegerRangeToIntegerSet(iR.getValue().getLabels(), 0, random));
+
+            LabelIndex<IntegerRange> index = LabelIndex.of(iR.getValue().getLabels());
+            if (previousIndex != null && previousIndex.sameLabelsAs(index)) {
+                index = previousIndex;
+            }
+            previousIndex = index;
+
+            this.targetProportions.put(iR.getKey(), IndexedDoubleSet.of(index, iR.getValue()));
+            achievedCounts.put(iR.getKey(), new IndexedIntegerSet<>(index));
+        }
+    }
+
+    private SelfCorrecting2DIntegerRangeProportionalDistribution(SelfCorrecting2DIntegerRangeProportionalDistribution distribution) {
+
+        this.year = distribution.year;
+        this.sourceOrganisation = distribution.sourceOrganisation;
+        this.sourcePopulation = distribution.sourcePopulation;
+
+        this.targetProportions = distribution.targetProportions;
+        this.achievedCounts = new TreeMap<>();
+
+        for (Map.Entry<IntegerRange, IndexedDoubleSet<IntegerRange>> iR : targetProportions.entrySet()) {
+            achievedCounts.put(iR.getKey(), new IndexedIntegerSet<>(iR.getValue().getIndex()));
         }
     }
 
+    @Override
+    public SelfCorrecting2DIntegerRangeProportionalDistribution copyState() {
+        return new SelfCorrecting2DIntegerRangeProportionalDistribution(this);
+    }
+
     public MultipleDeterminedCountByIR determineCount(StatsKey<Integer, Integer> key, Config config, RandomGenerator random) {
 
         int age = key.getYLabel();
 
-        LabelledValueSet<IntegerRange, Integer> achievedCountsForAge;
+        IntegerRange row;
         try {
-            achievedCountsForAge = achievedCounts.get(resolveRowValue(age));
+            row = resolveRowValue(age);
 
         } catch (InvalidRangeException e) {
             // If no stats in distribution for the given key then return a zero count object
@@ -82,6 +115,9 @@ public class SelfCorrecting2DIntegerRangeProportionalDistribution implements Sel
                     new IntegerRangeToDoubleSet(Collections.singleton(new IntegerRange(1)), 0.0, random));
         }
 
+        IndexedIntegerSet<IntegerRange> achievedCountsForAge = achievedCounts.get(row);
+        IndexedDoubleSet<IntegerRange> proportionsForAge = targetProportions.get(row);
+
         Integer sumOfAC = achievedCountsForAge.getSumOfValues();
         Double totalCount = sumOfAC + key.getForNPeople();
 
@@ -90,24 +126,18 @@ public class SelfCorrecting2DIntegerRangeProportionalDistribution implements Sel
             rf = config.getProportionalRecoveryFactor();
         }
 
-        LabelledValueSet<IntegerRange, Double> rawFullCorrectionValues =
-                targetProportions.get(resolveRowValue(age)).productOfValuesAndN(totalCount).valuesSubtractValues(achievedCountsForAge);
+        IndexedDoubleSet<IntegerRange> rawUncorrectedValues = proportionsForAge.productOfValuesAndN(key.getForNPeople());
 
-        LabelledValueSet<IntegerRange, Double> rawUncorrectedValues =
-                targetProportions.get(resolveRowValue(age)).productOfValuesAndN(key.getForNPeople());
-
-        LabelledValueSet<IntegerRange, Double> fullCorrectionAdjustment =
-                rawFullCorrectionValues.valuesSubtractValues(rawUncorrectedValues);
-
-        LabelledValueSet<IntegerRange, Double> correctionAdjustment =
-                fullCorrectionAdjustment.productOfValuesAndN(rf);
-
-        LabelledValueSet<IntegerRange, Double> rawCorrectedValues =
-                rawUncorrectedValues.valuesPlusValues(correctionAdjustment);
+        // Computed in place as: rawUncorrected + ((proportions * total - achieved) - rawUncorrected) * rf
+        IndexedDoubleSet<IntegerRange> rawCorrectedValues = proportionsForAge.productOfValuesAndN(totalCount)
+                .subtractInPlace(achievedCountsForAge)
+                .subtractInPlace(rawUncorrectedValues)
+                .multiplyInPlace(rf)
+                .addInPlace(rawUncorrectedValues);
 
         LabelledValueSet<IntegerRange, Integer> retValues;
         try {
-            retValues = new IntegerRangeToDoubleSet(rawCorrectedValues, random).controlledRoundingMaintainingSum();
+            retValues = rawCorrectedValues.controlledRoundingMaintainingSum();
         } catch (ValuesDoNotSumToWholeNumberException e) {
             return new MultipleDeterminedCountByIR(key, null, rawCorrectedValues, rawUncorrectedValues);
         }
@@ -118,7 +148,7 @@ public class SelfCorrecting2DIntegerRangeProportionalDistribution implements Sel
     public void returnAchievedCount(DeterminedCount<LabelledValueSet<IntegerRange, Integer>, LabelledValueSet<IntegerRange, Double>, Integer, Integer> achievedCount, RandomGenerator random) {
 
         int age = achievedCount.getKey().getYLabel();
-        LabelledValueSet<IntegerRange, Integer> previousAchievedCountsForAge;
+        IndexedIntegerSet<IntegerRange> previousAchievedCountsForAge;
 
         try {
             previousAchievedCountsForAge = achievedCounts.get(resolveRowValue(age));
@@ -126,11 +156,7 @@ public class SelfCorrecting2DIntegerRangeProportionalDistribution implements Sel
             return;
         }
 
-        LabelledValueSet<IntegerRange, Integer> newAchievedCountsForAge = achievedCount.getFulfilledCount();
-
-        LabelledValueSet<IntegerRange, Integer> summedAchievedCountsForAge = previousAchievedCountsForAge.valuesPlusValues(newAchievedCountsForAge).floorValues();
-
-        achievedCounts.replace(resolveRowValue(age), previousAchievedCountsForAge, summedAchievedCountsForAge);
+        previousAchievedCountsForAge.addInPlace(achievedCount.getFulfilledCount());
     }
 
     @Override
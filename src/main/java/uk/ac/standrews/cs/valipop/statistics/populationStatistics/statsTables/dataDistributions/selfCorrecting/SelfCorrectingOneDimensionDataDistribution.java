@@ -30,6 +30,7 @@ import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRan
 
 import java.time.Period;
 import java.time.Year;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -47,12 +48,18 @@ import java.util.Map;
 public class SelfCorrectingOneDimensionDataDistribution extends OneDimensionDataDistribution implements SelfCorrection<Integer, Double, Integer, Integer> {
 
     private final boolean binomialSampling;
-    private final RandomGenerator rng;
 
+    // Applied rates are rates per time step, and applied counts are numbers of people over time steps. Converting the
+    // rate achieved in each step to a yearly rate instead would understate the rates achieved in short steps, in which
+    // most small cohorts have no events and a few have many.
     private final Map<IntegerRange, Double> appliedRates;
     private final Map<IntegerRange, Double> appliedCounts;
 
-    public SelfCorrectingOneDimensionDataDistribution(final Year year, final String sourcePopulation, final String sourceOrganisation, final Map<IntegerRange, Double> tableData, final boolean binomialSampling, final RandomGenerator randomGenerator) {
+    // Target rates converted to the rates for a time step, with which applied rates are compared
+    private final Map<IntegerRange, Double> targetSubRates = new HashMap<>();
+    private Period targetSubRatesTimePeriod;
+
+    public SelfCorrectingOneDimensionDataDistribution(final Year year, final String sourcePopulation, final String sourceOrganisation, final Map<IntegerRange, Double> tableData, final boolean binomialSampling) {
 
         super(year, sourcePopulation, sourceOrganisation, tableData);
 
@@ -64,22 +71,24 @@ public class SelfCorrectingOneDimensionDataDistribution extends OneDimensionData
             appliedCounts.replace(iR, 0.0);
             appliedRates.replace(iR, 0.0);
         }
+    }
 
-        rng = randomGenerator;
+    @Override
+    public SelfCorrectingOneDimensionDataDistribution copyState() {
+        return new SelfCorrectingOneDimensionDataDistribution(getYear(), getSourcePopulation(), getSourceOrganisation(), targetRates, binomialSampling);
     }
 
     public SingleDeterminedCount determineCount(final StatsKey<Integer, Integer> key, final Config config, final RandomGenerator random) {
 
         final IntegerRange range = resolveRowValue(key.getYLabel());
 
-        final double targetRate = targetRates.get(range);
+        final double targetRate = getTargetSubRate(range, key.getConsideredTimePeriod());
 
         final double appliedCount = appliedCounts.get(range);
 
         // if no correction data - i.e. first call to this method
         if (appliedCount == 0) {
-            final double rateToApply = calcSubRateFromYearRate(targetRate, key.getConsideredTimePeriod());
-            return resolveRateToCount(key, rateToApply, rateToApply); // Same due to correction rate currently same as target rate
+            return resolveRateToCount(key, targetRate, targetRate, random); // Same due to correction rate currently same as target rate
         }
 
         // to apply to
@@ -89,20 +98,16 @@ public class SelfCorrectingOneDimensionDataDistribution extends OneDimensionData
 
         // if no N value given in StatsKey
         if (tAT == 0) {
-            final double rateToApply = calcSubRateFromYearRate(targetRate, key.getConsideredTimePeriod());
-            return resolveRateToCount(key, rateToApply, rateToApply);
+            return resolveRateToCount(key, targetRate, targetRate, random);
         }
 
         double rf = config != null ? config.getRecoveryFactor() : 1;
 
         final double shortfall = Math.ceil((appliedCount * targetRate) - (appliedCount * appliedRate));
 
-        double cD = Math.min(Math.max(shortfall > 0 ? (shortfall * rf + tAT * targetRate) / tAT : 0, 0), 1);
-
-        final double rateToApply = calcSubRateFromYearRate(cD, key.getConsideredTimePeriod());
-        final double uncorrectedRate = calcSubRateFromYearRate(targetRate, key.getConsideredTimePeriod());
+        final double rateToApply = Math.min(Math.max(shortfall > 0 ? (shortfall * rf + tAT * targetRate) / tAT : 0, 0), 1);
 
-        return resolveRateToCount(key, rateToApply, uncorrectedRate);
+        return resolveRateToCount(key, rateToApply, targetRate, random);
     }
 
     public void returnAchievedCount(final DeterminedCount<Integer, Double, Integer, Integer> achievedCount, final RandomGenerator random) {
@@ -121,7 +126,7 @@ public class SelfCorrectingOneDimensionDataDistribution extends OneDimensionData
 
         final double oldAppliedCount = appliedCounts.get(age);
 
-        final double appliedCorrectionRate = calcAppliedYearRateFromSubRate(achievedRate, key.getConsideredTimePeriod());
+        final double appliedCorrectionRate = achievedRate;
 
         // to apply to
         final double tAT = key.getForNPeople();
@@ -133,7 +138,7 @@ public class SelfCorrectingOneDimensionDataDistribution extends OneDimensionData
             0;
 
         // target rate
-        final double targetRate = targetRates.get(age);
+        final double targetRate = getTargetSubRate(age, key.getConsideredTimePeriod());
 
         // if new applied rate has switched across target rate then reset count
         if ((oldAppliedRate < targetRate && newAppliedRate >= targetRate) || (oldAppliedRate > targetRate && newAppliedRate <= targetRate)) {
@@ -155,21 +160,26 @@ public class SelfCorrectingOneDimensionDataDistribution extends OneDimensionData
         }
     }
 
-    private SingleDeterminedCount resolveRateToCount(final StatsKey<Integer,Integer> key, final double rate, final double uncorrectedRate) {
+    private SingleDeterminedCount resolveRateToCount(final StatsKey<Integer,Integer> key, final double rate, final double uncorrectedRate, final RandomGenerator random) {
 
         final double rawCorrectedCount = rate * key.getForNPeople();
         final double rawUncorrectedCount = uncorrectedRate * key.getForNPeople();
 
         final int determinedCount = binomialSampling ?
-            new BinomialDistribution(rng, (int) Math.round(key.getForNPeople()), rate).sample() :
+            new BinomialDistribution(random, (int) Math.round(key.getForNPeople()), rate).sample() :
             (int) Math.round(rate * key.getForNPeople());
 
         return new SingleDeterminedCount(key, determinedCount, rawCorrectedCount, rawUncorrectedCount);
     }
 
-    private static double calcAppliedYearRateFromSubRate(final double subRate, final Period timePeriod) {
+    private double getTargetSubRate(final IntegerRange range, final Period timePeriod) {
+
+        if (!timePeriod.equals(targetSubRatesTimePeriod)) {
+            targetSubRates.clear();
+            targetSubRatesTimePeriod = timePeriod;
+        }
 
-        return 1 - StrictMath.pow(1 - subRate, DateUtils.stepsInYear(timePeriod));
+        return targetSubRates.computeIfAbsent(range, r -> calcSubRateFromYearRate(targetRates.get(r), timePeriod));
     }
 
     private static double calcSubRateFromYearRate(final double yearRate, final Period timePeriod) {
@@ -34,6 +34,7 @@ import java.time.Year;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
@@ -55,6 +56,17 @@ public class SelfCorrectingTwoDimensionDataDistribution implements InputMetaData
         this.data = tableData;
     }
 
+    @Override
+    public SelfCorrectingTwoDimensionDataDistribution copyState() {
+
+        final Map<IntegerRange, SelfCorrectingOneDimensionDataDistribution> copy = new TreeMap<>();
+        for (final Map.Entry<IntegerRange, SelfCorrectingOneDimensionDataDistribution> row : data.entrySet()) {
+            copy.put(row.getKey(), row.getValue().copyState());
+        }
+
+        return new SelfCorrectingTwoDimensionDataDistribution(year, sourcePopulation, sourceOrganisation, copy);
+    }
+
     static int debug_count = 0;
     public SingleDeterminedCount determineCount(final StatsKey<Integer, Integer> key, final Config config, final RandomGenerator random) {
         try {
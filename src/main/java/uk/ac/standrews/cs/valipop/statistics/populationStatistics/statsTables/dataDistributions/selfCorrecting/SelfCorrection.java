@@ -32,4 +32,9 @@ public interface SelfCorrection<Type, Raw, X, Y> {
     DeterminedCount<Type, Raw, X, Y> determineCount(StatsKey<X, Y> key, Config config, RandomGenerator random);
 
     void returnAchievedCount(DeterminedCount<Type, Raw, X, Y> achievedCount, RandomGenerator random);
+
+    /**
+     * @return a copy of this distribution sharing its target data, with self-correction state as on construction
+     */
+    SelfCorrection<Type, Raw, X, Y> copyState();
 }
@@ -19,9 +19,12 @@ package uk.ac.standrews.cs.valipop.utils;
 
 import org.apache.commons.math3.random.RandomGenerator;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
 import java.util.RandomAccess;
 
 /**
@@ -68,4 +71,45 @@ public class CollectionUtils {
         arr[i] = arr[j];
         arr[j] = tmp;
     }
+
+    /*
+    -------- Lazy shuffling ---------
+     */
+
+    /**
+     * Returns an iterator over the elements of the list in a uniformly random order. The list is shuffled in place as
+     * the iteration proceeds: each element returned costs one random draw, so a caller that stops after k elements
+     * pays for k draws rather than for a shuffle of the whole list. Lists that do not support random access are first
+     * copied, and are then left unchanged. The list must not be structurally modified during the iteration.
+     *
+     * @param list the list to iterate over
+     * @param rnd  the source of randomness
+     * @return an iterator over the elements in random order
+     */
+    public static <T> Iterator<T> shuffledIterator(final List<T> list, final RandomGenerator rnd) {
+
+        final List<T> elements = list instanceof RandomAccess ? list : new ArrayList<>(list);
+
+        return new Iterator<>() {
+
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < elements.size();
+            }
+
+            @Override
+            public T next() {
+
+                if (!hasNext()) throw new NoSuchElementException();
+
+                final int remaining = elements.size() - next;
+                if (remaining > 1)
+                    Collections.swap(elements, next, next + rnd.nextInt(remaining));
+
+                return elements.get(next++);
+            }
+        };
+    }
 }
@@ -20,12 +20,18 @@ package uk.ac.standrews.cs.valipop.utils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Collectors;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.Area;
+import uk.ac.standrews.cs.valipop.utils.addressLookup.BinaryGeography;
 import uk.ac.standrews.cs.valipop.utils.addressLookup.Cache;
 
 /**
- * Used to convert a custom geography files (.ser) into JSON. May be executed standalone.
+ * Used to convert a custom geography files (.ser) into JSON, or either of these into the binary geography format.
+ * May be executed standalone, with the source and target files as arguments; the target is written in binary form
+ * if its name ends with {@value BinaryGeography#FILE_EXTENSION}.
  */
 public class GeogFileConverter {
 
@@ -39,11 +45,39 @@ public class GeogFileConverter {
                                                        .collect(Collectors.toList()));
     }
 
+    /**
+     * Converts a serialized cache or JSON geography into the binary geography format.
+     */
+    public static void convertToBinary(String source, String target) throws IOException, ClassNotFoundException {
+
+        List<Area> areas;
+
+        if (source.endsWith(".ser")) {
+            areas = Cache.readFromFile(source).getAllAreas().stream()
+                    .filter(GeogFileConverter::isDataComplete)
+                    .collect(Collectors.toList());
+        } else {
+            areas = Arrays.asList(new ObjectMapper().readValue(new File(source), Area[].class));
+        }
+
+        BinaryGeography.write(areas, Path.of(target));
+    }
+
     private static boolean isDataComplete(Area area) {
         return !(area.getRoad() == null || area.getSuburb() == null && area.getTown() == null && area.getCounty() == null);
     }
 
     public static void main(String[] args) throws IOException, ClassNotFoundException {
+
+        if (args.length == 2) {
+            if (args[1].endsWith(BinaryGeography.FILE_EXTENSION)) {
+                convertToBinary(args[0], args[1]);
+            } else {
+                convert(args[0], args[1]);
+            }
+            return;
+        }
+
         convert("valipop/src/main/resources/valipop/inputs/scotland_test_population_no_mig/annotations/geography/scotland-residential-ways.ser",
                 "valipop/src/main/resources/valipop/inputs/scotland_test_population/annotations/geography/scotland-residential-ways.json");
     }
@@ -101,7 +101,7 @@ public class InputFileReader {
         return data;
     }
 
-    public static SelfCorrectingTwoDimensionDataDistribution readInSC2DDataFile(Path path, Config config, RandomGenerator randomGenerator) throws IOException, InvalidInputFileException {
+    public static SelfCorrectingTwoDimensionDataDistribution readInSC2DDataFile(Path path, Config config) throws IOException, InvalidInputFileException {
 
         List<String> lines = new ArrayList<>(getAllLines(path));
 
@@ -164,7 +164,7 @@ public class InputFileReader {
                         }
 
                         data.put(rowLabel,
-                                new SelfCorrectingOneDimensionDataDistribution(year, sourcePopulation, sourceOrganisation, rowMap, config.getBinomialSampling(), randomGenerator)
+                                new SelfCorrectingOneDimensionDataDistribution(year, sourcePopulation, sourceOrganisation, rowMap, config.getBinomialSampling())
                         );
                     }
                     break;
@@ -323,11 +323,11 @@ public class InputFileReader {
         return new OneDimensionDataDistribution(year, sourcePopulation, sourceOrganisation, data);
     }
 
-    public static SelfCorrectingOneDimensionDataDistribution readInSC1DDataFile(Path path, Config config, RandomGenerator randomGenerator) throws IOException, InvalidInputFileException {
+    public static SelfCorrectingOneDimensionDataDistribution readInSC1DDataFile(Path path, Config config) throws IOException, InvalidInputFileException {
 
         OneDimensionDataDistribution d = readIn1DDataFile(path);
         return new SelfCorrectingOneDimensionDataDistribution(
-                d.getYear(), d.getSourcePopulation(), d.getSourceOrganisation(), d.cloneData(), config.getBinomialSampling(), randomGenerator);
+                d.getYear(), d.getSourcePopulation(), d.getSourceOrganisation(), d.cloneData(), config.getBinomialSampling());
     }
 
     public static SelfCorrecting2DIntegerRangeProportionalDistribution readInAgeAndProportionalStatsInput(Path path, RandomGenerator random) throws IOException, InvalidInputFileException {
@@ -495,6 +495,9 @@ public class InputFileReader {
         try {
             Map<R, LabelledValueSet<L, V>> data = new TreeMap<>();
 
+            // Cells with the same text share a single value, as most cells of the larger tables are zero.
+            Map<String, V> values = new HashMap<>();
+
             i++; // go to next line for data rows
             for (; i < lines.size(); i++) {
                 String s = lines.get(i);
@@ -520,7 +523,12 @@ public class InputFileReader {
 
                 for (int j = 1; j < split.length; j++) {
                     try {
-                        rowMap.put(columnLabels.get(j - 1), constructor.newInstance(split[j]));
+                        V value = values.get(split[j]);
+                        if (value == null) {
+                            value = constructor.newInstance(split[j]);
+                            values.put(split[j], value);
+                        }
+                        rowMap.put(columnLabels.get(j - 1), value);
 
                     } catch (NumberFormatException e) {
                         throw new InvalidInputFileException("The value in column " + j + " should be a Double on line " + (i + 1) + "in the file: " + path.toString(), e);
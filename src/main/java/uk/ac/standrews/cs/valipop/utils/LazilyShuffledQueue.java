@@ -0,0 +1,152 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils;
+
+import org.apache.commons.math3.random.RandomGenerator;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.RandomAccess;
+
+/**
+ * A queue whose initial elements are taken in a uniformly random order, followed by any elements added later in the
+ * order in which they were added. The initial elements are shuffled lazily, as they reach the head of the queue or are
+ * reached by an iterator, so the cost of shuffling grows with the number of elements consumed rather than with the
+ * number of initial elements.
+ *
+ * Initial elements given as a random access list are not copied: only the positions disturbed by the shuffle so far
+ * are recorded, so the cost of creating the queue does not grow with the number of initial elements either. Such a
+ * list must not be modified while the queue is in use.
+ *
+ * The queue must not be modified while an iterator over it is in use.
+ */
+public class LazilyShuffledQueue<T> extends AbstractQueue<T> {
+
+    private final RandomGenerator random;
+
+    private final List<? extends T> initialElements;
+
+    // The initial elements that have been moved by the shuffle, by their current position
+    private final Map<Integer, T> movedElements = new HashMap<>();
+
+    private final Queue<T> addedElements = new ArrayDeque<>();
+
+    // The initial elements still in the queue are at positions [head, initialEnd), of which those before shuffledEnd
+    // are already in their final positions.
+    private int head = 0;
+    private int shuffledEnd = 0;
+    private final int initialEnd;
+
+    /**
+     * @param initialElements the elements to be taken in random order
+     * @param random          the source of randomness
+     */
+    public LazilyShuffledQueue(final Collection<? extends T> initialElements, final RandomGenerator random) {
+
+        this.random = random;
+
+        this.initialElements = initialElements instanceof List<? extends T> list && list instanceof RandomAccess ?
+                list : new ArrayList<>(initialElements);
+        initialEnd = this.initialElements.size();
+    }
+
+    @Override
+    public boolean offer(final T element) {
+
+        return addedElements.offer(element);
+    }
+
+    @Override
+    public T poll() {
+
+        if (head == initialEnd) return addedElements.poll();
+
+        final T element = elementAt(head);
+        movedElements.remove(head++);
+
+        return element;
+    }
+
+    @Override
+    public T peek() {
+
+        return head == initialEnd ? addedElements.peek() : elementAt(head);
+    }
+
+    @Override
+    public int size() {
+        return initialEnd - head + addedElements.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+
+        return new Iterator<>() {
+
+            private int next = head;
+            private final Iterator<T> added = addedElements.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return next < initialEnd || added.hasNext();
+            }
+
+            @Override
+            public T next() {
+
+                if (next < initialEnd) return elementAt(next++);
+                if (added.hasNext()) return added.next();
+
+                throw new NoSuchElementException();
+            }
+        };
+    }
+
+    private T elementAt(final int index) {
+
+        while (shuffledEnd <= index && shuffledEnd < initialEnd) {
+
+            final int remaining = initialEnd - shuffledEnd;
+
+            if (remaining > 1) {
+                final int chosen = shuffledEnd + random.nextInt(remaining);
+
+                final T temp = currentElementAt(shuffledEnd);
+                movedElements.put(shuffledEnd, currentElementAt(chosen));
+                movedElements.put(chosen, temp);
+            }
+            shuffledEnd++;
+        }
+
+        return currentElementAt(index);
+    }
+
+    private T currentElementAt(final int index) {
+
+        final T moved = movedElements.get(index);
+        return moved != null ? moved : initialElements.get(index);
+    }
+}
@@ -83,6 +83,11 @@ public class ProcessArgs {
             } catch (ArrayIndexOutOfBoundsException e) {
                 System.err.println("Minima Error D");
             }
+
+            // optional number of runs to evaluate concurrently
+            if (args.length > 8) {
+                processed[8] = args[8];
+            }
         }
 
         if (executionType.equals("FACTOR_SEARCH")) {
@@ -182,7 +187,7 @@ public class ProcessArgs {
 
     private static boolean minimaCheck(String[] args) {
 
-        return args.length == 8
+        return (args.length == 8 || args.length == 9 && !Objects.equals(args[8], ""))
                 && !Objects.equals(args[0], "") && !Objects.equals(args[1], "")
                 && !Objects.equals(args[2], "") && !Objects.equals(args[3], "")
                 && !Objects.equals(args[4], "") && !Objects.equals(args[5], "")
@@ -0,0 +1,122 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.*;
+
+/**
+ * Directs log records to the log file of the simulation run on the current thread, so that runs simulated
+ * concurrently each log to their own file, at the level of their own configuration. Installed once on the root
+ * logger; records logged on a thread with no run log open are passed to the handlers the root logger had before.
+ */
+public final class RunLogHandler extends Handler {
+
+    private static final ThreadLocal<Handler> runHandler = new ThreadLocal<>();
+    private static RunLogHandler installed = null;
+
+    private final Handler[] otherHandlers;
+
+    private RunLogHandler(final Handler[] otherHandlers) {
+        this.otherHandlers = otherHandlers;
+    }
+
+    /**
+     * Opens a log file for the run on the current thread, closing any previously opened on the thread.
+     *
+     * @param logFile the path of the log file
+     * @param level the level of the records written to the log file
+     * @throws IOException if the file cannot be opened
+     */
+    public static void openRunLog(final Path logFile, final Level level) throws IOException {
+
+        install(level);
+        closeRunLog();
+
+        final Handler handler = new FileHandler(logFile.toString());
+        handler.setFormatter(new SimpleFormatter());
+        handler.setLevel(level);
+
+        runHandler.set(handler);
+    }
+
+    /**
+     * Closes the log file of the run on the current thread, if one is open.
+     */
+    public static void closeRunLog() {
+
+        final Handler handler = runHandler.get();
+
+        if (handler != null) {
+            runHandler.remove();
+            handler.close();
+        }
+    }
+
+    private static synchronized void install(final Level level) {
+
+        final Logger rootLogger = Logger.getLogger("");
+
+        if (installed == null) {
+
+            installed = new RunLogHandler(rootLogger.getHandlers());
+
+            for (final Handler h : installed.otherHandlers)
+                rootLogger.removeHandler(h);
+
+            rootLogger.addHandler(installed);
+            rootLogger.setLevel(level);
+
+        } else if (level.intValue() < rootLogger.getLevel().intValue()) {
+
+            // Each run log filters its own records, so the root logger passes on those of the most detailed run.
+            rootLogger.setLevel(level);
+        }
+    }
+
+    @Override
+    public void publish(final LogRecord record) {
+
+        final Handler handler = runHandler.get();
+
+        if (handler != null) {
+            handler.publish(record);
+        } else {
+            for (final Handler h : otherHandlers)
+                h.publish(record);
+        }
+    }
+
+    @Override
+    public void flush() {
+
+        final Handler handler = runHandler.get();
+        if (handler != null) handler.flush();
+
+        for (final Handler h : otherHandlers)
+            h.flush();
+    }
+
+    @Override
+    public void close() {
+
+        for (final Handler h : otherHandlers)
+            h.close();
+    }
+}
@@ -20,8 +20,9 @@ package uk.ac.standrews.cs.valipop.utils.addressLookup;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.SequencedSet;
 
 /**
  * Represents a location with persons living in it.
@@ -43,7 +44,8 @@ public class Address {
     boolean country = false;
     String name = "";
 
-    ArrayList<IPerson> inhabitants = new ArrayList<>();
+    // Iterates in order of moving in, as a list would, with constant time membership and removal.
+    final LinkedHashSet<IPerson> inhabitants = new LinkedHashSet<>();
 
     public Address(long number, Area area, Geography geography) {
         this.number = number;
@@ -62,8 +64,10 @@ public class Address {
 
         inhabitants.add(person);
 
-        if (!wasInhabited && !country)
+        if (!wasInhabited && !country) {
+            area.addressOccupied();
             geography.updated(this);
+        }
 
     }
 
@@ -76,15 +80,17 @@ public class Address {
 
         boolean ret = inhabitants.remove(person);
 
-        if (!isInhabited() && !country)
+        if (!isInhabited() && !country) {
+            if (ret) area.addressVacated();
             geography.updated(this);
+        }
 
         return ret;
 
     }
 
-    public List<IPerson> getInhabitants() {
-        return inhabitants;
+    public SequencedSet<IPerson> getInhabitants() {
+        return Collections.unmodifiableSequencedSet(inhabitants);
     }
 
     public boolean isInhabited() {
@@ -151,7 +157,7 @@ public class Address {
         }
 
         while(inhabitants.size() > 0) {
-            IPerson evictee = inhabitants.get(0);
+            IPerson evictee = inhabitants.getFirst();
             LocalDate moveDate = evictee.cancelLastMove(geography);
             evictee.setAddress(moveDate, moveTo);
         }
@@ -88,7 +88,65 @@ public class Area implements Serializable {
 
     private transient ArrayList<Address> addresses = new ArrayList<>();
 
+    // The number of addresses with inhabitants, kept by the addresses as they change.
+    private transient int occupiedAddresses = 0;
+
+    // For deserialisation.
+    private Area() {
+    }
+
+    Area(long placeId, String error, String road, String suburb, String town, String county, String state, String postcode,
+         BoundingBox boundingBox, Place details, long numberingOffset, long maximumNumberOfAbodes) {
+
+        this.placeId = placeId;
+        this.error = error;
+        this.road = road;
+        this.suburb = suburb;
+        this.town = town;
+        this.county = county;
+        this.state = state;
+        this.postcode = postcode;
+        this.boundingBox = boundingBox;
+        this.details = details;
+        this.numberingOffset = numberingOffset;
+        this.maximumNumberOfAbodes = maximumNumberOfAbodes;
+    }
+
+    private Area(Area area) {
+
+        error = area.error;
+        placeId = area.placeId;
+
+        road = area.road;
+        suburb = area.suburb;
+        town = area.town;
+        county = area.county;
+        state = area.state;
+        postcode = area.postcode;
+
+        boundingBoxString = area.boundingBoxString;
+        boundingBox = area.boundingBox;
+        details = area.details;
+
+        numberingOffset = area.numberingOffset;
+        maximumNumberOfAbodes = area.maximumNumberOfAbodes;
+    }
+
+    /**
+     * @return a copy of this area with no addresses, sharing its description of the area
+     */
+    public Area copy() {
+        return new Area(this);
+    }
+
     public static Area makeArea(String jsonInput, Cache cache) throws IOException, InvalidCoordSet, InterruptedException, APIOverloadedException, URISyntaxException {
+        return makeArea(jsonInput, cache, placeId -> OpenStreetMapAPI.getPlaceFromAPI(placeId, cache));
+    }
+
+    /**
+     * Makes an area from a reverse geocoding response, obtaining the details of newly seen places from the given lookup.
+     */
+    static Area makeArea(String jsonInput, Cache cache, PlaceLookup places) throws IOException, InvalidCoordSet, InterruptedException, APIOverloadedException, URISyntaxException {
         Area area = mapper.readValue(jsonInput, Area.class);
 
         if(area.error.equals("none")) {
@@ -100,7 +158,7 @@ public class Area implements Serializable {
             }
 
             area.boundingBox = new BoundingBox(area.boundingBoxString);
-            area.details = OpenStreetMapAPI.getPlaceFromAPI(area.placeId, cache);
+            area.details = places.getPlace(area.placeId);
 
             if (area.isResidential()) {
                 area.maximumNumberOfAbodes = Math.round(ReverseGeocodeLookup.ABODES_PER_KM * GPSDistanceConverter.distance(area.boundingBox.getBottomLeft(), area.boundingBox.getTopRight(), 'K'));
@@ -112,7 +170,7 @@ public class Area implements Serializable {
                     if (set == null) {
                         cache.addAreaSet(areaString, new AreaSet(area));
                     } else {
-                        area.numberingOffset = set.addArea(area);
+                        area.numberingOffset = cache.addToAreaSet(set, area);
                     }
 
                 } catch (IncompleteAreaInformationException e) {
@@ -154,9 +212,11 @@ public class Area implements Serializable {
 
         if(addresses == null) addresses = new ArrayList<>();
 
-        for(Address address : addresses) {
-            if(!address.isInhabited()) {
-                return address;
+        if(occupiedAddresses < addresses.size()) {
+            for(Address address : addresses) {
+                if(!address.isInhabited()) {
+                    return address;
+                }
             }
         }
 
@@ -266,14 +326,15 @@ public class Area implements Serializable {
 
         if(addresses == null) addresses = new ArrayList<>();
 
-        if(addresses.size() < maximumNumberOfAbodes)
-            return false;
+        return addresses.size() >= maximumNumberOfAbodes && occupiedAddresses == addresses.size();
+    }
 
-        for(Address address : addresses)
-            if(!address.isInhabited())
-                return false;
+    void addressOccupied() {
+        occupiedAddresses++;
+    }
 
-        return true;
+    void addressVacated() {
+        occupiedAddresses--;
     }
 
     public String getError() {
@@ -299,4 +360,8 @@ public class Area implements Serializable {
     public ArrayList<Address> getAddresses() {
         return addresses;
     }
+
+    interface PlaceLookup {
+        Place getPlace(long placeId) throws IOException, InterruptedException, APIOverloadedException, URISyntaxException;
+    }
 }
@@ -0,0 +1,254 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.addressLookup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Looks up the areas containing many points at once. Responses are taken from a {@link GeocodeCache} where
+ * possible, and otherwise requested from an endpoint with a bounded number of requests in flight, spaced at least
+ * a given interval apart. Each response is recorded in the geocode cache as soon as it arrives, so an interrupted
+ * batch can be resumed without repeating requests.
+ *
+ * The resulting areas are added to an address {@link Cache} in the order of the points given, as they would be by
+ * {@link ReverseGeocodeLookup}.
+ */
+public class BatchReverseGeocoder {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final GeocodingEndpoint endpoint;
+    private final GeocodeCache responses;
+    private final Semaphore inFlight;
+    private final long minimumRequestGapNanos;
+
+    private final Map<Long, CompletableFuture<String>> pendingReverse = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<String>> pendingDetails = new ConcurrentHashMap<>();
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger cachedResponses = new AtomicInteger();
+
+    private long nextRequestTime = System.nanoTime();
+
+    /**
+     * @param maximumRequestsInFlight the maximum number of requests awaiting responses at any time
+     * @param minimumRequestGap the minimum interval between the starts of successive requests
+     */
+    public BatchReverseGeocoder(final GeocodingEndpoint endpoint, final GeocodeCache responses, final int maximumRequestsInFlight, final Duration minimumRequestGap) {
+
+        this.endpoint = endpoint;
+        this.responses = responses;
+
+        inFlight = new Semaphore(maximumRequestsInFlight);
+        minimumRequestGapNanos = minimumRequestGap.toNanos();
+    }
+
+    /**
+     * Finds the area for each of the given points, adding new areas to the address cache.
+     *
+     * @return the area for each point, in the same order
+     */
+    public List<Area> lookup(final List<Coords> points, final Cache cache) throws IOException, InterruptedException, APIOverloadedException, InvalidCoordSet, URISyntaxException {
+
+        final List<CompletableFuture<String>> reverseResponses = new ArrayList<>();
+
+        for (final Coords point : points) {
+            reverseResponses.add(cache.checkCache(point.lat, point.lon) == null ? reverse(point) : null);
+        }
+
+        final List<Area> areas = new ArrayList<>();
+
+        for (int i = 0; i < points.size(); i++) {
+
+            final Coords point = points.get(i);
+            Area area = cache.checkCache(point.lat, point.lon);
+
+            if (area == null) {
+                area = Area.makeArea(await(reverseResponses.get(i)), cache, placeId -> Place.makePlace(await(details(placeId))));
+                ReverseGeocodeLookup.record(cache, point.lat, point.lon, area);
+            }
+
+            areas.add(area);
+        }
+
+        return areas;
+    }
+
+    /**
+     * @return the number of requests made to the endpoint
+     */
+    public int getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return the number of responses found in the geocode cache
+     */
+    public int getCachedResponseCount() {
+        return cachedResponses.get();
+    }
+
+    private CompletableFuture<String> reverse(final Coords point) throws IOException, InterruptedException {
+
+        return fetch(pendingReverse, GeocodeCache.quantise(point.lat, point.lon),
+                () -> responses.getReverse(point.lat, point.lon),
+                () -> endpoint.reverse(point.lat, point.lon),
+                json -> {
+                    responses.putReverse(point.lat, point.lon, json);
+
+                    // Fetch the details of the place while other responses are awaited, in case it is new.
+                    final long placeId = placeIdOf(json);
+                    if (placeId != 0) details(placeId);
+                });
+    }
+
+    private CompletableFuture<String> details(final long placeId) throws IOException, InterruptedException {
+
+        return fetch(pendingDetails, placeId,
+                () -> responses.getDetails(placeId),
+                () -> endpoint.details(placeId),
+                json -> responses.putDetails(placeId, json));
+    }
+
+    /**
+     * Returns a recorded response if there is one, or else the pending or a new request for it. Responses are
+     * recorded before their requests stop being pending, so each is requested at most once.
+     */
+    private CompletableFuture<String> fetch(final Map<Long, CompletableFuture<String>> pending, final long key, final RecordedResponse recorded,
+                                            final Request request, final ResponseHandler handler) throws IOException, InterruptedException {
+
+        final CompletableFuture<String> response = new CompletableFuture<>();
+
+        final CompletableFuture<String> existing = pending.putIfAbsent(key, response);
+        if (existing != null) return existing;
+
+        try {
+            final String cached = recorded.get();
+
+            if (cached != null) {
+                cachedResponses.incrementAndGet();
+                response.complete(cached);
+
+            } else {
+                request(request, handler).whenComplete((json, e) -> {
+                    if (e == null) response.complete(json);
+                    else response.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+                });
+            }
+
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            response.completeExceptionally(e);
+            throw e;
+
+        } finally {
+            response.whenComplete((json, e) -> pending.remove(key, response));
+        }
+
+        return response;
+    }
+
+    private CompletableFuture<String> request(final Request request, final ResponseHandler handler) throws InterruptedException {
+
+        inFlight.acquire();
+        awaitRequestSlot();
+        requests.incrementAndGet();
+
+        final CompletableFuture<String> response;
+        try {
+            response = request.send();
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+
+        return response.whenComplete((json, e) -> inFlight.release()).thenApply(json -> {
+            try {
+                handler.accept(json);
+                return json;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    private synchronized void awaitRequestSlot() throws InterruptedException {
+
+        final long wait = nextRequestTime - System.nanoTime();
+        if (wait > 0) {
+            Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+        }
+
+        nextRequestTime = Math.max(nextRequestTime, System.nanoTime()) + minimumRequestGapNanos;
+    }
+
+    /**
+     * Returns the place id in a reverse geocoding response, or zero if the lookup failed.
+     */
+    private long placeIdOf(final String json) throws IOException {
+
+        final JsonNode response = MAPPER.readTree(json);
+        return response.has("error") ? 0 : response.path("place_id").asLong();
+    }
+
+    private static String await(final CompletableFuture<String> response) throws IOException, InterruptedException, APIOverloadedException {
+
+        try {
+            return response.join();
+
+        } catch (CompletionException e) {
+
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof IOException ioException) throw ioException;
+            if (cause instanceof UncheckedIOException uncheckedIOException) throw uncheckedIOException.getCause();
+            if (cause instanceof APIOverloadedException apiOverloadedException) throw apiOverloadedException;
+            if (cause instanceof InterruptedException interruptedException) throw interruptedException;
+
+            throw e;
+        }
+    }
+
+    private interface RecordedResponse {
+        String get() throws IOException;
+    }
+
+    private interface Request {
+        CompletableFuture<String> send();
+    }
+
+    private interface ResponseHandler {
+        void accept(String json) throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.addressLookup;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Reads and writes geographies in a compact binary format, which loads much faster than the JSON form and shares a
+ * single instance of each distinct name between areas.
+ *
+ * A file holds a header, a table of the distinct strings used by the areas (road and locality names, place types and
+ * errors), then one record per area. Strings are referenced by their position in the table, and coordinates are
+ * packed as integer multiples of 10<sup>-7</sup> degrees, the precision of OpenStreetMap coordinates. The unparsed
+ * bounding box strings of areas are not recorded.
+ */
+public class BinaryGeography {
+
+    public static final String FILE_EXTENSION = ".vgeo";
+
+    private static final int MAGIC = 0x56504745; // "VPGE"
+    private static final int VERSION = 1;
+
+    private static final double COORDINATE_SCALE = 1E7;
+
+    private static final int NO_STRING = -1;
+
+    private static final byte HAS_BOUNDING_BOX = 1;
+    private static final byte HAS_DETAILS = 2;
+    private static final byte HAS_CENTROID = 4;
+
+    private BinaryGeography() {
+    }
+
+    /**
+     * @param file a geography file
+     * @return true if the file is in the binary format
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isBinary(final Path file) throws IOException {
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            return in.readInt() == MAGIC;
+        } catch (final EOFException e) {
+            return false;
+        }
+    }
+
+    public static void write(final Collection<Area> areas, final Path file) throws IOException {
+
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        for (final Area area : areas) {
+            for (final String s : stringsOf(area)) {
+                if (s != null) strings.putIfAbsent(s, strings.size());
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            out.writeInt(strings.size());
+            for (final String s : strings.keySet()) {
+                final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(areas.size());
+            for (final Area area : areas) {
+                writeArea(area, strings, out);
+            }
+        }
+    }
+
+    /**
+     * Reads the areas in a binary geography file.
+     *
+     * @param file the file
+     * @return the areas, in the order in which they were written
+     * @throws IOException if the file cannot be read or is not a binary geography
+     */
+    public static List<Area> read(final Path file) throws IOException {
+
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+        try {
+            if (buffer.getInt() != MAGIC) throw new IOException("not a binary geography file: " + file);
+
+            final int version = buffer.getInt();
+            if (version != VERSION) throw new IOException("unsupported binary geography version " + version + ": " + file);
+
+            final String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                final int length = buffer.getInt();
+                strings[i] = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            }
+
+            final int numberOfAreas = buffer.getInt();
+            final List<Area> areas = new ArrayList<>(numberOfAreas);
+
+            for (int i = 0; i < numberOfAreas; i++) {
+                areas.add(readArea(buffer, strings));
+            }
+
+            return areas;
+
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("truncated or corrupt binary geography file: " + file, e);
+        }
+    }
+
+    private static List<String> stringsOf(final Area area) {
+
+        final List<String> strings = new ArrayList<>(Arrays.asList(area.getError(), area.getRoad(), area.getSuburb(),
+                area.getTown(), area.getCounty(), area.getState(), area.getPostcode()));
+
+        final Place details = area.getDetails();
+        if (details != null) {
+            strings.addAll(Arrays.asList(details.getCategory(), details.getType(), details.getOsmType()));
+        }
+
+        return strings;
+    }
+
+    private static void writeArea(final Area area, final Map<String, Integer> strings, final DataOutputStream out) throws IOException {
+
+        final BoundingBox boundingBox = area.getBoundingBox();
+        final Place details = area.getDetails();
+        final Coords centroid = details != null ? details.getCentroid() : null;
+
+        out.writeLong(area.getPlaceId());
+        out.writeLong(area.getNumberingOffset());
+        out.writeLong(area.getMaximumNumberOfAbodes());
+
+        out.writeByte((boundingBox != null ? HAS_BOUNDING_BOX : 0) | (details != null ? HAS_DETAILS : 0) | (centroid != null ? HAS_CENTROID : 0));
+
+        for (final String s : Arrays.asList(area.getError(), area.getRoad(), area.getSuburb(), area.getTown(), area.getCounty(), area.getState(), area.getPostcode())) {
+            writeString(s, strings, out);
+        }
+
+        if (boundingBox != null) {
+            writeCoords(boundingBox.getBottomLeft(), out);
+            writeCoords(boundingBox.getTopRight(), out);
+        }
+
+        if (details != null) {
+            writeString(details.getCategory(), strings, out);
+            writeString(details.getType(), strings, out);
+            writeString(details.getOsmType(), strings, out);
+            out.writeLong(details.getOsmWayID());
+
+            if (centroid != null) writeCoords(centroid, out);
+        }
+    }
+
+    private static Area readArea(final ByteBuffer buffer, final String[] strings) {
+
+        final long placeId = buffer.getLong();
+        final long numberingOffset = buffer.getLong();
+        final long maximumNumberOfAbodes = buffer.getLong();
+
+        final byte flags = buffer.get();
+
+        final String error = readString(buffer, strings);
+        final String road = readString(buffer, strings);
+        final String suburb = readString(buffer, strings);
+        final String town = readString(buffer, strings);
+        final String county = readString(buffer, strings);
+        final String state = readString(buffer, strings);
+        final String postcode = readString(buffer, strings);
+
+        BoundingBox boundingBox = null;
+        if ((flags & HAS_BOUNDING_BOX) != 0) {
+            boundingBox = new BoundingBox();
+            boundingBox.setBottomLeft(readCoords(buffer));
+            boundingBox.setTopRight(readCoords(buffer));
+        }
+
+        Place details = null;
+        if ((flags & HAS_DETAILS) != 0) {
+            final String category = readString(buffer, strings);
+            final String type = readString(buffer, strings);
+            final String osmType = readString(buffer, strings);
+            final long osmWayID = buffer.getLong();
+            final Coords centroid = (flags & HAS_CENTROID) != 0 ? readCoords(buffer) : null;
+
+            details = new Place(category, type, osmType, osmWayID, centroid);
+        }
+
+        return new Area(placeId, error, road, suburb, town, county, state, postcode, boundingBox, details, numberingOffset, maximumNumberOfAbodes);
+    }
+
+    private static void writeString(final String s, final Map<String, Integer> strings, final DataOutputStream out) throws IOException {
+        out.writeInt(s == null ? NO_STRING : strings.get(s));
+    }
+
+    private static String readString(final ByteBuffer buffer, final String[] strings) {
+
+        final int index = buffer.getInt();
+        return index == NO_STRING ? null : strings[index];
+    }
+
+    private static void writeCoords(final Coords coords, final DataOutputStream out) throws IOException {
+
+        out.writeInt(pack(coords.lat));
+        out.writeInt(pack(coords.lon));
+    }
+
+    private static Coords readCoords(final ByteBuffer buffer) {
+
+        final double lat = buffer.getInt() / COORDINATE_SCALE;
+        final double lon = buffer.getInt() / COORDINATE_SCALE;
+
+        return new Coords(lat, lon);
+    }
+
+    private static int pack(final double degrees) {
+        return Math.toIntExact(Math.round(degrees * COORDINATE_SCALE));
+    }
+}
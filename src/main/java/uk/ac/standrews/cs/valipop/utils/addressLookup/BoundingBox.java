@@ -33,6 +33,14 @@ public class BoundingBox implements Serializable {
 
     public BoundingBox() {}
 
+    public BoundingBox(Coords bottomLeft, Coords topRight) {
+
+        this.bottomLeft = bottomLeft;
+        this.topRight = topRight;
+
+        assertCorrectOrientation();
+    }
+
     public BoundingBox(String[] coords) throws InvalidCoordSet {
 
         if(coords.length != 4) {
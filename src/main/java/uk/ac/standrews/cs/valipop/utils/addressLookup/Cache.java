@@ -22,12 +22,22 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Represents the raw data read from a geography file.
+ *
+ * Areas are indexed by the grid cells their bounding boxes cover, so that looking up a point does not scan every
+ * area, and each area is indexed to the area set and lookup history entries that refer to it, so that it can be
+ * removed without scanning them. These indices are not serialized but rebuilt on reading. Removed areas are dropped
+ * from the list of all areas in a single pass when the list is next needed.
  * 
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
  */
@@ -35,6 +45,11 @@ public class Cache implements Serializable {
 
     private static final long serialVersionUID = 748931747946237593L;
 
+    private static final double CELL_DEGREES = 0.01;
+
+    // Areas covering more cells than this are checked for every lookup rather than indexed by cell.
+    private static final int MAXIMUM_CELLS_PER_AREA = 64;
+
     private ArrayList<Area> areaDB = new ArrayList<>();
 
     private Map<Double, Map<Double, Area>> lookupHistory = new HashMap<>();
@@ -50,25 +65,54 @@ public class Cache implements Serializable {
 
     private boolean updated = false;
 
+    // Areas added since the last incremental clean; absent in caches written before cleaning was incremental.
+    // Always made by identitySet(), which is serializable, so the declared type does not affect writing the cache.
+    @SuppressWarnings("serial")
+    private Set<Area> uncleaned = identitySet();
+
     private transient String filePath;
 
+    private transient Map<Long, List<IndexedArea>> areasByCell;
+    private transient List<IndexedArea> oversizedAreas;
+    private transient long nextSequenceNumber;
+
+    private transient Map<Area, AreaSet> owningSets;
+    private transient Map<Area, List<Coords>> historyEntries;
+
+    private transient Set<Area> removed;
+
+    private transient long historyHits;
+    private transient long areaHits;
+    private transient long misses;
+    private transient long evictions;
+
+    public Cache() {
+        buildIndices();
+    }
+
     public Area checkCache(double lat, double lon) {
 
         // Checks that given coords don't correspond to a bounding box already retrieved
         Map<Double, Area> index = lookupHistory.get(round(lat));
         if(index != null) {
-            return index.get(round(lon));
+            Area area = index.get(round(lon));
+            if(area != null) {
+                historyHits++;
+                return area;
+            }
         }
 
-        for(Area area : areaDB) {
-            if(area.containsPoint(lat, lon)) {
-                // Here we are just taking the first one we find - may want to change this later
-                // (Bounding boxes can overlap due to their definition)
+        // Here we are just taking the first one added that contains the point - may want to change this later
+        // (Bounding boxes can overlap due to their definition)
+        IndexedArea first = firstContaining(areasByCell.getOrDefault(cellKey(cell(lat), cell(lon)), List.of()), lat, lon, null);
+        first = firstContaining(oversizedAreas, lat, lon, first);
 
-                return area;
-            }
+        if(first != null) {
+            areaHits++;
+            return first.area;
         }
 
+        misses++;
         return null;
     }
 
@@ -81,6 +125,8 @@ public class Cache implements Serializable {
         }
 
         index.put(round(lon), area);
+        historyEntries.computeIfAbsent(area, a -> new ArrayList<>()).add(new Coords(round(lat), round(lon)));
+        updated = true;
     }
 
     private Double round(double d) {
@@ -91,31 +137,80 @@ public class Cache implements Serializable {
 
         areaIndex.remove(area.getPlaceID(), area);
 
-        Map<Double, Area> index = lookupHistory.get(round(area.getCentroid().lat));
-        if(index != null) {
-            index.remove(round(area.getCentroid().lon), area);
+        List<Coords> entries = historyEntries.remove(area);
+        if(entries != null) {
+            for(Coords coords : entries) {
+                Map<Double, Area> index = lookupHistory.get(coords.lat);
+                if(index != null) {
+                    index.remove(coords.lon, area);
 
-            if (index.size() == 0) {
-                lookupHistory.remove(round(area.getCentroid().lat), index);
+                    if (index.size() == 0) {
+                        lookupHistory.remove(coords.lat, index);
+                    }
+                }
             }
         }
 
-        areaDB.remove(area);
+        AreaSet set = owningSets.remove(area);
+        if(set != null) {
+            set.getAreas().remove(area);
 
-        for(AreaSet aS : areaSets.values()) {
-            aS.getAreas().remove(area);
-
-            if(aS.getAreas().size() == 0) {
+            if(set.getAreas().size() == 0) {
                 try {
-                    areaSets.remove(area.getAreaSetString(), area);
+                    areaSets.remove(area.getAreaSetString(), set);
                 } catch (IncompleteAreaInformationException e) {
                     // if an areaset string cannot be generated then the area will never have been added to areaSets.
                     // Thus we needn't worry about not being able to remove it
                 }
             }
+        }
+
+        removeFromCells(area);
+        uncleaned.remove(area);
 
+        removed.add(area);
+        evictions++;
+        updated = true;
+    }
+
+    /**
+     * Removes the areas added since the last clean that do not satisfy the given condition. Only those areas are
+     * examined, so cleaning after each batch of additions keeps the cost proportional to the batch.
+     *
+     * @return the number of areas removed
+     */
+    public int clean(Predicate<Area> keep) {
+
+        List<Area> toRemove = new ArrayList<>();
+
+        for(Area area : uncleaned) {
+            if(!keep.test(area)) {
+                toRemove.add(area);
+            }
         }
 
+        uncleaned.clear();
+        toRemove.forEach(this::removeArea);
+        updated = true;
+
+        return toRemove.size();
+    }
+
+    /**
+     * Removes all areas that do not satisfy the given condition.
+     *
+     * @return the number of areas removed
+     */
+    public int cleanAll(Predicate<Area> keep) {
+
+        uncleaned.clear();
+        uncleaned.addAll(getAllAreas());
+
+        return clean(keep);
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(historyHits, areaHits, misses, evictions, size());
     }
 
     public void writeToFile() throws IOException {
@@ -142,7 +237,7 @@ public class Cache implements Serializable {
     public static Cache readFromFile(String fileName) throws IOException, ClassNotFoundException {
 
         FileInputStream fileIn = new FileInputStream(fileName);
-        ObjectInputStream objectIn = new ObjectInputStream(fileIn);
+        ObjectInputStream objectIn = new ObjectInputStream(new BufferedInputStream(fileIn));
 
         Cache cache = (Cache) objectIn.readObject();
         objectIn.close();
@@ -157,12 +252,18 @@ public class Cache implements Serializable {
     }
 
     public void addArea(Area area) {
+        if(removed.contains(area)) {
+            compact();
+        }
         areaDB.add(area);
+        addToCells(area);
+        uncleaned.add(area);
         updated = true;
     }
 
     public List<Area> getAllAreas() {
-        return areaDB;
+        compact();
+        return Collections.unmodifiableList(areaDB);
     }
 
     public AreaSet getAreaSet(String areaString) {
@@ -171,7 +272,21 @@ public class Cache implements Serializable {
 
     public void addAreaSet(String areaString, AreaSet areaSet) {
         areaSets.put(areaString, areaSet);
+        for(Area area : areaSet.getAreas()) {
+            owningSets.put(area, areaSet);
+        }
+        updated = true;
+    }
+
+    /**
+     * Adds an area to an existing area set.
+     *
+     * @return the numbering offset of the area within the set
+     */
+    public long addToAreaSet(AreaSet areaSet, Area area) {
+        owningSets.put(area, areaSet);
         updated = true;
+        return areaSet.addArea(area);
     }
 
     public long decrementErrorID() {
@@ -189,11 +304,151 @@ public class Cache implements Serializable {
     }
 
     public int size() {
+        compact();
         return areaDB.size();
     }
 
     public void setAllAreas(ArrayList<Area> newAllAreasList) {
         this.areaDB = newAllAreasList;
+        buildIndices();
+        updated = true;
     }
-}
 
+    /**
+     * Counts of cache lookups since the cache was created or read, and of areas removed.
+     */
+    public record Statistics(long historyHits, long areaHits, long misses, long evictions, int size) {
+
+        public long hits() {
+            return historyHits + areaHits;
+        }
+
+        public double hitRate() {
+            long lookups = hits() + misses;
+            return lookups == 0 ? 0 : (double) hits() / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d areas; %d lookups: %d hits (%d from history), %d misses, hit rate %.1f%%; %d evictions",
+                    size, hits() + misses, hits(), historyHits, misses, hitRate() * 100, evictions);
+        }
+    }
+
+    private record IndexedArea(long sequenceNumber, Area area) {}
+
+    private void compact() {
+
+        if(!removed.isEmpty()) {
+            areaDB.removeIf(removed::contains);
+            removed.clear();
+        }
+    }
+
+    private void buildIndices() {
+
+        areasByCell = new HashMap<>();
+        oversizedAreas = new ArrayList<>();
+        nextSequenceNumber = 0;
+        owningSets = new IdentityHashMap<>();
+        historyEntries = new IdentityHashMap<>();
+        removed = identitySet();
+
+        for(Area area : areaDB) {
+            addToCells(area);
+        }
+
+        for(AreaSet set : areaSets.values()) {
+            for(Area area : set.getAreas()) {
+                owningSets.put(area, set);
+            }
+        }
+
+        for(Map.Entry<Double, Map<Double, Area>> row : lookupHistory.entrySet()) {
+            for(Map.Entry<Double, Area> entry : row.getValue().entrySet()) {
+                historyEntries.computeIfAbsent(entry.getValue(), a -> new ArrayList<>()).add(new Coords(row.getKey(), entry.getKey()));
+            }
+        }
+
+        if(uncleaned == null) {
+            uncleaned = identitySet();
+            uncleaned.addAll(areaDB);
+        }
+    }
+
+    private void addToCells(Area area) {
+
+        BoundingBox box = area.getBoundingBox();
+        if(box == null) return;
+
+        IndexedArea indexed = new IndexedArea(nextSequenceNumber++, area);
+
+        int minLat = cell(box.getBottomLeft().lat), maxLat = cell(box.getTopRight().lat);
+        int minLon = cell(box.getBottomLeft().lon), maxLon = cell(box.getTopRight().lon);
+
+        if((long) (maxLat - minLat + 1) * (maxLon - minLon + 1) > MAXIMUM_CELLS_PER_AREA) {
+            oversizedAreas.add(indexed);
+            return;
+        }
+
+        for(int lat = minLat; lat <= maxLat; lat++) {
+            for(int lon = minLon; lon <= maxLon; lon++) {
+                areasByCell.computeIfAbsent(cellKey(lat, lon), k -> new ArrayList<>()).add(indexed);
+            }
+        }
+    }
+
+    private void removeFromCells(Area area) {
+
+        BoundingBox box = area.getBoundingBox();
+        if(box == null) return;
+
+        oversizedAreas.removeIf(indexed -> indexed.area == area);
+
+        for(int lat = cell(box.getBottomLeft().lat); lat <= cell(box.getTopRight().lat); lat++) {
+            for(int lon = cell(box.getBottomLeft().lon); lon <= cell(box.getTopRight().lon); lon++) {
+
+                long key = cellKey(lat, lon);
+                List<IndexedArea> areas = areasByCell.get(key);
+
+                if(areas != null) {
+                    areas.removeIf(indexed -> indexed.area == area);
+                    if(areas.isEmpty()) areasByCell.remove(key);
+                }
+            }
+        }
+    }
+
+    private static IndexedArea firstContaining(List<IndexedArea> candidates, double lat, double lon, IndexedArea first) {
+
+        for(IndexedArea candidate : candidates) {
+            if((first == null || candidate.sequenceNumber < first.sequenceNumber) && candidate.area.containsPoint(lat, lon)) {
+                first = candidate;
+            }
+        }
+
+        return first;
+    }
+
+    private static int cell(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+
+    private static Set<Area> identitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        buildIndices();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        compact();
+        out.defaultWriteObject();
+    }
+}
@@ -18,11 +18,13 @@
 package uk.ac.standrews.cs.valipop.utils.addressLookup;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collection;
 
 /**
- * UNUSED
+ * Standalone executable class that removes unusable areas from a cache file, writing the cleaned cache to a separate
+ * file so that the source, such as the bundled cache, is left unchanged:
+ * <pre>
+ *     CacheCleaner source target
+ * </pre>
  * 
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
  */
@@ -30,101 +32,33 @@ public class CacheCleaner {
 
     public static void main(String[] args) throws IOException, ClassNotFoundException {
 
-        String file = "src/main/resources/valipop/geography-cache/scotland-residential-ways.ser";
-
-        Cache cache = Cache.readFromFile(file);
-
-        for(Area area : cache.getAllAreas()) {
-            System.out.println(area.toString());
+        if(args.length < 2) {
+            throw new IllegalArgumentException("usage: CacheCleaner source target");
         }
 
-//        removeNullAddressAreas(cache);
-
-//        cache.writeToFile();
-
-
-    }
-
-    @SuppressWarnings("unused")
-    private static void removeNonResidentialAreas(Cache cache) {
-
-        System.out.println(cache.size());
-
-        Collection<Area> toRemove = new ArrayList<>();
+        Cache cache = Cache.readFromFile(args[0]);
 
-        for(Area area : cache.getAllAreas()) {
-            if(!area.isResidential()) {
-                toRemove.add(area);
-                System.out.println(area.toString());
+        System.out.println("Before: " + cache.getStatistics());
 
-            }
-        }
-
-        System.out.println("-------");
+        System.out.println("Removed " + removeNonResidentialAreas(cache) + " non-residential areas");
+        System.out.println("Removed " + removeNullAddressAreas(cache) + " areas with neither road nor suburb");
 
-        for(Area area : toRemove) {
-            cache.removeArea(area);
-            System.out.println(cache.size());
-        }
+        System.out.println("After: " + cache.getStatistics());
 
+        cache.writeToFile(args[1]);
+        System.out.println("Wrote cleaned cache to " + args[1]);
     }
 
-    @SuppressWarnings("unused")
-    private static void removeNonScotlandAreas(Cache cache) {
-
-        System.out.println(cache.size());
-
-        Collection<Area> toRemove = new ArrayList<>();
-
-        for(Area area : cache.getAllAreas()) {
-            if(!area.getState().equals("Scotland")) {
-                toRemove.add(area);
-                System.out.println(area.toString());
-            }
-        }
-
-        System.out.println("-------");
-
-        for(Area area : toRemove) {
-            cache.removeArea(area);
-            System.out.println(cache.size());
-        }
-
+    static int removeNonResidentialAreas(Cache cache) {
+        return cache.cleanAll(Area::isResidential);
     }
 
     @SuppressWarnings("unused")
-    private static void removeNullAddressAreas(Cache cache) {
-
-        System.out.println(cache.size());
-
-        Collection<Area> toRemove = new ArrayList<>();
-
-        for(Area area : cache.getAllAreas()) {
-
-            int count = 0;
-
-            if(area.getRoad() == null)
-                count++;
-
-            if(area.getSuburb() == null)
-                count++;
-
-            if(count == 2)
-                toRemove.add(area);
-
-        }
-
-        System.out.println(toRemove.size());
-
-
-
-        for(Area area : toRemove) {
-            cache.removeArea(area);
-//            System.out.println(area.toString());
-        }
-
-        System.out.println(cache.size());
-
+    static int removeNonScotlandAreas(Cache cache) {
+        return cache.cleanAll(area -> "Scotland".equals(area.getState()));
     }
 
+    static int removeNullAddressAreas(Cache cache) {
+        return cache.cleanAll(area -> area.getRoad() != null || area.getSuburb() != null);
+    }
 }
@@ -0,0 +1,191 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.addressLookup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records geocoding responses on disk, so that each is requested only once. Reverse geocoding responses are keyed
+ * by coordinates quantised to {@value #PRECISION} decimal places (around 10m), and place details by place id.
+ *
+ * Responses are appended to a log file and only their positions are held in memory, so the cache may be much larger
+ * than the heap. A record left incomplete by an interrupted write is discarded on opening.
+ */
+public class GeocodeCache implements Closeable {
+
+    public static final int PRECISION = 4;
+
+    private static final int MAGIC = 0x56474343;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+
+    private static final byte REVERSE = 1;
+    private static final byte DETAILS = 2;
+
+    // Kind, key and length.
+    private static final int RECORD_HEADER_BYTES = 1 + 8 + 4;
+
+    private static final double SCALE = Math.pow(10, PRECISION);
+
+    private final FileChannel channel;
+
+    private final Map<Long, Long> reverseOffsets = new HashMap<>();
+    private final Map<Long, Long> detailsOffsets = new HashMap<>();
+
+    private long end;
+
+    private GeocodeCache(final FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the cache in the given file, creating it if necessary.
+     */
+    public static GeocodeCache open(final Path file) throws IOException {
+
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final GeocodeCache cache = new GeocodeCache(channel);
+
+        try {
+            cache.readIndex();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        return cache;
+    }
+
+    public synchronized String getReverse(final double lat, final double lon) throws IOException {
+        return read(reverseOffsets.get(quantise(lat, lon)));
+    }
+
+    public synchronized void putReverse(final double lat, final double lon, final String response) throws IOException {
+        append(REVERSE, quantise(lat, lon), response, reverseOffsets);
+    }
+
+    public synchronized String getDetails(final long placeId) throws IOException {
+        return read(detailsOffsets.get(placeId));
+    }
+
+    public synchronized void putDetails(final long placeId, final String response) throws IOException {
+        append(DETAILS, placeId, response, detailsOffsets);
+    }
+
+    public synchronized int size() {
+        return reverseOffsets.size() + detailsOffsets.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+
+        channel.force(true);
+        channel.close();
+    }
+
+    static long quantise(final double lat, final double lon) {
+
+        return ((long) (int) Math.round(lat * SCALE) << 32) | ((int) Math.round(lon * SCALE) & 0xffffffffL);
+    }
+
+    private void readIndex() throws IOException {
+
+        final long size = channel.size();
+
+        if (size == 0) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(header, 0);
+            end = HEADER_BYTES;
+            return;
+        }
+
+        final ByteBuffer header = readFully(0, HEADER_BYTES);
+        if (header == null || header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("not a geocode cache file");
+        }
+
+        long position = HEADER_BYTES;
+
+        while (position + RECORD_HEADER_BYTES <= size) {
+
+            final ByteBuffer record = readFully(position, RECORD_HEADER_BYTES);
+            final byte kind = record.get();
+            final long key = record.getLong();
+            final int length = record.getInt();
+
+            if (position + RECORD_HEADER_BYTES + length > size) break;
+
+            (kind == REVERSE ? reverseOffsets : detailsOffsets).put(key, position);
+            position += RECORD_HEADER_BYTES + length;
+        }
+
+        if (position < size) {
+            channel.truncate(position);
+        }
+
+        end = position;
+    }
+
+    private String read(final Long offset) throws IOException {
+
+        if (offset == null) return null;
+
+        final int length = readFully(offset + 1 + 8, 4).getInt();
+        final ByteBuffer content = readFully(offset + RECORD_HEADER_BYTES, length);
+
+        return new String(content.array(), StandardCharsets.UTF_8);
+    }
+
+    private void append(final byte kind, final long key, final String response, final Map<Long, Long> offsets) throws IOException {
+
+        final byte[] content = response.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + content.length)
+                .put(kind).putLong(key).putInt(content.length).put(content).flip();
+
+        writeFully(record, end);
+
+        offsets.put(key, end);
+        end += record.capacity();
+    }
+
+    private ByteBuffer readFully(final long position, final int length) throws IOException {
+
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) return null;
+        }
+
+        return buffer.flip();
+    }
+
+    private void writeFully(final ByteBuffer buffer, final long position) throws IOException {
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
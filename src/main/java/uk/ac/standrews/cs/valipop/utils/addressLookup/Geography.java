@@ -17,8 +17,11 @@
  */
 package uk.ac.standrews.cs.valipop.utils.addressLookup;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.math3.random.RandomGenerator;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -35,6 +38,17 @@ public class Geography {
 
     private RandomGenerator rand;
 
+    private static final int AREA_CACHE_SIZE = 2;
+
+    // Areas as read from recently used geography files, which are copied for each geography.
+    private static final Map<Path, List<Area>> areaCache = new LinkedHashMap<>(AREA_CACHE_SIZE, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, List<Area>> eldest) {
+            return size() > AREA_CACHE_SIZE;
+        }
+    };
+
     static final String[] SCOTLAND_COORDS = {"54.4","59.4","-7.9","-1.3"};
     static BoundingBox geographicalLimits;
 
@@ -70,6 +84,39 @@ public class Geography {
         this.residentialGeography = newAllAreasList;
     }
 
+    /**
+     * Reads the areas in a geography file, in either JSON or {@link BinaryGeography binary} form. The file is only
+     * read if it has not been read recently; the areas returned are fresh copies, with no addresses, so may be used
+     * for a new geography.
+     *
+     * @param geographyFile the geography file
+     * @return the areas in the file
+     * @throws IOException if the file cannot be read
+     */
+    public static List<Area> readAreas(Path geographyFile) throws IOException {
+
+        Path key = geographyFile.toAbsolutePath().normalize();
+        List<Area> areas;
+
+        synchronized (areaCache) {
+            areas = areaCache.get(key);
+
+            if (areas == null) {
+                areas = BinaryGeography.isBinary(key) ?
+                        BinaryGeography.read(key) :
+                        Arrays.asList(new ObjectMapper().readValue(key.toFile(), Area[].class));
+                areaCache.put(key, areas);
+            }
+        }
+
+        List<Area> copies = new ArrayList<>(areas.size());
+        for (Area area : areas) {
+            copies.add(area.copy());
+        }
+
+        return copies;
+    }
+
     public void updated(Address address) {
         if(address.getArea().isFull()) {
             removeFromLookup(address.getArea());
@@ -0,0 +1,95 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.addressLookup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Requests responses from a Nominatim server, or anything serving the same paths such as
+ * {@link StubGeocodingServer}. Requests are asynchronous; limiting their number and rate is left to the caller.
+ */
+public class HttpGeocodingEndpoint implements GeocodingEndpoint {
+
+    public static final URI NOMINATIM = URI.create("https://nominatim.openstreetmap.org/");
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String USER_AGENT = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_13_6) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/70.0.3538.77 Safari/537.36";
+
+    private final URI base;
+    private final HttpClient client;
+
+    public HttpGeocodingEndpoint(final URI base) {
+
+        this.base = base;
+        client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    }
+
+    @Override
+    public CompletableFuture<String> reverse(final double lat, final double lon) {
+
+        final Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("format", "json");
+        parameters.put("lat", String.valueOf(lat));
+        parameters.put("lon", String.valueOf(lon));
+        parameters.put("zoom", "16");
+
+        return get("reverse.php", parameters);
+    }
+
+    @Override
+    public CompletableFuture<String> details(final long placeId) {
+
+        final Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("format", "json");
+        parameters.put("place_id", String.valueOf(placeId));
+
+        return get("details.php", parameters);
+    }
+
+    private CompletableFuture<String> get(final String path, final Map<String, String> parameters) {
+
+        final URI uri;
+        try {
+            uri = base.resolve(path + "?" + OpenStreetMapAPI.getParamsString(parameters));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        final HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .header("User-Agent", USER_AGENT)
+                .GET()
+                .build();
+
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenCompose(response ->
+
+                switch (response.statusCode()) {
+                    case 200 -> CompletableFuture.completedFuture(response.body());
+                    case 429, 503 -> CompletableFuture.failedFuture(new APIOverloadedException());
+                    default -> CompletableFuture.failedFuture(new IOException("HTTP " + response.statusCode() + " from " + uri));
+                });
+    }
+}
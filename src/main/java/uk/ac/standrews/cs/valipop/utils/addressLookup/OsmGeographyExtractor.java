@@ -0,0 +1,450 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.addressLookup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Builds a geography directly from an OpenStreetMap XML extract, in a single streaming pass.
+ *
+ * Each named residential way whose middle node lies within the given region becomes an {@link Area}, bounded by
+ * its nodes. Suburb, town and county names are taken from the nearest place nodes of the corresponding kinds, which
+ * may lie outside the region. Only the coordinates of nodes within the region, and of place nodes near enough to it
+ * to name its ways, are held in memory, so the extract may be much larger than the region. The extract must be in the standard OSM order, with all nodes before any ways.
+ *
+ * May be executed standalone:
+ * <pre>
+ *     OsmGeographyExtractor extract.osm[.gz] target [minLat maxLat minLon maxLon]
+ * </pre>
+ * The target is written in binary form if its name ends with {@value BinaryGeography#FILE_EXTENSION}, and as JSON
+ * otherwise. The region defaults to Scotland.
+ */
+public class OsmGeographyExtractor {
+
+    private static final double COORDINATE_SCALE = 1e7;
+
+    private final BoundingBox region;
+
+    private final NodeCoordinates nodes = new NodeCoordinates();
+    private final PlaceIndex places = new PlaceIndex();
+    private final Map<String, AreaSet> areaSets = new HashMap<>();
+    private final List<Area> areas = new ArrayList<>();
+
+    public OsmGeographyExtractor(final BoundingBox region) {
+        this.region = region;
+    }
+
+    public static List<Area> extract(final Path osmFile, final BoundingBox region) throws IOException, XMLStreamException {
+
+        try (InputStream in = open(osmFile)) {
+            return new OsmGeographyExtractor(region).extract(in);
+        }
+    }
+
+    /**
+     * Reads the given extract and returns the residential areas it contains within the region.
+     */
+    public List<Area> extract(final InputStream osm) throws XMLStreamException {
+
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        final XMLStreamReader reader = factory.createXMLStreamReader(osm);
+
+        try {
+            final Element element = new Element();
+
+            while (reader.hasNext()) {
+
+                final int event = reader.next();
+
+                if (event == XMLStreamConstants.START_ELEMENT) {
+
+                    switch (reader.getLocalName()) {
+                        case "node" -> element.startNode(Long.parseLong(reader.getAttributeValue(null, "id")),
+                                Double.parseDouble(reader.getAttributeValue(null, "lat")),
+                                Double.parseDouble(reader.getAttributeValue(null, "lon")));
+                        case "way" -> element.startWay(Long.parseLong(reader.getAttributeValue(null, "id")));
+                        case "nd" -> element.addNodeReference(Long.parseLong(reader.getAttributeValue(null, "ref")));
+                        case "tag" -> element.addTag(reader.getAttributeValue(null, "k"), reader.getAttributeValue(null, "v"));
+                    }
+
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+
+                    switch (reader.getLocalName()) {
+                        case "node" -> endNode(element);
+                        case "way" -> endWay(element);
+                    }
+                }
+            }
+
+        } finally {
+            reader.close();
+        }
+
+        return areas;
+    }
+
+    private void endNode(final Element node) {
+
+        if (region.containsPoint(node.lat, node.lon)) {
+            nodes.add(node.id, node.lat, node.lon);
+        }
+
+        final PlaceKind kind = PlaceKind.of(node.place);
+        if (kind != null && node.name != null && withinReachOfRegion(kind, node.lat, node.lon)) {
+            places.add(kind, node.name, node.lat, node.lon);
+        }
+
+        node.clear();
+    }
+
+    /**
+     * Whether a place of the given kind at the given position is close enough to the region to be the nearest
+     * such place to some way within it.
+     */
+    private boolean withinReachOfRegion(final PlaceKind kind, final double lat, final double lon) {
+
+        final Coords bottomLeft = region.getBottomLeft();
+        final Coords topRight = region.getTopRight();
+
+        // A degree of longitude is shortest at the region's edge furthest from the equator.
+        final double furthestLat = Math.max(Math.abs(bottomLeft.getLat()), Math.abs(topRight.getLat()));
+
+        final double latMargin = kind.maximumDistanceKM / PlaceIndex.KM_PER_DEGREE;
+        final double lonMargin = latMargin / Math.max(Math.cos(Math.toRadians(furthestLat)), 0.01);
+
+        return lat >= bottomLeft.getLat() - latMargin && lat <= topRight.getLat() + latMargin &&
+                lon >= bottomLeft.getLon() - lonMargin && lon <= topRight.getLon() + lonMargin;
+    }
+
+    private void endWay(final Element way) {
+
+        if ("residential".equals(way.highway) && way.name != null) {
+
+            final Area area = makeArea(way);
+            if (area != null) areas.add(area);
+        }
+
+        way.clear();
+    }
+
+    private Area makeArea(final Element way) {
+
+        double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        double minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+
+        final List<Coords> known = new ArrayList<>();
+
+        for (int i = 0; i < way.nodeReferenceCount; i++) {
+
+            final Coords coords = nodes.get(way.nodeReferences[i]);
+
+            if (coords != null) {
+                known.add(coords);
+
+                minLat = Math.min(minLat, coords.getLat());
+                maxLat = Math.max(maxLat, coords.getLat());
+                minLon = Math.min(minLon, coords.getLon());
+                maxLon = Math.max(maxLon, coords.getLon());
+            }
+        }
+
+        if (known.size() < 2) return null;
+
+        // As for ways looked up by reverse geocoding, the way is represented by its middle node.
+        final Coords centroid = known.get(known.size() / 2);
+
+        final String suburb = places.nearest(PlaceKind.SUBURB, centroid);
+        final String town = places.nearest(PlaceKind.TOWN, centroid);
+        final String county = places.nearest(PlaceKind.COUNTY, centroid);
+
+        if (suburb == null && town == null && county == null) return null;
+
+        final BoundingBox boundingBox = new BoundingBox(new Coords(minLat, minLon), new Coords(maxLat, maxLon));
+        final long maximumNumberOfAbodes = Math.round(ReverseGeocodeLookup.ABODES_PER_KM * GPSDistanceConverter.distance(boundingBox.getBottomLeft(), boundingBox.getTopRight(), 'K'));
+
+        final Place details = new Place("highway", "residential", "W", way.id, centroid);
+        final Area area = new Area(way.id, "none", way.name, suburb, town, county, null, way.postcode, boundingBox, details, 0, maximumNumberOfAbodes);
+
+        try {
+            final String areaSetString = area.getAreaSetString();
+            final AreaSet set = areaSets.get(areaSetString);
+
+            if (set == null) {
+                areaSets.put(areaSetString, new AreaSet(area));
+            } else {
+                area.setNumberingOffset(set.addArea(area));
+            }
+
+        } catch (IncompleteAreaInformationException e) {
+            return null;
+        }
+
+        return area;
+    }
+
+    private static InputStream open(final Path osmFile) throws IOException {
+
+        final InputStream in = new BufferedInputStream(Files.newInputStream(osmFile), 1 << 16);
+        return osmFile.toString().endsWith(".gz") ? new GZIPInputStream(in, 1 << 16) : in;
+    }
+
+    public static void main(final String[] args) throws IOException, XMLStreamException {
+
+        final Path source = Paths.get(args[0]);
+        final Path target = Paths.get(args[1]);
+
+        final BoundingBox region;
+        try {
+            region = new BoundingBox(args.length >= 6 ? Arrays.copyOfRange(args, 2, 6) : Geography.SCOTLAND_COORDS);
+        } catch (InvalidCoordSet e) {
+            throw new IllegalArgumentException("region should be given as: minLat maxLat minLon maxLon");
+        }
+
+        final List<Area> areas = extract(source, region);
+
+        if (target.toString().endsWith(BinaryGeography.FILE_EXTENSION)) {
+            BinaryGeography.write(areas, target);
+        } else {
+            new ObjectMapper().writer().writeValue(target.toFile(), areas);
+        }
+
+        System.out.println("Wrote " + areas.size() + " areas to " + target);
+    }
+
+    /**
+     * The node or way currently being read, with the tags of interest.
+     */
+    private static class Element {
+
+        long id;
+        double lat;
+        double lon;
+
+        long[] nodeReferences = new long[64];
+        int nodeReferenceCount;
+
+        String highway;
+        String name;
+        String postcode;
+        String place;
+
+        void startNode(final long id, final double lat, final double lon) {
+
+            clear();
+            this.id = id;
+            this.lat = lat;
+            this.lon = lon;
+        }
+
+        void startWay(final long id) {
+
+            clear();
+            this.id = id;
+        }
+
+        void addNodeReference(final long ref) {
+
+            if (nodeReferenceCount == nodeReferences.length) {
+                nodeReferences = Arrays.copyOf(nodeReferences, nodeReferenceCount * 2);
+            }
+            nodeReferences[nodeReferenceCount++] = ref;
+        }
+
+        void addTag(final String key, final String value) {
+
+            switch (key) {
+                case "highway" -> highway = value;
+                case "name" -> name = value;
+                case "addr:postcode", "postal_code" -> postcode = value;
+                case "place" -> place = value;
+            }
+        }
+
+        void clear() {
+
+            nodeReferenceCount = 0;
+            highway = null;
+            name = null;
+            postcode = null;
+            place = null;
+        }
+    }
+
+    /**
+     * Coordinates of nodes, packed into parallel primitive arrays and looked up by binary search on node id.
+     * Extracts usually list nodes in id order; otherwise the arrays are sorted before the first lookup.
+     */
+    private static class NodeCoordinates {
+
+        private long[] ids = new long[1 << 12];
+        private int[] lats = new int[1 << 12];
+        private int[] lons = new int[1 << 12];
+        private int size;
+        private boolean sorted = true;
+
+        void add(final long id, final double lat, final double lon) {
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                lats = Arrays.copyOf(lats, size * 2);
+                lons = Arrays.copyOf(lons, size * 2);
+            }
+
+            if (size > 0 && id < ids[size - 1]) sorted = false;
+
+            ids[size] = id;
+            lats[size] = (int) Math.round(lat * COORDINATE_SCALE);
+            lons[size] = (int) Math.round(lon * COORDINATE_SCALE);
+            size++;
+        }
+
+        Coords get(final long id) {
+
+            if (!sorted) sort();
+
+            final int i = Arrays.binarySearch(ids, 0, size, id);
+            return i < 0 ? null : new Coords(lats[i] / COORDINATE_SCALE, lons[i] / COORDINATE_SCALE);
+        }
+
+        private void sort() {
+
+            final Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+
+            final long[] sortedIds = new long[size];
+            final int[] sortedLats = new int[size];
+            final int[] sortedLons = new int[size];
+
+            for (int i = 0; i < size; i++) {
+                sortedIds[i] = ids[order[i]];
+                sortedLats[i] = lats[order[i]];
+                sortedLons[i] = lons[order[i]];
+            }
+
+            ids = sortedIds;
+            lats = sortedLats;
+            lons = sortedLons;
+            sorted = true;
+        }
+    }
+
+    private enum PlaceKind {
+
+        SUBURB(3), TOWN(15), COUNTY(60);
+
+        // Places further than this from a way are not taken to contain it.
+        final double maximumDistanceKM;
+
+        PlaceKind(final double maximumDistanceKM) {
+            this.maximumDistanceKM = maximumDistanceKM;
+        }
+
+        static PlaceKind of(final String place) {
+
+            if (place == null) return null;
+
+            return switch (place) {
+                case "suburb", "quarter", "neighbourhood" -> SUBURB;
+                case "city", "town", "village", "hamlet" -> TOWN;
+                case "county" -> COUNTY;
+                default -> null;
+            };
+        }
+    }
+
+    private record NamedPlace(String name, Coords coords) {}
+
+    /**
+     * Place nodes bucketed into a grid of cells, so that the nearest place to a way need only be sought in nearby
+     * cells.
+     */
+    private static class PlaceIndex {
+
+        private static final double CELL_DEGREES = 0.1;
+        private static final double KM_PER_DEGREE = 111.2;
+
+        private final Map<PlaceKind, Map<Long, List<NamedPlace>>> cells = new HashMap<>();
+
+        void add(final PlaceKind kind, final String name, final double lat, final double lon) {
+
+            cells.computeIfAbsent(kind, k -> new HashMap<>())
+                    .computeIfAbsent(cellKey(cell(lat), cell(lon)), k -> new ArrayList<>())
+                    .add(new NamedPlace(name, new Coords(lat, lon)));
+        }
+
+        String nearest(final PlaceKind kind, final Coords coords) {
+
+            final Map<Long, List<NamedPlace>> cellsOfKind = cells.get(kind);
+            if (cellsOfKind == null) return null;
+
+            final double latRange = kind.maximumDistanceKM / KM_PER_DEGREE;
+            final double lonRange = latRange / Math.max(Math.cos(Math.toRadians(coords.getLat())), 0.01);
+
+            String nearest = null;
+            double nearestDistance = kind.maximumDistanceKM;
+
+            for (int latCell = cell(coords.getLat() - latRange); latCell <= cell(coords.getLat() + latRange); latCell++) {
+                for (int lonCell = cell(coords.getLon() - lonRange); lonCell <= cell(coords.getLon() + lonRange); lonCell++) {
+
+                    for (final NamedPlace place : cellsOfKind.getOrDefault(cellKey(latCell, lonCell), List.of())) {
+
+                        // Rounding gives NaN rather than zero for coincident points.
+                        final double computed = GPSDistanceConverter.distance(coords, place.coords(), 'K');
+                        final double distance = Double.isNaN(computed) ? 0 : computed;
+
+                        if (distance < nearestDistance) {
+                            nearest = place.name();
+                            nearestDistance = distance;
+                        }
+                    }
+                }
+            }
+
+            return nearest;
+        }
+
+        private static int cell(final double degrees) {
+            return (int) Math.floor(degrees / CELL_DEGREES);
+        }
+
+        private static long cellKey(final int latCell, final int lonCell) {
+            return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+        }
+    }
+}
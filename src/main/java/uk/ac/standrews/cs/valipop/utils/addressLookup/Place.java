@@ -59,6 +59,18 @@ public class Place implements Serializable {
     @JsonProperty("osm_id")
     private long osmWayID;
 
+    // For deserialisation.
+    private Place() {
+    }
+
+    Place(String category, String type, String osmType, long osmWayID, Coords centroid) {
+        this.category = category;
+        this.type = type;
+        this.osm_type = osmType;
+        this.osmWayID = osmWayID;
+        this.centroid = centroid;
+    }
+
     public static Place makePlace(String jsonInput) throws IOException {
         Place place = mapper.readValue(jsonInput, Place.class);
         return place;
@@ -80,6 +92,10 @@ public class Place implements Serializable {
         return osmWayID;
     }
 
+    String getOsmType() {
+        return osm_type;
+    }
+
     public boolean isWay() {
         return osm_type.toLowerCase().equals("w");
     }
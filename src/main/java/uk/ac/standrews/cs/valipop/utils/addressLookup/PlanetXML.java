@@ -35,8 +35,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Standalone executable class
- * 
+ * Standalone executable class that builds an address cache by reverse geocoding the residential ways in an OSM
+ * extract. {@link OsmGeographyExtractor} builds a geography from the extract alone, without lookups.
+ *
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
  */
 public class PlanetXML {
@@ -46,17 +46,21 @@ public class ReverseGeocodeLookup {
         // if not found then hit API
         if(area == null) {
             area = OpenStreetMapAPI.getAreaFromAPI(lat, lon, cache);
+            record(cache, lat, lon, area);
+        }
+
+        return area;
+    }
 
-            if(!area.isErroneous() && area.isWay()) {
-                cache.addArea(area);
-            }
+    static void record(Cache cache, double lat, double lon, Area area) {
 
-            // Check if requested point falls in requested boundng box, if not then keep note of which BB the point relates to
-            if(area.isErroneous() || !area.isWay() || !area.containsPoint(lat, lon)) {
-                cache.addHistory(lat, lon, area);
-            }
+        if(!area.isErroneous() && area.isWay()) {
+            cache.addArea(area);
         }
 
-        return area;
+        // Check if requested point falls in requested boundng box, if not then keep note of which BB the point relates to
+        if(area.isErroneous() || !area.isWay() || !area.containsPoint(lat, lon)) {
+            cache.addHistory(lat, lon, area);
+        }
     }
 }
@@ -0,0 +1,184 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.addressLookup;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local HTTP server answering reverse geocoding and place detail requests from responses recorded in a
+ * {@link GeocodeCache}, for developing and testing geocoding offline. Responses may be delayed to simulate a remote
+ * server. Points with no recorded response are answered as Nominatim answers points it cannot geocode.
+ *
+ * May be executed standalone:
+ * <pre>
+ *     StubGeocodingServer recordings-file [port [latency-millis]]
+ * </pre>
+ */
+public class StubGeocodingServer implements Closeable {
+
+    static final String UNABLE_TO_GEOCODE = "{\"error\":\"Unable to geocode\"}";
+
+    private static final int THREADS = 16;
+
+    private final GeocodeCache recordings;
+    private final Duration latency;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    /**
+     * Starts a server on the loopback interface.
+     *
+     * @param port the port to listen on, or zero for any free port
+     */
+    public StubGeocodingServer(final GeocodeCache recordings, final int port, final Duration latency) throws IOException {
+
+        this.recordings = recordings;
+        this.latency = latency;
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/reverse.php", exchange -> handle(exchange, this::reverse));
+        server.createContext("/details.php", exchange -> handle(exchange, this::details));
+
+        executor = Executors.newFixedThreadPool(THREADS);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @return the base URI of the server, for use with {@link HttpGeocodingEndpoint}
+     */
+    public URI getURI() {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/");
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private String reverse(final Map<String, String> parameters) throws IOException {
+
+        final String response = recordings.getReverse(Double.parseDouble(parameters.get("lat")), Double.parseDouble(parameters.get("lon")));
+        return response != null ? response : UNABLE_TO_GEOCODE;
+    }
+
+    private String details(final Map<String, String> parameters) throws IOException {
+
+        return recordings.getDetails(Long.parseLong(parameters.get("place_id")));
+    }
+
+    private void handle(final HttpExchange exchange, final Responder responder) throws IOException {
+
+        requestCount.incrementAndGet();
+
+        try (exchange) {
+
+            if (!latency.isZero()) {
+                Thread.sleep(latency.toMillis());
+            }
+
+            String response;
+            int status;
+
+            try {
+                response = responder.respond(parameters(exchange.getRequestURI()));
+                status = response != null ? 200 : 404;
+
+            } catch (RuntimeException e) {
+                response = null;
+                status = 400;
+            }
+
+            final byte[] body = response != null ? response.getBytes(StandardCharsets.UTF_8) : new byte[0];
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length > 0 ? body.length : -1);
+
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> parameters(final URI uri) {
+
+        final Map<String, String> parameters = new HashMap<>();
+        final String query = uri.getRawQuery();
+
+        if (query != null) {
+            for (final String pair : query.split("&")) {
+
+                final int split = pair.indexOf('=');
+                if (split > 0) {
+                    parameters.put(URLDecoder.decode(pair.substring(0, split), StandardCharsets.UTF_8),
+                            URLDecoder.decode(pair.substring(split + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        return parameters;
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+
+        final int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        final Duration latency = Duration.ofMillis(args.length > 2 ? Long.parseLong(args[2]) : 0);
+
+        try (GeocodeCache recordings = GeocodeCache.open(Paths.get(args[0]));
+             StubGeocodingServer server = new StubGeocodingServer(recordings, port, latency)) {
+
+            System.out.println("Serving " + recordings.size() + " recorded responses at " + server.getURI());
+            Thread.currentThread().join();
+        }
+    }
+
+    private interface Responder {
+        String respond(Map<String, String> parameters) throws IOException;
+    }
+}
@@ -17,6 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords;
 
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.oldDSformat.BirthSourceRecord;
@@ -26,8 +27,8 @@ import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.oldDSformat.SourceRec
 
 public class DsRecord extends Record {
 
-    DsRecord(final Iterable<IPerson> people, final Iterable<IPartnership> partnerships) {
-      super(people, partnerships);
+    DsRecord(final Iterable<IPerson> people, final Iterable<IPartnership> partnerships, final RandomStreams randomStreams) {
+      super(people, partnerships, randomStreams);
     }
 
     @Override
@@ -17,6 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords;
 
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.egSkyeFormat.EGSkyeBirthSourceRecord;
@@ -26,20 +27,20 @@ import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.oldDSformat.SourceRec
 
 public class EgSkyeRecord extends Record {
 
-    EgSkyeRecord(final Iterable<IPerson> people, final Iterable<IPartnership> partnerships) {
-      super(people, partnerships);
+    EgSkyeRecord(final Iterable<IPerson> people, final Iterable<IPartnership> partnerships, final RandomStreams randomStreams) {
+      super(people, partnerships, randomStreams);
     }
 
     @Override
     protected Iterable<SourceRecord> toBirthRecords(final Iterable<IPerson> people) {
 
-        return SimplifiedRecord.getRecords(people, EGSkyeBirthSourceRecord::new);
+        return SimplifiedRecord.getRecords(people, person -> new EGSkyeBirthSourceRecord(person, randomStreams));
     }
 
     @Override
     protected Iterable<SourceRecord> toDeathRecords(final Iterable<IPerson> people) {
 
-        return SimplifiedRecord.getRecords(people, EGSkyeDeathSourceRecord::new);
+        return SimplifiedRecord.getRecords(people, person -> new EGSkyeDeathSourceRecord(person, randomStreams));
     }
 
     @Override
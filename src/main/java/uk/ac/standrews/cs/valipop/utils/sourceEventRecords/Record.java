@@ -24,6 +24,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 import uk.ac.standrews.cs.valipop.Config;
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.oldDSformat.SourceRecord;
@@ -39,9 +40,13 @@ abstract public class Record {
     private Iterable<IPerson> people;
     private Iterable<IPartnership> partnerships;
 
-    Record(Iterable<IPerson> people, Iterable<IPartnership> partnerships) {
+    // The streams of the run whose population is recorded, from which any randomised details of records are drawn.
+    protected final RandomStreams randomStreams;
+
+    Record(Iterable<IPerson> people, Iterable<IPartnership> partnerships, RandomStreams randomStreams) {
         this.people = people;
         this.partnerships = partnerships;
+        this.randomStreams = randomStreams;
     }
 
     abstract protected Iterable<? extends SourceRecord> toBirthRecords(Iterable<IPerson> people);
@@ -65,6 +70,10 @@ abstract public class Record {
 
             boolean first = true;
 
+            // Each record is rendered into the same builder and copied out through the same buffer.
+            final StringBuilder line = new StringBuilder();
+            char[] buffer = new char[0];
+
             for (final SourceRecord record : records) {
 
                 if (first) {
@@ -72,7 +81,16 @@ abstract public class Record {
                     first = false;
                 }
 
-                writer.println(record);
+                line.setLength(0);
+                record.appendTo(line);
+
+                if (buffer.length < line.length()) {
+                    buffer = new char[line.capacity()];
+                }
+                line.getChars(0, line.length(), buffer, 0);
+
+                writer.write(buffer, 0, line.length());
+                writer.println();
             }
         }
     }
@@ -17,6 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords;
 
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation;
@@ -35,7 +36,7 @@ public class RecordGenerationFactory {
 
     public static final Logger log = Logger.getLogger(RecordGenerationFactory.class.getName());
 
-    public static void outputRecords(final RecordFormat recordFormat, final Path recordsOutputDir, final PeopleCollection people, final LocalDate startDate) {
+    public static void outputRecords(final RecordFormat recordFormat, final Path recordsOutputDir, final PeopleCollection people, final LocalDate startDate, final RandomStreams randomStreams) {
 
         final Iterable<IPartnership> partnerships = people.getPartnerships();
         final Iterable<IPerson> filteredPeople = filterPeople(people, startDate);
@@ -45,16 +46,16 @@ public class RecordGenerationFactory {
 
         switch (recordFormat) {
             case DS:
-                record = new DsRecord(filteredPeople, filteredPartnerships);
+                record = new DsRecord(filteredPeople, filteredPartnerships, randomStreams);
                 break;
             case EG_SKYE:
-                record = new EgSkyeRecord(filteredPeople, filteredPartnerships);
+                record = new EgSkyeRecord(filteredPeople, filteredPartnerships, randomStreams);
                 break;
             case TD:
-                record = new TDRecord(filteredPeople, filteredPartnerships);
+                record = new TDRecord(filteredPeople, filteredPartnerships, randomStreams);
                 break;
             case VIS_PROCESSING:
-                record = new SimplifiedRecord(filteredPeople, filteredPartnerships);
+                record = new SimplifiedRecord(filteredPeople, filteredPartnerships, randomStreams);
                 break;
             case NONE:
                 break;
@@ -17,6 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords;
 
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.oldDSformat.SourceRecord;
@@ -29,26 +30,26 @@ import java.util.function.Function;
 
 public class SimplifiedRecord extends Record {
 
-    SimplifiedRecord(final Iterable<IPerson> people, final Iterable<IPartnership> partneships) {
-      super(people, partneships);
+    SimplifiedRecord(final Iterable<IPerson> people, final Iterable<IPartnership> partneships, final RandomStreams randomStreams) {
+      super(people, partneships, randomStreams);
     }
 
     @Override
     protected Iterable<SourceRecord> toBirthRecords(final Iterable<IPerson> people) {
 
-        return getRecords(people, SimplifiedBirthSourceRecord::new);
+        return getRecords(people, person -> new SimplifiedBirthSourceRecord(person, randomStreams));
     }
 
     @Override
     protected Iterable<SourceRecord> toDeathRecords(final Iterable<IPerson> people) {
 
-        return getRecords(people, SimplifiedDeathSourceRecord::new);
+        return getRecords(people, person -> new SimplifiedDeathSourceRecord(person, randomStreams));
     }
 
     @Override
     protected Iterable<SourceRecord> toMarriageRecords(final Iterable<IPartnership> partnerships) {
 
-        return getRecords(partnerships, SimplifiedMarriageSourceRecord::new);
+        return getRecords(partnerships, partnership -> new SimplifiedMarriageSourceRecord(partnership, randomStreams));
     }
 
     protected static <X> Iterable<SourceRecord> getRecords(final Iterable<X> source, final Function<X, SourceRecord> mapper) {
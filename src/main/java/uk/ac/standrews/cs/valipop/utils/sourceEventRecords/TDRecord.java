@@ -17,6 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords;
 
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.oldDSformat.SourceRecord;
@@ -26,22 +27,22 @@ import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.tdFormat.TDMarriageSo
 
 public class TDRecord extends Record {
 
-    TDRecord(final Iterable<IPerson> people, final Iterable<IPartnership> partnerships) {
-      super(people, partnerships);
+    TDRecord(final Iterable<IPerson> people, final Iterable<IPartnership> partnerships, final RandomStreams randomStreams) {
+      super(people, partnerships, randomStreams);
     }
 
     @Override
     protected Iterable<SourceRecord> toBirthRecords(final Iterable<IPerson> people) {
-        return SimplifiedRecord.getRecords(people, TDBirthSourceRecord::new);
+        return SimplifiedRecord.getRecords(people, person -> new TDBirthSourceRecord(person, randomStreams));
     }
 
     @Override
     protected Iterable<SourceRecord> toDeathRecords(final Iterable<IPerson> people) {
-        return SimplifiedRecord.getRecords(people, TDDeathSourceRecord::new);
+        return SimplifiedRecord.getRecords(people, person -> new TDDeathSourceRecord(person, randomStreams));
     }
 
     @Override
     protected Iterable<SourceRecord> toMarriageRecords(final Iterable<IPartnership> partnerships) {
-        return SimplifiedRecord.getRecords(partnerships, TDMarriageSourceRecord::new);
+        return SimplifiedRecord.getRecords(partnerships, partnership -> new TDMarriageSourceRecord(partnership, randomStreams));
     }
 }
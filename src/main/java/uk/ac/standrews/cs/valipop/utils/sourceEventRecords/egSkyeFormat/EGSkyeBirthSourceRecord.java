@@ -17,7 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords.egSkyeFormat;
 
-import uk.ac.standrews.cs.valipop.implementations.Randomness;
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
 import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.oldDSformat.BirthSourceRecord;
@@ -38,7 +38,7 @@ public class EGSkyeBirthSourceRecord extends BirthSourceRecord {
     protected String marriageBaby = "";
     protected String deathID = "";
 
-    public EGSkyeBirthSourceRecord(IPerson person) {
+    public EGSkyeBirthSourceRecord(IPerson person, RandomStreams randomStreams) {
 
         super(person);
 
@@ -50,7 +50,7 @@ public class EGSkyeBirthSourceRecord extends BirthSourceRecord {
             fathers_surname = person.getParents().getMalePartner().getSurname();
         }
 
-        int registrationDay = Randomness.getRandomGenerator().nextInt(43);
+        int registrationDay = randomStreams.split(RandomStreams.Subsystem.RECORDS, 'B', person.getId()).nextInt(43);
         registrationDate = birthDate.plus(registrationDay, ChronoUnit.DAYS);
 
         illegitimate = person.isAdulterousBirth() ? "illegitimate" : "";
@@ -61,9 +61,7 @@ public class EGSkyeBirthSourceRecord extends BirthSourceRecord {
     }
 
     @Override
-    public String toString() {
-
-        final StringBuilder builder = new StringBuilder();
+    public StringBuilder appendTo(final StringBuilder builder) {
 
         append(builder, "", "", uid, "", familyID, parents_partnership_id, "",
                 "", "", "", "", "",
@@ -79,7 +77,7 @@ public class EGSkyeBirthSourceRecord extends BirthSourceRecord {
                 registrationDate.getMonth(), registrationDate.getYear(), illegitimate, "SYNTHETIC DATA PRODUCED USING VALIPOP", "", "", "", "", deathID,
                 "", "", marriageBaby);
 
-        return builder.toString();
+        return builder;
     }
 
     @Override
@@ -17,7 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords.egSkyeFormat;
 
-import uk.ac.standrews.cs.valipop.implementations.Randomness;
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation;
@@ -42,7 +42,7 @@ public class EGSkyeDeathSourceRecord extends DeathSourceRecord {
     protected String marriageIDs;
     protected String deathAddress;
 
-    public EGSkyeDeathSourceRecord(IPerson person) {
+    public EGSkyeDeathSourceRecord(IPerson person, RandomStreams randomStreams) {
 
         super(person);
 
@@ -68,17 +68,17 @@ public class EGSkyeDeathSourceRecord extends DeathSourceRecord {
             }
         }
 
-        int registrationDay = Randomness.getRandomGenerator().nextInt(9);
+        int registrationDay = randomStreams.split(RandomStreams.Subsystem.RECORDS, 'D', person.getId()).nextInt(9);
         registrationDate = deathDate.plus(registrationDay, ChronoUnit.DAYS);
 
-        setMaritalStatus(identifyMaritalStatus(person));
+        setMaritalStatus(identifyMaritalStatus(person, randomStreams));
         String[] spousesInfo = identifyNameAndOccupationOfSpouses(person);
         setSpousesNames(spousesInfo[0]);
         setSpousesOccupations(spousesInfo[1]);
         marriageIDs = spousesInfo[2];
     }
 
-    public String identifyMaritalStatus(IPerson deceased) {
+    public String identifyMaritalStatus(IPerson deceased, RandomStreams randomStreams) {
 
         List<IPartnership> partnerships = deceased.getPartnerships();
 
@@ -89,10 +89,12 @@ public class EGSkyeDeathSourceRecord extends DeathSourceRecord {
                 return "S"; // single/spinster
             }
         } else {
-            if (getLastPartnership(deceased).getSeparationDate(Randomness.getRandomGenerator()) == null) {
+            final IPartnership lastPartnership = getLastPartnership(deceased);
+
+            if (lastPartnership.getSeparationDate(randomStreams.split(RandomStreams.Subsystem.SEPARATION, lastPartnership.getId())) == null) {
                 // not separated from last partner
 
-                IPerson lastPartner = getLastPartnership(deceased).getPartnerOf(deceased);
+                IPerson lastPartner = lastPartnership.getPartnerOf(deceased);
                 if (PopulationNavigation.aliveOnDate(lastPartner, deceased.getDeathDate())) {
 
                     // last spouse alive on death date of deceased
@@ -143,9 +145,7 @@ public class EGSkyeDeathSourceRecord extends DeathSourceRecord {
     }
 
     @Override
-    public String toString() {
-
-        final StringBuilder builder = new StringBuilder();
+    public StringBuilder appendTo(final StringBuilder builder) {
 
         append(builder, "", "", uid, "", "", "",
                 "", "", "", "", "",
@@ -161,7 +161,7 @@ public class EGSkyeDeathSourceRecord extends DeathSourceRecord {
                 registrationDate.getDayOfMonth(), registrationDate.getMonth(), registrationDate.getYear(), "SYNTHETIC DATA PRODUCED USING VALIPOP", "", "", "", "", uid,
                 "", "", marriageIDs);
 
-        return builder.toString();
+        return builder;
     }
 
     @Override
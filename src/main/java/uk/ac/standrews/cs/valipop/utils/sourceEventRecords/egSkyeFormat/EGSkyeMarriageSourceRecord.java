@@ -49,9 +49,7 @@ public class EGSkyeMarriageSourceRecord extends MarriageSourceRecord {
     }
 
     @Override
-    public String toString() {
-
-        final StringBuilder builder = new StringBuilder();
+    public StringBuilder appendTo(final StringBuilder builder) {
 
         append(builder, "", "", uid, "", "", "",
                 "", "", "", "",
@@ -69,7 +67,7 @@ public class EGSkyeMarriageSourceRecord extends MarriageSourceRecord {
                 "SYNTHETIC DATA PRODUCED USING VALIPOP", "", "", "", "", "", "", "", "",
                 "", "", "", groomID, brideID);
 
-        return builder.toString();
+        return builder;
     }
 
     @Override
@@ -134,9 +134,7 @@ public class BirthSourceRecord extends IndividualSourceRecord {
     }
 
     @Override
-    public String toString() {
-
-        final StringBuilder builder = new StringBuilder();
+    public StringBuilder appendTo(final StringBuilder builder) {
 
         append(builder, uid, surname, forename, sex, registration_year, registration_district_number,
                 registration_district_suffix, entry, birth_date.getYear(), mothers_maiden_surname, surname_changed,
@@ -148,7 +146,7 @@ public class BirthSourceRecord extends IndividualSourceRecord {
                 parents_place_of_marriage, illegitimate_indicator, informant, informant_did_not_sign, entry_corrected,
                 adoption, image_quality);
 
-        return builder.toString();
+        return builder;
     }
 
     @Override
@@ -223,9 +223,7 @@ public class DeathSourceRecord extends IndividualSourceRecord {
     }
 
     @Override
-    public String toString() {
-
-        final StringBuilder builder = new StringBuilder();
+    public StringBuilder appendTo(final StringBuilder builder) {
 
         append(builder, uid, surname, forename, sex, registration_year, registration_district_number,
                 registration_district_suffix, entry, death_date.getYear(), death_age, mothers_maiden_surname,
@@ -235,7 +233,7 @@ public class DeathSourceRecord extends IndividualSourceRecord {
                 mothers_surname, mothers_maiden_surname_changed, mother_deceased,
                 death_cause_a, "", "", "", entry_corrected, image_quality);
 
-        return builder.toString();
+        return builder;
     }
 
     @Override
@@ -17,7 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords.oldDSformat;
 
-import uk.ac.standrews.cs.valipop.implementations.Randomness;
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation;
@@ -202,7 +202,7 @@ public class MarriageSourceRecord extends SourceRecord {
         return partnershipsBeforeDate;
     }
 
-    public static String identifyMaritalStatus(final IPerson spouse, final LocalDate marriageDate) {
+    public static String identifyMaritalStatus(final IPerson spouse, final LocalDate marriageDate, final RandomStreams randomStreams) {
 
         final List<IPartnership> partnerships = getPartnershipsBeforeDate(spouse, marriageDate);
 
@@ -217,7 +217,7 @@ public class MarriageSourceRecord extends SourceRecord {
             final IPartnership lastPartnership = partnerships.get(partnerships.size() - 1);
 //            final IPartnership lastPartnership = partnerships.getLast();
 
-            if (lastPartnership.getSeparationDate(Randomness.getRandomGenerator()) == null) {
+            if (lastPartnership.getSeparationDate(randomStreams.split(RandomStreams.Subsystem.SEPARATION, lastPartnership.getId())) == null) {
                 // not separated from last partner
                 if (PopulationNavigation.aliveOnDate(lastPartnership.getPartnerOf(spouse), marriageDate)) {
                     // last spouse alive on death date of deceased
@@ -419,9 +419,7 @@ public class MarriageSourceRecord extends SourceRecord {
     }
 
     @Override
-    public String toString() {
-
-        final StringBuilder builder = new StringBuilder();
+    public StringBuilder appendTo(final StringBuilder builder) {
 
         append(builder, uid, groom_surname, groom_forename, bride_surname, bride_forename, registration_year,
                 registration_district_number, registration_district_suffix, entry, marriage_date.getYear(),
@@ -434,7 +432,7 @@ public class MarriageSourceRecord extends SourceRecord {
                 bride_father_deceased, bride_mothers_forename, bride_mothers_maiden_surname, bride_mother_deceased,
                 bride_father_occupation, entry_corrected, image_quality);
 
-        return builder.toString();
+        return builder;
     }
 
     @Override
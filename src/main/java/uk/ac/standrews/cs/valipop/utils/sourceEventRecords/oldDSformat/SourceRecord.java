@@ -69,10 +69,26 @@ public abstract class SourceRecord {
         return parents_surname.equals(childs_surname) ? "0" : parents_surname;
     }
 
+    /**
+     * Appends this record, as a single line without a line terminator, to the given builder.
+     *
+     * @param builder the builder to append to
+     * @return the builder
+     */
+    public abstract StringBuilder appendTo(StringBuilder builder);
+
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
     protected void append(final StringBuilder builder, final Object... fields) {
 
         for (Object field : fields) {
-            append(builder, field != null ? field.toString() : null);
+            if (field != null) {
+                builder.append(field);
+            }
+            builder.append(SEPARATOR);
         }
         builder.deleteCharAt(builder.length() - 1);
     }
@@ -18,7 +18,7 @@
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords.processingVisualiserFormat;
 
 import uk.ac.standrews.cs.valipop.Config;
-import uk.ac.standrews.cs.valipop.implementations.Randomness;
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
 
 import java.io.IOException;
@@ -35,10 +35,10 @@ public class RelationshipsTable {
     final static ArrayList<String[]> relationshipsMother = new ArrayList<>();
     final static ArrayList<String[]> relationshipsMarriage = new ArrayList<>();
 
-    public static void outputData(Path recordsDirPath) throws IOException {
+    public static void outputData(Path recordsDirPath, RandomStreams randomStreams) throws IOException {
 
         toFile(recordsDirPath, "clean-relationships.txt");
-        confuseTheData();
+        confuseTheData(randomStreams);
 
         toFile(recordsDirPath, "messy-relationships.txt");
     }
@@ -64,28 +64,28 @@ public class RelationshipsTable {
         ps.close();
     }
 
-    public static void confuseTheData() {
+    public static void confuseTheData(RandomStreams randomStreams) {
 
         ArrayList<String[]> fRels = deepCopy(relationshipsFather);
-        swapPrimaryValues(fRels, 2);
+        swapPrimaryValues(fRels, 2, randomStreams);
 
         ArrayList<String[]> mRels = deepCopy(relationshipsMother);
-        swapPrimaryValues(mRels, 2);
+        swapPrimaryValues(mRels, 2, randomStreams);
 
         ArrayList<String[]> marRels = deepCopy(relationshipsMarriage);
-        swapPrimaryValues(marRels, 1);
+        swapPrimaryValues(marRels, 1, randomStreams);
 
         relationshipsFather.addAll(fRels);
         relationshipsMother.addAll(mRels);
         relationshipsMarriage.addAll(marRels);
     }
 
-    private static void swapPrimaryValues(ArrayList<String[]> relations, int position) {
+    private static void swapPrimaryValues(ArrayList<String[]> relations, int position, RandomStreams randomStreams) {
 
         ArrayList<String[]> used = new ArrayList<>();
 
         for (int i = 0; i < relations.size() - 1; i++) {
-            int r = Randomness.getRandomGenerator().nextInt(relations.size());
+            int r = randomStreams.get(RandomStreams.Subsystem.RECORDS).nextInt(relations.size());
 
             String[] swap = relations.remove(r);
 
@@ -95,8 +95,8 @@ public class RelationshipsTable {
             line[position] = swap[position];
             swap[position] = principle;
 
-            swap[3] = String.valueOf(Randomness.getRandomGenerator().nextInt(81));
-            line[3] = String.valueOf(Randomness.getRandomGenerator().nextInt(81));
+            swap[3] = String.valueOf(randomStreams.get(RandomStreams.Subsystem.RECORDS).nextInt(81));
+            line[3] = String.valueOf(randomStreams.get(RandomStreams.Subsystem.RECORDS).nextInt(81));
 
             used.add(swap);
         }
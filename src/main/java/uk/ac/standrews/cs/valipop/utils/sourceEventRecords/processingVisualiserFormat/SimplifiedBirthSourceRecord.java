@@ -17,7 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords.processingVisualiserFormat;
 
-import uk.ac.standrews.cs.valipop.implementations.Randomness;
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
@@ -39,7 +39,11 @@ public class SimplifiedBirthSourceRecord extends IndividualSourceRecord {
 
     private LocalDate parents_marriage_date;
 
-    public SimplifiedBirthSourceRecord(final IPerson person) {
+    private final RandomStreams randomStreams;
+
+    public SimplifiedBirthSourceRecord(final IPerson person, final RandomStreams randomStreams) {
+
+        this.randomStreams = randomStreams;
 
         // Attributes associated with individual
         setUid(String.valueOf(person.getId()));
@@ -75,23 +79,22 @@ public class SimplifiedBirthSourceRecord extends IndividualSourceRecord {
     }
 
     @Override
-    public String toString() {
+    public StringBuilder appendTo(final StringBuilder builder) {
 
-        final StringBuilder builder = new StringBuilder();
         int rnd;
 
         if (fathers_id != null) {
-            rnd = Randomness.getRandomGenerator().nextInt(101);
+            rnd = randomStreams.get(RandomStreams.Subsystem.RECORDS).nextInt(101);
             RelationshipsTable.relationshipsFather.add(new String[]{"Father", String.valueOf(uid), String.valueOf(fathers_id), String.valueOf(rnd), birth_date.getDayOfMonth() + "." + birth_date.getMonth() + "." + birth_date.getYear()});
         }
 
         if (mothers_id != null) {
-            rnd = Randomness.getRandomGenerator().nextInt(101);
+            rnd = randomStreams.get(RandomStreams.Subsystem.RECORDS).nextInt(101);
             RelationshipsTable.relationshipsMother.add(new String[]{"Mother", String.valueOf(uid), String.valueOf(mothers_id), String.valueOf(rnd), birth_date.getDayOfMonth() + "." + birth_date.getMonth() + "." + birth_date.getYear()});
         }
 
         if (fathers_id != null && mothers_id != null) {
-            rnd = Randomness.getRandomGenerator().nextInt(101);
+            rnd = randomStreams.get(RandomStreams.Subsystem.RECORDS).nextInt(101);
             RelationshipsTable.relationshipsMarriage.add(new String[]{"Marriage", String.valueOf(fathers_id), String.valueOf(mothers_id), String.valueOf(rnd), birth_date.getDayOfMonth() + "." + birth_date.getMonth() + "." + birth_date.getYear()});
         }
 
@@ -100,7 +103,7 @@ public class SimplifiedBirthSourceRecord extends IndividualSourceRecord {
                 birth_date.getDayOfMonth() + "." + birth_date.getMonth() + "." + birth_date.getYear(),
                 birth_address, registration_district_suffix);
 
-        return builder.toString();
+        return builder;
     }
 
     @Override
@@ -17,7 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords.processingVisualiserFormat;
 
-import uk.ac.standrews.cs.valipop.implementations.Randomness;
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
@@ -52,7 +52,11 @@ public class SimplifiedDeathSourceRecord extends IndividualSourceRecord {
     private String spouses_names;
     private String spouses_id = "";
 
-    public SimplifiedDeathSourceRecord(final IPerson person) {
+    private final RandomStreams randomStreams;
+
+    public SimplifiedDeathSourceRecord(final IPerson person, final RandomStreams randomStreams) {
+
+        this.randomStreams = randomStreams;
 
         // Attributes associated with individual
         setUid(String.valueOf(person.getId()));
@@ -124,29 +128,27 @@ public class SimplifiedDeathSourceRecord extends IndividualSourceRecord {
     }
 
     @Override
-    public String toString() {
-
-        final StringBuilder builder = new StringBuilder();
+    public StringBuilder appendTo(final StringBuilder builder) {
 
         int rnd;
 
         if (fathers_id != null) {
-            rnd = Randomness.getRandomGenerator().nextInt(101);
+            rnd = randomStreams.get(RandomStreams.Subsystem.RECORDS).nextInt(101);
             RelationshipsTable.relationshipsFather.add(new String[]{"Father", String.valueOf(uid), String.valueOf(fathers_id), String.valueOf(rnd), death_date.getDayOfMonth() + "." + death_date.getMonth() + "." + death_date.getYear()});
         }
 
         if (mothers_id != null) {
-            rnd = Randomness.getRandomGenerator().nextInt(101);
+            rnd = randomStreams.get(RandomStreams.Subsystem.RECORDS).nextInt(101);
             RelationshipsTable.relationshipsMother.add(new String[]{"Mother", String.valueOf(uid), String.valueOf(mothers_id), String.valueOf(rnd), death_date.getDayOfMonth() + "." + death_date.getMonth() + "." + death_date.getYear()});
         }
 
         if (fathers_id != null && mothers_id != null) {
-            rnd = Randomness.getRandomGenerator().nextInt(101);
+            rnd = randomStreams.get(RandomStreams.Subsystem.RECORDS).nextInt(101);
             RelationshipsTable.relationshipsMarriage.add(new String[]{"Marriage", String.valueOf(fathers_id), String.valueOf(mothers_id), String.valueOf(rnd), "-"});
         }
 
         if (!Objects.equals(spouses_id, "")) {
-            rnd = Randomness.getRandomGenerator().nextInt(101);
+            rnd = randomStreams.get(RandomStreams.Subsystem.RECORDS).nextInt(101);
             RelationshipsTable.relationshipsMarriage.add(new String[]{"Marriage", String.valueOf(uid), String.valueOf(spouses_id), String.valueOf(rnd), "-"});
         }
 
@@ -156,7 +158,7 @@ public class SimplifiedDeathSourceRecord extends IndividualSourceRecord {
                 death_date == null ? "" : death_date.getDayOfMonth() + "." + death_date.getMonth() + "." + death_date.getYear(),
                 death_place, registration_district_suffix, death_cause_a);
 
-        return builder.toString();
+        return builder;
     }
 
     @Override
@@ -17,7 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords.processingVisualiserFormat;
 
-import uk.ac.standrews.cs.valipop.implementations.Randomness;
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
@@ -60,7 +60,11 @@ public class SimplifiedMarriageSourceRecord extends SourceRecord {
     private String bride_mothers_forename;
     private String bride_mothers_maiden_surname;
 
-    public SimplifiedMarriageSourceRecord(final IPartnership partnership) {
+    private final RandomStreams randomStreams;
+
+    public SimplifiedMarriageSourceRecord(final IPartnership partnership, final RandomStreams randomStreams) {
+
+        this.randomStreams = randomStreams;
 
         setUid(String.valueOf(partnership.getId()));
 
@@ -181,12 +185,10 @@ public class SimplifiedMarriageSourceRecord extends SourceRecord {
     }
 
     @Override
-    public String toString() {
-
-        final StringBuilder builder = new StringBuilder();
+    public StringBuilder appendTo(final StringBuilder builder) {
 
         if (groom_id != null && bride_id != null) {
-            int rnd = Randomness.getRandomGenerator().nextInt(101);
+            int rnd = randomStreams.get(RandomStreams.Subsystem.RECORDS).nextInt(101);
             RelationshipsTable.relationshipsMarriage.add(new String[]{"Marriage", String.valueOf(groom_id), String.valueOf(bride_id), String.valueOf(rnd), marriage_date.getDayOfMonth() + "." + marriage_date.getMonth() + "." + marriage_date.getYear()});
         }
         append(builder,
@@ -200,7 +202,7 @@ public class SimplifiedMarriageSourceRecord extends SourceRecord {
                 "", registration_district_suffix);
 
 
-        return builder.toString();
+        return builder;
     }
 
     @Override
@@ -17,7 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords.tdFormat;
 
-import uk.ac.standrews.cs.valipop.implementations.Randomness;
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TableStructure.PersonCharacteristicsIdentifier;
@@ -59,7 +59,7 @@ public class TDBirthSourceRecord extends BirthSourceRecord {
     private String IMMIGRATION_GENERATION = "NA";
 
 
-    public TDBirthSourceRecord(final IPerson person) {
+    public TDBirthSourceRecord(final IPerson person, final RandomStreams randomStreams) {
 
         super(person);
 
@@ -80,7 +80,7 @@ public class TDBirthSourceRecord extends BirthSourceRecord {
                 PARENT_MARRIAGE_RECORD_IDENTITY = String.valueOf(parents.getId());
         }
 
-        final int registrationDay = Randomness.getRandomGenerator().nextInt(43);
+        final int registrationDay = randomStreams.split(RandomStreams.Subsystem.RECORDS, 'B', person.getId()).nextInt(43);
         registrationDate = birthDate.plusDays(registrationDay);
 
         illegitimate = person.isAdulterousBirth() || (person.getParents() != null && person.getParents().getMarriageDate() == null) ? "illegitimate" : "";
@@ -133,9 +133,7 @@ public class TDBirthSourceRecord extends BirthSourceRecord {
     }
 
     @Override
-    public String toString() {
-
-        final StringBuilder builder = new StringBuilder();
+    public StringBuilder appendTo(final StringBuilder builder) {
 
         append(builder, uid, familyID, PARENT_MARRIAGE_RECORD_IDENTITY,
                 forename, surname, birthDate.getDayOfMonth(), birthDate.getMonth(), birthDate.getYear(), birth_address,
@@ -152,7 +150,7 @@ public class TDBirthSourceRecord extends BirthSourceRecord {
                 MARRIAGE_RECORD_IDENTITY4, MARRIAGE_RECORD_IDENTITY5, MARRIAGE_RECORD_IDENTITY6,
                 MARRIAGE_RECORD_IDENTITY7, MARRIAGE_RECORD_IDENTITY8, IMMIGRATION_GENERATION);
 
-        return builder.toString();
+        return builder;
     }
 
     @Override
@@ -17,7 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords.tdFormat;
 
-import uk.ac.standrews.cs.valipop.implementations.Randomness;
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation;
@@ -56,7 +56,7 @@ public class TDDeathSourceRecord extends DeathSourceRecord {
     private String SPOUSE_MARRIAGE_RECORD_IDENTITY = "";
     private String SPOUSE_BIRTH_RECORD_IDENTITY = "";
 
-    public TDDeathSourceRecord(final IPerson person) {
+    public TDDeathSourceRecord(final IPerson person, final RandomStreams randomStreams) {
 
         super(person);
 
@@ -102,10 +102,10 @@ public class TDDeathSourceRecord extends DeathSourceRecord {
             MOTHER_BIRTH_RECORD_IDENTITY = String.valueOf(mother.getId());;
         }
 
-        final int registrationDay = Randomness.getRandomGenerator().nextInt(9);
+        final int registrationDay = randomStreams.split(RandomStreams.Subsystem.RECORDS, 'D', person.getId()).nextInt(9);
         registrationDate = deathDate.plusDays(registrationDay);
 
-        setMaritalStatus(identifyMaritalStatus(person));
+        setMaritalStatus(identifyMaritalStatus(person, randomStreams));
 
         DECEASED_IDENTITY = uid;
         BIRTH_RECORD_IDENTITY = uid;
@@ -141,7 +141,7 @@ public class TDDeathSourceRecord extends DeathSourceRecord {
             IMMIGRATION_GENERATION = String.valueOf(immigantGen);
     }
 
-    public static String identifyMaritalStatus(final IPerson deceased) {
+    public static String identifyMaritalStatus(final IPerson deceased, final RandomStreams randomStreams) {
 
         final List<IPartnership> partnerships = deceased.getPartnerships();
 
@@ -152,10 +152,12 @@ public class TDDeathSourceRecord extends DeathSourceRecord {
                 return "S"; // single/spinster
             }
         } else {
-            if (getLastPartnership(deceased).getSeparationDate(Randomness.getRandomGenerator()) == null) {
+            final IPartnership lastPartnership = getLastPartnership(deceased);
+
+            if (lastPartnership.getSeparationDate(randomStreams.split(RandomStreams.Subsystem.SEPARATION, lastPartnership.getId())) == null) {
                 // not separated from last partner
 
-                final IPerson lastPartner = getLastPartnership(deceased).getPartnerOf(deceased);
+                final IPerson lastPartner = lastPartnership.getPartnerOf(deceased);
                 if (PopulationNavigation.aliveOnDate(lastPartner, deceased.getDeathDate())) {
 
                     // last spouse alive on death date of deceased
@@ -173,9 +175,7 @@ public class TDDeathSourceRecord extends DeathSourceRecord {
     }
 
     @Override
-    public String toString() {
-
-        final StringBuilder builder = new StringBuilder();
+    public StringBuilder appendTo(final StringBuilder builder) {
 
         append(builder,  uid, forename, surname, getOccupation(),
                 getMaritalStatus(), sex, getSpousesNames(), getSpousesOccupations(),
@@ -187,7 +187,7 @@ public class TDDeathSourceRecord extends DeathSourceRecord {
                 BIRTH_RECORD_IDENTITY, PARENT_MARRIAGE_RECORD_IDENTITY, FATHER_BIRTH_RECORD_IDENTITY,
                 MOTHER_BIRTH_RECORD_IDENTITY, SPOUSE_MARRIAGE_RECORD_IDENTITY, SPOUSE_BIRTH_RECORD_IDENTITY, IMMIGRATION_GENERATION);
 
-        return builder.toString();
+        return builder;
     }
 
     @Override
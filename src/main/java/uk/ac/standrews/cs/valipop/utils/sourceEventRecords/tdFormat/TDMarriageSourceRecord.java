@@ -17,7 +17,7 @@
  */
 package uk.ac.standrews.cs.valipop.utils.sourceEventRecords.tdFormat;
 
-import uk.ac.standrews.cs.valipop.implementations.Randomness;
+import uk.ac.standrews.cs.valipop.implementations.RandomStreams;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation;
@@ -55,15 +55,15 @@ public class TDMarriageSourceRecord extends MarriageSourceRecord {
     private String BRIDE_FATHER_BIRTH_RECORD_IDENTITY = "";
     private String BRIDE_MOTHER_BIRTH_RECORD_IDENTITY = "";
 
-    public TDMarriageSourceRecord(final IPartnership partnership) {
+    public TDMarriageSourceRecord(final IPartnership partnership, final RandomStreams randomStreams) {
         super(partnership);
 
         marriageDate = partnership.getPartnershipDate();
         groomID = partnership.getMalePartner().getId();
         brideID = partnership.getFemalePartner().getId();
 
-        groom_marital_status = identifyMaritalStatus(partnership.getMalePartner());
-        bride_marital_status = identifyMaritalStatus(partnership.getFemalePartner());
+        groom_marital_status = identifyMaritalStatus(partnership.getMalePartner(), randomStreams);
+        bride_marital_status = identifyMaritalStatus(partnership.getFemalePartner(), randomStreams);
 
         marriageLocation = partnership.getMarriagePlace();
 
@@ -109,7 +109,7 @@ public class TDMarriageSourceRecord extends MarriageSourceRecord {
             GROOM_IMMIGRATION_GENERATION = String.valueOf(brideImmigrantGen);
     }
 
-    public String identifyMaritalStatus(final IPerson deceased) {
+    public String identifyMaritalStatus(final IPerson deceased, final RandomStreams randomStreams) {
 
         final List<IPartnership> partnerships = deceased.getPartnerships();
 
@@ -127,7 +127,7 @@ public class TDMarriageSourceRecord extends MarriageSourceRecord {
                 } else {
                     return "S"; // single/spinster
                 }
-            } else if(lastPartnership.getSeparationDate(Randomness.getRandomGenerator()) == null) {
+            } else if(lastPartnership.getSeparationDate(randomStreams.split(RandomStreams.Subsystem.SEPARATION, lastPartnership.getId())) == null) {
                 // not separated from last partner
 
                 final IPerson lastPartner = PopulationNavigation.getLastPartnershipBeforeDate(deceased, marriageDate).getPartnerOf(deceased);
@@ -148,9 +148,7 @@ public class TDMarriageSourceRecord extends MarriageSourceRecord {
     }
 
     @Override
-    public String toString() {
-
-        final StringBuilder builder = new StringBuilder();
+    public StringBuilder appendTo(final StringBuilder builder) {
 
         append(builder, uid, marriageDate.getDayOfMonth(), marriageDate.getMonth(), marriageDate.getYear(),
                 marriageLocation, getGroomForename(), getGroomSurname(),
@@ -168,7 +166,7 @@ public class TDMarriageSourceRecord extends MarriageSourceRecord {
                 GROOM_MOTHER_BIRTH_RECORD_IDENTITY, BRIDE_FATHER_BIRTH_RECORD_IDENTITY,
                 BRIDE_MOTHER_BIRTH_RECORD_IDENTITY, BRIDE_IMMIGRATION_GENERATION, GROOM_IMMIGRATION_GENERATION);
 
-        return builder.toString();
+        return builder;
     }
 
     @Override
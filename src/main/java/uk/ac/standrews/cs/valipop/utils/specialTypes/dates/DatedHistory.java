@@ -0,0 +1,286 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.specialTypes.dates;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A history of values taking effect on given dates, such as a person's addresses or occupations, answering the same
+ * floor and ceiling queries as a {@link java.util.TreeMap} keyed by date. Most people's histories hold one or two
+ * entries, so the first entry is held inline and any later ones in small sorted parallel arrays, with dates held as
+ * epoch days rather than as {@link LocalDate} instances.
+ *
+ * @param <V> the type of the values
+ */
+public final class DatedHistory<V> {
+
+    private static final int INITIAL_CAPACITY = 2;
+
+    private int firstDay;
+    private V firstValue;
+
+    // The entries after the first, in ascending order of date; allocated only when there is a second entry.
+    private int[] laterDays;
+    private Object[] laterValues;
+
+    private int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value in effect on the given date: that of the latest entry on or before the date.
+     *
+     * @param date the date
+     * @return the value, or null if there is no entry on or before the date
+     */
+    public V floor(final LocalDate date) {
+
+        final int i = floorIndex(date.toEpochDay());
+        return i < 0 ? null : valueAt(i);
+    }
+
+    /**
+     * Returns the value of the entry on exactly the given date.
+     *
+     * @param date the date
+     * @return the value, or null if there is no entry on the date
+     */
+    public V get(final LocalDate date) {
+
+        final long day = date.toEpochDay();
+        final int i = floorIndex(day);
+        return i >= 0 && dayAt(i) == day ? valueAt(i) : null;
+    }
+
+    /**
+     * Returns the date of the earliest entry on or after the given date.
+     *
+     * @param date the date
+     * @return the date of the entry, or null if there is no entry on or after the date
+     */
+    public LocalDate ceilingDate(final LocalDate date) {
+
+        final int i = ceilingIndex(date.toEpochDay());
+        return i < size ? LocalDate.ofEpochDay(dayAt(i)) : null;
+    }
+
+    /**
+     * Returns the value of the earliest entry on or after the given date.
+     *
+     * @param date the date
+     * @return the value, or null if there is no entry on or after the date
+     */
+    public V ceiling(final LocalDate date) {
+
+        final int i = ceilingIndex(date.toEpochDay());
+        return i < size ? valueAt(i) : null;
+    }
+
+    /**
+     * @return the date of the latest entry, or null if the history is empty
+     */
+    public LocalDate lastDate() {
+        return size == 0 ? null : LocalDate.ofEpochDay(dayAt(size - 1));
+    }
+
+    /**
+     * @return the value of the latest entry, or null if the history is empty
+     */
+    public V lastValue() {
+        return size == 0 ? null : valueAt(size - 1);
+    }
+
+    /**
+     * Returns the date of the earliest entry with a value equal to the given value.
+     *
+     * @param value the value
+     * @return the date of the entry, or null if no entry has the value
+     */
+    public LocalDate firstDateOf(final V value) {
+
+        for (int i = 0; i < size; i++)
+            if (value.equals(valueAt(i))) return LocalDate.ofEpochDay(dayAt(i));
+
+        return null;
+    }
+
+    /**
+     * Records a value taking effect on the given date, replacing any entry on the same date.
+     *
+     * @param date  the date
+     * @param value the value
+     * @return the value replaced, or null if there was no entry on the date
+     */
+    public V put(final LocalDate date, final V value) {
+
+        final int day = Math.toIntExact(date.toEpochDay());
+        final int i = floorIndex(day);
+
+        if (i >= 0 && dayAt(i) == day) {
+            final V previous = valueAt(i);
+            setAt(i, day, value);
+            return previous;
+        }
+
+        ensureCapacity(size + 1);
+
+        for (int j = size; j > i + 1; j--)
+            setAt(j, dayAt(j - 1), valueAt(j - 1));
+
+        setAt(i + 1, day, value);
+        size++;
+
+        return null;
+    }
+
+    /**
+     * Removes the entry on exactly the given date.
+     *
+     * @param date the date
+     * @return the value removed, or null if there was no entry on the date
+     */
+    public V remove(final LocalDate date) {
+
+        final long day = date.toEpochDay();
+        final int i = floorIndex(day);
+
+        return i >= 0 && dayAt(i) == day ? removeAt(i) : null;
+    }
+
+    /**
+     * Removes the latest entry.
+     *
+     * @return the value removed, or null if the history is empty
+     */
+    public V removeLast() {
+        return size == 0 ? null : removeAt(size - 1);
+    }
+
+    /**
+     * @return an unmodifiable view of the values, in ascending order of date
+     */
+    public List<V> values() {
+
+        return new AbstractList<>() {
+
+            @Override
+            public V get(final int index) {
+                if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+                return valueAt(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Passes each entry to the given action, in ascending order of date.
+     *
+     * @param action the action
+     */
+    public void forEach(final BiConsumer<LocalDate, ? super V> action) {
+
+        for (int i = 0; i < size; i++)
+            action.accept(LocalDate.ofEpochDay(dayAt(i)), valueAt(i));
+    }
+
+    private int dayAt(final int i) {
+        return i == 0 ? firstDay : laterDays[i - 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int i) {
+        return i == 0 ? firstValue : (V) laterValues[i - 1];
+    }
+
+    private void setAt(final int i, final int day, final V value) {
+
+        if (i == 0) {
+            firstDay = day;
+            firstValue = value;
+        } else {
+            laterDays[i - 1] = day;
+            laterValues[i - 1] = value;
+        }
+    }
+
+    private V removeAt(final int i) {
+
+        final V removed = valueAt(i);
+
+        for (int j = i; j < size - 1; j++)
+            setAt(j, dayAt(j + 1), valueAt(j + 1));
+
+        size--;
+        setAt(size, 0, null);
+
+        return removed;
+    }
+
+    // Returns the position of the latest entry on or before the given day, or -1 if there is none.
+    private int floorIndex(final long day) {
+
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+
+            final int mid = (low + high) >>> 1;
+
+            if (dayAt(mid) <= day) low = mid + 1;
+            else high = mid - 1;
+        }
+
+        return high;
+    }
+
+    // Returns the position of the earliest entry on or after the given day, or the size if there is none.
+    private int ceilingIndex(final long day) {
+
+        final int i = floorIndex(day);
+        return i >= 0 && dayAt(i) == day ? i : i + 1;
+    }
+
+    private void ensureCapacity(final int entries) {
+
+        if (entries <= 1) return;
+
+        if (laterDays == null) {
+            laterDays = new int[Math.max(INITIAL_CAPACITY, entries - 1)];
+            laterValues = new Object[laterDays.length];
+
+        } else if (laterDays.length < entries - 1) {
+            final int capacity = Math.max(laterDays.length * 2, entries - 1);
+            laterDays = Arrays.copyOf(laterDays, capacity);
+            laterValues = Arrays.copyOf(laterValues, capacity);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets;
+
+import java.util.*;
+
+/**
+ * Base for labelled value sets that hold their values in a primitive array, positioned by a shared
+ * {@link LabelIndex}. The set of labels is fixed on construction: values may be updated but labels cannot be
+ * added or removed.
+ *
+ * Operations defined by {@link LabelledValueSet} return new sets, as for {@link AbstractLabelToAbstractValueSet},
+ * and produce the same values, computed in the same order. Subclasses also provide in-place variants for use on
+ * hot paths.
+ */
+public abstract class AbstractIndexedValueSet<L extends Comparable<? super L>, V extends Number> implements LabelledValueSet<L, V> {
+
+    protected final LabelIndex<L> index;
+
+    private Map<L, V> mapView;
+
+    protected AbstractIndexedValueSet(final LabelIndex<L> index) {
+        this.index = index;
+    }
+
+    public LabelIndex<L> getIndex() {
+        return index;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @param i the position of a label in the index
+     * @return the value at that position, as a double
+     */
+    public abstract double doubleValueAt(int i);
+
+    protected abstract V valueAt(int i);
+
+    protected abstract void setValueAt(int i, V value);
+
+    @Override
+    public abstract AbstractIndexedValueSet<L, V> clone();
+
+    /**
+     * Returns a live view of this set as a map, iterating in label order. Values of existing labels may be
+     * replaced through the view; labels may not be added or removed.
+     */
+    @Override
+    public Map<L, V> getMap() {
+
+        if (mapView == null) mapView = new MapView();
+        return mapView;
+    }
+
+    @Override
+    public V getValue(final L label) {
+        return get(label);
+    }
+
+    @Override
+    public V get(final L label) {
+
+        final int i = index.indexOf(label);
+        return i < 0 ? null : valueAt(i);
+    }
+
+    @Override
+    public Set<L> getLabels() {
+        return index.asSet();
+    }
+
+    @Override
+    public void add(final L label, final V value) {
+        update(label, value);
+    }
+
+    @Override
+    public void update(final L label, final V value) {
+        setValueAt(indexOfExisting(label), value);
+    }
+
+    @Override
+    public V remove(final L label) {
+        throw new UnsupportedOperationException("labels cannot be removed from an indexed value set");
+    }
+
+    @Override
+    public IndexedDoubleSet<L> productOfValuesAndN(final double n) {
+
+        final double[] results = new double[size()];
+        for (int i = 0; i < results.length; i++)
+            results[i] = doubleValueAt(i) * n;
+
+        return new IndexedDoubleSet<>(index, results);
+    }
+
+    @Override
+    public IndexedDoubleSet<L> valuesSubtractValues(final LabelledValueSet<L, ? extends Number> n) {
+
+        final double[] results = new double[size()];
+        for (int i = 0; i < results.length; i++)
+            results[i] = doubleValueAt(i) - valueOf(n, i);
+
+        return new IndexedDoubleSet<>(index, results);
+    }
+
+    @Override
+    public IndexedDoubleSet<L> valuesPlusValues(final LabelledValueSet<L, ? extends Number> n) {
+
+        final double[] results = new double[size()];
+        for (int i = 0; i < results.length; i++)
+            results[i] = doubleValueAt(i) + valueOf(n, i);
+
+        return new IndexedDoubleSet<>(index, results);
+    }
+
+    @Override
+    public IndexedIntegerSet<L> floorValues() {
+
+        final int[] results = new int[size()];
+        for (int i = 0; i < results.length; i++)
+            results[i] = (int) Math.floor(doubleValueAt(i));
+
+        return new IndexedIntegerSet<>(index, results);
+    }
+
+    @Override
+    public IndexedDoubleSet<L> reproportion() {
+        return divisionOfValuesByN(getSumOfValues());
+    }
+
+    @Override
+    public IndexedDoubleSet<L> divisionOfValuesByN(final V n) {
+
+        final double divisor = n.doubleValue();
+
+        final double[] results = new double[size()];
+        for (int i = 0; i < results.length; i++)
+            results[i] = doubleValueAt(i) / divisor;
+
+        return new IndexedDoubleSet<>(index, results);
+    }
+
+    @Override
+    public L getLabelOfValueWithGreatestRemainder(final Set<L> usedLabels) {
+
+        double largestRemainder = 0;
+        int indexOfLargestRemainder = -1;
+
+        for (int i = 0; i < size(); i++) {
+
+            if (!usedLabels.contains(index.get(i))) {
+                final double remainder = doubleValueAt(i) % 1;
+                if (remainder > largestRemainder) {
+                    largestRemainder = remainder;
+                    indexOfLargestRemainder = i;
+                }
+            }
+        }
+
+        if (indexOfLargestRemainder < 0) {
+            throw new NoSuchElementException("No values identifies matching criteria. Labels minus used labels = "
+                    + (size() - usedLabels.size()));
+        }
+
+        return index.get(indexOfLargestRemainder);
+    }
+
+    @Override
+    public int countNegativeValues() {
+
+        int count = 0;
+        for (int i = 0; i < size(); i++)
+            if (doubleValueAt(i) < 0) count++;
+
+        return count;
+    }
+
+    @Override
+    public int countPositiveValues() {
+
+        int count = 0;
+        for (int i = 0; i < size(); i++)
+            if (doubleValueAt(i) > 0) count++;
+
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return getMap().toString();
+    }
+
+    /**
+     * Returns the value in another set for the label at the given position of this set's index, reading the array
+     * directly when the other set shares this index.
+     */
+    protected double valueOf(final LabelledValueSet<L, ? extends Number> other, final int i) {
+
+        if (other instanceof AbstractIndexedValueSet<L, ? extends Number> indexed && indexed.index == index)
+            return indexed.doubleValueAt(i);
+
+        final Number value = other.getValue(index.get(i));
+        if (value == null) {
+            throw new IncompatibleLabelValueSets("Sets do not contain same labels - mathematical operations not possible", this, other);
+        }
+
+        return value.doubleValue();
+    }
+
+    protected int indexOfExisting(final L label) {
+
+        final int i = index.indexOf(label);
+        if (i < 0) throw new IllegalArgumentException("label not in index: " + label);
+
+        return i;
+    }
+
+    private class MapView extends AbstractMap<L, V> {
+
+        private final Set<Entry<L, V>> entrySet = new AbstractSet<>() {
+
+            @Override
+            public Iterator<Entry<L, V>> iterator() {
+
+                return new Iterator<>() {
+
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size();
+                    }
+
+                    @Override
+                    public Entry<L, V> next() {
+
+                        if (next >= size()) throw new NoSuchElementException();
+
+                        final int i = next++;
+
+                        return new SimpleEntry<>(index.get(i), valueAt(i)) {
+
+                            @Override
+                            public V setValue(final V value) {
+                                setValueAt(i, value);
+                                return super.setValue(value);
+                            }
+                        };
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return AbstractIndexedValueSet.this.size();
+            }
+        };
+
+        @Override
+        public Set<Entry<L, V>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public Set<L> keySet() {
+            return index.asSet();
+        }
+
+        @Override
+        public int size() {
+            return AbstractIndexedValueSet.this.size();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return index.asSet().contains(key);
+        }
+
+        @Override
+        public V get(final Object key) {
+
+            final int i = index.asSet().contains(key) ? index.indexOf(key) : -1;
+            return i < 0 ? null : valueAt(i);
+        }
+
+        @Override
+        public V put(final L key, final V value) {
+
+            final int i = indexOfExisting(key);
+            final V previous = valueAt(i);
+            setValueAt(i, value);
+            return previous;
+        }
+    }
+}
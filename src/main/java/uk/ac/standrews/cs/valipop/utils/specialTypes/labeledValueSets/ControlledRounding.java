@@ -0,0 +1,147 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets;
+
+import uk.ac.standrews.cs.valipop.utils.DoubleComparer;
+
+/**
+ * Largest remainder rounding of arrays of values to non-negative integers, maintaining their sum. Runs in
+ * O(k log k) time for k values, without boxing.
+ */
+final class ControlledRounding {
+
+    private static final double DELTA = 1E-2;
+
+    private ControlledRounding() {
+    }
+
+    /**
+     * Rounds the given values to integers that sum to the rounded sum of the values. Negative values are treated
+     * as zero. Each value is first rounded down; if the result falls short of the sum, the values with the
+     * greatest remainders are rounded up, earlier positions first for equal remainders. If treating negative values
+     * as zero leaves the result over the sum, the non-zero results with the smallest remainders are reduced.
+     *
+     * @param values the values to be rounded
+     * @return the rounded values
+     * @throws ValuesDoNotSumToWholeNumberException if the values do not sum to a whole number, or sum to a negative
+     */
+    static int[] roundMaintainingSum(final double[] values) {
+
+        double sum = 0.0;
+        for (final double value : values)
+            sum += value;
+
+        final double sumRounded = Math.round(sum);
+
+        if (!DoubleComparer.equal(sum, sumRounded, DELTA)) {
+            throw new ValuesDoNotSumToWholeNumberException("Cannot perform controlled rounding and maintain sum as values do not sum to a whole number");
+        }
+
+        final int target = (int) sumRounded;
+
+        if (target < 0) {
+            throw new ValuesDoNotSumToWholeNumberException("Cannot perform controlled rounding to non-negative values as values sum to " + target);
+        }
+
+        final int k = values.length;
+        final int[] rounded = new int[k];
+        final double[] remainders = new double[k];
+
+        int roundedSum = 0;
+
+        for (int i = 0; i < k; i++) {
+            if (values[i] > 0) {
+                rounded[i] = (int) Math.floor(values[i]);
+                remainders[i] = values[i] - rounded[i];
+                roundedSum += rounded[i];
+            }
+        }
+
+        if (roundedSum == target) return rounded;
+
+        final int[] order = orderByDescendingRemainder(remainders);
+
+        // Rounding down leaves a shortfall of less than k, unless the set is empty.
+        for (int i = 0; roundedSum < target; i = (i + 1) % k) {
+            rounded[order[i]]++;
+            roundedSum++;
+        }
+
+        // An excess can only arise from values treated as zero, so there is always a non-zero value to reduce.
+        for (int i = k - 1; roundedSum > target; i = i == 0 ? k - 1 : i - 1) {
+            if (rounded[order[i]] > 0) {
+                rounded[order[i]]--;
+                roundedSum--;
+            }
+        }
+
+        return rounded;
+    }
+
+    /**
+     * Returns the positions of the given remainders, ordered by descending remainder then ascending position.
+     * Sorted in place by heapsort; the ordering is total, so the result does not depend on the sort's stability.
+     */
+    private static int[] orderByDescendingRemainder(final double[] remainders) {
+
+        final int k = remainders.length;
+        final int[] order = new int[k];
+
+        for (int i = 0; i < k; i++) order[i] = i;
+
+        for (int i = k / 2 - 1; i >= 0; i--)
+            siftDown(order, i, k, remainders);
+
+        for (int end = k - 1; end > 0; end--) {
+            swap(order, 0, end);
+            siftDown(order, 0, end, remainders);
+        }
+
+        return order;
+    }
+
+    // Builds a heap with the position that should be placed last at its root.
+    private static void siftDown(final int[] order, int root, final int size, final double[] remainders) {
+
+        while (true) {
+
+            int child = 2 * root + 1;
+            if (child >= size) return;
+
+            if (child + 1 < size && placedBefore(order[child], order[child + 1], remainders)) child++;
+
+            if (!placedBefore(order[root], order[child], remainders)) return;
+
+            swap(order, root, child);
+            root = child;
+        }
+    }
+
+    private static boolean placedBefore(final int a, final int b, final double[] remainders) {
+
+        if (remainders[a] != remainders[b]) return remainders[a] > remainders[b];
+        return a < b;
+    }
+
+    private static void swap(final int[] order, final int i, final int j) {
+
+        final int temp = order[i];
+        order[i] = order[j];
+        order[j] = temp;
+    }
+}
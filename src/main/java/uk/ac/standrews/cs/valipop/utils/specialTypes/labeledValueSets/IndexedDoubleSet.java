@@ -0,0 +1,176 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A labelled set of double values held in an array over a shared {@link LabelIndex}.
+ */
+public class IndexedDoubleSet<L extends Comparable<? super L>> extends AbstractIndexedValueSet<L, Double> {
+
+    private final double[] values;
+
+    /**
+     * Creates a set over the given index with all values zero.
+     *
+     * @param index the label index
+     */
+    public IndexedDoubleSet(final LabelIndex<L> index) {
+        this(index, new double[index.size()]);
+    }
+
+    /**
+     * Creates a set over the given index, taking ownership of the given values.
+     *
+     * @param index the label index
+     * @param values the values, positioned as the labels in the index
+     */
+    public IndexedDoubleSet(final LabelIndex<L> index, final double[] values) {
+
+        super(index);
+
+        if (values.length != index.size()) {
+            throw new LabeledValueSetInitException("Labels and values of differing sizes", new ArrayList<>(index.asSet()), Arrays.stream(values).boxed().toList());
+        }
+        this.values = values;
+    }
+
+    /**
+     * Creates a set over the given index holding the values of another set.
+     *
+     * @param index the label index
+     * @param set a set containing each label in the index
+     * @return the new set
+     */
+    public static <L extends Comparable<? super L>> IndexedDoubleSet<L> of(final LabelIndex<L> index, final LabelledValueSet<L, ? extends Number> set) {
+
+        final IndexedDoubleSet<L> result = new IndexedDoubleSet<>(index);
+        for (int i = 0; i < result.values.length; i++)
+            result.values[i] = result.valueOf(set, i);
+
+        return result;
+    }
+
+    /**
+     * Creates a set holding the labels and values of another set, over a new index.
+     *
+     * @param set the set to be copied
+     * @return the new set
+     */
+    public static <L extends Comparable<? super L>> IndexedDoubleSet<L> of(final LabelledValueSet<L, ? extends Number> set) {
+        return of(LabelIndex.of(set.getLabels()), set);
+    }
+
+    @Override
+    public double doubleValueAt(final int i) {
+        return values[i];
+    }
+
+    @Override
+    protected Double valueAt(final int i) {
+        return values[i];
+    }
+
+    @Override
+    protected void setValueAt(final int i, final Double value) {
+        values[i] = value;
+    }
+
+    public void set(final int i, final double value) {
+        values[i] = value;
+    }
+
+    @Override
+    public Double getSumOfValues() {
+
+        double sum = 0.0;
+        for (final double value : values)
+            sum += value;
+
+        return sum;
+    }
+
+    @Override
+    public IndexedDoubleSet<L> clone() {
+        return new IndexedDoubleSet<>(index, values.clone());
+    }
+
+    @Override
+    public IndexedDoubleSet<L> zeroNegativeValues() {
+
+        final IndexedDoubleSet<L> result = clone();
+        for (int i = 0; i < values.length; i++)
+            if (values[i] < 0) result.values[i] = 0.0;
+
+        return result;
+    }
+
+    /**
+     * Rounds the values in this set to non-negative integers that maintain their sum, by largest remainder.
+     *
+     * @return the rounded values, over the same index
+     * @throws ValuesDoNotSumToWholeNumberException if the values do not sum to a whole number
+     */
+    public IndexedIntegerSet<L> controlledRoundingMaintainingSum() {
+        return new IndexedIntegerSet<>(index, ControlledRounding.roundMaintainingSum(values));
+    }
+
+    /**
+     * Multiplies each value in this set by n, in place.
+     *
+     * @param n the multiplier
+     * @return this set
+     */
+    public IndexedDoubleSet<L> multiplyInPlace(final double n) {
+
+        for (int i = 0; i < values.length; i++)
+            values[i] *= n;
+
+        return this;
+    }
+
+    /**
+     * Subtracts the corresponding values of another set from the values in this set, in place.
+     *
+     * @param n a set containing each label in this set
+     * @return this set
+     */
+    public IndexedDoubleSet<L> subtractInPlace(final LabelledValueSet<L, ? extends Number> n) {
+
+        for (int i = 0; i < values.length; i++)
+            values[i] -= valueOf(n, i);
+
+        return this;
+    }
+
+    /**
+     * Adds the corresponding values of another set to the values in this set, in place.
+     *
+     * @param n a set containing each label in this set
+     * @return this set
+     */
+    public IndexedDoubleSet<L> addInPlace(final LabelledValueSet<L, ? extends Number> n) {
+
+        for (int i = 0; i < values.length; i++)
+            values[i] += valueOf(n, i);
+
+        return this;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A labelled set of integer values held in an array over a shared {@link LabelIndex}.
+ */
+public class IndexedIntegerSet<L extends Comparable<? super L>> extends AbstractIndexedValueSet<L, Integer> {
+
+    private final int[] values;
+
+    /**
+     * Creates a set over the given index with all values zero.
+     *
+     * @param index the label index
+     */
+    public IndexedIntegerSet(final LabelIndex<L> index) {
+        this(index, new int[index.size()]);
+    }
+
+    /**
+     * Creates a set over the given index, taking ownership of the given values.
+     *
+     * @param index the label index
+     * @param values the values, positioned as the labels in the index
+     */
+    public IndexedIntegerSet(final LabelIndex<L> index, final int[] values) {
+
+        super(index);
+
+        if (values.length != index.size()) {
+            throw new LabeledValueSetInitException("Labels and values of differing sizes", new ArrayList<>(index.asSet()), Arrays.stream(values).boxed().toList());
+        }
+        this.values = values;
+    }
+
+    @Override
+    public double doubleValueAt(final int i) {
+        return values[i];
+    }
+
+    public int intValueAt(final int i) {
+        return values[i];
+    }
+
+    @Override
+    protected Integer valueAt(final int i) {
+        return values[i];
+    }
+
+    @Override
+    protected void setValueAt(final int i, final Integer value) {
+        values[i] = value;
+    }
+
+    public void set(final int i, final int value) {
+        values[i] = value;
+    }
+
+    @Override
+    public Integer getSumOfValues() {
+
+        int sum = 0;
+        for (final int value : values)
+            sum += value;
+
+        return sum;
+    }
+
+    @Override
+    public IndexedIntegerSet<L> clone() {
+        return new IndexedIntegerSet<>(index, values.clone());
+    }
+
+    @Override
+    public IndexedIntegerSet<L> zeroNegativeValues() {
+
+        final IndexedIntegerSet<L> result = clone();
+        for (int i = 0; i < values.length; i++)
+            if (values[i] < 0) result.values[i] = 0;
+
+        return result;
+    }
+
+    /**
+     * Adds the corresponding values of another set to the values in this set, in place, flooring each result.
+     * Equivalent to replacing this set with {@code valuesPlusValues(n).floorValues()}.
+     *
+     * @param n a set containing each label in this set
+     * @return this set
+     */
+    public IndexedIntegerSet<L> addInPlace(final LabelledValueSet<L, ? extends Number> n) {
+
+        for (int i = 0; i < values.length; i++)
+            values[i] = (int) Math.floor(values[i] + valueOf(n, i));
+
+        return this;
+    }
+}
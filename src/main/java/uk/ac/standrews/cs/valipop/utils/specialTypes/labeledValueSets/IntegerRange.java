@@ -43,6 +43,8 @@ public class IntegerRange implements Comparable<IntegerRange> {
 
     String value = "";
 
+    private String representation;
+
     public IntegerRange(String label) {
 
         if (Objects.equals(label, "na")) {
@@ -118,18 +120,24 @@ public class IntegerRange implements Comparable<IntegerRange> {
     }
 
     public String toString() {
-        String s = "";
 
-        if (value.equals("na")) {
-            return value;
-        } else if (plus) {
-            s += min;
-            s += "+";
-        } else {
-            s += min;
-            s += min.equals(max) ? "" : "-" + max;
+        // Ranges are rendered for every contingency table row they appear in, so the string is kept once built.
+        if (representation == null) {
+
+            String s = "";
+
+            if (value.equals("na")) {
+                s = value;
+            } else if (plus) {
+                s += min;
+                s += "+";
+            } else {
+                s += min;
+                s += min.equals(max) ? "" : "-" + max;
+            }
+            representation = s;
         }
-        return s;
+        return representation;
     }
 
     @Override
@@ -97,49 +97,23 @@ public class IntegerRangeToDoubleSet extends AbstractLabelToAbstractValueSet<Int
     @Override
     public OperableLabelledValueSet<IntegerRange, Integer> controlledRoundingMaintainingSum() {
 
-        double sum = getSumOfValues();
-        double sumRounded = Math.round(sum);
-
-        if (!DoubleComparer.equal(sum, sumRounded, DELTA)) {
-            throw new ValuesDoNotSumToWholeNumberException("Cannot perform controlled rounding and maintain sum as values do not sum to a whole number");
-        }
-
-        int sumInt = (int) sumRounded;
-
-        OperableLabelledValueSet<IntegerRange, Integer> roundingSet = new IntegerRangeToIntegerSet(random);
+        // Largest remainder rounding, treating negative values as zero.
+        final List<IntegerRange> labels = new ArrayList<>(map.keySet());
+        final double[] values = new double[labels.size()];
 
-        for (IntegerRange iR : getLabels()) {
-            if (getValue(iR) < 0) {
-                roundingSet.add(iR, 0);
-            } else {
-                roundingSet.add(iR, (int) Math.floor(getValue(iR)));
-            }
+        int i = 0;
+        for (final Double value : map.values()) {
+            values[i++] = value;
         }
 
-        Set<IntegerRange> usedLabels = new TreeSet<>();
-
-        int roundingSetSum;
-        while ((roundingSetSum = roundingSet.getSumOfValues()) != sumInt) {
-
-            if (roundingSetSum < sumInt) {
-                // need more in the rounding set therefore
-                IntegerRange labelOfGreatestRemainder = this.getLabelOfValueWithGreatestRemainder(usedLabels);
-                roundingSet.update(labelOfGreatestRemainder, roundingSet.getValue(labelOfGreatestRemainder) + 1);
-            }
+        final int[] rounded = ControlledRounding.roundMaintainingSum(values);
 
-            if (roundingSetSum > sumInt) {
-                IntegerRange largestReducatbleLabel;
-                try {
-                    largestReducatbleLabel =
-                            roundingSet.getLargestLabelOfNonZeroValueAndLabelLessOrEqualTo(new IntegerRange(roundingSetSum - sumInt));
-                } catch (NoSuchElementException e) {
-                    largestReducatbleLabel = this.smallestLabel();
-                }
-                roundingSet.update(largestReducatbleLabel, roundingSet.getValue(largestReducatbleLabel) - 1);
-            }
+        final List<Integer> roundedValues = new ArrayList<>(rounded.length);
+        for (final int value : rounded) {
+            roundedValues.add(value);
         }
 
-        return roundingSet;
+        return new IntegerRangeToIntegerSet(labels, roundedValues, random);
     }
 
     @SuppressWarnings("Duplicates")
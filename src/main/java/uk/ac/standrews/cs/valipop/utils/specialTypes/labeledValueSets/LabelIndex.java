@@ -0,0 +1,155 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets;
+
+import java.util.*;
+
+/**
+ * An immutable, sorted set of labels that maps each label to a position, so that labelled values can be held in
+ * primitive arrays. Labels are ordered and compared by their natural ordering, matching the {@link TreeMap} used by
+ * {@link AbstractLabelToAbstractValueSet}. A single index is intended to be shared by all the value sets for a row
+ * of a table.
+ */
+public final class LabelIndex<L extends Comparable<? super L>> {
+
+    private final Object[] labels;
+    private final Set<L> labelSet;
+
+    private LabelIndex(final Object[] labels) {
+
+        this.labels = labels;
+        this.labelSet = new LabelSet();
+    }
+
+    /**
+     * Creates an index of the given labels. Duplicate labels (those comparing as equal) are held once.
+     *
+     * @param labels the labels to be indexed
+     * @return the index
+     */
+    public static <L extends Comparable<? super L>> LabelIndex<L> of(final Collection<L> labels) {
+
+        return new LabelIndex<>(new TreeSet<>(labels).toArray());
+    }
+
+    public int size() {
+        return labels.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public L get(final int index) {
+        return (L) labels[index];
+    }
+
+    /**
+     * Returns the position of the given label, or -1 if it is not in this index.
+     *
+     * @param label the label to be found
+     * @return the position of the label
+     */
+    @SuppressWarnings("unchecked")
+    public int indexOf(final Object label) {
+
+        if (label == null) return -1;
+
+        int low = 0;
+        int high = labels.length - 1;
+
+        while (low <= high) {
+
+            final int mid = (low + high) >>> 1;
+
+            // Labels are most often looked up using the instance held in the index.
+            if (labels[mid] == label) return mid;
+
+            final int comparison = ((L) labels[mid]).compareTo((L) label);
+
+            if (comparison < 0) low = mid + 1;
+            else if (comparison > 0) high = mid - 1;
+            else return mid;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return an unmodifiable view of the labels, in ascending order
+     */
+    public Set<L> asSet() {
+        return labelSet;
+    }
+
+    /**
+     * Tests whether this index holds the same labels, in the same order, as another.
+     *
+     * @param other the other index
+     * @return true if the indices are interchangeable
+     */
+    public boolean sameLabelsAs(final LabelIndex<?> other) {
+
+        if (other == this) return true;
+        if (other.labels.length != labels.length) return false;
+
+        for (int i = 0; i < labels.length; i++)
+            if (indexOf(other.labels[i]) != i) return false;
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(labels);
+    }
+
+    private class LabelSet extends AbstractSet<L> {
+
+        @Override
+        public Iterator<L> iterator() {
+
+            return new Iterator<>() {
+
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < labels.length;
+                }
+
+                @Override
+                public L next() {
+                    if (next >= labels.length) throw new NoSuchElementException();
+                    return get(next++);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return labels.length;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            try {
+                return indexOf(o) >= 0;
+            } catch (final ClassCastException e) {
+                return false;
+            }
+        }
+    }
+}
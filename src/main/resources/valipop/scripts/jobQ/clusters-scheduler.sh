@@ -0,0 +1,4 @@
+#!/bin/bash
+
+cd valipop
+nohup sh src/main/resources/valipop/scripts/jobQ/start-job-scheduler.sh src/main/resources/valipop/scripts/jobQ/job-q-clusters.csv src/main/resources/valipop/scripts/jobQ/status-hogun.txt src/main/resources/valipop/scripts/jobQ/scheduler-clusters > runs/job-scheduler-clusters.txt
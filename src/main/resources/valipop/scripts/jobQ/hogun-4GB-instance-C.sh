@@ -1,4 +1,4 @@
 #!/bin/bash
 
 cd valipop
-nohup sh src/main/resources/valipop/scripts/jobQ/start-job-q-instance.sh src/main/resources/valipop/scripts/jobQ/status-hogun.txt src/main/resources/valipop/scripts/jobQ/job-q-clusters.csv 4 1 5.0 > runs/job-run-`hostname`-C.txt
+nohup sh src/main/resources/valipop/scripts/jobQ/start-job-q-instance.sh src/main/resources/valipop/scripts/jobQ/scheduler-clusters 4 1 > runs/job-run-`hostname`-C.txt
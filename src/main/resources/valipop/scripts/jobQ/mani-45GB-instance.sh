@@ -1,4 +1,4 @@
 #!/bin/bash
 
 cd valipop
-nohup sh src/main/resources/valipop/scripts/jobQ/start-job-q-instance.sh src/main/resources/valipop/scripts/jobQ/status-mani.txt src/main/resources/valipop/scripts/jobQ/job-q-mani.csv 45 1 20 > runs/job-run-`hostname`-$1.txt
+nohup sh src/main/resources/valipop/scripts/jobQ/start-job-q-instance.sh src/main/resources/valipop/scripts/jobQ/scheduler-mani 45 1 > runs/job-run-`hostname`-$1.txt
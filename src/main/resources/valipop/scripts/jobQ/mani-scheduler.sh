@@ -0,0 +1,4 @@
+#!/bin/bash
+
+cd valipop
+nohup sh src/main/resources/valipop/scripts/jobQ/start-job-scheduler.sh src/main/resources/valipop/scripts/jobQ/job-q-mani.csv src/main/resources/valipop/scripts/jobQ/status-mani.txt src/main/resources/valipop/scripts/jobQ/scheduler-mani > runs/job-scheduler-mani.txt
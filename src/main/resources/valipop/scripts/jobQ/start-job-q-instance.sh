@@ -17,10 +17,13 @@
 
 # Documentation: http://digitisingscotland.cs.st-andrews.ac.uk/population_model/scripts/generate_population.html
 
-if [ -n "$1" ];
+# Arguments: scheduler address (port or shared directory), heap size in GB, R analysis thread limit, and optionally
+# the memory in GB available to all instances on this node.
+
+if [ -n "$2" ];
 then
-    export MAVEN_OPTS="-Xmx"$3"G -XX:ParallelGCThreads=1"
-    echo Setting heap size: $3GB
+    export MAVEN_OPTS="-Xmx"$2"G -XX:ParallelGCThreads=1"
+    echo Setting heap size: $2GB
 fi
 
-mvn exec:java -q -Dexec.cleanupDaemonThreads=false -Dexec.mainClass="uk.ac.standrews.cs.valipop.implementations.JobQueueRunner" -e -Dexec.args="$1 $2 $3 $4 $5"
\ No newline at end of file
+mvn exec:java -q -Dexec.cleanupDaemonThreads=false -Dexec.mainClass="uk.ac.standrews.cs.valipop.implementations.JobQueueRunner" -e -Dexec.args="$1 $2 $3 $4"
\ No newline at end of file
@@ -0,0 +1,131 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.ac.standrews.cs.valipop.utils.sourceEventRecords.RecordFormat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistributedFactorSearchTest {
+
+    private static final double[] RECOVERY_FACTORS = {0.0, 0.5, 1.0};
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void failedModelsAreRunAgainOnResumption() throws Exception {
+
+        final List<DistributedFactorSearch.ModelInput> inputs = DistributedFactorSearch.generateInputs(100, RECOVERY_FACTORS, new double[]{1.0},
+                new double[]{1E-66}, dir.resolve("inputs"), 2, "test", dir.resolve("results"), dir.resolve("summary"), dir);
+
+        final Path sinkDir = Files.createDirectories(dir.resolve("sink"));
+        final String sinkLocation = sinkDir.toString();
+        final DistributedFactorSearch.ResultSink sink = (key, row) -> Files.writeString(Path.of(sinkLocation).resolve(key + "-" + UUID.randomUUID()), "");
+
+        final FactorSearchProgress progress = FactorSearchProgress.forRunPurpose(dir.resolve("summary"), "test");
+
+        final SparkConf conf = new SparkConf().setAppName("valipop-test").setMaster(DistributedFactorSearch.LOCAL_MASTER).set("spark.ui.enabled", "false");
+
+        try (JavaSparkContext sc = new JavaSparkContext(conf)) {
+
+            final List<String> failed = DistributedFactorSearch.search(sc, inputs, DistributedFactorSearchTest::failForHalf, sink, progress);
+
+            assertEquals(2, failed.size());
+            assertEquals(4, countFiles(sinkDir));
+            assertEquals(4, progress.getCompletedKeys().size());
+
+            // Only the failed models are run on resumption.
+            assertTrue(DistributedFactorSearch.search(sc, inputs, DistributedFactorSearchTest::succeed, sink, progress).isEmpty());
+            assertEquals(6, countFiles(sinkDir));
+            assertEquals(6, progress.getCompletedKeys().size());
+
+            assertTrue(DistributedFactorSearch.search(sc, inputs, DistributedFactorSearchTest::failForHalf, sink, progress).isEmpty());
+            assertEquals(6, countFiles(sinkDir));
+        }
+
+        try (Stream<Path> files = Files.list(progress.getDirectory())) {
+            assertTrue(files.allMatch(file -> file.toString().endsWith(".csv")));
+        }
+    }
+
+    @Test
+    public void modelsRejectedBySinkAreRunAgainOnResumption() throws Exception {
+
+        final List<DistributedFactorSearch.ModelInput> inputs = DistributedFactorSearch.generateInputs(100, RECOVERY_FACTORS, new double[]{1.0},
+                new double[]{1E-66}, dir.resolve("inputs"), 1, "test", dir.resolve("results"), dir.resolve("summary"), dir);
+
+        final DistributedFactorSearch.ResultSink failingSink = (key, row) -> {
+            if (row.recoveryFactor == 0.5) throw new IOException("sink failed for " + key);
+        };
+
+        final FactorSearchProgress progress = FactorSearchProgress.forRunPurpose(dir.resolve("summary"), "test");
+
+        final SparkConf conf = new SparkConf().setAppName("valipop-test").setMaster(DistributedFactorSearch.LOCAL_MASTER).set("spark.ui.enabled", "false");
+
+        try (JavaSparkContext sc = new JavaSparkContext(conf)) {
+
+            assertEquals(1, DistributedFactorSearch.search(sc, inputs, DistributedFactorSearchTest::succeed, failingSink, progress).size());
+            assertEquals(2, progress.getCompletedKeys().size());
+
+            assertTrue(DistributedFactorSearch.search(sc, inputs, DistributedFactorSearchTest::succeed, (key, row) -> {}, progress).isEmpty());
+            assertEquals(3, progress.getCompletedKeys().size());
+        }
+    }
+
+    @Test
+    public void inputKeysAreDistinct() throws Exception {
+
+        final List<DistributedFactorSearch.ModelInput> inputs = DistributedFactorSearch.generateInputs(100, RECOVERY_FACTORS, new double[]{0.5, 1.0},
+                new double[]{1E-66}, dir.resolve("inputs"), 3, "test", dir.resolve("results"), dir.resolve("summary"), dir);
+
+        assertEquals(inputs.size(), inputs.stream().map(DistributedFactorSearch.ModelInput::key).distinct().count());
+    }
+
+    private static SerializableSummaryRow failForHalf(final DistributedFactorSearch.ModelInput input) throws StatsException {
+
+        if (input.rf == 0.5) throw new StatsException("failed for " + input.key());
+        return succeed(input);
+    }
+
+    private static SerializableSummaryRow succeed(final DistributedFactorSearch.ModelInput input) {
+
+        return new SerializableSummaryRow(LocalDateTime.now(), input.runPurpose, "test", input.input_width, null, input.t0, input.tE, 0, 0,
+                input.rf, input.prf, 0, input.minBirthSpacing, RecordFormat.NONE, input.size, input.resultLocation, input.dataFiles,
+                0, 0, 0, 0, 0, input.precision, 0, 0, true, 0, 0, 0, 0, false, 0, 0.0, "localhost", null);
+    }
+
+    private static long countFiles(final Path directory) throws IOException {
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -53,7 +53,8 @@ public class InvalidConfigurationTest {
         Arguments.of(TEST_RESOURCE_DIR.resolve("config-13.txt"), "tE"),
         Arguments.of(TEST_RESOURCE_DIR.resolve("config-14.txt"), "t0_pop_size" ),
         Arguments.of(TEST_RESOURCE_DIR.resolve("config-15.txt"), "var_data_files" ),
-        Arguments.of(TEST_RESOURCE_DIR.resolve("config-16.txt"), "Illegal line" ));
+        Arguments.of(TEST_RESOURCE_DIR.resolve("config-16.txt"), "Illegal line" ),
+        Arguments.of(TEST_RESOURCE_DIR.resolve("config-17.txt"), "simulation_time_step" ));
 
     @ParameterizedTest
     @FieldSource("configurations")
@@ -0,0 +1,291 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.ac.standrews.cs.valipop.implementations.jobQueue.*;
+import uk.ac.standrews.cs.valipop.utils.DataRow;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JobSchedulerTest {
+
+    private static final String HEADER = String.join(",", JobQueue.COLUMNS);
+
+    private static String job(final String reason, final int n, final String rf, final String prf, final int memory) {
+        return job(reason, n, rf, prf, memory, 1000, "2015-01-01");
+    }
+
+    private static String job(final String reason, final int n, final String rf, final String prf, final int memory, final int seedSize, final String tE) {
+
+        return String.join(",", "3", "a", reason, String.valueOf(n), String.valueOf(seedSize), rf, prf, "P10Y", "inputs", "results", "summary",
+                String.valueOf(memory), "NONE", "false", "-", "0.0233", "0.0322", "1687-01-01", "1855-01-01", tE,
+                "P1Y", "true", "P147D", "P147D", "5", "0");
+    }
+
+    private static JobQueue queue(final String... jobs) throws Exception {
+
+        final JobQueue queue = new JobQueue(JobQueue.COLUMNS);
+        queue.addAll(HEADER, Arrays.asList(jobs));
+        return queue;
+    }
+
+    @Test
+    public void regexJobsAreExpanded() throws Exception {
+
+        final JobQueue queue = queue(job("a", 1, "0.0->1.0@0.5", "0.2->0.4@0.2", 2), job("b", 1, "1", "1", 2));
+
+        assertEquals(7, queue.size());
+
+        final Set<String> factors = new HashSet<>();
+        for (final DataRow job : queue.getJobs())
+            if (job.getValue("reason").equals("a")) factors.add(job.getValue("rf") + "/" + job.getValue("prf"));
+
+        assertEquals(Set.of("0.0/0.2", "0.5/0.2", "1.0/0.2", "0.0/0.4", "0.5/0.4", "1.0/0.4"), factors);
+    }
+
+    @Test
+    public void jobsArePackedOntoNodeCapacity() throws Exception {
+
+        final JobScheduler scheduler = new JobScheduler(queue(job("small", 2, "1", "1", 4), job("large", 1, "1", "1", 10)), null);
+
+        // The larger job makes better use of the heap.
+        final JobScheduler.Lease first = scheduler.claim("node", 12, 16).orElseThrow();
+        assertEquals("large", first.job().getValue("reason"));
+
+        final JobScheduler.Lease second = scheduler.claim("node", 12, 16).orElseThrow();
+        assertEquals("small", second.job().getValue("reason"));
+
+        // Only 2GB of the node remains, so the next claim waits until memory is released.
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Optional<JobScheduler.Lease>> third = executor.submit(() -> scheduler.claim("node", 12, 16));
+            assertThrows(TimeoutException.class, () -> third.get(200, TimeUnit.MILLISECONDS));
+
+            assertTrue(scheduler.complete(first.id()));
+            assertEquals("small", third.get(5, TimeUnit.SECONDS).orElseThrow().job().getValue("reason"));
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void returnedJobsRequireMoreMemory() throws Exception {
+
+        final JobQueue queue = queue(job("a", 1, "1", "1", 4));
+        final JobScheduler scheduler = new JobScheduler(queue, null);
+
+        final JobScheduler.Lease lease = scheduler.claim("node", 6, 0).orElseThrow();
+        assertEquals(0, queue.size());
+
+        assertTrue(scheduler.giveBack(lease.id(), 8, 2));
+        assertEquals(1, queue.size());
+        assertEquals("8", queue.getJobs().get(0).getValue(JobQueue.REQUIRED_MEMORY));
+
+        // No longer fits a 6GB worker.
+        scheduler.setStatus(JobScheduler.Status.TERMINATE);
+        assertTrue(scheduler.claim("node", 6, 0).isEmpty());
+    }
+
+    @Test
+    public void jobsAreSizedByPredictedPeak() throws Exception {
+
+        final MemoryModel model = new MemoryModel();
+
+        // 100 years of simulation, peak of 500MB plus 1MB per 10 seed people.
+        for (final int seedSize : new int[]{1000, 2000, 4000})
+            model.recordCompleted(new DataRow(HEADER, job("a", 1, "1", "1", 1, seedSize, "1955-01-01")), 500 + seedSize / 10.0);
+
+        final String large = job("b", 1, "1", "1", 1, 80000, "1955-01-01");
+        assertEquals(8500, model.predictPeakMB(new DataRow(HEADER, large)).orElseThrow(), 1);
+
+        // Predicted peak of 8500MB with a 10% margin, within 97.5% of the heap.
+        final JobScheduler scheduler = new JobScheduler(queue(large), null, model);
+        final JobScheduler.Lease lease = scheduler.claim("node", 16, 0).orElseThrow();
+        assertEquals(9, lease.memory());
+
+        // Running out of memory at 9000MB raises the requirement by at least a fifth.
+        scheduler.giveBack(lease.id(), 10, 3, 9000);
+        assertEquals(11, scheduler.claim("node", 16, 0).orElseThrow().memory());
+    }
+
+    @Test
+    public void returnedJobsAreNotSizedBelowTheMemoryAskedFor() throws Exception {
+
+        final MemoryModel model = new MemoryModel();
+        for (final int seedSize : new int[]{1000, 2000, 4000})
+            model.recordCompleted(new DataRow(HEADER, job("a", 1, "1", "1", 1, seedSize, "1955-01-01")), 500 + seedSize / 10.0);
+
+        final JobScheduler scheduler = new JobScheduler(queue(job("b", 1, "1", "1", 1, 80000, "1955-01-01")), null, model);
+        final JobScheduler.Lease lease = scheduler.claim("node", 16, 0).orElseThrow();
+        assertEquals(9, lease.memory());
+
+        scheduler.giveBack(lease.id(), 14, 3);
+
+        // Submitting resizes the queued jobs, which must keep the worker's requirement over the smaller prediction.
+        scheduler.submit(HEADER, List.of(job("c", 1, "1", "1", 1, 1000, "1955-01-01")));
+
+        final JobScheduler.Lease retry = scheduler.claim("node", 16, 0).orElseThrow();
+        assertEquals("b", retry.job().getValue("reason"));
+        assertEquals(14, retry.memory());
+    }
+
+    @Test
+    public void socketClientClaimsAndReturns(@TempDir final Path directory) throws Exception {
+
+        final Path jobFile = directory.resolve("jobs.csv");
+        Files.writeString(jobFile, HEADER + "\n" + job("a", 2, "1", "1", 4) + "\n");
+
+        final JobScheduler scheduler = new JobScheduler(JobQueue.read(jobFile), jobFile);
+
+        try (final SocketSchedulerServer server = new SocketSchedulerServer(scheduler, new ServerSocket(0, 50, InetAddress.getLoopbackAddress()))) {
+
+            try (final SchedulerClient client = SchedulerClient.connect(String.valueOf(server.getPort()))) {
+
+                final JobScheduler.Lease lease = client.claim(4, 0).orElseThrow();
+                assertEquals("a", lease.job().getValue("reason"));
+                assertEquals(1, scheduler.getLeases().size());
+
+                client.complete(lease);
+                assertEquals(0, scheduler.getLeases().size());
+
+                client.claim(4, 0).orElseThrow();
+            }
+
+            // A lease held by a closed connection is returned to the queue.
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                while (!scheduler.getLeases().isEmpty()) Thread.sleep(10);
+            });
+
+            assertEquals(1, JobQueue.read(jobFile).size());
+        }
+    }
+
+    @Test
+    public void directoryClientClaimsAndReturns(@TempDir final Path directory) throws Exception {
+
+        final JobScheduler scheduler = new JobScheduler(queue(job("a", 1, "1", "1", 4)), null);
+
+        final DirectorySchedulerServer server = new DirectorySchedulerServer(scheduler, directory);
+
+        try (final SchedulerClient client = SchedulerClient.connect(directory.toString())) {
+
+            final JobScheduler.Lease lease = client.claim(4, 0).orElseThrow();
+            assertEquals("a", lease.job().getValue("reason"));
+            assertTrue(client.renew(lease));
+
+            client.giveBack(lease, 5, 1);
+            assertEquals(0, scheduler.getLeases().size());
+            assertFalse(client.renew(lease));
+
+            client.setStatus(JobScheduler.Status.TERMINATE);
+            assertTrue(client.claim(8, 0).isEmpty());
+
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void leasesExpireUnlessRenewed() throws Exception {
+
+        final Instant start = Instant.parse("2020-01-01T00:00:00Z");
+        final AdjustableClock clock = new AdjustableClock(start);
+
+        final JobQueue queue = queue(job("a", 2, "1", "1", 4));
+        final JobScheduler scheduler = new JobScheduler(queue, null, null, Duration.ofMinutes(10), clock);
+
+        final JobScheduler.Lease renewed = scheduler.claim("node", 4, 0).orElseThrow();
+        final JobScheduler.Lease abandoned = scheduler.claim("node", 4, 0).orElseThrow();
+        assertEquals(0, queue.size());
+
+        clock.instant = start.plus(Duration.ofMinutes(6));
+        assertTrue(scheduler.renew(renewed.id()));
+        assertEquals(0, scheduler.expireLeases());
+
+        clock.instant = start.plus(Duration.ofMinutes(12));
+        assertEquals(1, scheduler.expireLeases());
+
+        assertEquals(List.of(renewed), scheduler.getLeases());
+        assertEquals(1, queue.size());
+
+        // The worker holding an expired lease finds it gone.
+        assertFalse(scheduler.renew(abandoned.id()));
+        assertFalse(scheduler.complete(abandoned.id()));
+    }
+
+    @Test
+    public void clientsRenewLeases() throws Exception {
+
+        final AdjustableClock clock = new AdjustableClock(Instant.parse("2020-01-01T00:00:00Z"));
+        final JobScheduler scheduler = new JobScheduler(queue(job("a", 1, "1", "1", 4)), null, null, Duration.ofMinutes(10), clock);
+
+        try (final SocketSchedulerServer server = new SocketSchedulerServer(scheduler, new ServerSocket(0, 50, InetAddress.getLoopbackAddress()));
+             final SchedulerClient client = SchedulerClient.connect(String.valueOf(server.getPort()))) {
+
+            final JobScheduler.Lease lease = client.claim(4, 0).orElseThrow();
+
+            clock.instant = clock.instant.plus(Duration.ofMinutes(8));
+            assertTrue(client.renew(lease));
+
+            clock.instant = clock.instant.plus(Duration.ofMinutes(8));
+            assertEquals(0, scheduler.expireLeases());
+
+            client.complete(lease);
+            assertFalse(client.renew(lease));
+        }
+    }
+
+    private static final class AdjustableClock extends Clock {
+
+        private volatile Instant instant;
+
+        private AdjustableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -21,24 +21,28 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.ac.standrews.cs.valipop.Config;
 import uk.ac.standrews.cs.valipop.implementations.minimaSearch.Control;
+import uk.ac.standrews.cs.valipop.implementations.minimaSearch.FVPoint;
 import uk.ac.standrews.cs.valipop.implementations.minimaSearch.MinimaSearch;
 
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
  */
 public class MinimaSearchTest {
 
+    Config config;
     OBDModel model;
 
     @BeforeEach
     public void setup() {
 
-        Config config = new Config(
+        config = new Config(
                 LocalDate.of(1,1,1),
                 LocalDate.of(200,1,1),
                 LocalDate.of(300,1,1),
@@ -51,29 +55,68 @@ public class MinimaSearchTest {
     }
 
     @Test
-    public void nanTesting() throws SpaceExploredException {
+    public void nanTesting() {
 
         double startingFactor = 0.0;
 
-        MinimaSearch.startFactor = startingFactor;
-        MinimaSearch.step = 0.5;
-        MinimaSearch.initStep = 0.5;
+        MinimaSearch search = new MinimaSearch(startingFactor, 0.5, 1, 1, (factor, repeat) -> Double.NaN);
 
         Control control = Control.RF;
 
-        MinimaSearch.setControllingFactor(control, MinimaSearch.startFactor);
-        double rf = MinimaSearch.getControllingFactor(control);
+        MinimaSearch.setControllingFactor(config, control, startingFactor);
+        double rf = MinimaSearch.getControllingFactor(config, control);
 
         assertEquals(rf, startingFactor, 1E-6);
 
-        MinimaSearch.setControllingFactor(control, MinimaSearch.getNextFactorValue());
-        rf = MinimaSearch.getControllingFactor(control);
+        MinimaSearch.setControllingFactor(config, control, search.proposeCandidates(1).get(0));
+        rf = MinimaSearch.getControllingFactor(config, control);
         assertEquals(startingFactor, rf, 1E-6);
 
-        MinimaSearch.logFactortoV(rf, 0.2078297837489273);
+        search.logFactorToV(rf, 0.2078297837489273);
 
-        MinimaSearch.setControllingFactor(control, MinimaSearch.getNextFactorValue());
-        rf = MinimaSearch.getControllingFactor(control);
+        MinimaSearch.setControllingFactor(config, control, search.proposeCandidates(1).get(0));
+        rf = MinimaSearch.getControllingFactor(config, control);
         assertEquals(startingFactor + 0.5, rf, 1E-6);
     }
+
+    @Test
+    public void concurrentSearchFindsMinimum() throws Exception {
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        MinimaSearch search = new MinimaSearch(0.0, 0.5, 2, 4, (factor, repeat) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return (factor - 1.3) * (factor - 1.3) + 0.1;
+        });
+
+        FVPoint minimum = search.run();
+
+        assertEquals(1.3, minimum.getFactor(), 0.05);
+        assertTrue(maxRunning.get() > 1);
+        assertTrue(maxRunning.get() <= 4);
+    }
+
+    @Test
+    public void memoryPeaksAreHeldPerRun() throws Exception {
+
+        final MemoryUsageAnalysis run = new MemoryUsageAnalysis();
+        final MemoryUsageAnalysis other = new MemoryUsageAnalysis();
+
+        run.log();
+        final long peak = run.getMaxSimUsage();
+
+        other.log();
+        other.reset();
+
+        assertTrue(peak > 0);
+        assertEquals(peak, run.getMaxSimUsage());
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations;
+
+import org.junit.jupiter.api.Test;
+import uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OccupationChangeModelTest {
+
+    private static final LocalDate START = LocalDate.of(1800, 1, 1);
+
+    @Test
+    public void monthlyStepsChangeOccupationOncePerDecade() {
+
+        final Period month = Period.ofMonths(1);
+
+        for (LocalDate birthDate = START; birthDate.isBefore(START.plusYears(4)); birthDate = birthDate.plusDays(1)) {
+
+            int changes = 0;
+            for (LocalDate onDate = START.plusYears(5); onDate.isBefore(START.plusYears(45)); onDate = onDate.plus(month))
+                if (OccupationChangeModel.isDueForChange(birthDate, PopulationNavigation.ageOnDate(birthDate, onDate), onDate, month)) changes++;
+
+            // The 10th, 20th, 30th and 40th birthdays of everyone born in the first four years fall within the steps.
+            assertEquals(4, changes, "born " + birthDate);
+        }
+    }
+
+    @Test
+    public void yearlyStepsChangeOccupationAtAgesDivisibleByTen() {
+
+        final Period year = Period.ofYears(1);
+
+        for (LocalDate birthDate = START; birthDate.isBefore(START.plusYears(4)); birthDate = birthDate.plusDays(1)) {
+            for (LocalDate onDate = START.plusYears(5); onDate.isBefore(START.plusYears(45)); onDate = onDate.plus(year)) {
+
+                final int age = PopulationNavigation.ageOnDate(birthDate, onDate);
+                assertEquals(age % 10 == 0, OccupationChangeModel.isDueForChange(birthDate, age, onDate, year));
+            }
+        }
+    }
+}
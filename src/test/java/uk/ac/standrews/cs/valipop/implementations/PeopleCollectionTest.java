@@ -17,24 +17,31 @@
  */
 package uk.ac.standrews.cs.valipop.implementations;
 
+import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.ac.standrews.cs.valipop.Config;
 import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
 import uk.ac.standrews.cs.valipop.simulationEntities.Partnership;
 import uk.ac.standrews.cs.valipop.simulationEntities.Person;
+import uk.ac.standrews.cs.valipop.simulationEntities.dataStructure.MaleCollection;
 import uk.ac.standrews.cs.valipop.simulationEntities.dataStructure.PeopleCollection;
 import uk.ac.standrews.cs.valipop.simulationEntities.dataStructure.PersonNotFoundException;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRange;
 
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -108,6 +115,65 @@ public class PeopleCollectionTest {
         assertFalse(males.contains(m4));
     }
 
+    @Test
+    public void containsOnlyPeopleCurrentlyInCollection() {
+
+        PeopleCollection living = new PeopleCollection(LocalDate.of(0, 1, 1), LocalDate.of(3000, 1, 1), Period.ofYears(1), "");
+
+        Person m = new Person(SexOption.MALE, LocalDate.of(1900, 6, 1), null, ps, false);
+        Person f = new Person(SexOption.FEMALE, LocalDate.of(1900, 6, 1), null, ps, false);
+        Person other = new Person(SexOption.FEMALE, LocalDate.of(1900, 6, 1), null, ps, false);
+
+        living.add(m);
+        living.add(f);
+
+        assertTrue(living.contains(m));
+        assertTrue(living.contains(f));
+        assertFalse(living.contains(other));
+
+        living.remove(f);
+
+        assertFalse(living.contains(f));
+        assertTrue(living.contains(m));
+    }
+
+    @Test
+    public void addingPersonAgainThrows() {
+
+        PeopleCollection living = new PeopleCollection(LocalDate.of(0, 1, 1), LocalDate.of(3000, 1, 1), Period.ofYears(1), "");
+
+        Person m = new Person(SexOption.MALE, LocalDate.of(1900, 6, 1), null, ps, false);
+        Person f = new Person(SexOption.FEMALE, LocalDate.of(1900, 6, 1), null, ps, false);
+
+        living.add(m);
+        living.add(f);
+
+        assertThrows(IllegalArgumentException.class, () -> living.add(m));
+        assertThrows(IllegalArgumentException.class, () -> living.add(f));
+        assertEquals(2, living.getNumberOfPeople());
+    }
+
+    @Test
+    public void getPersonReachesEachPersonOnce() {
+
+        PeopleCollection living = new PeopleCollection(LocalDate.of(0, 1, 1), LocalDate.of(3000, 1, 1), Period.ofYears(1), "");
+        List<IPerson> people = new ArrayList<>();
+
+        for (int year = 1900; year < 1905; year++) {
+            people.add(new Person(SexOption.MALE, LocalDate.of(year, 6, 1), null, ps, false));
+            people.add(new Person(SexOption.FEMALE, LocalDate.of(year, 3, 1), null, ps, false));
+            people.add(new Person(SexOption.FEMALE, LocalDate.of(year, 9, 1), null, ps, false));
+        }
+
+        for (IPerson person : people) living.add(person);
+
+        HashSet<IPerson> reached = new HashSet<>();
+        for (int i = 0; i < living.getNumberOfPeople(); i++) reached.add(living.getPerson(i));
+
+        assertEquals(new HashSet<>(people), reached);
+        assertThrows(IndexOutOfBoundsException.class, () -> living.getPerson(people.size()));
+    }
+
     @Test
     public void peopleInByYearAndBirthsCorrectPlace() {
 
@@ -302,6 +368,53 @@ public class PeopleCollectionTest {
         assertTrue(people.contains(c3));
     }
 
+    @Test
+    public void femalesAbleToGiveBirthExcludeRecentMothers() throws PersonNotFoundException {
+
+        Period y = Period.ofYears(1);
+        PeopleCollection living = new PeopleCollection(LocalDate.of(0, 1, 1), LocalDate.of(3000, 1, 1), y, "");
+
+        LocalDate start = LocalDate.of(1600, 1, 1);
+        Period spacing = Period.ofDays(147);
+
+        Person f1 = new Person(SexOption.FEMALE, start, null, ps, false);
+        Person f2 = new Person(SexOption.FEMALE, start.plusDays(10), null, ps, false);
+        Person f3 = new Person(SexOption.FEMALE, start.plusDays(20), null, ps, false);
+        Person m1 = new Person(SexOption.MALE, start, null, ps, false);
+
+        Person c1 = new Person(SexOption.MALE, LocalDate.of(1620, 1, 1), null, ps, false);
+        Person c2 = new Person(SexOption.MALE, LocalDate.of(1625, 1, 1), null, ps, false);
+
+        for (Person mother : Arrays.asList(f1, f2)) {
+            Person child = mother == f1 ? c1 : c2;
+            Partnership p = new Partnership(m1, mother);
+            p.setPartnershipDate(child.getBirthDate());
+            p.addChildren(Collections.singletonList(child));
+            mother.recordPartnership(p);
+        }
+
+        living.add(f1);
+        living.add(f2);
+        living.add(f3);
+
+        LocalDate onDate = LocalDate.of(1625, 3, 1);
+        IntegerRange anyBirthOrder = new IntegerRange("0+");
+
+        Collection<IPerson> people = living.getFemales().getByDatePeriodAndBirthOrderAbleToGiveBirth(start, y, anyBirthOrder, spacing, onDate);
+
+        assertEquals(2, people.size());
+        assertTrue(people.contains(f1));
+        assertTrue(people.contains(f3));
+
+        people = living.getFemales().getByDatePeriodAndBirthOrderAbleToGiveBirth(start, y, anyBirthOrder, spacing, onDate.plusYears(1));
+        assertEquals(3, people.size());
+
+        living.remove(f1);
+
+        people = living.getFemales().getByDatePeriodAndBirthOrderAbleToGiveBirth(start, y, new IntegerRange(1), spacing, onDate.plusYears(1));
+        assertEquals(Collections.singletonList(f2), new ArrayList<>(people));
+    }
+
     @Test
     public void removeNonExistentFemaleFromEmptyCollection() throws PersonNotFoundException {
 
@@ -375,4 +488,51 @@ public class PeopleCollectionTest {
             living.remove(m1);
         });
     }
+
+    @Test
+    public void removeNPersonsSelectsSameSampleForSameSeed() throws Exception {
+
+        LocalDate s = LocalDate.of(0, 1, 1);
+        LocalDate e = LocalDate.of(3000, 1, 1);
+
+        Period y = Period.ofYears(1);
+        Period twoYears = Period.ofYears(2);
+
+        LocalDate start = LocalDate.of(1600, 1, 1);
+
+        MaleCollection first = new PeopleCollection(s, e, y, "").getMales();
+        MaleCollection second = new PeopleCollection(s, e, y, "").getMales();
+
+        List<IPerson> cohort = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            Person m = new Person(SexOption.MALE, start.plusYears(i % 2), null, ps, false);
+            cohort.add(m);
+            first.add(m);
+            second.add(m);
+        }
+
+        assertEquals(500, first.getNumberOfPeople(start, twoYears));
+
+        Collection<IPerson> removed = first.removeNPersons(100, start, twoYears, true, new JDKRandomGenerator(17));
+
+        assertEquals(removed, second.removeNPersons(100, start, twoYears, true, new JDKRandomGenerator(17)));
+        assertEquals(100, removed.size());
+        assertNotEquals(new HashSet<>(cohort.subList(0, 100)), new HashSet<>(removed));
+
+        // the remaining people are still held in id order
+        Collection<IPerson> remaining = first.getPeopleBornInTimePeriod(start, twoYears);
+        assertEquals(400, remaining.size());
+        assertEquals(400, first.getNumberOfPeople(start, twoYears));
+
+        for (IPerson person : removed) {
+            assertFalse(remaining.contains(person));
+        }
+
+        List<IPerson> expected = new ArrayList<>(cohort);
+        expected.removeAll(removed);
+        expected.sort(Comparator.comparing(IPerson::getBirthDate).thenComparing(IPerson::getId));
+
+        assertEquals(expected, new ArrayList<>(remaining));
+    }
 }
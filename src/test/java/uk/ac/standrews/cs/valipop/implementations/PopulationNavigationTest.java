@@ -18,11 +18,24 @@
 package uk.ac.standrews.cs.valipop.implementations;
 
 import org.junit.jupiter.api.Test;
+import uk.ac.standrews.cs.valipop.Config;
+import uk.ac.standrews.cs.valipop.simulationEntities.IPartnership;
+import uk.ac.standrews.cs.valipop.simulationEntities.IPerson;
+import uk.ac.standrews.cs.valipop.simulationEntities.Partnership;
+import uk.ac.standrews.cs.valipop.simulationEntities.Person;
+import uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation;
+import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
+import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
 
+import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.Period;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation.ageOnDate;
+import static uk.ac.standrews.cs.valipop.simulationEntities.PopulationNavigation.*;
 
 /**
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
@@ -61,4 +74,117 @@ public class PopulationNavigationTest {
         assertEquals(1, ageOnDate(birthday3, query4));
         assertEquals(1, ageOnDate(birthday3, query5));
     }
+
+    @Test
+    public void ageOnDateMatchesPeriodCalculation() {
+
+        final LocalDate[] birthdays = {LocalDate.of(1900, 2, 28), LocalDate.of(1904, 2, 29), LocalDate.of(1903, 3, 1), LocalDate.of(1900, 12, 31)};
+
+        for (final LocalDate birthday : birthdays) {
+            for (LocalDate query = birthday.minusDays(10); query.isBefore(birthday.plusYears(6)); query = query.plusDays(1)) {
+                assertEquals(Math.max(0, Period.between(birthday, query).getYears()), ageOnDate(birthday, query));
+            }
+        }
+    }
+
+    @Test
+    public void cachedDerivedAttributesMatchRecomputed() {
+
+        assertEquals(familyHistory(false), familyHistory(true));
+    }
+
+    /**
+     * Builds and changes a family, recording the attributes derived for its members after each change.
+     */
+    private static List<Object> familyHistory(final boolean cacheDerivedAttributes) {
+
+        final Config config = new Config(
+                LocalDate.of(1, 1, 1),
+                LocalDate.of(200, 1, 1),
+                LocalDate.of(300, 1, 1),
+                0,
+                Paths.get("src/test/resources/valipop/test-pop"),
+                Config.DEFAULT_RESULTS_SAVE_PATH, "POPULATION_NAVIGATION_TEST",
+                Config.DEFAULT_RESULTS_SAVE_PATH).setDeterministic(true).setCacheDerivedAttributes(cacheDerivedAttributes);
+
+        Person.resetIds();
+        Partnership.resetIds();
+
+        final PopulationStatistics ps = new PopulationStatistics(config);
+        final LocalDate start = LocalDate.of(1600, 1, 1);
+        final List<Object> history = new ArrayList<>();
+
+        final Person mother = new Person(SexOption.FEMALE, start, null, ps, false);
+        final Person father1 = new Person(SexOption.MALE, start, null, ps, false);
+        final Person father2 = new Person(SexOption.MALE, start, null, ps, false);
+
+        final Partnership p1 = new Partnership(father1, mother);
+        p1.setPartnershipDate(start.plusYears(20));
+        mother.recordPartnership(p1);
+        father1.recordPartnership(p1);
+
+        history.add(derivedAttributes(mother));
+
+        final Person c1 = new Person(SexOption.MALE, start.plusYears(21), p1, ps, false);
+        final Person c2 = new Person(SexOption.FEMALE, start.plusYears(23), p1, ps, false);
+        p1.addChildren(List.of(c1, c2));
+
+        history.add(derivedAttributes(mother));
+
+        final Partnership p2 = new Partnership(father2, mother);
+        p2.setPartnershipDate(start.plusYears(26));
+        mother.recordPartnership(p2);
+        father2.recordPartnership(p2);
+
+        final Person c3 = new Person(SexOption.MALE, start.plusYears(27), p2, ps, false);
+        final Person c4 = new Person(SexOption.MALE, start.plusYears(27), p2, ps, false);
+        p2.addChildren(List.of(c3, c4));
+
+        history.add(derivedAttributes(mother));
+        history.add(derivedAttributes(father2));
+
+        p2.removeChild(c4);
+        history.add(derivedAttributes(mother));
+
+        p2.setPartnershipDate(start.plusYears(19));
+        history.add(derivedAttributes(mother));
+
+        mother.removePartnership(p2);
+        father2.removePartnership(p2);
+        history.add(derivedAttributes(mother));
+        history.add(derivedAttributes(father2));
+
+        return history;
+    }
+
+    // People and partnerships are recorded by id, since the two families compared are built separately.
+    private static List<Object> derivedAttributes(final IPerson person) {
+
+        final List<Object> attributes = new ArrayList<>();
+
+        attributes.add(idOf(getLastChild(person)));
+        attributes.add(idOf(getLastPartnership(person)));
+        attributes.add(PopulationNavigation.numberOfChildren(person));
+
+        for (int year = 1615; year < 1635; year++) {
+
+            final List<Integer> active = new ArrayList<>();
+            for (final IPartnership partnership : getPartnershipsActiveInYear(person, Year.of(year)))
+                active.add(partnership.getId());
+
+            attributes.add(numberOfChildrenBirthedBeforeDate(person, LocalDate.of(year, 6, 1)));
+            attributes.add(active);
+            attributes.add(lastPartnerDied(person, LocalDate.of(year, 6, 1)));
+        }
+
+        return attributes;
+    }
+
+    private static Integer idOf(final IPerson person) {
+        return person == null ? null : person.getId();
+    }
+
+    private static Integer idOf(final IPartnership partnership) {
+        return partnership == null ? null : partnership.getId();
+    }
 }
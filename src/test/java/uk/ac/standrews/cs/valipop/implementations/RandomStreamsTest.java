@@ -0,0 +1,83 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.implementations;
+
+import org.apache.commons.math3.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RandomStreamsTest {
+
+    private static final LocalDate STEP = LocalDate.of(1855, 1, 1);
+
+    @Test
+    public void streamsDependOnlyOnSeedSubsystemAndStep() {
+
+        final RandomStreams first = new RandomStreams(42);
+        final RandomStreams second = new RandomStreams(42);
+
+        first.beginTimeStep(STEP);
+        second.beginTimeStep(STEP);
+
+        // Drawing from one subsystem does not disturb the others.
+        first.get(RandomStreams.Subsystem.BIRTHS).nextLong();
+
+        assertEquals(draw(first.get(RandomStreams.Subsystem.DEATHS)), draw(second.get(RandomStreams.Subsystem.DEATHS)));
+        assertNotEquals(draw(first.get(RandomStreams.Subsystem.NAMES)), draw(first.get(RandomStreams.Subsystem.OCCUPATIONS)));
+    }
+
+    @Test
+    public void streamsAreRestartedForEachStep() {
+
+        final RandomStreams streams = new RandomStreams(42);
+        final RandomGenerator births = streams.get(RandomStreams.Subsystem.BIRTHS);
+
+        streams.beginTimeStep(STEP);
+        final long firstStep = draw(births);
+
+        streams.beginTimeStep(STEP.plusYears(1));
+        final long secondStep = draw(births);
+
+        streams.beginTimeStep(STEP);
+
+        assertNotEquals(firstStep, secondStep);
+        assertEquals(firstStep, draw(births));
+    }
+
+    @Test
+    public void splitStreamsDependOnlyOnTheirKeys() {
+
+        final RandomStreams streams = new RandomStreams(7);
+        streams.beginTimeStep(STEP);
+
+        final long cohort = draw(streams.split(RandomStreams.Subsystem.DEATHS, 0, 100));
+        streams.get(RandomStreams.Subsystem.DEATHS).nextLong();
+
+        assertEquals(cohort, draw(streams.split(RandomStreams.Subsystem.DEATHS, 0, 100)));
+        assertNotEquals(cohort, draw(streams.split(RandomStreams.Subsystem.DEATHS, 1, 100)));
+        assertNotEquals(cohort, draw(new RandomStreams(8).split(RandomStreams.Subsystem.DEATHS, 0, 100)));
+    }
+
+    private static long draw(final RandomGenerator random) {
+
+        return random.nextLong() ^ random.nextLong();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.statistics.populationStatistics;
+
+import org.junit.jupiter.api.Test;
+import uk.ac.standrews.cs.valipop.Config;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InputTablesTest {
+
+    private static final Path TEST_POP = Path.of("src/test/resources/valipop/test-pop");
+
+    private static Config config(final Path varPath, final LocalDate tS, final LocalDate t0, final LocalDate tE) {
+
+        return new Config(tS, t0, tE, 0, varPath, Config.DEFAULT_RESULTS_SAVE_PATH, "INPUT_TABLES_TEST",
+                Config.DEFAULT_RESULTS_SAVE_PATH).setDeterministic(true);
+    }
+
+    private static Config config() {
+        return config(TEST_POP, LocalDate.of(1, 1, 1), LocalDate.of(200, 1, 1), LocalDate.of(300, 1, 1));
+    }
+
+    @Test
+    public void runsWithTheSameInputsShareTables() {
+
+        final InputTables tables = InputTables.forConfig(config());
+
+        // Neither the form of the input path nor the parameters of a run outside the key matter.
+        final Config other = config(TEST_POP.toAbsolutePath().resolve("../test-pop"), LocalDate.of(1, 1, 1), LocalDate.of(200, 1, 1), LocalDate.of(300, 1, 1))
+                .setRecoveryFactor(0.5).setProportionalRecoveryFactor(0.25).setSeed(99);
+
+        assertSame(tables, InputTables.forConfig(other));
+    }
+
+    @Test
+    public void runsWithDifferentInputsHaveTheirOwnTables() {
+
+        assertSeparate(c -> config(TEST_POP, LocalDate.of(2, 1, 1), c.getT0(), c.getTE()));
+        assertSeparate(c -> config(TEST_POP, c.getTS(), LocalDate.of(201, 1, 1), c.getTE()));
+        assertSeparate(c -> config(TEST_POP, c.getTS(), c.getT0(), LocalDate.of(301, 1, 1)));
+        assertSeparate(c -> c.setInputWidth(Period.ofYears(5)));
+        assertSeparate(c -> {
+            c.setBinomialSampling(!c.getBinomialSampling());
+            return c;
+        });
+    }
+
+    private static void assertSeparate(final UnaryOperator<Config> change) {
+
+        final InputTables tables = InputTables.forConfig(config());
+        assertNotSame(tables, InputTables.forConfig(change.apply(config())));
+    }
+}
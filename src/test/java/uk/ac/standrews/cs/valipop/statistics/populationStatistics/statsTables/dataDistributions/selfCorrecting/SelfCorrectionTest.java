@@ -17,22 +17,37 @@
  */
 package uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsTables.dataDistributions.selfCorrecting;
 
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomGenerator;
 import org.junit.jupiter.api.Test;
 import uk.ac.standrews.cs.valipop.implementations.Randomness;
 import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.determinedCounts.DeterminedCount;
+import uk.ac.standrews.cs.valipop.statistics.populationStatistics.determinedCounts.MultipleDeterminedCountByIR;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsKeys.DeathStatsKey;
+import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsKeys.PartneringStatsKey;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsKeys.StatsKey;
 import uk.ac.standrews.cs.valipop.statistics.populationStatistics.statsTables.dataDistributions.OneDimensionDataDistribution;
+import uk.ac.standrews.cs.valipop.utils.InputFileReader;
 import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRange;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRangeToDoubleSet;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.IntegerRangeToIntegerSet;
+import uk.ac.standrews.cs.valipop.utils.specialTypes.labeledValueSets.LabelledValueSet;
 
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.time.Period;
 import java.time.Year;
+import java.util.List;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Tom Dalton (tsd4@st-andrews.ac.uk)
@@ -51,7 +66,7 @@ public class SelfCorrectionTest {
         data.put(new IntegerRange(4), 0.5);
         data.put(new IntegerRange(5), 0.01);
 
-        return new SelfCorrectingOneDimensionDataDistribution(Year.of(0), "test", "test", data, false, Randomness.getRandomGenerator());
+        return new SelfCorrectingOneDimensionDataDistribution(Year.of(0), "test", "test", data, false);
     }
 
     @Test
@@ -106,6 +121,55 @@ public class SelfCorrectionTest {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void copiedStateIsIndependentSC1DDD() {
+
+        final SelfCorrectingOneDimensionDataDistribution sc1DDD = createSC1DDD();
+        final Period y = Period.ofYears(1);
+
+        // Under-achieve the rate for age 4, so that the original distribution corrects for it.
+        final StatsKey<Integer, Integer> k1 = new DeathStatsKey(4, 100, y, null, SexOption.MALE);
+        @SuppressWarnings("rawtypes") final DeterminedCount r1 = sc1DDD.determineCount(k1, null, Randomness.getRandomGenerator());
+        r1.setFulfilledCount(0);
+        sc1DDD.returnAchievedCount(r1, Randomness.getRandomGenerator());
+
+        final SelfCorrectingOneDimensionDataDistribution copy = sc1DDD.copyState();
+        assertTrue(copy.getRate() == sc1DDD.getRate());
+
+        final StatsKey<Integer, Integer> k2 = new DeathStatsKey(4, 100, y, null, SexOption.MALE);
+        assertEquals(50, (int) copy.determineCount(k2, null, Randomness.getRandomGenerator()).getDeterminedCount());
+        assertTrue((int) sc1DDD.determineCount(k2, null, Randomness.getRandomGenerator()).getDeterminedCount() > 50);
+    }
+
+    @Test
+    public void binomialCountsDrawOnlyFromGivenStreamSC1DDD() {
+
+        final StatsKey<Integer, Integer> key = new DeathStatsKey(4, 10000, Period.ofYears(1), null, SexOption.MALE);
+
+        final Set<Integer> countsForSeeds = new HashSet<>();
+        for (int seed = 1; seed <= 5; seed++)
+            countsForSeeds.add(binomialCount(key, new MersenneTwister(seed)));
+
+        assertNotEquals(1, countsForSeeds.size());
+
+        final int count = binomialCount(key, new MersenneTwister(1));
+
+        // Drawing from, or re-seeding, the shared legacy generator must not affect counts.
+        Randomness.getRandomGenerator().setSeed(99);
+        Randomness.getRandomGenerator().nextDouble();
+
+        assertEquals(count, binomialCount(key, new MersenneTwister(1)));
+    }
+
+    private static int binomialCount(final StatsKey<Integer, Integer> key, final RandomGenerator random) {
+
+        final Map<IntegerRange, Double> data = new TreeMap<>();
+        data.put(new IntegerRange(4), 0.5);
+
+        return new SelfCorrectingOneDimensionDataDistribution(Year.of(0), "test", "test", data, true).determineCount(key, null, random).getDeterminedCount();
+    }
+
     @SuppressWarnings({ "unused", "rawtypes" })
     private int calcExpectedCount(final DeterminedCount applied, final StatsKey corrective, final double targetRate) {
 
@@ -180,4 +244,125 @@ public class SelfCorrectionTest {
 
         assertEquals(expPopSize, popSize);
     }
+
+    private static Map<IntegerRange, LabelledValueSet<IntegerRange, Double>> createPartneringProportions() {
+
+        final List<IntegerRange> maleAges = List.of(new IntegerRange("15-19"), new IntegerRange("20-24"), new IntegerRange("25-29"), new IntegerRange("30+"));
+
+        final Map<IntegerRange, LabelledValueSet<IntegerRange, Double>> proportions = new TreeMap<>();
+        proportions.put(new IntegerRange("15-24"), new IntegerRangeToDoubleSet(maleAges, List.of(0.3, 0.45, 0.2, 0.05), Randomness.getRandomGenerator()));
+        proportions.put(new IntegerRange("25-34"), new IntegerRangeToDoubleSet(maleAges, List.of(0.01, 0.19, 0.5, 0.3), Randomness.getRandomGenerator()));
+
+        return proportions;
+    }
+
+    @Test
+    public void indexedCountsMatchLabelledValueSetArithmeticSC2DIRPD() {
+
+        final Map<IntegerRange, LabelledValueSet<IntegerRange, Double>> proportions = createPartneringProportions();
+        final SelfCorrecting2DIntegerRangeProportionalDistribution distribution =
+                new SelfCorrecting2DIntegerRangeProportionalDistribution(Year.of(0), "test", "test", proportions, Randomness.getRandomGenerator());
+
+        final Period y = Period.ofYears(1);
+        final double rf = 1;
+
+        // Reference achieved counts, maintained with the map-based sets.
+        LabelledValueSet<IntegerRange, Integer> achieved = new IntegerRangeToIntegerSet(proportions.get(new IntegerRange("15-24")).getLabels(), 0, Randomness.getRandomGenerator());
+
+        for (int n = 1; n <= 40; n += 3) {
+
+            final MultipleDeterminedCountByIR count = distribution.determineCount(new PartneringStatsKey(20, n, y, LocalDate.of(1900, 1, 1)), null, Randomness.getRandomGenerator());
+
+            final LabelledValueSet<IntegerRange, Double> p = proportions.get(new IntegerRange("15-24"));
+            final LabelledValueSet<IntegerRange, Double> uncorrected = p.productOfValuesAndN(n);
+            final LabelledValueSet<IntegerRange, Double> corrected = uncorrected.valuesPlusValues(
+                    p.productOfValuesAndN(achieved.getSumOfValues() + (double) n).valuesSubtractValues(achieved).valuesSubtractValues(uncorrected).productOfValuesAndN(rf));
+
+            for (final IntegerRange label : p.getLabels()) {
+                assertEquals(uncorrected.get(label), count.getRawUncorrectedCount().get(label));
+                assertEquals(corrected.get(label), count.getRawCorrectedCount().get(label));
+            }
+
+            // Under-achieve in the youngest age range, so that later counts are corrected.
+            final LabelledValueSet<IntegerRange, Integer> fulfilled = count.getDeterminedCount().clone();
+            fulfilled.update(new IntegerRange("15-19"), 0);
+
+            count.setFulfilledCount(fulfilled);
+            distribution.returnAchievedCount(count, Randomness.getRandomGenerator());
+
+            achieved = achieved.valuesPlusValues(fulfilled).floorValues();
+        }
+    }
+
+    @Test
+    public void controlledRoundingSpreadsShortfallByLargestRemainder() {
+
+        final List<IntegerRange> labels = List.of(new IntegerRange(1), new IntegerRange(2), new IntegerRange(3), new IntegerRange(4));
+        final IntegerRangeToDoubleSet values = new IntegerRangeToDoubleSet(labels, List.of(1.6, 2.7, 0.4, 3.3), Randomness.getRandomGenerator());
+
+        final LabelledValueSet<IntegerRange, Integer> rounded = values.controlledRoundingMaintainingSum();
+
+        assertEquals(8, rounded.getSumOfValues());
+        assertEquals(List.of(2, 3, 0, 3), List.copyOf(rounded.getMap().values()));
+    }
+
+    @Test
+    public void controlledRoundingOfNegativeValuesGivesNonNegativeCounts() {
+
+        final List<IntegerRange> labels = List.of(new IntegerRange(1), new IntegerRange(2), new IntegerRange(3), new IntegerRange(4));
+        final IntegerRangeToDoubleSet values = new IntegerRangeToDoubleSet(labels, List.of(-2.5, 3.2, 1.9, 0.4), Randomness.getRandomGenerator());
+
+        final LabelledValueSet<IntegerRange, Integer> rounded = values.controlledRoundingMaintainingSum();
+
+        assertEquals(3, rounded.getSumOfValues());
+        for (final IntegerRange label : labels) {
+            assertTrue(rounded.get(label) >= 0);
+        }
+    }
+
+    @Test
+    public void roundedCountsTrackBundledPartneringProportions() throws Exception {
+
+        final Path partnering = Path.of("src/test/resources/valipop/test-pop/relationships/partnering/partnering_2011_engwales.txt");
+        final Period y = Period.ofYears(1);
+
+        for (final int age : new int[]{18, 23, 28, 33, 38, 45}) {
+
+            final SelfCorrecting2DIntegerRangeProportionalDistribution distribution = InputFileReader.readInAgeAndProportionalStatsInput(partnering, Randomness.getRandomGenerator());
+
+            final Map<IntegerRange, Double> target = new TreeMap<>();
+            final Map<IntegerRange, Integer> achieved = new TreeMap<>();
+            int total = 0;
+
+            for (int i = 0; i < 2000; i++) {
+
+                final int n = 1 + (i * 7919) % 30;
+                final MultipleDeterminedCountByIR count = distribution.determineCount(new PartneringStatsKey(age, n, y, LocalDate.of(1900, 1, 1)), null, Randomness.getRandomGenerator());
+                final LabelledValueSet<IntegerRange, Integer> determined = count.getDeterminedCount();
+
+                assertEquals(n, determined.getSumOfValues());
+
+                for (final IntegerRange label : determined.getLabels()) {
+
+                    final double raw = count.getRawCorrectedCount().get(label);
+
+                    // Each cell is rounded up or down, or reduced towards zero where other cells were negative.
+                    assertTrue(determined.get(label) >= 0);
+                    assertTrue(determined.get(label) < Math.max(raw, 0) + 1);
+
+                    target.merge(label, count.getRawUncorrectedCount().get(label), Double::sum);
+                    achieved.merge(label, determined.get(label), Integer::sum);
+                }
+
+                total += n;
+                count.setFulfilledCount(determined);
+                distribution.returnAchievedCount(count, Randomness.getRandomGenerator());
+            }
+
+            // Self-correction keeps the cumulative counts within one person of the target in each cell.
+            for (final IntegerRange label : target.keySet()) {
+                assertEquals(target.get(label), achieved.get(label), 1.0, "age " + age + ", partner age " + label + ", of " + total);
+            }
+        }
+    }
 }
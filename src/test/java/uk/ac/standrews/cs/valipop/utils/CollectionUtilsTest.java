@@ -0,0 +1,113 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils;
+
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollectionUtilsTest {
+
+    private static final int TRIALS = 20000;
+
+    @Test
+    public void shuffledIteratorVisitsEveryElementOnce() {
+
+        final List<Integer> list = numbers(100);
+        final List<Integer> visited = new ArrayList<>();
+
+        CollectionUtils.shuffledIterator(list, random()).forEachRemaining(visited::add);
+
+        assertEquals(list, visited);
+        assertEquals(numbers(100), visited.stream().sorted().toList());
+        assertNotEquals(numbers(100), visited);
+    }
+
+    @Test
+    public void shuffledIteratorDrawsOnlyForElementsTaken() {
+
+        final CountingGenerator random = new CountingGenerator();
+        final Iterator<Integer> iterator = CollectionUtils.shuffledIterator(numbers(10000), random);
+
+        for (int i = 0; i < 5; i++) iterator.next();
+
+        assertEquals(5, random.draws);
+    }
+
+    @Test
+    public void shuffledIteratorSelectsUniformly() {
+
+        final RandomGenerator random = random();
+        final int[] firstCounts = new int[4];
+
+        for (int i = 0; i < TRIALS; i++)
+            firstCounts[CollectionUtils.shuffledIterator(new LinkedList<>(numbers(4)), random).next()]++;
+
+        for (final int count : firstCounts)
+            assertEquals(TRIALS / 4.0, count, TRIALS * 0.02);
+    }
+
+    @Test
+    public void lazilyShuffledQueueTakesAddedElementsAfterInitialElements() {
+
+        final Queue<Integer> queue = new LazilyShuffledQueue<>(numbers(40), random());
+        final List<Integer> taken = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) taken.add(queue.remove());
+        queue.addAll(taken);
+
+        final List<Integer> iterated = new ArrayList<>(queue);
+        final List<Integer> polled = new ArrayList<>();
+        while (!queue.isEmpty()) polled.add(queue.remove());
+
+        assertEquals(iterated, polled);
+        assertEquals(taken, polled.subList(30, 40));
+        assertEquals(numbers(40), polled.stream().sorted().toList());
+    }
+
+    private static List<Integer> numbers(final int n) {
+
+        return new ArrayList<>(IntStream.range(0, n).boxed().toList());
+    }
+
+    private static RandomGenerator random() {
+
+        final RandomGenerator random = new JDKRandomGenerator();
+        random.setSeed(42);
+        return random;
+    }
+
+    private static class CountingGenerator extends JDKRandomGenerator {
+
+        private static final long serialVersionUID = 6183920457716302854L;
+
+        private int draws = 0;
+
+        @Override
+        public int nextInt(final int n) {
+
+            draws++;
+            return super.nextInt(n);
+        }
+    }
+}
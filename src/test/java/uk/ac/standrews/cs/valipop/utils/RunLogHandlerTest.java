@@ -0,0 +1,100 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CyclicBarrier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunLogHandlerTest {
+
+    private static final Logger log = Logger.getLogger(RunLogHandlerTest.class.getName());
+
+    @Test
+    public void concurrentRunsLogToTheirOwnFiles(@TempDir final Path dir) throws Exception {
+
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+
+        final Thread first = Thread.ofPlatform().start(() -> logRun(dir.resolve("first.txt"), "first run", barrier));
+        final Thread second = Thread.ofPlatform().start(() -> logRun(dir.resolve("second.txt"), "second run", barrier));
+        first.join();
+        second.join();
+
+        final String firstLog = Files.readString(dir.resolve("first.txt"));
+        final String secondLog = Files.readString(dir.resolve("second.txt"));
+
+        assertTrue(firstLog.contains("first run"));
+        assertFalse(firstLog.contains("second run"));
+        assertTrue(secondLog.contains("second run"));
+        assertFalse(secondLog.contains("first run"));
+    }
+
+    @Test
+    public void concurrentRunsLogAtTheirOwnLevels(@TempDir final Path dir) throws Exception {
+
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+
+        final Thread detailed = Thread.ofPlatform().start(() -> logRun(dir.resolve("detailed.txt"), Level.INFO, "detailed run", barrier));
+        final Thread brief = Thread.ofPlatform().start(() -> logRun(dir.resolve("brief.txt"), Level.SEVERE, "brief run", barrier));
+        detailed.join();
+        brief.join();
+
+        assertTrue(Files.readString(dir.resolve("detailed.txt")).contains("detailed run"));
+        assertFalse(Files.readString(dir.resolve("brief.txt")).contains("brief run"));
+    }
+
+    private static void logRun(final Path logFile, final String message, final CyclicBarrier barrier) {
+
+        try {
+            RunLogHandler.openRunLog(logFile, Level.SEVERE);
+
+            // Both runs have their files open before either logs or closes.
+            barrier.await();
+            log.severe(message);
+            barrier.await();
+
+            RunLogHandler.closeRunLog();
+
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void logRun(final Path logFile, final Level level, final String message, final CyclicBarrier barrier) {
+
+        try {
+            RunLogHandler.openRunLog(logFile, level);
+
+            barrier.await();
+            log.info(message);
+            barrier.await();
+
+            RunLogHandler.closeRunLog();
+
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.addressLookup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchReverseGeocoderTest {
+
+    private static final Coords NORTH_STREET = new Coords(56.3405, -2.7990);
+    private static final Coords ALSO_NORTH_STREET = new Coords(56.3407, -2.7986);
+    private static final Coords LAMOND_DRIVE = new Coords(56.3305, -2.8115);
+    private static final Coords SEA = new Coords(56.5, -2.5);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void pointsAreGeocodedThroughStubServer() throws Throwable {
+
+        try (GeocodeCache recordings = recordings();
+             StubGeocodingServer server = new StubGeocodingServer(recordings, 0, Duration.ofMillis(10));
+             GeocodeCache responses = GeocodeCache.open(dir.resolve("responses"))) {
+
+            final BatchReverseGeocoder geocoder = new BatchReverseGeocoder(new HttpGeocodingEndpoint(server.getURI()), responses, 4, Duration.ZERO);
+            final Cache cache = new Cache();
+
+            final List<Area> areas = geocoder.lookup(List.of(NORTH_STREET, LAMOND_DRIVE, ALSO_NORTH_STREET, SEA), cache);
+
+            assertEquals("North Street, Lawpark, St Andrews", areas.get(0).toString());
+            assertEquals("Lamond Drive, Lawpark, St Andrews", areas.get(1).toString());
+            assertSame(areas.get(0), areas.get(2));
+            assertTrue(areas.get(3).isErroneous());
+
+            assertEquals(2, cache.size());
+            assertTrue(areas.get(0).isWay());
+            assertEquals(56.3405, areas.get(0).getCentroid().getLat());
+            assertTrue(areas.get(0).getMaximumNumberOfAbodes() > 0);
+
+            // Each point is requested, as none is in the address cache beforehand, and the details of each place once.
+            assertEquals(6, geocoder.getRequestCount());
+            assertEquals(6, server.getRequestCount());
+        }
+    }
+
+    @Test
+    public void recordedResponsesAreNotRequestedAgain() throws Throwable {
+
+        try (GeocodeCache recordings = recordings();
+             StubGeocodingServer server = new StubGeocodingServer(recordings, 0, Duration.ZERO)) {
+
+            final Path responsesFile = dir.resolve("responses");
+            final List<Coords> points = List.of(NORTH_STREET, LAMOND_DRIVE, SEA);
+
+            try (GeocodeCache responses = GeocodeCache.open(responsesFile)) {
+                new BatchReverseGeocoder(new HttpGeocodingEndpoint(server.getURI()), responses, 2, Duration.ZERO).lookup(points, new Cache());
+            }
+
+            final int requestsMade = server.getRequestCount();
+
+            try (GeocodeCache responses = GeocodeCache.open(responsesFile)) {
+
+                final BatchReverseGeocoder geocoder = new BatchReverseGeocoder(new HttpGeocodingEndpoint(server.getURI()), responses, 2, Duration.ZERO);
+                final List<Area> areas = geocoder.lookup(points, new Cache());
+
+                assertEquals("Lamond Drive, Lawpark, St Andrews", areas.get(1).toString());
+                assertEquals(0, geocoder.getRequestCount());
+                assertEquals(5, geocoder.getCachedResponseCount());
+                assertEquals(requestsMade, server.getRequestCount());
+            }
+        }
+    }
+
+    @Test
+    public void incompleteRecordIsDiscardedOnOpening() throws Exception {
+
+        final Path file = dir.resolve("responses");
+
+        try (GeocodeCache cache = GeocodeCache.open(file)) {
+            cache.putReverse(56.34, -2.8, "first");
+            cache.putDetails(7, "second");
+        }
+
+        final long complete = Files.size(file);
+
+        try (GeocodeCache cache = GeocodeCache.open(file)) {
+            cache.putDetails(8, "third");
+        }
+
+        // Simulate a write interrupted part way through the last record.
+        try (var channel = java.nio.channels.FileChannel.open(file, java.nio.file.StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 2);
+        }
+
+        try (GeocodeCache cache = GeocodeCache.open(file)) {
+
+            assertEquals("first", cache.getReverse(56.340004, -2.799996));
+            assertEquals("second", cache.getDetails(7));
+            assertNull(cache.getDetails(8));
+            assertEquals(complete, Files.size(file));
+
+            cache.putDetails(8, "fourth");
+            assertEquals("fourth", cache.getDetails(8));
+        }
+    }
+
+    private GeocodeCache recordings() throws Exception {
+
+        final GeocodeCache recordings = GeocodeCache.open(dir.resolve("recordings"));
+
+        recordings.putReverse(NORTH_STREET.getLat(), NORTH_STREET.getLon(), reverse(100, "North Street", "56.3400", "56.3410", "-2.8000", "-2.7980"));
+        recordings.putReverse(ALSO_NORTH_STREET.getLat(), ALSO_NORTH_STREET.getLon(), reverse(100, "North Street", "56.3400", "56.3410", "-2.8000", "-2.7980"));
+        recordings.putReverse(LAMOND_DRIVE.getLat(), LAMOND_DRIVE.getLon(), reverse(101, "Lamond Drive", "56.3300", "56.3310", "-2.8120", "-2.8110"));
+
+        recordings.putDetails(100, details(1000, NORTH_STREET));
+        recordings.putDetails(101, details(1001, LAMOND_DRIVE));
+
+        return recordings;
+    }
+
+    private static String reverse(final long placeId, final String road, final String... boundingBox) {
+
+        return """
+                {"place_id": %d, "address": {"road": "%s", "suburb": "Lawpark", "town": "St Andrews", "state": "Scotland"},
+                 "boundingbox": ["%s", "%s", "%s", "%s"]}
+                """.formatted(placeId, road, boundingBox[0], boundingBox[1], boundingBox[2], boundingBox[3]);
+    }
+
+    private static String details(final long osmId, final Coords centroid) {
+
+        return """
+                {"category": "highway", "type": "residential", "osm_type": "W", "osm_id": %d, "centroid": {"lat": %s, "lon": %s}}
+                """.formatted(osmId, centroid.getLat(), centroid.getLon());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.addressLookup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryGeographyTest {
+
+    private static final String JSON = """
+            [{"place_id": 1, "address": {"road": "High Street", "town": "Kirkcaldy", "county": "Fife", "postcode": "KY1 1AA"},
+              "boundingBox": {"bottomLeft": {"lat": 56.1101234, "lon": -3.1601234}, "topRight": {"lat": 56.1109876, "lon": -3.1598765}},
+              "details": {"type": "residential", "category": "highway", "osm_type": "way", "osm_id": 1001, "centroid": {"lat": 56.1105555, "lon": -3.1599999}},
+              "maximumNumberOfAbodes": 60, "numberingOffset": 0},
+             {"place_id": 2, "address": {"road": "High Street", "suburb": "Dysart", "town": "Kirkcaldy"},
+              "boundingBox": {"bottomLeft": {"lat": 56.12, "lon": -3.13}, "topRight": {"lat": 56.121, "lon": -3.129}},
+              "details": {"type": "residential", "category": "highway", "osm_type": "way", "osm_id": 1002, "centroid": {"lat": 56.1205, "lon": -3.1295}},
+              "maximumNumberOfAbodes": 25, "numberingOffset": 60}]
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void areasSurviveRoundTrip() throws Exception {
+
+        final List<Area> areas = Arrays.asList(new ObjectMapper().readValue(JSON, Area[].class));
+        final Path file = dir.resolve("geography" + BinaryGeography.FILE_EXTENSION);
+
+        BinaryGeography.write(areas, file);
+
+        assertTrue(BinaryGeography.isBinary(file));
+        final List<Area> read = BinaryGeography.read(file);
+
+        assertEquals(areas.size(), read.size());
+
+        for (int i = 0; i < areas.size(); i++) {
+
+            final Area expected = areas.get(i);
+            final Area actual = read.get(i);
+
+            assertEquals(expected.getPlaceId(), actual.getPlaceId());
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(expected.getPostcode(), actual.getPostcode());
+            assertEquals(expected.getNumberingOffset(), actual.getNumberingOffset());
+            assertEquals(expected.getMaximumNumberOfAbodes(), actual.getMaximumNumberOfAbodes());
+            assertEquals(expected.isResidential(), actual.isResidential());
+            assertEquals(expected.isWay(), actual.isWay());
+
+            assertEquals(expected.getCentroid().getLat(), actual.getCentroid().getLat());
+            assertEquals(expected.getCentroid().getLon(), actual.getCentroid().getLon());
+            assertEquals(expected.getBoundingBox().getBottomLeft().getLat(), actual.getBoundingBox().getBottomLeft().getLat());
+            assertEquals(expected.getBoundingBox().getTopRight().getLon(), actual.getBoundingBox().getTopRight().getLon());
+        }
+
+        // Names are held once.
+        assertSame(read.get(0).getRoad(), read.get(1).getRoad());
+    }
+
+    @Test
+    public void geographyIsReadFromEitherForm() throws Exception {
+
+        final Path json = Files.writeString(dir.resolve("geography.json"), JSON);
+        final Path binary = dir.resolve("geography" + BinaryGeography.FILE_EXTENSION);
+
+        BinaryGeography.write(Arrays.asList(new ObjectMapper().readValue(JSON, Area[].class)), binary);
+
+        assertFalse(BinaryGeography.isBinary(json));
+
+        final Geography fromJson = new Geography(Geography.readAreas(json), new JDKRandomGenerator(1), 1.0);
+        final Geography fromBinary = new Geography(Geography.readAreas(binary), new JDKRandomGenerator(1), 1.0);
+
+        assertEquals(fromJson.getNearestEmptyAddress(56.1205, -3.1295).toString(), fromBinary.getNearestEmptyAddress(56.1205, -3.1295).toString());
+    }
+
+    @Test
+    public void eachReadGivesIndependentAreas() throws Exception {
+
+        final Path json = Files.writeString(dir.resolve("geography.json"), JSON);
+
+        final List<Area> first = Geography.readAreas(json);
+        first.get(0).getFreeAddress(new Geography(first, new JDKRandomGenerator(1), 1.0));
+        first.get(1).setNumberingOffset(0);
+
+        final List<Area> second = Geography.readAreas(json);
+
+        for (int i = 0; i < first.size(); i++) {
+            assertNotSame(first.get(i), second.get(i));
+            assertEquals(first.get(i).getPlaceId(), second.get(i).getPlaceId());
+        }
+
+        assertEquals(1, first.get(0).getAddresses().size());
+        assertTrue(second.get(0).getAddresses() == null || second.get(0).getAddresses().isEmpty());
+        assertEquals(60, second.get(1).getNumberingOffset());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.addressLookup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void pointsAreFoundInFirstContainingArea() throws Throwable {
+
+        final Cache cache = new Cache();
+
+        final Area first = add(cache, 1, "North Street", 56.3400, 56.3410, -2.8000, -2.7980);
+        final Area overlapping = add(cache, 2, "South Street", 56.3405, 56.3420, -2.7990, -2.7970);
+        final Area distant = add(cache, 3, "Market Street", 57.1000, 57.1010, -2.1000, -2.0990);
+
+        assertSame(first, cache.checkCache(56.3408, -2.7985));
+        assertSame(overlapping, cache.checkCache(56.3415, -2.7975));
+        assertSame(distant, cache.checkCache(57.1005, -2.0995));
+        assertNull(cache.checkCache(56.0, -3.0));
+
+        final Cache.Statistics statistics = cache.getStatistics();
+
+        assertEquals(3, statistics.areaHits());
+        assertEquals(1, statistics.misses());
+        assertEquals(3, statistics.size());
+    }
+
+    @Test
+    public void removedAreaIsGoneFromAllIndices() throws Throwable {
+
+        final Cache cache = new Cache();
+
+        final Area area = add(cache, 1, "North Street", 56.3400, 56.3410, -2.8000, -2.7980);
+        final Area otherPart = add(cache, 2, "North Street", 56.3410, 56.3420, -2.7980, -2.7960);
+        final Area other = add(cache, 3, "South Street", 56.3300, 56.3310, -2.8000, -2.7980);
+
+        assertEquals(area.getMaximumNumberOfAbodes(), otherPart.getNumberingOffset());
+
+        // A lookup outside the area's bounding box is remembered in the history.
+        cache.addHistory(56.35, -2.79, area);
+
+        cache.removeArea(area);
+
+        assertNull(cache.checkCache(56.3405, -2.7990));
+        assertNull(cache.checkCache(56.35, -2.79));
+        assertNull(cache.getAreaByID(1));
+        assertEquals(List.of(otherPart), List.copyOf(cache.getAreaSet(area.getAreaSetString()).getAreas()));
+        assertEquals(List.of(otherPart, other), cache.getAllAreas());
+
+        cache.removeArea(otherPart);
+
+        assertNull(cache.getAreaSet(area.getAreaSetString()));
+        assertEquals(2, cache.getStatistics().evictions());
+    }
+
+    @Test
+    public void cleaningExaminesOnlyNewAreas() throws Throwable {
+
+        final Cache cache = new Cache();
+        final AtomicInteger examined = new AtomicInteger();
+
+        add(cache, 1, "North Street", 56.3400, 56.3410, -2.8000, -2.7980);
+        add(cache, 2, null, 56.3300, 56.3310, -2.8000, -2.7980);
+
+        assertEquals(1, cache.clean(area -> examined.incrementAndGet() > 0 && area.getRoad() != null));
+        assertEquals(2, examined.get());
+
+        add(cache, 3, "South Street", 56.3200, 56.3210, -2.8000, -2.7980);
+
+        assertEquals(0, cache.clean(area -> examined.incrementAndGet() > 0 && area.getRoad() != null));
+        assertEquals(3, examined.get());
+
+        assertEquals(1, cache.cleanAll(area -> !"South Street".equals(area.getRoad())));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void indicesAreRebuiltWhenRead() throws Throwable {
+
+        final Cache cache = new Cache();
+
+        final Area area = add(cache, 1, "North Street", 56.3400, 56.3410, -2.8000, -2.7980);
+        add(cache, 2, "North Street", 56.3410, 56.3420, -2.7980, -2.7960);
+
+        final String file = dir.resolve("cache.ser").toString();
+        cache.writeToFile(file);
+
+        final Cache read = Cache.readFromFile(file);
+        final Area readArea = read.checkCache(56.3405, -2.7990);
+
+        assertEquals(area.getPlaceId(), readArea.getPlaceId());
+
+        read.removeArea(readArea);
+
+        assertEquals(1, read.size());
+        assertEquals(1, read.getAreaSet(area.getAreaSetString()).getAreas().size());
+    }
+
+    @Test
+    public void cleanerLeavesSourceCacheUnchanged() throws Throwable {
+
+        final Cache cache = new Cache();
+
+        add(cache, 1, "North Street", 56.3400, 56.3410, -2.8000, -2.7980);
+        add(cache, 2, null, 56.3300, 56.3310, -2.8000, -2.7980);
+
+        final String source = dir.resolve("source.ser").toString();
+        final String target = dir.resolve("target.ser").toString();
+        cache.writeToFile(source);
+
+        CacheCleaner.main(new String[]{source, target});
+
+        assertEquals(2, Cache.readFromFile(source).size());
+        assertEquals(1, Cache.readFromFile(target).size());
+    }
+
+    private static Area add(final Cache cache, final long placeId, final String road, final double minLat, final double maxLat, final double minLon, final double maxLon) throws Throwable {
+
+        final String json = """
+                {"place_id": %d, "address": {%s"town": "St Andrews"}, "boundingbox": ["%s", "%s", "%s", "%s"]}
+                """.formatted(placeId, road == null ? "" : "\"road\": \"" + road + "\", ", minLat, maxLat, minLon, maxLon);
+
+        final double lat = (minLat + maxLat) / 2;
+        final double lon = (minLon + maxLon) / 2;
+
+        final Area area = Area.makeArea(json, cache, id -> new Place("highway", "residential", "W", id, new Coords(lat, lon)));
+        ReverseGeocodeLookup.record(cache, lat, lon, area);
+
+        return area;
+    }
+}
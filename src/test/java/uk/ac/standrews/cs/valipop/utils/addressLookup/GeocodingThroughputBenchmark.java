@@ -0,0 +1,85 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.addressLookup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the rate at which a cache is warmed from a {@link StubGeocodingServer} with simulated latency, for a
+ * range of limits on requests in flight. Not run as part of the test suite.
+ *
+ * Usage: GeocodingThroughputBenchmark [points [latency-millis]]
+ */
+public class GeocodingThroughputBenchmark {
+
+    public static void main(final String[] args) throws Throwable {
+
+        final int numberOfPoints = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        final Duration latency = Duration.ofMillis(args.length > 1 ? Long.parseLong(args[1]) : 50);
+
+        final Path dir = Files.createTempDirectory("geocoding");
+        final List<Coords> points = new ArrayList<>();
+
+        try (GeocodeCache recordings = GeocodeCache.open(dir.resolve("recordings"))) {
+
+            for (int i = 0; i < numberOfPoints; i++) {
+
+                // Separate streets, each 0.001 degrees square.
+                final double lat = 56 + (i / 100) * 0.002;
+                final double lon = -3 + (i % 100) * 0.002;
+                points.add(new Coords(lat + 0.0005, lon + 0.0005));
+
+                recordings.putReverse(lat + 0.0005, lon + 0.0005, """
+                        {"place_id": %d, "address": {"road": "Road %d", "town": "Town"}, "boundingbox": ["%s", "%s", "%s", "%s"]}
+                        """.formatted(i + 1, i, lat, lat + 0.001, lon, lon + 0.001));
+                recordings.putDetails(i + 1, """
+                        {"category": "highway", "type": "residential", "osm_type": "W", "osm_id": %d, "centroid": {"lat": %s, "lon": %s}}
+                        """.formatted(i + 1, lat + 0.0005, lon + 0.0005));
+            }
+
+            try (StubGeocodingServer server = new StubGeocodingServer(recordings, 0, latency)) {
+
+                for (final int inFlight : new int[]{1, 4, 16}) {
+
+                    final Path responsesFile = dir.resolve("responses-" + inFlight);
+
+                    try (GeocodeCache responses = GeocodeCache.open(responsesFile)) {
+
+                        final BatchReverseGeocoder geocoder = new BatchReverseGeocoder(new HttpGeocodingEndpoint(server.getURI()), responses, inFlight, Duration.ZERO);
+
+                        final long start = System.nanoTime();
+                        geocoder.lookup(points, new Cache());
+                        final double seconds = (System.nanoTime() - start) / 1e9;
+
+                        System.out.printf("%2d in flight: %d requests in %.2f s, %.0f points/s%n", inFlight, geocoder.getRequestCount(), seconds, numberOfPoints / seconds);
+                    }
+
+                    Files.delete(responsesFile);
+                }
+            }
+
+        } finally {
+            Files.deleteIfExists(dir.resolve("recordings"));
+            Files.delete(dir);
+        }
+    }
+}
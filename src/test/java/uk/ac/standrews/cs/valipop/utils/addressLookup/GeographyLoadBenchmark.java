@@ -0,0 +1,84 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.addressLookup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares the time taken to load a geography from JSON and from the binary form written by
+ * {@link BinaryGeography}. Not run as part of the test suite.
+ *
+ * Usage: GeographyLoadBenchmark geography.json [repetitions]
+ */
+public class GeographyLoadBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(final String[] args) throws IOException {
+
+        final Path json = Paths.get(args[0]);
+        final int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        final Path binary = Files.createTempFile("geography", BinaryGeography.FILE_EXTENSION);
+
+        try {
+            BinaryGeography.write(readJson(json), binary);
+
+            System.out.printf("JSON:   %,d bytes, median load %.1f ms%n", Files.size(json), medianLoadMillis(json, false, repetitions));
+            System.out.printf("Binary: %,d bytes, median load %.1f ms%n", Files.size(binary), medianLoadMillis(binary, true, repetitions));
+
+        } finally {
+            Files.deleteIfExists(binary);
+        }
+    }
+
+    private static double medianLoadMillis(final Path file, final boolean isBinary, final int repetitions) throws IOException {
+
+        final double[] times = new double[repetitions];
+
+        // Warm up.
+        load(file, isBinary);
+
+        for (int i = 0; i < repetitions; i++) {
+
+            final long start = System.nanoTime();
+            load(file, isBinary);
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+
+        Arrays.sort(times);
+        return times[repetitions / 2];
+    }
+
+    private static List<Area> load(final Path file, final boolean isBinary) throws IOException {
+
+        return isBinary ? BinaryGeography.read(file) : readJson(file);
+    }
+
+    private static List<Area> readJson(final Path file) throws IOException {
+
+        return Arrays.asList(MAPPER.readValue(file.toFile(), Area[].class));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.addressLookup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OsmGeographyExtractorTest {
+
+    private static final Path EXTRACT = Path.of("src/test/resources/valipop/osm/extract.osm");
+
+    private static final BoundingBox REGION = new BoundingBox(new Coords(56.31, -2.85), new Coords(56.36, -2.75));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void namedResidentialWaysInRegionBecomeAreas() throws Exception {
+
+        final List<Area> areas = OsmGeographyExtractor.extract(EXTRACT, REGION);
+
+        assertEquals(List.of(100L, 101L, 106L), areas.stream().map(Area::getPlaceId).toList());
+
+        for (final Area area : areas) {
+            assertTrue(area.isResidential());
+            assertTrue(area.isWay());
+            assertEquals("St Andrews", area.getTown());
+            assertEquals("Lawpark", area.getSuburb());
+            assertTrue(area.getMaximumNumberOfAbodes() > 0);
+        }
+
+        final Area northStreet = areas.get(0);
+
+        assertEquals("North Street", northStreet.getRoad());
+        assertEquals("KY16 9AA", northStreet.getPostcode());
+        assertEquals(56.3405, northStreet.getCentroid().getLat(), 1e-9);
+        assertEquals(56.34, northStreet.getBoundingBox().getBottomLeft().getLat(), 1e-9);
+        assertEquals(-2.798, northStreet.getBoundingBox().getTopRight().getLon(), 1e-9);
+    }
+
+    @Test
+    public void placesJustOutsideRegionNameWaysWithinIt() throws Exception {
+
+        // Contains North Street, but neither St Andrews nor Lawpark.
+        final BoundingBox northStreetOnly = new BoundingBox(new Coords(56.3395, -2.8005), new Coords(56.36, -2.7975));
+
+        final List<Area> areas = OsmGeographyExtractor.extract(EXTRACT, northStreetOnly);
+
+        assertEquals(100L, areas.get(0).getPlaceId());
+        assertEquals("St Andrews", areas.get(0).getTown());
+        assertEquals("Lawpark", areas.get(0).getSuburb());
+    }
+
+    @Test
+    public void partsOfTheSameStreetAreNumberedConsecutively() throws Exception {
+
+        final List<Area> areas = OsmGeographyExtractor.extract(EXTRACT, REGION);
+
+        final Area first = areas.get(0);
+        final Area second = areas.get(2);
+
+        assertEquals(first.getRoad(), second.getRoad());
+        assertEquals(0, first.getNumberingOffset());
+        assertEquals(first.getMaximumNumberOfAbodes(), second.getNumberingOffset());
+        assertEquals(0, areas.get(1).getNumberingOffset());
+    }
+
+    @Test
+    public void extractedGeographyCanBeLoaded() throws Exception {
+
+        for (final String name : List.of("geography.json", "geography" + BinaryGeography.FILE_EXTENSION)) {
+
+            final Path target = dir.resolve(name);
+            OsmGeographyExtractor.main(new String[]{EXTRACT.toString(), target.toString(), "56.31", "56.36", "-2.85", "-2.75"});
+
+            final List<Area> areas = Geography.readAreas(target);
+
+            assertEquals(3, areas.size());
+            assertEquals("Lamond Drive, Lawpark, St Andrews", areas.get(1).toString().trim());
+        }
+    }
+}
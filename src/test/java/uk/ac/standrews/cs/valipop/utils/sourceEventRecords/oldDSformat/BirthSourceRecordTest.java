@@ -0,0 +1,60 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.sourceEventRecords.oldDSformat;
+
+import org.junit.jupiter.api.Test;
+import uk.ac.standrews.cs.valipop.Config;
+import uk.ac.standrews.cs.valipop.simulationEntities.Person;
+import uk.ac.standrews.cs.valipop.statistics.analysis.validation.contingencyTables.TreeStructure.SexOption;
+import uk.ac.standrews.cs.valipop.statistics.populationStatistics.PopulationStatistics;
+
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BirthSourceRecordTest {
+
+    // As rendered by toString before records were appended to a builder.
+    private static final String RENDERED = "7,Smith,Ann,F,,,,,1850,,,,14,MARCH,,,,,,,,1,JANUARY,1,,,,,,,";
+
+    @Test
+    public void recordIsAppendedAsPreviouslyRendered() {
+
+        final Config config = new Config(
+                LocalDate.of(1, 1, 1),
+                LocalDate.of(200, 1, 1),
+                LocalDate.of(300, 1, 1),
+                0,
+                Paths.get("src/test/resources/valipop/test-pop"),
+                Config.DEFAULT_RESULTS_SAVE_PATH, "BIRTH_SOURCE_RECORD_TEST",
+                Config.DEFAULT_RESULTS_SAVE_PATH).setDeterministic(true);
+
+        final Person person = new Person(SexOption.FEMALE, LocalDate.of(1850, 3, 14), null, new PopulationStatistics(config), false);
+
+        final BirthSourceRecord record = new BirthSourceRecord(person);
+        record.setUid("7");
+        record.setForename("Ann");
+        record.setSurname("Smith");
+
+        assertEquals(RENDERED, record.toString());
+
+        // Appending leaves what the builder already holds.
+        assertEquals("header\n" + RENDERED, record.appendTo(new StringBuilder("header\n")).toString());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.specialTypes.dates;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the memory taken by, and the time taken to look up the entry in effect on a date in, many small histories
+ * held as {@link DatedHistory} and as {@link TreeMap} keyed by date, as for the address history of each person in a
+ * population. Not run as part of the test suite.
+ *
+ * Usage: DatedHistoryBenchmark [number of histories] [entries per history] [lookups]
+ */
+public class DatedHistoryBenchmark {
+
+    private static final LocalDate START = LocalDate.of(1855, 1, 1);
+    private static final int SPAN_IN_DAYS = 365 * 80;
+
+    public static void main(final String[] args) {
+
+        final int numberOfHistories = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        final int entriesPerHistory = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        final int lookups = args.length > 2 ? Integer.parseInt(args[2]) : 10_000_000;
+
+        final LocalDate[] dates = new LocalDate[SPAN_IN_DAYS];
+        for (int i = 0; i < dates.length; i++) dates[i] = START.plusDays(i);
+
+        final Object value = new Object();
+
+        final Object[] compact = measure("DatedHistory", numberOfHistories, i -> {
+            final DatedHistory<Object> history = new DatedHistory<>();
+            for (int entry = 0; entry < entriesPerHistory; entry++) history.put(dates[(i + entry * 3650) % SPAN_IN_DAYS], value);
+            return history;
+        });
+
+        final Object[] maps = measure("TreeMap", numberOfHistories, i -> {
+            final TreeMap<LocalDate, Object> history = new TreeMap<>();
+            for (int entry = 0; entry < entriesPerHistory; entry++) history.put(dates[(i + entry * 3650) % SPAN_IN_DAYS], value);
+            return history;
+        });
+
+        // Alternate the representations so that both see the same conditions on average.
+        for (int round = 0; round < 3; round++) {
+
+            time("DatedHistory", lookups, numberOfHistories, dates, (history, date) -> ((DatedHistory<?>) compact[history]).floor(date));
+            time("TreeMap", lookups, numberOfHistories, dates, (history, date) -> {
+                @SuppressWarnings("unchecked") final Map.Entry<LocalDate, Object> entry = ((TreeMap<LocalDate, Object>) maps[history]).floorEntry(date);
+                return entry == null ? null : entry.getValue();
+            });
+        }
+    }
+
+    private static Object[] measure(final String label, final int numberOfHistories, final IntFunction<Object> factory) {
+
+        final long before = usedMemory();
+
+        final Object[] histories = new Object[numberOfHistories];
+        for (int i = 0; i < numberOfHistories; i++) histories[i] = factory.apply(i);
+
+        final long bytes = usedMemory() - before;
+
+        System.out.printf("%-12s %,d histories in %,d MB, %.1f bytes each%n", label, numberOfHistories, bytes >> 20, (double) bytes / numberOfHistories);
+        return histories;
+    }
+
+    private interface Lookup {
+        Object floor(int history, LocalDate date);
+    }
+
+    private static void time(final String label, final int lookups, final int numberOfHistories, final LocalDate[] dates, final Lookup lookup) {
+
+        final Random random = new Random(42);
+        int found = 0;
+
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < lookups; i++)
+            if (lookup.floor(random.nextInt(numberOfHistories), dates[random.nextInt(dates.length)]) != null) found++;
+
+        final double nanos = (double) (System.nanoTime() - start) / lookups;
+
+        System.out.printf("%-12s %.1f ns per lookup (%,d found)%n", label, nanos, found);
+    }
+
+    private static long usedMemory() {
+
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
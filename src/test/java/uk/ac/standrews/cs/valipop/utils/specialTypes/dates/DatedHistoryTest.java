@@ -0,0 +1,105 @@
+/*
+ * valipop - <https://github.com/stacs-srg/valipop>
+ * Copyright © 2025 Systems Research Group, University of St Andrews (graham.kirby@st-andrews.ac.uk)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package uk.ac.standrews.cs.valipop.utils.specialTypes.dates;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatedHistoryTest {
+
+    private static final LocalDate START = LocalDate.of(1855, 1, 1);
+
+    @Test
+    public void emptyHistoryAnswersNothing() {
+
+        final DatedHistory<String> history = new DatedHistory<>();
+
+        assertTrue(history.isEmpty());
+        assertNull(history.floor(START));
+        assertNull(history.ceilingDate(START));
+        assertNull(history.lastDate());
+        assertNull(history.removeLast());
+    }
+
+    @Test
+    public void queriesAreAnsweredFromTheEntryInEffect() {
+
+        final DatedHistory<String> history = new DatedHistory<>();
+        history.put(START.plusYears(20), "Joiner");
+        history.put(START, "Scholar");
+
+        assertNull(history.floor(START.minusDays(1)));
+        assertEquals("Scholar", history.floor(START.plusYears(19)));
+        assertEquals("Joiner", history.floor(LocalDate.MAX));
+        assertEquals("Joiner", history.get(START.plusYears(20)));
+        assertNull(history.get(START.plusYears(19)));
+        assertEquals(START.plusYears(20), history.ceilingDate(START.plusDays(1)));
+        assertEquals(START, history.firstDateOf("Scholar"));
+        assertEquals(List.of("Scholar", "Joiner"), history.values());
+    }
+
+    @Test
+    public void behavesAsSortedMap() {
+
+        final Random random = new Random(42);
+
+        for (int trial = 0; trial < 200; trial++) {
+
+            final DatedHistory<Integer> history = new DatedHistory<>();
+            final TreeMap<LocalDate, Integer> expected = new TreeMap<>();
+
+            for (int operation = 0; operation < 50; operation++) {
+
+                final LocalDate date = START.plusDays(random.nextInt(20));
+                final int value = random.nextInt(1000);
+
+                switch (random.nextInt(4)) {
+                    case 0, 1 -> assertEquals(expected.put(date, value), history.put(date, value));
+                    case 2 -> assertEquals(expected.remove(date), history.remove(date));
+                    default -> {
+                        final Map.Entry<LocalDate, Integer> last = expected.pollLastEntry();
+                        assertEquals(last == null ? null : last.getValue(), history.removeLast());
+                    }
+                }
+
+                assertEquals(expected.size(), history.size());
+                assertEquals(expected.isEmpty() ? null : expected.lastKey(), history.lastDate());
+
+                final Map.Entry<LocalDate, Integer> floor = expected.floorEntry(date);
+                final Map.Entry<LocalDate, Integer> ceiling = expected.ceilingEntry(date);
+
+                assertEquals(floor == null ? null : floor.getValue(), history.floor(date));
+                assertEquals(ceiling == null ? null : ceiling.getKey(), history.ceilingDate(date));
+                assertEquals(ceiling == null ? null : ceiling.getValue(), history.ceiling(date));
+                assertEquals(new ArrayList<>(expected.values()), history.values());
+            }
+
+            final TreeMap<LocalDate, Integer> visited = new TreeMap<>();
+            history.forEach(visited::put);
+            assertEquals(expected, visited);
+        }
+    }
+}